@@ -0,0 +1,78 @@
+package org.aion.types;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AddressBenchmark {
+    private byte[] raw;
+    private AionAddress address;
+    private AionAddress equalAddress;
+    private AionAddress otherAddress;
+    private AddressPool pool;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.raw = new byte[AionAddress.LENGTH];
+        random.nextBytes(this.raw);
+        this.address = new AionAddress(this.raw);
+        this.equalAddress = new AionAddress(this.raw);
+
+        byte[] other = this.raw.clone();
+        other[AionAddress.LENGTH - 1] = (byte) ~other[AionAddress.LENGTH - 1];
+        this.otherAddress = new AionAddress(other);
+        this.pool = new AddressPool(1024);
+        this.pool.intern(this.raw);
+    }
+
+    @Benchmark
+    public AionAddress construct() {
+        return new AionAddress(this.raw);
+    }
+
+    @Benchmark
+    public byte[] toByteArray() {
+        return this.address.toByteArray();
+    }
+
+    @Benchmark
+    public boolean equalsEqual() {
+        return this.address.equals(this.equalAddress);
+    }
+
+    @Benchmark
+    public boolean equalsUnequal() {
+        return this.address.equals(this.otherAddress);
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return this.address.hashCode();
+    }
+
+    @Benchmark
+    public String toStringOf() {
+        return this.address.toString();
+    }
+
+    @Benchmark
+    public AionAddress internHit() {
+        return this.pool.intern(this.raw);
+    }
+}
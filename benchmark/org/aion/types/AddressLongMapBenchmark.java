@@ -0,0 +1,76 @@
+package org.aion.types;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AddressLongMapBenchmark {
+    private static final int SIZE = 1 << 20;
+
+    private AionAddress[] addresses;
+    private byte[] rawAddresses;
+    private AddressLongMap map;
+    private Map<AionAddress, Long> hashMap;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.addresses = new AionAddress[SIZE];
+        this.rawAddresses = new byte[SIZE * AionAddress.LENGTH];
+        random.nextBytes(this.rawAddresses);
+        this.map = new AddressLongMap(SIZE);
+        this.hashMap = new HashMap<>(SIZE * 2);
+        for (int i = 0; i < SIZE; i++) {
+            byte[] raw = new byte[AionAddress.LENGTH];
+            System.arraycopy(this.rawAddresses, i * AionAddress.LENGTH, raw, 0, AionAddress.LENGTH);
+            this.addresses[i] = new AionAddress(raw);
+            this.map.put(this.addresses[i], i);
+            this.hashMap.put(this.addresses[i], (long) i);
+        }
+    }
+
+    @Benchmark
+    public long get() {
+        return this.map.get(this.addresses[nextIndex()], -1L);
+    }
+
+    @Benchmark
+    public long getByRawBytes() {
+        return this.map.get(this.rawAddresses, nextIndex() * AionAddress.LENGTH, -1L);
+    }
+
+    @Benchmark
+    public Long hashMapGet() {
+        return this.hashMap.get(this.addresses[nextIndex()]);
+    }
+
+    @Benchmark
+    public Long hashMapGetByRawBytes() {
+        byte[] raw = new byte[AionAddress.LENGTH];
+        System.arraycopy(this.rawAddresses, nextIndex() * AionAddress.LENGTH, raw, 0, AionAddress.LENGTH);
+        return this.hashMap.get(new AionAddress(raw));
+    }
+
+    private int nextIndex() {
+        this.next = (this.next + 0x9E3779B9) & (SIZE - 1);
+        return this.next;
+    }
+}
@@ -0,0 +1,91 @@
+package org.aion.types;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.aion.types.InternalTransaction.RejectedStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InternalTransactionBenchmark {
+
+    @Param({"0", "128", "16384"})
+    public int dataSize;
+
+    private AionAddress sender;
+    private AionAddress destination;
+    private byte[] data;
+    private byte[] invokableHash;
+    private BigInteger nonce;
+    private BigInteger value;
+    private InternalTransaction transaction;
+    private InternalTransaction equalTransaction;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.sender = new AionAddress(randomBytes(random, AionAddress.LENGTH));
+        this.destination = new AionAddress(randomBytes(random, AionAddress.LENGTH));
+        this.data = randomBytes(random, this.dataSize);
+        this.invokableHash = randomBytes(random, 32);
+        this.nonce = BigInteger.valueOf(1_234L);
+        this.value = BigInteger.valueOf(5_000_000_000L);
+        this.transaction = newCallTransaction();
+        this.equalTransaction = newCallTransaction();
+    }
+
+    @Benchmark
+    public InternalTransaction constructCall() {
+        return newCallTransaction();
+    }
+
+    @Benchmark
+    public InternalTransaction constructCallInvokable() {
+        return InternalTransaction.contractCallInvokableTransaction(RejectedStatus.NOT_REJECTED, this.sender, this.destination, this.nonce, this.value, this.data, 2_000_000L, 1L, this.invokableHash);
+    }
+
+    @Benchmark
+    public byte[] copyOfData() {
+        return this.transaction.copyOfData();
+    }
+
+    @Benchmark
+    public boolean equalsEqual() {
+        return this.transaction.equals(this.equalTransaction);
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return this.transaction.hashCode();
+    }
+
+    @Benchmark
+    public String toStringOf() {
+        return this.transaction.toString();
+    }
+
+    private InternalTransaction newCallTransaction() {
+        return InternalTransaction.contractCallTransaction(RejectedStatus.NOT_REJECTED, this.sender, this.destination, this.nonce, this.value, this.data, 2_000_000L, 1L);
+    }
+
+    private static byte[] randomBytes(Random random, int size) {
+        byte[] bytes = new byte[size];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,92 @@
+package org.aion.types;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LogBenchmark {
+
+    @Param({"0", "4"})
+    public int topicCount;
+
+    @Param({"32", "1024"})
+    public int dataSize;
+
+    private byte[] address;
+    private byte[] data;
+    private List<byte[]> topics;
+    private Log log;
+    private Log equalLog;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.address = randomBytes(random, AionAddress.LENGTH);
+        this.data = randomBytes(random, this.dataSize);
+        this.topics = new ArrayList<>();
+        for (int i = 0; i < this.topicCount; i++) {
+            this.topics.add(randomBytes(random, 32));
+        }
+        this.log = Log.topicsAndData(this.address, this.topics, this.data);
+        this.equalLog = Log.topicsAndData(this.address, this.topics, this.data);
+    }
+
+    @Benchmark
+    public Log construct() {
+        return Log.topicsAndData(this.address, this.topics, this.data);
+    }
+
+    @Benchmark
+    public byte[] copyOfAddress() {
+        return this.log.copyOfAddress();
+    }
+
+    @Benchmark
+    public byte[] copyOfData() {
+        return this.log.copyOfData();
+    }
+
+    @Benchmark
+    public List<byte[]> copyOfTopics() {
+        return this.log.copyOfTopics();
+    }
+
+    @Benchmark
+    public boolean equalsEqual() {
+        return this.log.equals(this.equalLog);
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return this.log.hashCode();
+    }
+
+    @Benchmark
+    public String toStringOf() {
+        return this.log.toString();
+    }
+
+    private static byte[] randomBytes(Random random, int size) {
+        byte[] bytes = new byte[size];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
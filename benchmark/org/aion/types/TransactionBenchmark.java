@@ -0,0 +1,136 @@
+package org.aion.types;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.aion.types.internal_util.Blake2b;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransactionBenchmark {
+
+    /**
+     * The size of the transaction data: an empty balance transfer, a typical call and a contract
+     * deployment.
+     */
+    @Param({"0", "128", "16384"})
+    public int dataSize;
+
+    private AionAddress sender;
+    private AionAddress destination;
+    private byte[] transactionHash;
+    private byte[] transactionData;
+    private BigInteger nonce;
+    private BigInteger value;
+    private Transaction transaction;
+    private Transaction equalTransaction;
+    private byte[] encoding;
+    private byte[] hash;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.sender = new AionAddress(randomBytes(random, AionAddress.LENGTH));
+        this.destination = new AionAddress(randomBytes(random, AionAddress.LENGTH));
+        this.transactionHash = randomBytes(random, 32);
+        this.transactionData = randomBytes(random, this.dataSize);
+        this.nonce = BigInteger.valueOf(1_234L);
+        this.value = BigInteger.valueOf(5_000_000_000L);
+        this.transaction = newCallTransaction();
+        this.equalTransaction = newCallTransaction();
+        this.encoding = TransactionCodec.encode(this.transaction);
+        this.hash = new byte[TransactionHasher.HASH_LENGTH];
+    }
+
+    @Benchmark
+    public Transaction constructCall() {
+        return newCallTransaction();
+    }
+
+    @Benchmark
+    public Transaction constructCreate() {
+        return Transaction.contractCreateTransaction(this.sender, this.transactionHash, this.nonce, this.value, this.transactionData, 2_000_000L, 10_000_000_000L);
+    }
+
+    @Benchmark
+    public byte[] copyOfTransactionData() {
+        return this.transaction.copyOfTransactionData();
+    }
+
+    @Benchmark
+    public ByteBuffer transactionDataView() {
+        return this.transaction.transactionDataView();
+    }
+
+    @Benchmark
+    public byte[] copyOfTransactionHash() {
+        return this.transaction.copyOfTransactionHash();
+    }
+
+    @Benchmark
+    public boolean equalsEqual() {
+        return this.transaction.equals(this.equalTransaction);
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return this.transaction.hashCode();
+    }
+
+    @Benchmark
+    public String toStringOf() {
+        return this.transaction.toString();
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return TransactionCodec.encode(this.transaction);
+    }
+
+    @Benchmark
+    public Transaction decode() {
+        return TransactionCodec.decodeTransaction(this.encoding);
+    }
+
+    @Benchmark
+    public long wrapAndReadEnergyPrice() {
+        return EncodedTransaction.wrap(this.encoding).energyPrice();
+    }
+
+    @Benchmark
+    public byte[] hashCanonically() {
+        TransactionHasher.forCurrentThread().hash(this.transaction, this.hash, 0);
+        return this.hash;
+    }
+
+    @Benchmark
+    public byte[] hashEncoding() {
+        return Blake2b.hash256(TransactionCodec.encode(this.transaction));
+    }
+
+    private Transaction newCallTransaction() {
+        return Transaction.contractCallTransaction(this.sender, this.destination, this.transactionHash, this.nonce, this.value, this.transactionData, 2_000_000L, 10_000_000_000L);
+    }
+
+    private static byte[] randomBytes(Random random, int size) {
+        byte[] bytes = new byte[size];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,81 @@
+package org.aion.types;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransactionPoolBenchmark {
+    private static final int SENDERS = 10_000;
+    private static final int NONCES_PER_SENDER = 10;
+    private static final BigInteger EXTRA_NONCE = BigInteger.valueOf(NONCES_PER_SENDER);
+
+    private TransactionPool pool;
+    private AionAddress[] senders;
+    private Transaction[] extraTransactions;
+    private long replacementPrice;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        // A zero bump lets the replace benchmark raise the price by one each time.
+        this.pool = new TransactionPool(SENDERS * (NONCES_PER_SENDER + 1), 0);
+        this.senders = new AionAddress[SENDERS];
+        this.extraTransactions = new Transaction[SENDERS];
+
+        for (int s = 0; s < SENDERS; s++) {
+            byte[] raw = new byte[AionAddress.LENGTH];
+            random.nextBytes(raw);
+            this.senders[s] = new AionAddress(raw);
+            for (int nonce = 0; nonce < NONCES_PER_SENDER; nonce++) {
+                this.pool.add(newTransaction(this.senders[s], BigInteger.valueOf(nonce), 1 + random.nextInt(1_000_000)));
+            }
+            this.extraTransactions[s] = newTransaction(this.senders[s], EXTRA_NONCE, 1 + random.nextInt(1_000_000));
+        }
+        this.pool.add(newTransaction(this.senders[0], EXTRA_NONCE, 1));
+        this.replacementPrice = 1;
+    }
+
+    @Benchmark
+    public Transaction addAndRemove() {
+        int index = 1 + (this.next++ % (SENDERS - 1));
+        this.pool.add(this.extraTransactions[index]);
+        return this.pool.remove(this.senders[index], EXTRA_NONCE);
+    }
+
+    @Benchmark
+    public TransactionPool.AddResult replaceByFee() {
+        return this.pool.add(newTransaction(this.senders[0], EXTRA_NONCE, ++this.replacementPrice));
+    }
+
+    @Benchmark
+    public List<Transaction> bestExecutable100() {
+        return this.pool.bestExecutable(100);
+    }
+
+    @Benchmark
+    public Transaction get() {
+        return this.pool.get(this.senders[this.next++ % SENDERS], BigInteger.ONE);
+    }
+
+    private static Transaction newTransaction(AionAddress sender, BigInteger nonce, long energyPrice) {
+        return Transaction.contractCallTransaction(sender, sender, new byte[32], nonce, BigInteger.ZERO, new byte[0], 21_000L, energyPrice);
+    }
+}
@@ -0,0 +1,121 @@
+package org.aion.types;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.aion.types.InternalTransaction.RejectedStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransactionResultBenchmark {
+
+    /**
+     * The number of logs and of internal transactions carried by the result.
+     */
+    @Param({"0", "8"})
+    public int childCount;
+
+    private List<Log> logs;
+    private List<InternalTransaction> internalTransactions;
+    private byte[] output;
+    private TransactionResult result;
+    private TransactionResult equalResult;
+    private byte[] encoding;
+    private TransactionResult decodedResult;
+    private ByteBuffer jsonBuffer;
+    private JsonWriter jsonWriter;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        AionAddress sender = new AionAddress(randomBytes(random, AionAddress.LENGTH));
+        AionAddress destination = new AionAddress(randomBytes(random, AionAddress.LENGTH));
+
+        this.logs = new ArrayList<>();
+        this.internalTransactions = new ArrayList<>();
+        for (int i = 0; i < this.childCount; i++) {
+            this.logs.add(Log.topicsAndData(destination.toByteArray(), Collections.singletonList(randomBytes(random, 32)), randomBytes(random, 64)));
+            this.internalTransactions.add(InternalTransaction.contractCallTransaction(RejectedStatus.NOT_REJECTED, destination, sender, BigInteger.valueOf(i), BigInteger.ONE, randomBytes(random, 64), 100_000L, 1L));
+        }
+        this.output = randomBytes(random, 32);
+        this.result = newResult();
+        this.equalResult = newResult();
+        this.encoding = TransactionResultCodec.encode(this.result);
+        this.decodedResult = TransactionResultCodec.decode(this.encoding);
+        this.jsonBuffer = ByteBuffer.allocate(1 << 16);
+        this.jsonWriter = JsonWriter.to(this.jsonBuffer);
+    }
+
+    @Benchmark
+    public TransactionResult construct() {
+        return newResult();
+    }
+
+    @Benchmark
+    public Optional<byte[]> copyOfTransactionOutput() {
+        return this.result.copyOfTransactionOutput();
+    }
+
+    @Benchmark
+    public TransactionResult decode() {
+        return TransactionResultCodec.decode(this.encoding);
+    }
+
+    @Benchmark
+    public byte[] encodeDecoded() {
+        return TransactionResultCodec.encode(this.decodedResult);
+    }
+
+    @Benchmark
+    public boolean equalsEqual() {
+        return this.result.equals(this.equalResult);
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return this.result.hashCode();
+    }
+
+    @Benchmark
+    public String toStringOf() {
+        return this.result.toString();
+    }
+
+    @Benchmark
+    public ByteBuffer writeJson() throws IOException {
+        this.jsonBuffer.clear();
+        this.jsonWriter.write(this.result);
+        return this.jsonBuffer;
+    }
+
+    private TransactionResult newResult() {
+        return new TransactionResult(TransactionStatus.successful(), this.logs, this.internalTransactions, 21_000L, this.output);
+    }
+
+    private static byte[] randomBytes(Random random, int size) {
+        byte[] bytes = new byte[size];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,78 @@
+package org.aion.types;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransactionValidatorBenchmark {
+    private static final int BATCH_SIZE = 5_000;
+
+    private List<byte[]> encodings;
+    private TransactionValidator validator;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.encodings = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            byte[] hash = new byte[32];
+            random.nextBytes(hash);
+            byte[] data = new byte[64];
+            random.nextBytes(data);
+            AionAddress sender = new AionAddress(randomBytes(random, AionAddress.LENGTH));
+            AionAddress destination = new AionAddress(randomBytes(random, AionAddress.LENGTH));
+            byte[] encoding = TransactionCodec.encode(Transaction.contractCallTransaction(sender, destination, hash, BigInteger.valueOf(i), BigInteger.TEN, data, 21_000L, 10_000_000_000L));
+            // One in ten encodings carries a trailing byte.
+            this.encodings.add((i % 10 == 0) ? Arrays.copyOf(encoding, encoding.length + 1) : encoding);
+        }
+        this.validator = new TransactionValidator();
+    }
+
+    @Benchmark
+    public byte[] validate() {
+        return this.validator.validate(this.encodings);
+    }
+
+    @Benchmark
+    public List<Transaction> validateAndMaterialize() {
+        return this.validator.materialize(this.encodings, this.validator.validate(this.encodings));
+    }
+
+    @Benchmark
+    public List<Transaction> decodeCatchingFailures() {
+        List<Transaction> transactions = new ArrayList<>(BATCH_SIZE);
+        for (byte[] encoding : this.encodings) {
+            try {
+                transactions.add(TransactionCodec.decodeTransaction(encoding));
+            } catch (IllegalArgumentException e) {
+                // Rejected.
+            }
+        }
+        return transactions;
+    }
+
+    private static byte[] randomBytes(Random random, int size) {
+        byte[] bytes = new byte[size];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,56 @@
+package org.aion.types.internal_util;
+
+import java.util.Random;
+import org.aion.types.Hex;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ByteUtilBenchmark {
+
+    @Param({"32", "1024"})
+    public int size;
+
+    private byte[] bytes;
+    private String hex;
+    private StringBuilder builder;
+
+    @Setup
+    public void setup() {
+        this.bytes = new byte[this.size];
+        new Random(42).nextBytes(this.bytes);
+        this.hex = Hex.bytesToHex(this.bytes);
+        this.builder = new StringBuilder(this.size * 2);
+    }
+
+    @Benchmark
+    public String bytesToString() {
+        return ByteUtil.bytesToString(this.bytes);
+    }
+
+    @Benchmark
+    public StringBuilder appendHex() {
+        this.builder.setLength(0);
+        return Hex.appendHex(this.builder, this.bytes);
+    }
+
+    @Benchmark
+    public byte[] hexToBytes() {
+        return Hex.hexToBytes(this.hex);
+    }
+}
@@ -0,0 +1,445 @@
+package org.aion.types;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+import org.aion.types.internal_util.ByteUtil;
+
+/**
+ * A thread-safe hash map from {@link AionAddress} to {@code long}, such as an account nonce or
+ * balance cache, that holds its entries in primitive arrays instead of one object graph per entry.
+ *
+ * The map is an open-addressing table with linear probing. Each slot holds the key's hash code,
+ * the four words of the key and the value side by side in one array, 48 bytes in all, and the table
+ * is kept at most three quarters full. Removal shifts later entries back instead of leaving tombstones, so lookups
+ * never slow down as entries come and go. {@code int} values are stored as longs.
+ *
+ * Lookups never allocate, whether by address or by 32 raw bytes at an offset in an array (for
+ * example a key inside an encoded record). They run without locking, validating afterwards that no
+ * write happened in the meantime and retrying under a read lock if one did, so reads scale across
+ * threads. Writes are serialized by the same lock.
+ */
+public final class AddressLongMap {
+    // A table can hold at most 2^28 slots of six longs, since a Java array holds fewer than 2^31.
+    private static final int MAXIMUM_CAPACITY = 1 << 28;
+    // Slots whose hash is 0 are empty, so a key whose hash code is 0 is stored with hash 1.
+    private static final int EMPTY = 0;
+
+    private final StampedLock lock = new StampedLock();
+    private Table table;
+    private int size;
+
+    /**
+     * A table of slots, each {@link #STRIDE} longs of one array: the hash, the four key words and the
+     * value, so a probe that hits touches a single region of memory.
+     */
+    private static final class Table {
+        private static final int STRIDE = 6;
+
+        private final int mask;
+        private final long[] slots;
+
+        private Table(int capacity) {
+            this.mask = capacity - 1;
+            this.slots = new long[capacity * STRIDE];
+        }
+
+        private int hashAt(int slot) {
+            return (int) this.slots[slot * STRIDE];
+        }
+
+        private long valueAt(int slot) {
+            return this.slots[slot * STRIDE + 5];
+        }
+
+        private void setValueAt(int slot, long value) {
+            this.slots[slot * STRIDE + 5] = value;
+        }
+
+        /**
+         * Returns the slot holding the given key, or -1 if there is none. Never throws, even when
+         * read concurrently with a write, because every probe stays within this table's bounds.
+         */
+        private int find(int hash, long word0, long word1, long word2, long word3) {
+            int slot = hash & this.mask;
+            for (int probes = 0; probes <= this.mask; probes++) {
+                int index = slot * STRIDE;
+                int slotHash = (int) this.slots[index];
+                if (slotHash == EMPTY) {
+                    return -1;
+                }
+                if (slotHash == hash
+                    && this.slots[index + 1] == word0
+                    && this.slots[index + 2] == word1
+                    && this.slots[index + 3] == word2
+                    && this.slots[index + 4] == word3) {
+                    return slot;
+                }
+                slot = (slot + 1) & this.mask;
+            }
+            return -1;
+        }
+
+        private void insert(int hash, long word0, long word1, long word2, long word3, long value) {
+            int slot = hash & this.mask;
+            while (hashAt(slot) != EMPTY) {
+                slot = (slot + 1) & this.mask;
+            }
+            int index = slot * STRIDE;
+            this.slots[index + 1] = word0;
+            this.slots[index + 2] = word1;
+            this.slots[index + 3] = word2;
+            this.slots[index + 4] = word3;
+            this.slots[index + 5] = value;
+            this.slots[index] = hash;
+        }
+
+        // Shifts back every later entry of the probe run that may occupy the freed slot.
+        private void delete(int slot) {
+            int hole = slot;
+            int next = (hole + 1) & this.mask;
+            while (hashAt(next) != EMPTY) {
+                int home = hashAt(next) & this.mask;
+                if (((next - home) & this.mask) >= ((next - hole) & this.mask)) {
+                    System.arraycopy(this.slots, next * STRIDE, this.slots, hole * STRIDE, STRIDE);
+                    hole = next;
+                }
+                next = (next + 1) & this.mask;
+            }
+            this.slots[hole * STRIDE] = EMPTY;
+        }
+    }
+
+    /**
+     * Receives the entries of a map.
+     */
+    public interface EntryConsumer {
+
+        /**
+         * Accepts one entry.
+         *
+         * @param key The key.
+         * @param value The value.
+         */
+        void accept(AionAddress key, long value);
+    }
+
+    /**
+     * Constructs a new map sized to hold the given number of entries without growing.
+     *
+     * @param expectedSize The expected number of entries.
+     * @throws IllegalArgumentException if expectedSize is negative or too large.
+     */
+    public AddressLongMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Cannot create AddressLongMap with negative expected size: " + expectedSize);
+        }
+        if (expectedSize > MAXIMUM_CAPACITY / 4 * 3) {
+            throw new IllegalArgumentException("Cannot create AddressLongMap with expected size larger than " + (MAXIMUM_CAPACITY / 4 * 3) + ": " + expectedSize);
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize + expectedSize / 3 + 1));
+        if (capacity < expectedSize + expectedSize / 3 + 1) {
+            capacity <<= 1;
+        }
+        this.table = new Table(capacity);
+    }
+
+    /**
+     * Returns the value of the given key, or defaultValue if the key is absent.
+     *
+     * @param key The key.
+     * @param defaultValue The value to return if the key is absent.
+     * @return the value.
+     * @throws NullPointerException if key is null.
+     */
+    public long get(AionAddress key, long defaultValue) {
+        if (key == null) {
+            throw new NullPointerException("Cannot look up a null address!");
+        }
+        return get(key.rawWord(0), key.rawWord(1), key.rawWord(2), key.rawWord(3), key.hashCode(), defaultValue);
+    }
+
+    /**
+     * Returns the value of the key given by the {@link AionAddress#LENGTH} bytes at offset, or
+     * defaultValue if the key is absent. No address is constructed.
+     *
+     * @param raw The array holding the key.
+     * @param offset The index of the first byte of the key.
+     * @param defaultValue The value to return if the key is absent.
+     * @return the value.
+     * @throws NullPointerException if raw is null.
+     * @throws IndexOutOfBoundsException if the key does not fit in raw at offset.
+     */
+    public long get(byte[] raw, int offset, long defaultValue) {
+        checkRaw(raw, offset);
+        long word0 = ByteUtil.readLong(raw, offset);
+        long word1 = ByteUtil.readLong(raw, offset + 8);
+        long word2 = ByteUtil.readLong(raw, offset + 16);
+        long word3 = ByteUtil.readLong(raw, offset + 24);
+        return get(word0, word1, word2, word3, AionAddress.hashCodeOf(word0, word1, word2, word3), defaultValue);
+    }
+
+    /**
+     * Returns {@code true} only if the map holds the given key.
+     *
+     * @param key The key.
+     * @return whether the key is present.
+     * @throws NullPointerException if key is null.
+     */
+    public boolean containsKey(AionAddress key) {
+        if (key == null) {
+            throw new NullPointerException("Cannot look up a null address!");
+        }
+        return contains(key.rawWord(0), key.rawWord(1), key.rawWord(2), key.rawWord(3), key.hashCode());
+    }
+
+    /**
+     * Returns {@code true} only if the map holds the key given by the {@link AionAddress#LENGTH}
+     * bytes at offset.
+     *
+     * @param raw The array holding the key.
+     * @param offset The index of the first byte of the key.
+     * @return whether the key is present.
+     * @throws NullPointerException if raw is null.
+     * @throws IndexOutOfBoundsException if the key does not fit in raw at offset.
+     */
+    public boolean containsKey(byte[] raw, int offset) {
+        checkRaw(raw, offset);
+        long word0 = ByteUtil.readLong(raw, offset);
+        long word1 = ByteUtil.readLong(raw, offset + 8);
+        long word2 = ByteUtil.readLong(raw, offset + 16);
+        long word3 = ByteUtil.readLong(raw, offset + 24);
+        return contains(word0, word1, word2, word3, AionAddress.hashCodeOf(word0, word1, word2, word3));
+    }
+
+    /**
+     * Associates the value with the given key, replacing any previous value.
+     *
+     * @param key The key.
+     * @param value The value.
+     * @return true if the key was absent, false if its value was replaced.
+     * @throws NullPointerException if key is null.
+     * @throws IllegalStateException if the map is at its maximum capacity.
+     */
+    public boolean put(AionAddress key, long value) {
+        if (key == null) {
+            throw new NullPointerException("Cannot put a null address!");
+        }
+        long stamp = this.lock.writeLock();
+        try {
+            int hash = slotHash(key.hashCode());
+            int slot = this.table.find(hash, key.rawWord(0), key.rawWord(1), key.rawWord(2), key.rawWord(3));
+            if (slot >= 0) {
+                this.table.setValueAt(slot, value);
+                return false;
+            }
+            insert(hash, key, value);
+            return true;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Adds delta to the value of the given key, treating an absent key as having the value 0, and
+     * returns the new value.
+     *
+     * @param key The key.
+     * @param delta The amount to add.
+     * @return the new value.
+     * @throws NullPointerException if key is null.
+     * @throws IllegalStateException if the key is absent and the map is at its maximum capacity.
+     */
+    public long addTo(AionAddress key, long delta) {
+        if (key == null) {
+            throw new NullPointerException("Cannot add to a null address!");
+        }
+        long stamp = this.lock.writeLock();
+        try {
+            int hash = slotHash(key.hashCode());
+            int slot = this.table.find(hash, key.rawWord(0), key.rawWord(1), key.rawWord(2), key.rawWord(3));
+            if (slot >= 0) {
+                long value = this.table.valueAt(slot) + delta;
+                this.table.setValueAt(slot, value);
+                return value;
+            }
+            insert(hash, key, delta);
+            return delta;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the given key.
+     *
+     * @param key The key.
+     * @return true if the key was removed, false if it was absent.
+     * @throws NullPointerException if key is null.
+     */
+    public boolean remove(AionAddress key) {
+        if (key == null) {
+            throw new NullPointerException("Cannot remove a null address!");
+        }
+        long stamp = this.lock.writeLock();
+        try {
+            int slot = this.table.find(slotHash(key.hashCode()), key.rawWord(0), key.rawWord(1), key.rawWord(2), key.rawWord(3));
+            if (slot < 0) {
+                return false;
+            }
+            this.table.delete(slot);
+            this.size--;
+            return true;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the map size.
+     */
+    public int size() {
+        long stamp = this.lock.readLock();
+        try {
+            return this.size;
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the number of slots in the table.
+     *
+     * @return the capacity.
+     */
+    public int capacity() {
+        long stamp = this.lock.readLock();
+        try {
+            return this.table.mask + 1;
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Removes every entry. The table keeps its capacity.
+     */
+    public void clear() {
+        long stamp = this.lock.writeLock();
+        try {
+            Arrays.fill(this.table.slots, 0L);
+            this.size = 0;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Passes every entry to the consumer, in no particular order, while holding the read lock.
+     * Each key is materialized as a new address.
+     *
+     * @param consumer The consumer of the entries.
+     * @throws NullPointerException if consumer is null.
+     */
+    public void forEach(EntryConsumer consumer) {
+        if (consumer == null) {
+            throw new NullPointerException("Cannot pass entries to a null consumer!");
+        }
+
+        long stamp = this.lock.readLock();
+        try {
+            Table table = this.table;
+            for (int slot = 0; slot <= table.mask; slot++) {
+                if (table.hashAt(slot) != EMPTY) {
+                    consumer.accept(AionAddress.fromWords(table.slots, slot * Table.STRIDE + 1), table.valueAt(slot));
+                }
+            }
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AddressLongMap { size = " + size() + ", capacity = " + capacity() + " }";
+    }
+
+    private long get(long word0, long word1, long word2, long word3, int hashCode, long defaultValue) {
+        int hash = slotHash(hashCode);
+        long stamp = this.lock.tryOptimisticRead();
+        Table table = this.table;
+        int slot = table.find(hash, word0, word1, word2, word3);
+        long value = (slot < 0) ? defaultValue : table.valueAt(slot);
+        if (this.lock.validate(stamp)) {
+            return value;
+        }
+
+        stamp = this.lock.readLock();
+        try {
+            table = this.table;
+            slot = table.find(hash, word0, word1, word2, word3);
+            return (slot < 0) ? defaultValue : table.valueAt(slot);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    private boolean contains(long word0, long word1, long word2, long word3, int hashCode) {
+        int hash = slotHash(hashCode);
+        long stamp = this.lock.tryOptimisticRead();
+        boolean found = this.table.find(hash, word0, word1, word2, word3) >= 0;
+        if (this.lock.validate(stamp)) {
+            return found;
+        }
+
+        stamp = this.lock.readLock();
+        try {
+            return this.table.find(hash, word0, word1, word2, word3) >= 0;
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    // Must be called with the write lock held and the key absent.
+    private void insert(int hash, AionAddress key, long value) {
+        Table table = this.table;
+        if (4L * (this.size + 1) > 3L * (table.mask + 1)) {
+            table = grow(table);
+        }
+        table.insert(hash, key.rawWord(0), key.rawWord(1), key.rawWord(2), key.rawWord(3), value);
+        this.size++;
+    }
+
+    private Table grow(Table old) {
+        int capacity = old.mask + 1;
+        if (capacity >= MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Cannot grow AddressLongMap beyond " + capacity + " slots");
+        }
+
+        Table table = new Table(2 * capacity);
+        for (int slot = 0; slot < capacity; slot++) {
+            int hash = old.hashAt(slot);
+            if (hash != EMPTY) {
+                int index = slot * Table.STRIDE;
+                table.insert(hash, old.slots[index + 1], old.slots[index + 2], old.slots[index + 3], old.slots[index + 4], old.slots[index + 5]);
+            }
+        }
+        this.table = table;
+        return table;
+    }
+
+    private static int slotHash(int hashCode) {
+        return (hashCode == EMPTY) ? 1 : hashCode;
+    }
+
+    private static void checkRaw(byte[] raw, int offset) {
+        if (raw == null) {
+            throw new NullPointerException("Cannot look up a null address!");
+        }
+        if (offset < 0 || offset > raw.length - AionAddress.LENGTH) {
+            throw new IndexOutOfBoundsException("Cannot read an address at offset " + offset + " from an array of length " + raw.length);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package org.aion.types;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe pool that returns a canonical {@link AionAddress} instance for repeated
+ * addresses.
+ *
+ * The pool is a fixed number of slots indexed by the address hash. A lookup that finds its address
+ * in the slot is a hit and returns the pooled instance. Any other lookup is a miss, and the new
+ * address replaces whatever was in the slot. Memory is therefore bounded by the capacity, and the
+ * most recently seen address wins on collision.
+ *
+ * Lookups and insertions are lock-free. Two threads interning the same new address concurrently may
+ * briefly receive different (but equal) instances; the pool only ever deduplicates, it never
+ * changes equality.
+ */
+public final class AddressPool {
+    private final AtomicReferenceArray<AionAddress> slots;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs a new address pool with at least the given number of slots. The capacity is
+     * rounded up to the next power of two.
+     *
+     * @param capacity The minimum number of addresses the pool can hold.
+     * @throws IllegalArgumentException if capacity is not positive or is larger than 2^30.
+     */
+    public AddressPool(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cannot create AddressPool with non-positive capacity: " + capacity);
+        }
+        if (capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Cannot create AddressPool with capacity larger than 2^30: " + capacity);
+        }
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Returns the canonical address for the given raw bytes. On a hit no address is allocated.
+     *
+     * @param raw The raw address bytes.
+     * @return the canonical address.
+     * @throws NullPointerException if raw is null.
+     * @throws IllegalArgumentException if raw is not {@link AionAddress#LENGTH} bytes long.
+     */
+    public AionAddress intern(byte[] raw) {
+        if (raw == null) {
+            throw new NullPointerException("Cannot intern a null address!");
+        }
+        if (raw.length != AionAddress.LENGTH) {
+            throw new IllegalArgumentException("Cannot intern an address of length: " + raw.length);
+        }
+
+        int index = AionAddress.hashCodeOf(raw) & this.mask;
+        AionAddress pooled = this.slots.get(index);
+        if (pooled != null && pooled.hasBytes(raw)) {
+            this.hits.increment();
+            return pooled;
+        }
+
+        this.misses.increment();
+        AionAddress address = new AionAddress(raw);
+        this.slots.lazySet(index, address);
+        return address;
+    }
+
+    /**
+     * Returns the canonical address equal to the given address. On a miss the given address
+     * becomes the canonical instance.
+     *
+     * @param address The address to intern.
+     * @return the canonical address.
+     * @throws NullPointerException if address is null.
+     */
+    public AionAddress intern(AionAddress address) {
+        if (address == null) {
+            throw new NullPointerException("Cannot intern a null address!");
+        }
+
+        int index = address.hashCode() & this.mask;
+        AionAddress pooled = this.slots.get(index);
+        if (address.equals(pooled)) {
+            this.hits.increment();
+            return pooled;
+        }
+
+        this.misses.increment();
+        this.slots.lazySet(index, address);
+        return address;
+    }
+
+    /**
+     * Returns the number of slots in this pool.
+     *
+     * @return the capacity.
+     */
+    public int capacity() {
+        return this.mask + 1;
+    }
+
+    /**
+     * Returns the number of lookups that returned a pooled instance.
+     *
+     * @return the hit count.
+     */
+    public long hitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that did not find a pooled instance.
+     *
+     * @return the miss count.
+     */
+    public long missCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Removes every pooled address and resets the hit and miss counters.
+     */
+    public void clear() {
+        for (int i = 0; i < this.slots.length(); i++) {
+            this.slots.set(i, null);
+        }
+        this.hits.reset();
+        this.misses.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "AddressPool { capacity = " + capacity() + ", hits = " + hitCount() + ", misses = " + missCount() + " }";
+    }
+}
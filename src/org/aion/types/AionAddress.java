@@ -1,10 +1,15 @@
 package org.aion.types;
 
-import java.util.Arrays;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.aion.types.TypeMetrics.Type;
 import org.aion.types.internal_util.ByteUtil;
 
 /**
  * Represents an address of a contract or account in the Aion Network.
+ *
+ * The 32 bytes of the address are held as four big-endian longs, and the hash code is computed once
+ * at construction.
  */
 public final class AionAddress {
 
@@ -13,7 +18,11 @@ public final class AionAddress {
      */
     public static final int LENGTH = 32;
 
-    private final byte[] raw = new byte[LENGTH];
+    private final long word0;
+    private final long word1;
+    private final long word2;
+    private final long word3;
+    private final int hashCode;
 
     /**
      * Create an Address with the contents of the given raw byte array.
@@ -29,7 +38,104 @@ public final class AionAddress {
         if (raw.length != LENGTH) {
             throw new IllegalArgumentException();
         }
-        System.arraycopy(raw, 0, this.raw, 0, LENGTH);
+        this.word0 = ByteUtil.readLong(raw, 0);
+        this.word1 = ByteUtil.readLong(raw, 8);
+        this.word2 = ByteUtil.readLong(raw, 16);
+        this.word3 = ByteUtil.readLong(raw, 24);
+        this.hashCode = computeHashCode(this.word0, this.word1, this.word2, this.word3);
+        Metrics.constructed(Type.AION_ADDRESS, LENGTH);
+    }
+
+    private AionAddress(long word0, long word1, long word2, long word3) {
+        this.word0 = word0;
+        this.word1 = word1;
+        this.word2 = word2;
+        this.word3 = word3;
+        this.hashCode = computeHashCode(word0, word1, word2, word3);
+        Metrics.constructed(Type.AION_ADDRESS, 0);
+    }
+
+    /**
+     * Returns the address held by the four words starting at offset.
+     */
+    static AionAddress fromWords(long[] words, int offset) {
+        return new AionAddress(words[offset], words[offset + 1], words[offset + 2], words[offset + 3]);
+    }
+
+    /**
+     * Writes the four words of the receiver into words starting at offset.
+     */
+    void copyWordsTo(long[] words, int offset) {
+        words[offset] = this.word0;
+        words[offset + 1] = this.word1;
+        words[offset + 2] = this.word2;
+        words[offset + 3] = this.word3;
+    }
+
+    /**
+     * Returns {@code true} only if the receiver holds the four words starting at offset.
+     */
+    boolean hasWords(long[] words, int offset) {
+        return this.word0 == words[offset]
+            && this.word1 == words[offset + 1]
+            && this.word2 == words[offset + 2]
+            && this.word3 == words[offset + 3];
+    }
+
+    /**
+     * Reads the next {@link #LENGTH} bytes of the buffer as an address, without an intermediate
+     * array. The buffer's byte order is ignored.
+     *
+     * The caller must ensure at least {@link #LENGTH} bytes remain.
+     */
+    static AionAddress readFrom(ByteBuffer buffer) {
+        AionAddress address = readFrom(buffer, buffer.position());
+        buffer.position(buffer.position() + LENGTH);
+        return address;
+    }
+
+    /**
+     * Reads the {@link #LENGTH} bytes of the buffer starting at the absolute index as an address,
+     * without an intermediate array and without moving the buffer's position. The buffer's byte
+     * order is ignored.
+     *
+     * The caller must ensure the bytes are within the buffer's limit.
+     */
+    static AionAddress readFrom(ByteBuffer buffer, int index) {
+        boolean swap = buffer.order() != ByteOrder.BIG_ENDIAN;
+        long word0 = buffer.getLong(index);
+        long word1 = buffer.getLong(index + 8);
+        long word2 = buffer.getLong(index + 16);
+        long word3 = buffer.getLong(index + 24);
+        return swap
+            ? new AionAddress(Long.reverseBytes(word0), Long.reverseBytes(word1), Long.reverseBytes(word2), Long.reverseBytes(word3))
+            : new AionAddress(word0, word1, word2, word3);
+    }
+
+    /**
+     * Writes the {@link #LENGTH} bytes of the receiver into the buffer, without an intermediate
+     * array. The buffer's byte order is ignored.
+     */
+    void writeTo(ByteBuffer buffer) {
+        boolean swap = buffer.order() != ByteOrder.BIG_ENDIAN;
+        buffer.putLong(swap ? Long.reverseBytes(this.word0) : this.word0);
+        buffer.putLong(swap ? Long.reverseBytes(this.word1) : this.word1);
+        buffer.putLong(swap ? Long.reverseBytes(this.word2) : this.word2);
+        buffer.putLong(swap ? Long.reverseBytes(this.word3) : this.word3);
+    }
+
+    /**
+     * Returns the big-endian word of the receiver at the given index, from 0 to 3, so that encoders
+     * can read the address without an intermediate array.
+     */
+    long rawWord(int index) {
+        switch (index) {
+            case 0: return this.word0;
+            case 1: return this.word1;
+            case 2: return this.word2;
+            case 3: return this.word3;
+            default: throw new IndexOutOfBoundsException("Word index " + index + " out of bounds for length 4");
+        }
     }
 
     /**
@@ -38,14 +144,50 @@ public final class AionAddress {
      * @return a byte array containing a copy of the receiver.
      */
     public byte[] toByteArray() {
+        Metrics.copied(Type.AION_ADDRESS, "toByteArray", LENGTH);
+        return bytes();
+    }
+
+    private byte[] bytes() {
         byte[] copy = new byte[LENGTH];
-        System.arraycopy(this.raw, 0, copy, 0, LENGTH);
+        ByteUtil.writeLong(copy, 0, this.word0);
+        ByteUtil.writeLong(copy, 8, this.word1);
+        ByteUtil.writeLong(copy, 16, this.word2);
+        ByteUtil.writeLong(copy, 24, this.word3);
         return copy;
     }
 
+    /**
+     * Returns the hash code an address with the given raw bytes would have, without constructing it.
+     *
+     * The caller must ensure raw is non-null and of length {@link #LENGTH}.
+     */
+    static int hashCodeOf(byte[] raw) {
+        return computeHashCode(ByteUtil.readLong(raw, 0), ByteUtil.readLong(raw, 8), ByteUtil.readLong(raw, 16), ByteUtil.readLong(raw, 24));
+    }
+
+    /**
+     * Returns the hash code an address with the given words would have, without constructing it.
+     */
+    static int hashCodeOf(long word0, long word1, long word2, long word3) {
+        return computeHashCode(word0, word1, word2, word3);
+    }
+
+    /**
+     * Returns {@code true} only if the receiver holds exactly the given raw bytes.
+     *
+     * The caller must ensure raw is non-null and of length {@link #LENGTH}.
+     */
+    boolean hasBytes(byte[] raw) {
+        return this.word0 == ByteUtil.readLong(raw, 0)
+            && this.word1 == ByteUtil.readLong(raw, 8)
+            && this.word2 == ByteUtil.readLong(raw, 16)
+            && this.word3 == ByteUtil.readLong(raw, 24);
+    }
+
     @Override
     public int hashCode() {
-        return Arrays.hashCode(raw);
+        return this.hashCode;
     }
 
     @Override
@@ -53,13 +195,33 @@ public final class AionAddress {
         boolean isEqual = this == obj;
         if (!isEqual && (obj instanceof AionAddress)) {
             AionAddress other = (AionAddress) obj;
-            isEqual = Arrays.equals(this.raw, other.raw);
+            isEqual = this.hashCode == other.hashCode
+                && this.word0 == other.word0
+                && this.word1 == other.word1
+                && this.word2 == other.word2
+                && this.word3 == other.word3;
         }
         return isEqual;
     }
 
     @Override
     public java.lang.String toString() {
-        return ByteUtil.bytesToString(this.raw);
+        Metrics.toStringCalled(Type.AION_ADDRESS);
+        return Hex.bytesToHex(bytes());
+    }
+
+    // Combines the words and then applies the MurmurHash3 64-bit finalizer so every input bit
+    // influences the low bits used by hash tables.
+    private static int computeHashCode(long word0, long word1, long word2, long word3) {
+        long hash = word0;
+        hash = hash * 0x9E3779B97F4A7C15L + word1;
+        hash = hash * 0x9E3779B97F4A7C15L + word2;
+        hash = hash * 0x9E3779B97F4A7C15L + word3;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return (int) hash;
     }
 }
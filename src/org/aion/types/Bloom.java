@@ -0,0 +1,222 @@
+package org.aion.types;
+
+import java.util.Arrays;
+import org.aion.types.internal_util.Blake2b;
+import org.aion.types.internal_util.ByteUtil;
+
+/**
+ * A 2048-bit log bloom filter, compatible with the blooms stored in Aion block headers and
+ * receipts.
+ *
+ * Each item (a log address or topic) is hashed with Blake2b-256, and three bits are set: each one
+ * is the low 11 bits of one of the first three big-endian byte pairs of the hash. Bit {@code i}
+ * counts from the least significant end of the 256-byte big-endian representation returned by
+ * {@link #copyOfBytes()}.
+ *
+ * A bloom is immutable. Blooms are combined without allocation through a {@link Builder}.
+ */
+public final class Bloom {
+
+    /**
+     * The length of a bloom in bytes.
+     */
+    public static final int LENGTH = 256;
+
+    private static final int WORDS = LENGTH / 8;
+
+    /**
+     * A bloom with no bits set.
+     */
+    public static final Bloom EMPTY = new Bloom(new long[WORDS]);
+
+    // Big-endian words: words[0] holds bytes 0..7 of the byte representation.
+    private final long[] words;
+
+    private Bloom(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Returns the bloom with exactly the bits of the given item set.
+     *
+     * @param item The item to add.
+     * @return the bloom of the item.
+     * @throws NullPointerException if item is null.
+     */
+    public static Bloom of(byte[] item) {
+        return new Builder().add(item).build();
+    }
+
+    /**
+     * Returns a bloom from its 256-byte representation.
+     *
+     * @param bytes The bloom bytes.
+     * @return the bloom.
+     * @throws NullPointerException if bytes is null.
+     * @throws IllegalArgumentException if bytes is not {@link #LENGTH} bytes long.
+     */
+    public static Bloom fromBytes(byte[] bytes) {
+        if (bytes == null) {
+            throw new NullPointerException("Cannot create bloom from null bytes!");
+        }
+        if (bytes.length != LENGTH) {
+            throw new IllegalArgumentException("Cannot create bloom from bytes of length: " + bytes.length);
+        }
+
+        long[] words = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            words[i] = ByteUtil.readLong(bytes, i * 8);
+        }
+        return new Bloom(words);
+    }
+
+    /**
+     * Returns {@code true} if the item may have been added to this bloom, and {@code false} if it
+     * definitely was not.
+     *
+     * @param item The item to test.
+     * @return whether the item may be in this bloom.
+     */
+    public boolean mightContain(byte[] item) {
+        return contains(Bloom.of(item));
+    }
+
+    /**
+     * Returns {@code true} only if every bit set in other is also set in this bloom.
+     *
+     * @param other The bloom to test.
+     * @return whether this bloom covers other.
+     */
+    public boolean contains(Bloom other) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((this.words[i] & other.words[i]) != other.words[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} only if no bit is set.
+     *
+     * @return whether this bloom is empty.
+     */
+    public boolean isEmpty() {
+        for (long word : this.words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the 256-byte big-endian representation of this bloom.
+     *
+     * @return the bloom bytes.
+     */
+    public byte[] copyOfBytes() {
+        byte[] bytes = new byte[LENGTH];
+        for (int i = 0; i < WORDS; i++) {
+            ByteUtil.writeLong(bytes, i * 8, this.words[i]);
+        }
+        return bytes;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof Bloom)) {
+            return false;
+        } else if (other == this) {
+            return true;
+        }
+        return Arrays.equals(this.words, ((Bloom) other).words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.words);
+    }
+
+    @Override
+    public String toString() {
+        return "Bloom { " + Hex.bytesToHex(copyOfBytes()) + " }";
+    }
+
+    /**
+     * A mutable accumulator of bloom bits. Adding items and or-ing in other blooms does not
+     * allocate, so a single builder can aggregate a whole block of receipts.
+     *
+     * A builder is not thread-safe.
+     */
+    public static final class Builder {
+        private final long[] words = new long[WORDS];
+        private Blake2b hasher;
+        private byte[] hash;
+
+        /**
+         * Constructs a new builder with no bits set.
+         */
+        public Builder() {}
+
+        /**
+         * Sets the bits of the given item.
+         *
+         * @param item The item to add.
+         * @return this builder.
+         * @throws NullPointerException if item is null.
+         */
+        public Builder add(byte[] item) {
+            if (item == null) {
+                throw new NullPointerException("Cannot add null item to bloom!");
+            }
+            if (this.hasher == null) {
+                this.hasher = new Blake2b();
+                this.hash = new byte[Blake2b.DIGEST_LENGTH];
+            }
+
+            this.hasher.update(item, 0, item.length).digest(this.hash, 0);
+            setBit(((this.hash[0] & 7) << 8) | (this.hash[1] & 0xFF));
+            setBit(((this.hash[2] & 7) << 8) | (this.hash[3] & 0xFF));
+            setBit(((this.hash[4] & 7) << 8) | (this.hash[5] & 0xFF));
+            return this;
+        }
+
+        /**
+         * Sets every bit that is set in the given bloom.
+         *
+         * @param bloom The bloom to merge in.
+         * @return this builder.
+         * @throws NullPointerException if bloom is null.
+         */
+        public Builder or(Bloom bloom) {
+            for (int i = 0; i < WORDS; i++) {
+                this.words[i] |= bloom.words[i];
+            }
+            return this;
+        }
+
+        /**
+         * Clears every bit so the builder can be reused.
+         *
+         * @return this builder.
+         */
+        public Builder reset() {
+            Arrays.fill(this.words, 0L);
+            return this;
+        }
+
+        /**
+         * Returns a bloom holding the bits accumulated so far.
+         *
+         * @return the bloom.
+         */
+        public Bloom build() {
+            return new Bloom(this.words.clone());
+        }
+
+        private void setBit(int bit) {
+            this.words[WORDS - 1 - (bit >>> 6)] |= 1L << (bit & 63);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package org.aion.types;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import org.aion.types.internal_util.VarInt;
+
+/**
+ * A lazily decoded view of a {@link Transaction} encoded by {@link TransactionCodec}.
+ *
+ * Wrapping an encoding only checks its header and locates its fields; no field is decoded and no
+ * payload bytes are copied. Each accessor decodes its field from the backing buffer when called, so
+ * a caller that only needs, for example, the sender, nonce and energy price never allocates the
+ * transaction hash or data. {@link #toTransaction()} materializes a full transaction on demand.
+ *
+ * The view shares the backing buffer's content, which must not be modified while the view is in
+ * use. Given that, the view is immutable and safe to use from multiple threads.
+ */
+public final class EncodedTransaction {
+    private final ByteBuffer record;
+    private final ByteBuffer body;
+    public final boolean isCreate;
+    private final int nonceIndex;
+    private final int valueIndex;
+    private final int energyLimitIndex;
+    private final int energyPriceIndex;
+    private final int hashIndex;
+    private final int hashLength;
+    private final int dataIndex;
+    private final int dataLength;
+    private int hashCode;
+
+    private EncodedTransaction(ByteBuffer buffer) {
+        int start = buffer.position();
+        int end = TransactionCodec.readHeader(buffer, TransactionCodec.TYPE_TRANSACTION);
+
+        ByteBuffer body = buffer.duplicate();
+        body.limit(end);
+        this.body = body.slice().asReadOnlyBuffer();
+
+        ByteBuffer record = buffer.duplicate();
+        record.position(start).limit(end);
+        this.record = record.slice().asReadOnlyBuffer();
+
+        buffer.position(end);
+
+        // Locate every field once, so the accessors below never need to check bounds again.
+        int flags = TransactionCodec.readFlags(this.body.duplicate(), TransactionCodec.FLAG_CREATE);
+        this.isCreate = (flags & TransactionCodec.FLAG_CREATE) != 0;
+        this.nonceIndex = 1 + (this.isCreate ? AionAddress.LENGTH : 2 * AionAddress.LENGTH);
+        if (this.nonceIndex > this.body.limit()) {
+            throw new IllegalArgumentException("Truncated encoding: addresses run past the end of the record");
+        }
+        this.valueIndex = VarInt.endOf(this.body, this.nonceIndex, VarInt.MAX_BIG_INTEGER_LENGTH);
+        this.energyLimitIndex = VarInt.endOf(this.body, this.valueIndex, VarInt.MAX_BIG_INTEGER_LENGTH);
+        this.energyPriceIndex = VarInt.endOf(this.body, this.energyLimitIndex, VarInt.MAX_LONG_LENGTH);
+        int hashLengthIndex = VarInt.endOf(this.body, this.energyPriceIndex, VarInt.MAX_LONG_LENGTH);
+        this.hashLength = VarInt.readInt(this.body, hashLengthIndex);
+        this.hashIndex = VarInt.endOf(this.body, hashLengthIndex, VarInt.MAX_LONG_LENGTH);
+        int dataLengthIndex = checkedEnd(this.hashIndex, this.hashLength);
+        this.dataLength = VarInt.readInt(this.body, dataLengthIndex);
+        this.dataIndex = VarInt.endOf(this.body, dataLengthIndex, VarInt.MAX_LONG_LENGTH);
+        if (checkedEnd(this.dataIndex, this.dataLength) != this.body.limit()) {
+            throw new IllegalArgumentException("Encoding has unexpected trailing bytes");
+        }
+    }
+
+    /**
+     * Wraps the encoded transaction at the buffer's position and advances the position past it.
+     *
+     * @param buffer The buffer holding the encoding.
+     * @return a view of the encoded transaction.
+     * @throws IllegalArgumentException if the encoding is malformed.
+     */
+    public static EncodedTransaction wrap(ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new NullPointerException("Cannot wrap a null buffer!");
+        }
+        return new EncodedTransaction(buffer);
+    }
+
+    /**
+     * Wraps the given bytes, which must hold exactly one encoded transaction.
+     *
+     * @param encoding The encoded transaction.
+     * @return a view of the encoded transaction.
+     * @throws IllegalArgumentException if the encoding is malformed or has trailing bytes.
+     */
+    public static EncodedTransaction wrap(byte[] encoding) {
+        if (encoding == null) {
+            throw new NullPointerException("Cannot wrap a null encoding!");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(encoding);
+        EncodedTransaction transaction = new EncodedTransaction(buffer);
+        if (buffer.hasRemaining()) {
+            throw new IllegalArgumentException("Encoding has " + buffer.remaining() + " unexpected trailing bytes");
+        }
+        return transaction;
+    }
+
+    /**
+     * Returns the sender of the transaction.
+     *
+     * @return the sender.
+     */
+    public AionAddress senderAddress() {
+        return AionAddress.readFrom(this.body, 1);
+    }
+
+    /**
+     * Returns the destination of the transaction, or null if this is a create transaction.
+     *
+     * @return the destination.
+     */
+    public AionAddress destinationAddress() {
+        return this.isCreate ? null : AionAddress.readFrom(this.body, 1 + AionAddress.LENGTH);
+    }
+
+    /**
+     * Returns the nonce of the sender.
+     *
+     * @return the nonce.
+     */
+    public BigInteger nonce() {
+        return VarInt.readBigInteger(this.body, this.nonceIndex);
+    }
+
+    /**
+     * Returns the amount of value to be transferred.
+     *
+     * @return the value.
+     */
+    public BigInteger value() {
+        return VarInt.readBigInteger(this.body, this.valueIndex);
+    }
+
+    /**
+     * Returns the maximum amount of energy the transaction may use.
+     *
+     * @return the energy limit.
+     */
+    public long energyLimit() {
+        return VarInt.readLong(this.body, this.energyLimitIndex);
+    }
+
+    /**
+     * Returns the price per unit of energy.
+     *
+     * @return the energy price.
+     */
+    public long energyPrice() {
+        return VarInt.readLong(this.body, this.energyPriceIndex);
+    }
+
+    /**
+     * Returns a read-only view of the transaction hash within the backing buffer.
+     *
+     * @return a read-only view of the transaction hash.
+     */
+    public ByteBuffer transactionHashView() {
+        return slice(this.hashIndex, this.hashLength);
+    }
+
+    /**
+     * Returns a read-only view of the transaction data within the backing buffer.
+     *
+     * @return a read-only view of the transaction data.
+     */
+    public ByteBuffer transactionDataView() {
+        return slice(this.dataIndex, this.dataLength);
+    }
+
+    /**
+     * Returns a read-only view of the complete encoding, suitable for relaying the transaction
+     * without re-encoding it.
+     *
+     * @return a read-only view of the encoding.
+     */
+    public ByteBuffer encoding() {
+        return this.record.duplicate();
+    }
+
+    /**
+     * Decodes every field and returns the equivalent transaction.
+     *
+     * @return the decoded transaction.
+     * @throws IllegalArgumentException if a field holds an invalid value.
+     */
+    public Transaction toTransaction() {
+        return TransactionCodec.decodeTransaction(this.record.duplicate());
+    }
+
+    /**
+     * Returns {@code true} only if other is an encoded transaction with the same encoding.
+     *
+     * @param other The object whose equality with this is to be determined.
+     * @return whether other is equal to this.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof EncodedTransaction)) {
+            return false;
+        } else if (other == this) {
+            return true;
+        }
+        return this.record.equals(((EncodedTransaction) other).record);
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = this.hashCode;
+        if (hashCode == 0) {
+            hashCode = this.record.hashCode();
+            this.hashCode = hashCode;
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "EncodedTransaction { " + (this.isCreate ? "CREATE" : "CALL")
+            + ", encoded length = " + this.record.remaining()
+            + " }";
+    }
+
+    private int checkedEnd(int index, int length) {
+        if (length > this.body.limit() - index) {
+            throw new IllegalArgumentException("Truncated encoding: field of length " + length + " runs past the end of the record");
+        }
+        return index + length;
+    }
+
+    private ByteBuffer slice(int index, int length) {
+        ByteBuffer view = this.body.duplicate();
+        view.position(index).limit(index + length);
+        return view.slice();
+    }
+}
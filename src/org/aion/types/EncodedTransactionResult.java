@@ -0,0 +1,239 @@
+package org.aion.types;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Optional;
+import org.aion.types.internal_util.VarInt;
+
+/**
+ * A lazily decoded view of a {@link TransactionResult} encoded by {@link TransactionResultCodec}.
+ *
+ * Wrapping an encoding only checks its header and locates its parts. Each accessor decodes its part
+ * from the backing buffer when called, so a caller that only needs the status and energy used never
+ * decodes the logs or internal transactions. {@link #toTransactionResult()} materializes the full
+ * result on demand.
+ *
+ * The view shares the backing buffer's content, which must not be modified while the view is in
+ * use. Given that, the view is immutable and safe to use from multiple threads.
+ */
+public final class EncodedTransactionResult {
+    private final ByteBuffer record;
+    private final ByteBuffer body;
+    private final int energyUsedIndex;
+    private final int outputIndex;
+    private final int logsIndex;
+    private final int logsLength;
+    private final int internalTransactionsIndex;
+    private final int internalTransactionsLength;
+    private int hashCode;
+
+    private EncodedTransactionResult(ByteBuffer buffer) {
+        int start = buffer.position();
+        int end = TransactionCodec.readHeader(buffer, TransactionCodec.TYPE_TRANSACTION_RESULT);
+
+        ByteBuffer body = buffer.duplicate();
+        body.limit(end);
+        this.body = body.slice().asReadOnlyBuffer();
+
+        ByteBuffer record = buffer.duplicate();
+        record.position(start).limit(end);
+        this.record = record.slice().asReadOnlyBuffer();
+
+        buffer.position(end);
+
+        // Locate every part once, so the accessors below never need to check bounds again.
+        if (this.body.limit() < 1) {
+            throw new IllegalArgumentException("Truncated encoding: missing status");
+        }
+        int status = this.body.get(0) & 0xFF;
+        if (status > TransactionResultCodec.STATUS_FATAL) {
+            throw new IllegalArgumentException("Unknown transaction status: " + status);
+        }
+        int index = 1;
+        if (TransactionResultCodec.hasCause(status)) {
+            int causeLength = VarInt.readInt(this.body, index);
+            index = checkedEnd(VarInt.endOf(this.body, index, VarInt.MAX_LONG_LENGTH), causeLength);
+        }
+        this.energyUsedIndex = index;
+        this.outputIndex = VarInt.endOf(this.body, this.energyUsedIndex, VarInt.MAX_LONG_LENGTH);
+        long outputLengthPlusOne = VarInt.readLong(this.body, this.outputIndex);
+        if (outputLengthPlusOne - 1 > this.body.limit()) {
+            throw new IllegalArgumentException("Truncated encoding: output of " + (outputLengthPlusOne - 1) + " bytes runs past the end of the record");
+        }
+        int outputBytesIndex = VarInt.endOf(this.body, this.outputIndex, VarInt.MAX_LONG_LENGTH);
+        int logsLengthIndex = (outputLengthPlusOne == 0) ? outputBytesIndex : checkedEnd(outputBytesIndex, (int) (outputLengthPlusOne - 1));
+        this.logsLength = VarInt.readInt(this.body, logsLengthIndex);
+        this.logsIndex = VarInt.endOf(this.body, logsLengthIndex, VarInt.MAX_LONG_LENGTH);
+        int internalTransactionsLengthIndex = checkedEnd(this.logsIndex, this.logsLength);
+        this.internalTransactionsLength = VarInt.readInt(this.body, internalTransactionsLengthIndex);
+        this.internalTransactionsIndex = VarInt.endOf(this.body, internalTransactionsLengthIndex, VarInt.MAX_LONG_LENGTH);
+        if (checkedEnd(this.internalTransactionsIndex, this.internalTransactionsLength) != this.body.limit()) {
+            throw new IllegalArgumentException("Encoding has unexpected trailing bytes");
+        }
+    }
+
+    /**
+     * Wraps the encoded transaction result at the buffer's position and advances the position past
+     * it.
+     *
+     * @param buffer The buffer holding the encoding.
+     * @return a view of the encoded transaction result.
+     * @throws IllegalArgumentException if the encoding is malformed.
+     */
+    public static EncodedTransactionResult wrap(ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new NullPointerException("Cannot wrap a null buffer!");
+        }
+        return new EncodedTransactionResult(buffer);
+    }
+
+    /**
+     * Wraps the given bytes, which must hold exactly one encoded transaction result.
+     *
+     * @param encoding The encoded transaction result.
+     * @return a view of the encoded transaction result.
+     * @throws IllegalArgumentException if the encoding is malformed or has trailing bytes.
+     */
+    public static EncodedTransactionResult wrap(byte[] encoding) {
+        if (encoding == null) {
+            throw new NullPointerException("Cannot wrap a null encoding!");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(encoding);
+        EncodedTransactionResult result = new EncodedTransactionResult(buffer);
+        if (buffer.hasRemaining()) {
+            throw new IllegalArgumentException("Encoding has " + buffer.remaining() + " unexpected trailing bytes");
+        }
+        return result;
+    }
+
+    /**
+     * Returns the status of the transaction.
+     *
+     * @return the transaction status.
+     */
+    public TransactionStatus transactionStatus() {
+        return TransactionResultCodec.readStatus(this.body.duplicate());
+    }
+
+    /**
+     * Returns the amount of energy used by the transaction.
+     *
+     * @return the energy used.
+     */
+    public long energyUsed() {
+        return VarInt.readLong(this.body, this.energyUsedIndex);
+    }
+
+    /**
+     * Returns a copy of the transaction output if the transaction had any output.
+     *
+     * @return the transaction output.
+     */
+    public Optional<byte[]> copyOfTransactionOutput() {
+        ByteBuffer buffer = this.body.duplicate();
+        buffer.position(this.outputIndex);
+        return Optional.ofNullable(TransactionResultCodec.readOutput(buffer));
+    }
+
+    /**
+     * Returns the number of logs, without decoding them.
+     *
+     * @return the log count.
+     */
+    public int logCount() {
+        return VarInt.readInt(this.body, this.logsIndex);
+    }
+
+    /**
+     * Decodes and returns the logs.
+     *
+     * @return the logs.
+     * @throws IllegalArgumentException if the logs are malformed.
+     */
+    public List<Log> logs() {
+        return TransactionResultCodec.readLogs(slice(this.logsIndex, this.logsLength));
+    }
+
+    /**
+     * Returns the number of internal transactions, without decoding them.
+     *
+     * @return the internal transaction count.
+     */
+    public int internalTransactionCount() {
+        return VarInt.readInt(this.body, this.internalTransactionsIndex);
+    }
+
+    /**
+     * Decodes and returns the internal transactions.
+     *
+     * @return the internal transactions.
+     * @throws IllegalArgumentException if the internal transactions are malformed.
+     */
+    public List<InternalTransaction> internalTransactions() {
+        return TransactionResultCodec.readInternalTransactions(slice(this.internalTransactionsIndex, this.internalTransactionsLength));
+    }
+
+    /**
+     * Returns a read-only view of the complete encoding.
+     *
+     * @return a read-only view of the encoding.
+     */
+    public ByteBuffer encoding() {
+        return this.record.duplicate();
+    }
+
+    /**
+     * Decodes every part and returns the equivalent transaction result.
+     *
+     * @return the decoded transaction result.
+     * @throws IllegalArgumentException if a part is malformed.
+     */
+    public TransactionResult toTransactionResult() {
+        return TransactionResultCodec.decode(this.record.duplicate());
+    }
+
+    /**
+     * Returns {@code true} only if other is an encoded transaction result with the same encoding.
+     *
+     * @param other The object whose equality with this is to be determined.
+     * @return whether other is equal to this.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof EncodedTransactionResult)) {
+            return false;
+        } else if (other == this) {
+            return true;
+        }
+        return this.record.equals(((EncodedTransactionResult) other).record);
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = this.hashCode;
+        if (hashCode == 0) {
+            hashCode = this.record.hashCode();
+            this.hashCode = hashCode;
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "EncodedTransactionResult { encoded length = " + this.record.remaining() + " }";
+    }
+
+    private int checkedEnd(int index, int length) {
+        if (length > this.body.limit() - index) {
+            throw new IllegalArgumentException("Truncated encoding: field of length " + length + " runs past the end of the record");
+        }
+        return index + length;
+    }
+
+    private ByteBuffer slice(int index, int length) {
+        ByteBuffer view = this.body.duplicate();
+        view.position(index).limit(index + length);
+        return view.slice();
+    }
+}
@@ -0,0 +1,202 @@
+package org.aion.types;
+
+import java.io.IOException;
+
+/**
+ * A lookup-table based hexadecimal codec.
+ *
+ * All encoding methods produce lowercase hexadecimal characters, two per byte, without any prefix.
+ * The encoding methods can write directly into a {@code char[]}, a {@link StringBuilder} or any
+ * {@link Appendable} so that callers building larger strings do not need an intermediate string per
+ * byte array.
+ *
+ * The decoder accepts both lowercase and uppercase hexadecimal characters, but does not accept a
+ * {@code 0x} prefix.
+ */
+public final class Hex {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    // Each entry holds the two lowercase characters of a byte, high character in the upper 16 bits.
+    private static final int[] BYTE_TO_CHARS = new int[256];
+
+    // Maps an ASCII character to its nibble value, or -1 if it is not a hexadecimal digit.
+    private static final byte[] CHAR_TO_NIBBLE = new byte[128];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            BYTE_TO_CHARS[i] = (HEX_DIGITS[i >>> 4] << 16) | HEX_DIGITS[i & 0xF];
+        }
+        for (int i = 0; i < CHAR_TO_NIBBLE.length; i++) {
+            CHAR_TO_NIBBLE[i] = -1;
+        }
+        for (int i = 0; i < 10; i++) {
+            CHAR_TO_NIBBLE['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            CHAR_TO_NIBBLE['a' + i] = (byte) (10 + i);
+            CHAR_TO_NIBBLE['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    private Hex() {}
+
+    /**
+     * Returns the lowercase hexadecimal representation of the given bytes.
+     *
+     * @param bytes The bytes to encode.
+     * @return the hexadecimal string.
+     * @throws NullPointerException if bytes is null.
+     */
+    public static String bytesToHex(byte[] bytes) {
+        if (bytes == null) {
+            throw new NullPointerException("Cannot convert null to hex!");
+        }
+
+        char[] hex = new char[bytes.length * 2];
+        writeHex(bytes, 0, bytes.length, hex, 0);
+        return new String(hex);
+    }
+
+    /**
+     * Writes the lowercase hexadecimal representation of {@code length} bytes of the given array,
+     * starting at {@code offset}, into the destination array starting at {@code destinationOffset}.
+     *
+     * Exactly {@code 2 * length} characters are written.
+     *
+     * @param bytes The bytes to encode.
+     * @param offset The index of the first byte to encode.
+     * @param length The number of bytes to encode.
+     * @param destination The array to write the characters into.
+     * @param destinationOffset The index of the first character to write.
+     * @return the index in destination just past the last character written.
+     * @throws NullPointerException if bytes or destination is null.
+     * @throws IndexOutOfBoundsException if either range is out of bounds.
+     */
+    public static int writeHex(byte[] bytes, int offset, int length, char[] destination, int destinationOffset) {
+        if (bytes == null) {
+            throw new NullPointerException("Cannot convert null to hex!");
+        }
+        if (destination == null) {
+            throw new NullPointerException("Cannot write hex to a null destination!");
+        }
+        checkRange(bytes.length, offset, length);
+        checkRange(destination.length, destinationOffset, length * 2);
+
+        int position = destinationOffset;
+        for (int i = offset; i < offset + length; i++) {
+            int chars = BYTE_TO_CHARS[bytes[i] & 0xFF];
+            destination[position++] = (char) (chars >>> 16);
+            destination[position++] = (char) chars;
+        }
+        return position;
+    }
+
+    /**
+     * Appends the lowercase hexadecimal representation of the given bytes to the builder.
+     *
+     * @param builder The builder to append to.
+     * @param bytes The bytes to encode.
+     * @return the builder.
+     * @throws NullPointerException if builder or bytes is null.
+     */
+    public static StringBuilder appendHex(StringBuilder builder, byte[] bytes) {
+        if (bytes == null) {
+            throw new NullPointerException("Cannot convert null to hex!");
+        }
+
+        builder.ensureCapacity(builder.length() + bytes.length * 2);
+        for (byte b : bytes) {
+            int chars = BYTE_TO_CHARS[b & 0xFF];
+            builder.append((char) (chars >>> 16)).append((char) chars);
+        }
+        return builder;
+    }
+
+    /**
+     * Appends the lowercase hexadecimal representation of the given bytes to the appendable.
+     *
+     * @param appendable The appendable to append to.
+     * @param bytes The bytes to encode.
+     * @return the appendable.
+     * @throws NullPointerException if appendable or bytes is null.
+     * @throws IOException if the appendable throws.
+     */
+    public static <A extends Appendable> A appendHex(A appendable, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            throw new NullPointerException("Cannot convert null to hex!");
+        }
+
+        for (byte b : bytes) {
+            int chars = BYTE_TO_CHARS[b & 0xFF];
+            appendable.append((char) (chars >>> 16)).append((char) chars);
+        }
+        return appendable;
+    }
+
+    /**
+     * Writes the lowercase hexadecimal representation of {@code length} bytes as ASCII bytes, two per
+     * byte, and returns the index just past the last byte written. Bounds are not checked.
+     */
+    static int writeHexAscii(byte[] bytes, int offset, int length, byte[] destination, int destinationOffset) {
+        int position = destinationOffset;
+        for (int i = offset; i < offset + length; i++) {
+            int chars = BYTE_TO_CHARS[bytes[i] & 0xFF];
+            destination[position++] = (byte) (chars >>> 16);
+            destination[position++] = (byte) chars;
+        }
+        return position;
+    }
+
+    /**
+     * Writes the lowest {@code digits} nibbles of the value as lowercase ASCII hexadecimal digits,
+     * most significant first, and returns the index just past the last byte written. Bounds are not
+     * checked.
+     */
+    static int writeHexAscii(long value, int digits, byte[] destination, int destinationOffset) {
+        for (int i = digits - 1; i >= 0; i--) {
+            destination[destinationOffset + i] = (byte) HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        return destinationOffset + digits;
+    }
+
+    /**
+     * Returns the bytes represented by the given hexadecimal string.
+     *
+     * @param hex The hexadecimal characters to decode.
+     * @return the decoded bytes.
+     * @throws NullPointerException if hex is null.
+     * @throws IllegalArgumentException if hex has an odd length or contains a non-hexadecimal character.
+     */
+    public static byte[] hexToBytes(CharSequence hex) {
+        if (hex == null) {
+            throw new NullPointerException("Cannot convert null hex to bytes!");
+        }
+        if ((hex.length() & 1) != 0) {
+            throw new IllegalArgumentException("Cannot convert hex of odd length to bytes: " + hex.length());
+        }
+
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = nibbleAt(hex, 2 * i);
+            int low = nibbleAt(hex, 2 * i + 1);
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+        return bytes;
+    }
+
+    private static int nibbleAt(CharSequence hex, int index) {
+        char c = hex.charAt(index);
+        int nibble = (c < CHAR_TO_NIBBLE.length) ? CHAR_TO_NIBBLE[c] : -1;
+        if (nibble < 0) {
+            throw new IllegalArgumentException("Invalid hex character '" + c + "' at index " + index);
+        }
+        return nibble;
+    }
+
+    private static void checkRange(int arrayLength, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + arrayLength);
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package org.aion.types;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import org.aion.types.TypeMetrics.Type;
+import org.aion.types.internal_util.BigIntegerUtil;
 import org.aion.types.internal_util.ByteUtil;
 
 /**
@@ -23,9 +26,14 @@ public final class InternalTransaction {
     public final boolean isCreate;
     public final boolean isRejected;
 
+    // The sender nonce and value as longs, or BigIntegerUtil.NOT_A_LONG if they do not fit in one.
+    private final long senderNonceAsLong;
+    private final long valueAsLong;
+    private int hashCode;
+
     public enum RejectedStatus { REJECTED, NOT_REJECTED }
 
-    private InternalTransaction(RejectedStatus status, AionAddress sender, AionAddress destination, BigInteger senderNonce, BigInteger value, byte[] data, long energyLimit, long energyPrice, boolean isCreate, byte[] hashForInvokableTransaction) {
+    private InternalTransaction(RejectedStatus status, AionAddress sender, AionAddress destination, BigInteger senderNonce, BigInteger value, byte[] data, long energyLimit, long energyPrice, boolean isCreate, byte[] hashForInvokableTransaction, boolean copyArrays) {
         if (status == null) {
             throw new NullPointerException("Cannot create InternalTransaction with null status!");
         }
@@ -41,10 +49,10 @@ public final class InternalTransaction {
         if (data == null) {
             throw new NullPointerException("Cannot create InternalTransaction with null data!");
         }
-        if (senderNonce.compareTo(BigInteger.ZERO) < 0) {
+        if (senderNonce.signum() < 0) {
             throw new IllegalArgumentException("Cannot create InternalTransaction with negative senderNonce: " + senderNonce);
         }
-        if (value.compareTo(BigInteger.ZERO) < 0) {
+        if (value.signum() < 0) {
             throw new IllegalArgumentException("Cannot create InternalTransaction with negative value: " + value);
         }
         if (energyLimit < 0) {
@@ -58,14 +66,17 @@ public final class InternalTransaction {
         this.destination = destination;
         this.senderNonce = senderNonce;
         this.value = value;
+        this.senderNonceAsLong = BigIntegerUtil.toLongIfFits(senderNonce);
+        this.valueAsLong = BigIntegerUtil.toLongIfFits(value);
         this.energyLimit = energyLimit;
         this.energyPrice = energyPrice;
         this.isRejected = (status == RejectedStatus.REJECTED);
         this.isCreate = isCreate;
-        this.data = copyOf(data);
-        this.hashForInvokableTransaction = (null != hashForInvokableTransaction)
+        this.data = copyArrays ? copyOf(data) : data;
+        this.hashForInvokableTransaction = (copyArrays && null != hashForInvokableTransaction)
                 ? copyOf(hashForInvokableTransaction)
-                : null;
+                : hashForInvokableTransaction;
+        Metrics.constructed(Type.INTERNAL_TRANSACTION, copyArrays ? data.length + ((hashForInvokableTransaction == null) ? 0 : hashForInvokableTransaction.length) : 0);
     }
 
     /**
@@ -83,7 +94,7 @@ public final class InternalTransaction {
      * @return a new internal transaction.
      */
     public static InternalTransaction contractCreateTransaction(RejectedStatus status, AionAddress sender, BigInteger senderNonce, BigInteger value, byte[] data, long energyLimit, long energyPrice) {
-        return new InternalTransaction(status, sender, null, senderNonce, value, data, energyLimit, energyPrice, true, null);
+        return new InternalTransaction(status, sender, null, senderNonce, value, data, energyLimit, energyPrice, true, null, true);
     }
 
     /**
@@ -105,7 +116,7 @@ public final class InternalTransaction {
         if (null == invokableHash) {
             throw new NullPointerException("A serialized invokable MUST have a hash!");
         }
-        return new InternalTransaction(status, sender, null, senderNonce, value, data, energyLimit, energyPrice, true, invokableHash);
+        return new InternalTransaction(status, sender, null, senderNonce, value, data, energyLimit, energyPrice, true, invokableHash, true);
     }
 
     /**
@@ -129,7 +140,7 @@ public final class InternalTransaction {
             throw new NullPointerException("Cannot create InternalTransaction with null destination!");
         }
 
-        return new InternalTransaction(status, sender, destination, senderNonce, value, data, energyLimit, energyPrice, false, null);
+        return new InternalTransaction(status, sender, destination, senderNonce, value, data, energyLimit, energyPrice, false, null, true);
     }
 
     /**
@@ -157,7 +168,82 @@ public final class InternalTransaction {
             throw new NullPointerException("A serialized invokable MUST have a hash!");
         }
 
-        return new InternalTransaction(status, sender, destination, senderNonce, value, data, energyLimit, energyPrice, false, invokableHash);
+        return new InternalTransaction(status, sender, destination, senderNonce, value, data, energyLimit, energyPrice, false, invokableHash, true);
+    }
+
+    /**
+     * Constructs a new internal transaction that takes ownership of the given data and invokable
+     * hash arrays instead of copying them. The caller must not retain or modify either array
+     * afterwards.
+     *
+     * The destination must be null exactly when {@code isCreate == true}, and invokableHash may be
+     * null if this is not an invokable.
+     */
+    static InternalTransaction fromOwnedArrays(RejectedStatus status, AionAddress sender, AionAddress destination, BigInteger senderNonce, BigInteger value, byte[] data, long energyLimit, long energyPrice, boolean isCreate, byte[] invokableHash) {
+        if (!isCreate && destination == null) {
+            throw new NullPointerException("Cannot create InternalTransaction with null destination!");
+        }
+
+        return new InternalTransaction(status, sender, destination, senderNonce, value, data, energyLimit, energyPrice, isCreate, invokableHash, false);
+    }
+
+    /**
+     * Returns the transaction data without copying it. Callers must not modify the returned array.
+     */
+    byte[] rawData() {
+        return this.data;
+    }
+
+    /**
+     * Returns the invokable's hash without copying it, or null if the receiver is not an invokable.
+     * Callers must not modify the returned array.
+     */
+    byte[] rawInvokableHash() {
+        return this.hashForInvokableTransaction;
+    }
+
+    /**
+     * Returns {@code true} only if the sender nonce fits in a long.
+     *
+     * @return whether the sender nonce fits in a long.
+     */
+    public boolean senderNonceFitsInLong() {
+        return this.senderNonceAsLong != BigIntegerUtil.NOT_A_LONG;
+    }
+
+    /**
+     * Returns the sender nonce as a long, without any BigInteger arithmetic.
+     *
+     * @return the sender nonce.
+     * @throws ArithmeticException if the sender nonce does not fit in a long.
+     */
+    public long senderNonceAsLong() {
+        if (this.senderNonceAsLong == BigIntegerUtil.NOT_A_LONG) {
+            throw new ArithmeticException("Sender nonce does not fit in a long: " + this.senderNonce);
+        }
+        return this.senderNonceAsLong;
+    }
+
+    /**
+     * Returns {@code true} only if the value fits in a long.
+     *
+     * @return whether the value fits in a long.
+     */
+    public boolean valueFitsInLong() {
+        return this.valueAsLong != BigIntegerUtil.NOT_A_LONG;
+    }
+
+    /**
+     * Returns the value as a long, without any BigInteger arithmetic.
+     *
+     * @return the value.
+     * @throws ArithmeticException if the value does not fit in a long.
+     */
+    public long valueAsLong() {
+        if (this.valueAsLong == BigIntegerUtil.NOT_A_LONG) {
+            throw new ArithmeticException("Value does not fit in a long: " + this.value);
+        }
+        return this.valueAsLong;
     }
 
     /**
@@ -166,18 +252,31 @@ public final class InternalTransaction {
      * @return the transaction data.
      */
     public byte[] copyOfData() {
+        Metrics.copied(Type.INTERNAL_TRANSACTION, "copyOfData", this.data.length);
         return copyOf(this.data);
     }
 
+    /**
+     * Returns a read-only view of the transaction data. The view is backed by the receiver, so no
+     * bytes are copied.
+     *
+     * @return a read-only view of the transaction data.
+     */
+    public ByteBuffer dataView() {
+        return ByteBuffer.wrap(this.data).asReadOnlyBuffer();
+    }
+
     /**
      * Returns a copy of the invokable's hash, null if the receiver is not an invokable.
      *
      * @return The invokable's hash or null, if this is not an invokable.
      */
     public byte[] copyOfInvokableHash() {
-        return (null != this.hashForInvokableTransaction)
-                ? copyOf(this.hashForInvokableTransaction)
-                : null;
+        if (null == this.hashForInvokableTransaction) {
+            return null;
+        }
+        Metrics.copied(Type.INTERNAL_TRANSACTION, "copyOfInvokableHash", this.hashForInvokableTransaction.length);
+        return copyOf(this.hashForInvokableTransaction);
     }
 
     @Override
@@ -189,37 +288,48 @@ public final class InternalTransaction {
         }
 
         InternalTransaction otherTransaction = (InternalTransaction) other;
+        if (this.hashCode != 0 && otherTransaction.hashCode != 0 && this.hashCode != otherTransaction.hashCode) {
+            return false;
+        }
 
-        return this.sender.equals(otherTransaction.sender)
-            && ((this.destination == null) ? (otherTransaction.destination == null) : this.destination.equals(otherTransaction.destination))
-            && this.senderNonce.equals(otherTransaction.senderNonce)
-            && this.value.equals(otherTransaction.value)
-            && Arrays.equals(this.data, otherTransaction.data)
+        // The primitive fields go first, and the data, which may be large, goes last.
+        return (this.senderNonceAsLong == otherTransaction.senderNonceAsLong)
+            && (this.valueAsLong == otherTransaction.valueAsLong)
             && (this.energyLimit == otherTransaction.energyLimit)
             && (this.energyPrice == otherTransaction.energyPrice)
             && (this.isRejected == otherTransaction.isRejected)
             && (this.isCreate == otherTransaction.isCreate)
+            && this.sender.equals(otherTransaction.sender)
+            && ((this.destination == null) ? (otherTransaction.destination == null) : this.destination.equals(otherTransaction.destination))
+            && (this.senderNonceAsLong != BigIntegerUtil.NOT_A_LONG || this.senderNonce.equals(otherTransaction.senderNonce))
+            && (this.valueAsLong != BigIntegerUtil.NOT_A_LONG || this.value.equals(otherTransaction.value))
             && Arrays.equals(this.hashForInvokableTransaction, otherTransaction.hashForInvokableTransaction)
+            && Arrays.equals(this.data, otherTransaction.data)
         ;
     }
 
     @Override
     public int hashCode() {
-        return this.sender.hashCode()
-            + ((this.destination == null) ? 0 : this.destination.hashCode())
-            + this.senderNonce.intValue() * 17
-            + this.value.intValue() * 71
-            + Arrays.hashCode(this.data)
-            + (int) this.energyLimit * 127
-            + (int) this.energyPrice * 5
-            + ((this.isRejected) ? 1 : 0)
-            + ((this.isCreate) ? 1 : 0)
-            + Arrays.hashCode(this.hashForInvokableTransaction)
-        ;
+        int hash = this.hashCode;
+        if (hash == 0) {
+            hash = this.sender.hashCode();
+            hash = 31 * hash + ((this.destination == null) ? 0 : this.destination.hashCode());
+            hash = 31 * hash + BigIntegerUtil.hashOf(this.senderNonce, this.senderNonceAsLong);
+            hash = 31 * hash + BigIntegerUtil.hashOf(this.value, this.valueAsLong);
+            hash = 31 * hash + Long.hashCode(this.energyLimit);
+            hash = 31 * hash + Long.hashCode(this.energyPrice);
+            hash = 31 * hash + (this.isRejected ? 1231 : 1237);
+            hash = 31 * hash + (this.isCreate ? 1231 : 1237);
+            hash = 31 * hash + Arrays.hashCode(this.data);
+            hash = 31 * hash + Arrays.hashCode(this.hashForInvokableTransaction);
+            this.hashCode = hash;
+        }
+        return hash;
     }
 
     @Override
     public String toString() {
+        Metrics.toStringCalled(Type.INTERNAL_TRANSACTION);
         String type = (this.isCreate) ? "CREATE" : "CALL";
         String destination = (this.isCreate) ? "" : ", destination = " + this.destination;
 
@@ -0,0 +1,283 @@
+package org.aion.types;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import org.aion.types.internal_util.VarInt;
+
+/**
+ * An immutable list of {@link InternalTransaction}s stored as their {@link TransactionCodec}
+ * encodings, back to back in a single array.
+ *
+ * A transaction that makes thousands of contract calls would otherwise keep thousands of internal
+ * transaction objects alive, each with its own data array and {@code BigInteger}s. This list keeps
+ * one array and one index of record offsets instead: {@link #get(int)} decodes a record into an
+ * {@link InternalTransaction} only when it is first asked for and returns that same object after,
+ * and {@link #isCreate(int)},
+ * {@link #isRejected(int)}, {@link #energyLimit(int)} and {@link #energyPrice(int)} read a field in
+ * place without decoding anything.
+ *
+ * A {@link TransactionResult} keeps this list as it is, and {@link TransactionResultCodec} both
+ * decodes internal transactions into one and encodes one by copying its records, so a result that
+ * is decoded, stored and re-encoded never materializes its internal transactions.
+ */
+public final class InternalTransactionList extends AbstractList<InternalTransaction> implements RandomAccess {
+    private final byte[] records;
+    // The start of record i is offsets[i] and its end is offsets[i + 1].
+    private final int[] offsets;
+    // Decoded transactions by index, allocated by the first get. A racing get can only decode a
+    // record twice, and the transactions' final fields make them safe to publish this way.
+    private InternalTransaction[] decoded;
+    private int hashCode;
+
+    private InternalTransactionList(byte[] records, int[] offsets) {
+        this.records = records;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Returns a list holding the given internal transactions, in order. A list that is already an
+     * internal transaction list is returned as it is.
+     *
+     * @param transactions The internal transactions.
+     * @return the list.
+     * @throws NullPointerException if transactions is null or contains null.
+     */
+    public static InternalTransactionList copyOf(List<InternalTransaction> transactions) {
+        if (transactions == null) {
+            throw new NullPointerException("Cannot copy null internal transactions!");
+        }
+        if (transactions instanceof InternalTransactionList) {
+            return (InternalTransactionList) transactions;
+        }
+
+        Builder builder = new Builder();
+        for (InternalTransaction transaction : transactions) {
+            builder.add(transaction);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reads count consecutive internal transaction records at the buffer's position, checking each
+     * as {@link TransactionCodec#decodeInternalTransaction(ByteBuffer)} would, and advances the
+     * position past them.
+     *
+     * @throws IllegalArgumentException if a record is malformed.
+     */
+    static InternalTransactionList readFrom(ByteBuffer buffer, int count) {
+        int start = buffer.position();
+        int[] offsets = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            offsets[i] = buffer.position() - start;
+            TransactionCodec.skipInternalTransaction(buffer);
+        }
+        offsets[count] = buffer.position() - start;
+
+        byte[] records = new byte[offsets[count]];
+        ByteBuffer source = buffer.duplicate();
+        source.position(start);
+        source.get(records);
+        return new InternalTransactionList(records, offsets);
+    }
+
+    /**
+     * Returns the number of bytes that the records of every internal transaction occupy together.
+     */
+    int recordsLength() {
+        return this.offsets[this.offsets.length - 1];
+    }
+
+    /**
+     * Writes the records of every internal transaction at the buffer's position and advances it.
+     *
+     * @throws BufferOverflowException if the buffer has too little room.
+     */
+    void writeTo(ByteBuffer buffer) {
+        buffer.put(this.records, 0, recordsLength());
+    }
+
+    /**
+     * Returns the internal transaction at the given index, decoding it on the first call.
+     *
+     * @param index The index of the internal transaction.
+     * @return the internal transaction.
+     * @throws IndexOutOfBoundsException if index is out of bounds.
+     */
+    @Override
+    public InternalTransaction get(int index) {
+        checkIndex(index);
+        InternalTransaction[] decoded = this.decoded;
+        if (decoded == null) {
+            decoded = new InternalTransaction[size()];
+            this.decoded = decoded;
+        }
+        InternalTransaction transaction = decoded[index];
+        if (transaction == null) {
+            transaction = TransactionCodec.decodeInternalTransaction(ByteBuffer.wrap(this.records, this.offsets[index], this.offsets[index + 1] - this.offsets[index]));
+            decoded[index] = transaction;
+        }
+        return transaction;
+    }
+
+    @Override
+    public int size() {
+        return this.offsets.length - 1;
+    }
+
+    /**
+     * Returns {@code true} only if the internal transaction at the given index creates a contract.
+     *
+     * @param index The index of the internal transaction.
+     * @return whether the internal transaction is a create.
+     * @throws IndexOutOfBoundsException if index is out of bounds.
+     */
+    public boolean isCreate(int index) {
+        return (this.records[bodyIndex(index)] & TransactionCodec.FLAG_CREATE) != 0;
+    }
+
+    /**
+     * Returns {@code true} only if the internal transaction at the given index was rejected.
+     *
+     * @param index The index of the internal transaction.
+     * @return whether the internal transaction was rejected.
+     * @throws IndexOutOfBoundsException if index is out of bounds.
+     */
+    public boolean isRejected(int index) {
+        return (this.records[bodyIndex(index)] & TransactionCodec.FLAG_REJECTED) != 0;
+    }
+
+    /**
+     * Returns the energy limit of the internal transaction at the given index.
+     *
+     * @param index The index of the internal transaction.
+     * @return the energy limit.
+     * @throws IndexOutOfBoundsException if index is out of bounds.
+     */
+    public long energyLimit(int index) {
+        int energyLimitIndex = energyLimitIndex(index);
+        return VarInt.decode(this.records, energyLimitIndex, VarInt.scan(this.records, energyLimitIndex, this.records.length, VarInt.MAX_LONG_LENGTH));
+    }
+
+    /**
+     * Returns the energy price of the internal transaction at the given index.
+     *
+     * @param index The index of the internal transaction.
+     * @return the energy price.
+     * @throws IndexOutOfBoundsException if index is out of bounds.
+     */
+    public long energyPrice(int index) {
+        int energyPriceIndex = VarInt.scan(this.records, energyLimitIndex(index), this.records.length, VarInt.MAX_LONG_LENGTH);
+        return VarInt.decode(this.records, energyPriceIndex, VarInt.scan(this.records, energyPriceIndex, this.records.length, VarInt.MAX_LONG_LENGTH));
+    }
+
+    /**
+     * Returns {@code true} only if other is a list holding equal internal transactions in the same
+     * order. Two internal transaction lists with identical records are compared without decoding
+     * them.
+     *
+     * @param other The object whose equality with this is to be determined.
+     * @return whether other is equal to this.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof InternalTransactionList) {
+            InternalTransactionList otherList = (InternalTransactionList) other;
+            if (Arrays.equals(this.offsets, otherList.offsets) && Arrays.equals(this.records, 0, recordsLength(), otherList.records, 0, otherList.recordsLength())) {
+                return true;
+            }
+        }
+        return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = this.hashCode;
+        if (hashCode == 0) {
+            hashCode = super.hashCode();
+            this.hashCode = hashCode;
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "InternalTransactionList { size = " + size() + ", records length = " + recordsLength() + " }";
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for " + size() + " internal transactions");
+        }
+    }
+
+    // Returns the index of the flags byte that begins the body of record i.
+    private int bodyIndex(int index) {
+        checkIndex(index);
+        return VarInt.scan(this.records, this.offsets[index] + 2, this.records.length, VarInt.MAX_LONG_LENGTH);
+    }
+
+    // Returns the index of the energy limit of record i, past its flags, addresses, nonce and value.
+    private int energyLimitIndex(int index) {
+        int bodyIndex = bodyIndex(index);
+        int nonceIndex = bodyIndex + 1 + (((this.records[bodyIndex] & TransactionCodec.FLAG_CREATE) != 0) ? AionAddress.LENGTH : 2 * AionAddress.LENGTH);
+        int valueIndex = VarInt.scan(this.records, nonceIndex, this.records.length, VarInt.MAX_BIG_INTEGER_LENGTH);
+        return VarInt.scan(this.records, valueIndex, this.records.length, VarInt.MAX_BIG_INTEGER_LENGTH);
+    }
+
+    /**
+     * Collects internal transactions into an {@link InternalTransactionList}, encoding each one into
+     * a growing array as it is added so that the added objects need not be kept.
+     *
+     * A builder is not thread-safe.
+     */
+    public static final class Builder {
+        private byte[] records = new byte[256];
+        private int[] offsets = new int[17];
+        private int size = 0;
+
+        /**
+         * Constructs a new builder with no internal transactions.
+         */
+        public Builder() {}
+
+        /**
+         * Appends the given internal transaction.
+         *
+         * @param transaction The internal transaction to append.
+         * @return this builder.
+         * @throws NullPointerException if transaction is null.
+         */
+        public Builder add(InternalTransaction transaction) {
+            if (transaction == null) {
+                throw new NullPointerException("Cannot add a null internal transaction!");
+            }
+
+            int start = this.offsets[this.size];
+            int length = TransactionCodec.encodedLength(transaction);
+            if (this.records.length - start < length) {
+                this.records = Arrays.copyOf(this.records, Math.max(start + length, 2 * this.records.length));
+            }
+            if (this.size + 1 == this.offsets.length) {
+                this.offsets = Arrays.copyOf(this.offsets, 2 * this.offsets.length);
+            }
+            TransactionCodec.encode(transaction, ByteBuffer.wrap(this.records, start, length));
+            this.size++;
+            this.offsets[this.size] = start + length;
+            return this;
+        }
+
+        /**
+         * Returns a list of the internal transactions added so far. The builder can keep being used
+         * afterwards.
+         *
+         * @return the list.
+         */
+        public InternalTransactionList build() {
+            return new InternalTransactionList(Arrays.copyOf(this.records, this.offsets[this.size]), Arrays.copyOf(this.offsets, this.size + 1));
+        }
+    }
+}
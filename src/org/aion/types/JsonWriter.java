@@ -0,0 +1,623 @@
+package org.aion.types;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * A streaming JSON serializer of {@link Transaction}, {@link InternalTransaction}, {@link Log},
+ * {@link TransactionStatus} and {@link TransactionResult}.
+ *
+ * Byte arrays and addresses are written as {@code 0x}-prefixed lowercase hexadecimal strings, and
+ * numbers as {@code 0x}-prefixed hexadecimal quantities without leading zeros ({@code "0x0"} for
+ * zero), as in the Ethereum JSON-RPC API. A missing destination, invokable hash or output is written
+ * as {@code null}. Objects use the field names of the classes they serialize, and a status is written
+ * as an object holding its {@code status} ({@code success}, {@code rejected}, {@code reverted},
+ * {@code failed} or {@code fatal}) and its {@code causeOfError}.
+ *
+ * The writer reads the internal arrays of the objects directly and encodes them into a reusable
+ * chunk, so writing allocates nothing but the occasional value too large for a long. Every
+ * character outside printable ASCII is escaped, so the output is pure ASCII and byte sinks need no
+ * charset.
+ *
+ * Values written at the top level follow one another without separators. Values written between
+ * {@link #beginArray()} and {@link #endArray()} are separated by commas. Output to an
+ * {@link Appendable} or {@link ByteBuffer} is drained after each top-level value; output to an
+ * {@link OutputStream} is only drained when the chunk fills or on {@link #flush()}.
+ *
+ * A writer is not thread-safe.
+ */
+public final class JsonWriter implements Flushable {
+    private static final int CHUNK_SIZE = 2048;
+
+    private final Sink sink;
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+    private int count;
+    private int depth;
+    private boolean needsComma;
+    private boolean firstField;
+
+    private JsonWriter(Sink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Returns a writer that appends characters to the given appendable.
+     *
+     * @param appendable The appendable to write to.
+     * @return the writer.
+     * @throws NullPointerException if appendable is null.
+     */
+    public static JsonWriter to(Appendable appendable) {
+        if (appendable == null) {
+            throw new NullPointerException("Cannot write JSON to a null appendable!");
+        }
+        return new JsonWriter(new AppendableSink(appendable));
+    }
+
+    /**
+     * Returns a writer that writes ASCII bytes to the given stream. The stream is only written to
+     * when the writer's chunk fills or on {@link #flush()}.
+     *
+     * @param stream The stream to write to.
+     * @return the writer.
+     * @throws NullPointerException if stream is null.
+     */
+    public static JsonWriter to(OutputStream stream) {
+        if (stream == null) {
+            throw new NullPointerException("Cannot write JSON to a null stream!");
+        }
+        return new JsonWriter(new StreamSink(stream));
+    }
+
+    /**
+     * Returns a writer that puts ASCII bytes into the given buffer at its position. If the buffer
+     * fills, writing throws {@link BufferOverflowException} and the buffer holds an unspecified prefix
+     * of the output.
+     *
+     * @param buffer The buffer to write to.
+     * @return the writer.
+     * @throws NullPointerException if buffer is null.
+     */
+    public static JsonWriter to(ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new NullPointerException("Cannot write JSON to a null buffer!");
+        }
+        return new JsonWriter(new BufferSink(buffer));
+    }
+
+    /**
+     * Starts an array. Values written until the matching {@link #endArray()} are its elements.
+     *
+     * @return this writer.
+     * @throws IOException if the sink throws.
+     */
+    public JsonWriter beginArray() throws IOException {
+        beforeValue();
+        writeByte('[');
+        this.depth++;
+        this.needsComma = false;
+        return this;
+    }
+
+    /**
+     * Ends the innermost open array.
+     *
+     * @return this writer.
+     * @throws IllegalStateException if no array is open.
+     * @throws IOException if the sink throws.
+     */
+    public JsonWriter endArray() throws IOException {
+        if (this.depth == 0) {
+            throw new IllegalStateException("Cannot end an array that was never begun!");
+        }
+        this.depth--;
+        writeByte(']');
+        afterValue();
+        return this;
+    }
+
+    /**
+     * Writes the given transaction as a JSON object.
+     *
+     * @param transaction The transaction to write.
+     * @return this writer.
+     * @throws NullPointerException if transaction is null.
+     * @throws IOException if the sink throws.
+     */
+    public JsonWriter write(Transaction transaction) throws IOException {
+        if (transaction == null) {
+            throw new NullPointerException("Cannot write a null transaction!");
+        }
+        beforeValue();
+        writeTransaction(transaction);
+        afterValue();
+        return this;
+    }
+
+    /**
+     * Writes the given internal transaction as a JSON object.
+     *
+     * @param transaction The internal transaction to write.
+     * @return this writer.
+     * @throws NullPointerException if transaction is null.
+     * @throws IOException if the sink throws.
+     */
+    public JsonWriter write(InternalTransaction transaction) throws IOException {
+        if (transaction == null) {
+            throw new NullPointerException("Cannot write a null internal transaction!");
+        }
+        beforeValue();
+        writeInternalTransaction(transaction);
+        afterValue();
+        return this;
+    }
+
+    /**
+     * Writes the given log as a JSON object.
+     *
+     * @param log The log to write.
+     * @return this writer.
+     * @throws NullPointerException if log is null.
+     * @throws IOException if the sink throws.
+     */
+    public JsonWriter write(Log log) throws IOException {
+        if (log == null) {
+            throw new NullPointerException("Cannot write a null log!");
+        }
+        beforeValue();
+        writeLog(log);
+        afterValue();
+        return this;
+    }
+
+    /**
+     * Writes the given transaction status as a JSON object.
+     *
+     * @param status The transaction status to write.
+     * @return this writer.
+     * @throws NullPointerException if status is null.
+     * @throws IOException if the sink throws.
+     */
+    public JsonWriter write(TransactionStatus status) throws IOException {
+        if (status == null) {
+            throw new NullPointerException("Cannot write a null transaction status!");
+        }
+        beforeValue();
+        writeStatus(status);
+        afterValue();
+        return this;
+    }
+
+    /**
+     * Writes the given transaction result, with its status, logs and internal transactions, as a
+     * JSON object.
+     *
+     * @param result The transaction result to write.
+     * @return this writer.
+     * @throws NullPointerException if result is null.
+     * @throws IOException if the sink throws.
+     */
+    public JsonWriter write(TransactionResult result) throws IOException {
+        if (result == null) {
+            throw new NullPointerException("Cannot write a null transaction result!");
+        }
+        beforeValue();
+        writeResult(result);
+        afterValue();
+        return this;
+    }
+
+    /**
+     * Drains everything written so far to the sink, and flushes the sink if it is a stream.
+     *
+     * @throws IOException if the sink throws.
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        this.sink.flush();
+    }
+
+    @Override
+    public String toString() {
+        return "JsonWriter { depth = " + this.depth + ", buffered = " + this.count + " }";
+    }
+
+    private void writeTransaction(Transaction transaction) throws IOException {
+        beginObject();
+        name("senderAddress");
+        writeAddress(transaction.senderAddress);
+        name("destinationAddress");
+        writeAddress(transaction.destinationAddress);
+        name("transactionHash");
+        writeHex(transaction.rawTransactionHash());
+        name("value");
+        if (transaction.valueFitsInLong()) {
+            writeQuantity(transaction.valueAsLong());
+        } else {
+            writeQuantity(transaction.value);
+        }
+        name("nonce");
+        if (transaction.nonceFitsInLong()) {
+            writeQuantity(transaction.nonceAsLong());
+        } else {
+            writeQuantity(transaction.nonce);
+        }
+        name("energyPrice");
+        writeQuantity(transaction.energyPrice);
+        name("energyLimit");
+        writeQuantity(transaction.energyLimit);
+        name("isCreate");
+        writeBoolean(transaction.isCreate);
+        name("transactionData");
+        writeHex(transaction.rawTransactionData());
+        endObject();
+    }
+
+    private void writeInternalTransaction(InternalTransaction transaction) throws IOException {
+        beginObject();
+        name("sender");
+        writeAddress(transaction.sender);
+        name("destination");
+        writeAddress(transaction.destination);
+        name("senderNonce");
+        if (transaction.senderNonceFitsInLong()) {
+            writeQuantity(transaction.senderNonceAsLong());
+        } else {
+            writeQuantity(transaction.senderNonce);
+        }
+        name("value");
+        if (transaction.valueFitsInLong()) {
+            writeQuantity(transaction.valueAsLong());
+        } else {
+            writeQuantity(transaction.value);
+        }
+        name("energyLimit");
+        writeQuantity(transaction.energyLimit);
+        name("energyPrice");
+        writeQuantity(transaction.energyPrice);
+        name("isCreate");
+        writeBoolean(transaction.isCreate);
+        name("isRejected");
+        writeBoolean(transaction.isRejected);
+        name("data");
+        writeHex(transaction.rawData());
+        name("invokableHash");
+        writeHex(transaction.rawInvokableHash());
+        endObject();
+    }
+
+    private void writeLog(Log log) throws IOException {
+        beginObject();
+        name("address");
+        writeHex(log.rawAddress());
+        name("topics");
+        writeByte('[');
+        List<byte[]> topics = log.rawTopics();
+        for (int i = 0; i < topics.size(); i++) {
+            if (i > 0) {
+                writeByte(',');
+            }
+            writeHex(topics.get(i));
+        }
+        writeByte(']');
+        name("data");
+        writeHex(log.rawData());
+        endObject();
+    }
+
+    private void writeStatus(TransactionStatus status) throws IOException {
+        beginObject();
+        name("status");
+        writeString(statusName(status));
+        name("causeOfError");
+        writeString(status.causeOfError);
+        endObject();
+    }
+
+    private void writeResult(TransactionResult result) throws IOException {
+        beginObject();
+        name("transactionStatus");
+        writeStatus(result.transactionStatus);
+        name("energyUsed");
+        writeQuantity(result.energyUsed);
+        name("output");
+        writeHex(result.rawOutput());
+        name("logs");
+        writeByte('[');
+        for (int i = 0; i < result.logs.size(); i++) {
+            if (i > 0) {
+                writeByte(',');
+            }
+            writeLog(result.logs.get(i));
+        }
+        writeByte(']');
+        name("internalTransactions");
+        writeByte('[');
+        for (int i = 0; i < result.internalTransactions.size(); i++) {
+            if (i > 0) {
+                writeByte(',');
+            }
+            writeInternalTransaction(result.internalTransactions.get(i));
+        }
+        writeByte(']');
+        endObject();
+    }
+
+    private void beforeValue() throws IOException {
+        if (this.needsComma) {
+            writeByte(',');
+        }
+    }
+
+    private void afterValue() throws IOException {
+        if (this.depth > 0) {
+            this.needsComma = true;
+        } else {
+            this.needsComma = false;
+            if (this.sink.drainsEachValue()) {
+                drain();
+            }
+        }
+    }
+
+    private void beginObject() throws IOException {
+        writeByte('{');
+        this.firstField = true;
+    }
+
+    private void endObject() throws IOException {
+        writeByte('}');
+        this.firstField = false;
+    }
+
+    /**
+     * Writes the quoted name of a field followed by a colon, preceded by a comma unless it is the
+     * first field of its object. Names are ASCII constants and need no escaping.
+     */
+    private void name(String name) throws IOException {
+        reserve(name.length() + 4);
+        if (!this.firstField) {
+            this.chunk[this.count++] = ',';
+        }
+        this.firstField = false;
+        this.chunk[this.count++] = '"';
+        for (int i = 0; i < name.length(); i++) {
+            this.chunk[this.count++] = (byte) name.charAt(i);
+        }
+        this.chunk[this.count++] = '"';
+        this.chunk[this.count++] = ':';
+    }
+
+    private void writeAddress(AionAddress address) throws IOException {
+        if (address == null) {
+            writeNull();
+            return;
+        }
+        reserve(4 + AionAddress.LENGTH * 2);
+        this.chunk[this.count++] = '"';
+        this.chunk[this.count++] = '0';
+        this.chunk[this.count++] = 'x';
+        for (int i = 0; i < 4; i++) {
+            this.count = Hex.writeHexAscii(address.rawWord(i), 16, this.chunk, this.count);
+        }
+        this.chunk[this.count++] = '"';
+    }
+
+    private void writeHex(byte[] bytes) throws IOException {
+        if (bytes == null) {
+            writeNull();
+            return;
+        }
+        reserve(3);
+        this.chunk[this.count++] = '"';
+        this.chunk[this.count++] = '0';
+        this.chunk[this.count++] = 'x';
+        writeHexDigits(bytes, 0, bytes.length);
+        writeByte('"');
+    }
+
+    // Large arrays are encoded in pieces that fill whatever room is left in the chunk.
+    private void writeHexDigits(byte[] bytes, int offset, int length) throws IOException {
+        int end = offset + length;
+        while (offset < end) {
+            if (CHUNK_SIZE - this.count < 2) {
+                drain();
+            }
+            int piece = Math.min(end - offset, (CHUNK_SIZE - this.count) / 2);
+            this.count = Hex.writeHexAscii(bytes, offset, piece, this.chunk, this.count);
+            offset += piece;
+        }
+    }
+
+    private void writeQuantity(long value) throws IOException {
+        int digits = Math.max(1, (67 - Long.numberOfLeadingZeros(value)) / 4);
+        reserve(3 + digits);
+        this.chunk[this.count++] = '"';
+        this.chunk[this.count++] = '0';
+        this.chunk[this.count++] = 'x';
+        this.count = Hex.writeHexAscii(value, digits, this.chunk, this.count);
+        this.chunk[this.count++] = '"';
+    }
+
+    /**
+     * Writes a non-negative quantity too large for a long. This is the only path that allocates.
+     */
+    private void writeQuantity(BigInteger value) throws IOException {
+        byte[] magnitude = value.toByteArray();
+        int offset = 0;
+        while (offset < magnitude.length - 1 && magnitude[offset] == 0) {
+            offset++;
+        }
+        reserve(5);
+        this.chunk[this.count++] = '"';
+        this.chunk[this.count++] = '0';
+        this.chunk[this.count++] = 'x';
+        // The leading byte drops its high nibble when it is zero, so the quantity has no leading zero.
+        int leading = magnitude[offset] & 0xFF;
+        this.count = Hex.writeHexAscii(leading, (leading < 0x10) ? 1 : 2, this.chunk, this.count);
+        writeHexDigits(magnitude, offset + 1, magnitude.length - offset - 1);
+        writeByte('"');
+    }
+
+    private void writeString(String string) throws IOException {
+        writeByte('"');
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            reserve(6);
+            if (c == '"' || c == '\\') {
+                this.chunk[this.count++] = '\\';
+                this.chunk[this.count++] = (byte) c;
+            } else if (c >= 0x20 && c < 0x7F) {
+                this.chunk[this.count++] = (byte) c;
+            } else if (c == '\n') {
+                this.chunk[this.count++] = '\\';
+                this.chunk[this.count++] = 'n';
+            } else if (c == '\r') {
+                this.chunk[this.count++] = '\\';
+                this.chunk[this.count++] = 'r';
+            } else if (c == '\t') {
+                this.chunk[this.count++] = '\\';
+                this.chunk[this.count++] = 't';
+            } else {
+                this.chunk[this.count++] = '\\';
+                this.chunk[this.count++] = 'u';
+                this.count = Hex.writeHexAscii(c, 4, this.chunk, this.count);
+            }
+        }
+        writeByte('"');
+    }
+
+    private void writeBoolean(boolean value) throws IOException {
+        writeAscii(value ? "true" : "false");
+    }
+
+    private void writeNull() throws IOException {
+        writeAscii("null");
+    }
+
+    private void writeAscii(String ascii) throws IOException {
+        reserve(ascii.length());
+        for (int i = 0; i < ascii.length(); i++) {
+            this.chunk[this.count++] = (byte) ascii.charAt(i);
+        }
+    }
+
+    private void writeByte(char c) throws IOException {
+        reserve(1);
+        this.chunk[this.count++] = (byte) c;
+    }
+
+    private void reserve(int length) throws IOException {
+        if (CHUNK_SIZE - this.count < length) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        if (this.count > 0) {
+            // Reset first, so a sink that throws does not get the same bytes again.
+            int length = this.count;
+            this.count = 0;
+            this.sink.write(this.chunk, length);
+        }
+    }
+
+    private static String statusName(TransactionStatus status) {
+        if (status.isSuccess()) {
+            return "success";
+        } else if (status.isRejected()) {
+            return "rejected";
+        } else if (status.isReverted()) {
+            return "reverted";
+        } else if (status.isFailed()) {
+            return "failed";
+        } else {
+            return "fatal";
+        }
+    }
+
+    private interface Sink {
+        void write(byte[] ascii, int length) throws IOException;
+
+        void flush() throws IOException;
+
+        boolean drainsEachValue();
+    }
+
+    private static final class AppendableSink implements Sink {
+        private final Appendable appendable;
+
+        private AppendableSink(Appendable appendable) {
+            this.appendable = appendable;
+        }
+
+        @Override
+        public void write(byte[] ascii, int length) throws IOException {
+            for (int i = 0; i < length; i++) {
+                this.appendable.append((char) ascii[i]);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (this.appendable instanceof Flushable) {
+                ((Flushable) this.appendable).flush();
+            }
+        }
+
+        @Override
+        public boolean drainsEachValue() {
+            return true;
+        }
+    }
+
+    private static final class StreamSink implements Sink {
+        private final OutputStream stream;
+
+        private StreamSink(OutputStream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public void write(byte[] ascii, int length) throws IOException {
+            this.stream.write(ascii, 0, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.stream.flush();
+        }
+
+        @Override
+        public boolean drainsEachValue() {
+            return false;
+        }
+    }
+
+    private static final class BufferSink implements Sink {
+        private final ByteBuffer buffer;
+
+        private BufferSink(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(byte[] ascii, int length) {
+            this.buffer.put(ascii, 0, length);
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public boolean drainsEachValue() {
+            return true;
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package org.aion.types;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import org.aion.types.internal_util.ByteUtil;
+import org.aion.types.TypeMetrics.Type;
 
 /**
  * A log holds an address and some data, and optionally may associate topics with this data.
@@ -19,8 +20,10 @@ public final class Log {
     private final byte[] address;
     private final byte[] data;
     private final List<byte[]> topics;
+    private Bloom bloom;
+    private int hashCode;
 
-    private Log(byte[] address, byte[] data, List<byte[]> topics) {
+    private Log(byte[] address, byte[] data, List<byte[]> topics, boolean copyArrays) {
         if (address == null) {
             throw new NullPointerException("Cannot create log with null address!");
         }
@@ -31,9 +34,13 @@ public final class Log {
             throw new NullPointerException("Cannot create log with null data!");
         }
 
-        this.address = copyOf(address);
-        this.topics = copyOfBytesList(topics);
-        this.data = copyOf(data);
+        this.address = copyArrays ? copyOf(address) : address;
+        this.topics = copyArrays ? copyOfBytesList(topics) : topics;
+        this.data = copyArrays ? copyOf(data) : data;
+        // Summing the topics is skipped while metrics are off.
+        if (Metrics.enabled()) {
+            Metrics.constructed(Type.LOG, copyArrays ? address.length + totalLength(topics) + data.length : 0);
+        }
     }
 
     /**
@@ -44,7 +51,7 @@ public final class Log {
      * @return the log.
      */
     public static Log dataOnly(byte[] address, byte[] data) {
-        return new Log(address, data, Collections.emptyList());
+        return new Log(address, data, Collections.emptyList(), true);
     }
 
     /**
@@ -56,7 +63,36 @@ public final class Log {
      * @return the log.
      */
     public static Log topicsAndData(byte[] address, List<byte[]> topics, byte[] data) {
-        return new Log(address, data, topics);
+        return new Log(address, data, topics, true);
+    }
+
+    /**
+     * Constructs a new log that takes ownership of the given arrays and topic list instead of
+     * copying them. The caller must not retain or modify any of them afterwards.
+     */
+    static Log fromOwnedArrays(byte[] address, List<byte[]> topics, byte[] data) {
+        return new Log(address, data, topics, false);
+    }
+
+    /**
+     * Returns the address without copying it. Callers must not modify the returned array.
+     */
+    byte[] rawAddress() {
+        return this.address;
+    }
+
+    /**
+     * Returns the data without copying it. Callers must not modify the returned array.
+     */
+    byte[] rawData() {
+        return this.data;
+    }
+
+    /**
+     * Returns the topics without copying them. Callers must not modify the returned list or arrays.
+     */
+    List<byte[]> rawTopics() {
+        return this.topics;
     }
 
     /**
@@ -65,6 +101,7 @@ public final class Log {
      * @return the address that produced this log.
      */
     public byte[] copyOfAddress() {
+        Metrics.copied(Type.LOG, "copyOfAddress", this.address.length);
         return copyOf(this.address);
     }
 
@@ -74,6 +111,9 @@ public final class Log {
      * @return the associated log topics.
      */
     public List<byte[]> copyOfTopics() {
+        if (Metrics.enabled()) {
+            Metrics.copied(Type.LOG, "copyOfTopics", totalLength(this.topics));
+        }
         return copyOfBytesList(this.topics);
     }
 
@@ -83,9 +123,41 @@ public final class Log {
      * @return the data.
      */
     public byte[] copyOfData() {
+        Metrics.copied(Type.LOG, "copyOfData", this.data.length);
         return copyOf(this.data);
     }
 
+    /**
+     * Returns a read-only view of the data. The view is backed by the receiver, so no bytes are
+     * copied.
+     *
+     * @return a read-only view of the data.
+     */
+    public ByteBuffer dataView() {
+        return ByteBuffer.wrap(this.data).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the bloom of this log's address and topics. The bloom is computed on first use and
+     * cached.
+     *
+     * @return the bloom of this log.
+     */
+    public Bloom bloom() {
+        // Racy single-check: Bloom is immutable, so a thread that misses the cached value simply
+        // recomputes an equal one.
+        Bloom bloom = this.bloom;
+        if (bloom == null) {
+            Bloom.Builder builder = new Bloom.Builder().add(this.address);
+            for (byte[] topic : this.topics) {
+                builder.add(topic);
+            }
+            bloom = builder.build();
+            this.bloom = bloom;
+        }
+        return bloom;
+    }
+
     /**
      * Returns {@code true} only if other is a {@link Log}, and the two logs are equal. Two logs
      * are equal only if they contain the same address, same data, and the same list of topics -
@@ -106,13 +178,13 @@ public final class Log {
         }
 
         Log otherLog = (Log) other;
-        if (!Arrays.equals(this.address, otherLog.address)) {
+        if (this.hashCode != 0 && otherLog.hashCode != 0 && this.hashCode != otherLog.hashCode) {
             return false;
         }
-        if (!Arrays.equals(this.data, otherLog.data)) {
+        if (this.topics.size() != otherLog.topics.size() || this.data.length != otherLog.data.length) {
             return false;
         }
-        if (this.topics.size() != otherLog.topics.size()) {
+        if (!Arrays.equals(this.address, otherLog.address)) {
             return false;
         }
         for (int i = 0; i < this.topics.size(); i++) {
@@ -120,27 +192,31 @@ public final class Log {
                 return false;
             }
         }
-        return true;
+        return Arrays.equals(this.data, otherLog.data);
     }
 
     @Override
     public int hashCode() {
-        int hash = Arrays.hashCode(this.address) + Arrays.hashCode(this.data);
-        for (byte[] topic : this.topics) {
-            hash += Arrays.hashCode(topic);
+        int hash = this.hashCode;
+        if (hash == 0) {
+            hash = Arrays.hashCode(this.address);
+            hash = 31 * hash + Arrays.hashCode(this.data);
+            for (byte[] topic : this.topics) {
+                hash = 31 * hash + Arrays.hashCode(topic);
+            }
+            this.hashCode = hash;
         }
         return hash;
     }
 
     @Override
     public String toString() {
-        StringBuilder representation = new StringBuilder("Log { address = ")
-            .append(ByteUtil.bytesToString(this.address))
-            .append(", data = ")
-            .append(ByteUtil.bytesToString(this.data))
-            .append(", topics = [ ");
+        Metrics.toStringCalled(Type.LOG);
+        StringBuilder representation = new StringBuilder("Log { address = ");
+        Hex.appendHex(representation, this.address).append(", data = ");
+        Hex.appendHex(representation, this.data).append(", topics = [ ");
         for (int i = 0; i < this.topics.size(); i++) {
-            representation.append(ByteUtil.bytesToString(this.topics.get(i)));
+            Hex.appendHex(representation, this.topics.get(i));
             if (i < this.topics.size() - 1) {
                 representation.append(", ");
             }
@@ -156,6 +232,14 @@ public final class Log {
         return copy;
     }
 
+    private static int totalLength(List<byte[]> bytesList) {
+        int length = 0;
+        for (byte[] bytes : bytesList) {
+            length += bytes.length;
+        }
+        return length;
+    }
+
     private static byte[] copyOf(byte[] bytes) {
         return Arrays.copyOf(bytes, bytes.length);
     }
@@ -0,0 +1,370 @@
+package org.aion.types;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory index of the logs of recent blocks, answering {@code getLogs}-style filters without
+ * scanning every log.
+ *
+ * Every ingested log gets an increasing id, and the index keeps a sorted posting list of ids per
+ * log address and per (topic position, topic) pair. A query intersects the posting lists of its
+ * constraints, restricted to the id range of its block range, and only touches the logs that match.
+ *
+ * Blocks must be added in non-decreasing block number order. Only the logs of the most recent
+ * {@code retainedBlocks} block numbers are kept; older logs are evicted as newer blocks arrive.
+ *
+ * The index holds on to the ingested {@link Log} instances rather than copying their contents. It
+ * is thread-safe: queries run concurrently with each other and exclusively with additions.
+ */
+public final class LogIndex {
+
+    /**
+     * A log matched by a query, together with its position in the chain.
+     */
+    public static final class Entry {
+        public final long blockNumber;
+        public final int transactionIndex;
+        public final int logIndex;
+        public final Log log;
+
+        private Entry(long blockNumber, int transactionIndex, int logIndex, Log log) {
+            this.blockNumber = blockNumber;
+            this.transactionIndex = transactionIndex;
+            this.logIndex = logIndex;
+            this.log = log;
+        }
+
+        @Override
+        public String toString() {
+            return "LogIndex.Entry { block = " + this.blockNumber
+                + ", transaction index = " + this.transactionIndex
+                + ", log index = " + this.logIndex
+                + ", log = " + this.log
+                + " }";
+        }
+    }
+
+    private final long retainedBlocks;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Key, PostingList> addressPostings = new HashMap<>();
+    private final List<Map<Key, PostingList>> topicPostings = new ArrayList<>();
+
+    // entries[head, tail) hold the live logs; entries[head] has id firstId.
+    private Entry[] entries = new Entry[64];
+    private int head;
+    private int tail;
+    private long firstId;
+
+    /**
+     * Constructs a new empty log index.
+     *
+     * @param retainedBlocks The number of most recent block numbers whose logs are kept.
+     * @throws IllegalArgumentException if retainedBlocks is not positive.
+     */
+    public LogIndex(long retainedBlocks) {
+        if (retainedBlocks <= 0) {
+            throw new IllegalArgumentException("Cannot create LogIndex with non-positive retainedBlocks: " + retainedBlocks);
+        }
+        this.retainedBlocks = retainedBlocks;
+    }
+
+    /**
+     * Adds the logs of the given transaction result.
+     *
+     * @param blockNumber The number of the block containing the transaction.
+     * @param transactionIndex The index of the transaction within its block.
+     * @param result The result of the transaction.
+     * @throws NullPointerException if result is null.
+     * @throws IllegalArgumentException if blockNumber is older than the newest indexed block.
+     */
+    public void add(long blockNumber, int transactionIndex, TransactionResult result) {
+        if (result == null) {
+            throw new NullPointerException("Cannot index a null TransactionResult!");
+        }
+
+        this.lock.writeLock().lock();
+        try {
+            if (this.tail > this.head && blockNumber < this.entries[this.tail - 1].blockNumber) {
+                throw new IllegalArgumentException("Cannot index block " + blockNumber + " after block " + this.entries[this.tail - 1].blockNumber);
+            }
+
+            evictBlocksBefore(blockNumber - this.retainedBlocks + 1);
+
+            List<Log> logs = result.logs;
+            for (int i = 0; i < logs.size(); i++) {
+                Log log = logs.get(i);
+                long id = append(new Entry(blockNumber, transactionIndex, i, log));
+
+                postingsFor(this.addressPostings, new Key(log.rawAddress())).add(id);
+                List<byte[]> topics = log.rawTopics();
+                for (int position = 0; position < topics.size(); position++) {
+                    if (position == this.topicPostings.size()) {
+                        this.topicPostings.add(new HashMap<>());
+                    }
+                    postingsFor(this.topicPostings.get(position), new Key(topics.get(position))).add(id);
+                }
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the logs in blocks {@code fromBlock} to {@code toBlock} (inclusive) that match the
+     * filter, in the order they were added.
+     *
+     * A log matches if its address is one of the given addresses and, for every topic position
+     * {@code i < topics.size()}, its topic at position {@code i} is one of {@code topics.get(i)}.
+     * An empty address list, and a null or empty list of topics at a position, match anything.
+     *
+     * @param fromBlock The first block number to search.
+     * @param toBlock The last block number to search.
+     * @param addresses The addresses to match, or empty to match any address.
+     * @param topics The topics to match per position.
+     * @return the matching logs.
+     * @throws NullPointerException if addresses or topics is null.
+     */
+    public List<Entry> query(long fromBlock, long toBlock, List<byte[]> addresses, List<List<byte[]>> topics) {
+        if (addresses == null) {
+            throw new NullPointerException("Cannot query with null addresses!");
+        }
+        if (topics == null) {
+            throw new NullPointerException("Cannot query with null topics!");
+        }
+
+        this.lock.readLock().lock();
+        try {
+            if (fromBlock > toBlock || this.head == this.tail) {
+                return Collections.emptyList();
+            }
+            long lowId = this.firstId + firstIndexAfter(fromBlock, false) - this.head;
+            long highId = this.firstId + firstIndexAfter(toBlock, true) - this.head;
+            if (lowId >= highId) {
+                return Collections.emptyList();
+            }
+
+            List<long[]> constraints = new ArrayList<>();
+            if (!addresses.isEmpty()) {
+                constraints.add(union(this.addressPostings, addresses, lowId, highId));
+            }
+            for (int position = 0; position < topics.size(); position++) {
+                List<byte[]> topicsAtPosition = topics.get(position);
+                if (topicsAtPosition != null && !topicsAtPosition.isEmpty()) {
+                    Map<Key, PostingList> postings = (position < this.topicPostings.size()) ? this.topicPostings.get(position) : Collections.emptyMap();
+                    constraints.add(union(postings, topicsAtPosition, lowId, highId));
+                }
+            }
+
+            List<Entry> matches = new ArrayList<>();
+            if (constraints.isEmpty()) {
+                for (long id = lowId; id < highId; id++) {
+                    matches.add(entryFor(id));
+                }
+                return matches;
+            }
+
+            // Drive the intersection from the shortest list and probe the others.
+            constraints.sort((a, b) -> Integer.compare(a.length, b.length));
+            long[] shortest = constraints.get(0);
+            for (long id : shortest) {
+                boolean inAll = true;
+                for (int i = 1; i < constraints.size() && inAll; i++) {
+                    inAll = Arrays.binarySearch(constraints.get(i), id) >= 0;
+                }
+                if (inAll) {
+                    matches.add(entryFor(id));
+                }
+            }
+            return matches;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of logs currently indexed.
+     *
+     * @return the number of logs.
+     */
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.tail - this.head;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private long append(Entry entry) {
+        if (this.tail == this.entries.length) {
+            int live = this.tail - this.head;
+            Entry[] target = (live > this.entries.length / 2) ? new Entry[this.entries.length * 2] : this.entries;
+            System.arraycopy(this.entries, this.head, target, 0, live);
+            if (target == this.entries) {
+                Arrays.fill(this.entries, live, this.tail, null);
+            }
+            this.entries = target;
+            this.head = 0;
+            this.tail = live;
+        }
+        this.entries[this.tail] = entry;
+        return this.firstId + (this.tail++ - this.head);
+    }
+
+    private void evictBlocksBefore(long blockNumber) {
+        while (this.head < this.tail && this.entries[this.head].blockNumber < blockNumber) {
+            Log log = this.entries[this.head].log;
+            removeHead(this.addressPostings, new Key(log.rawAddress()));
+            List<byte[]> topics = log.rawTopics();
+            for (int position = 0; position < topics.size(); position++) {
+                removeHead(this.topicPostings.get(position), new Key(topics.get(position)));
+            }
+            this.entries[this.head++] = null;
+            this.firstId++;
+        }
+    }
+
+    // The evicted log is the oldest one, so its id is the first id of each of its posting lists.
+    private static void removeHead(Map<Key, PostingList> postings, Key key) {
+        PostingList list = postings.get(key);
+        list.removeFirst();
+        if (list.isEmpty()) {
+            postings.remove(key);
+        }
+    }
+
+    // Returns the index of the first entry whose block is after blockNumber (or at it, if not inclusive).
+    private int firstIndexAfter(long blockNumber, boolean inclusive) {
+        int low = this.head;
+        int high = this.tail;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            long middleBlock = this.entries[middle].blockNumber;
+            if (middleBlock < blockNumber || (inclusive && middleBlock == blockNumber)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private Entry entryFor(long id) {
+        return this.entries[this.head + (int) (id - this.firstId)];
+    }
+
+    private static PostingList postingsFor(Map<Key, PostingList> postings, Key key) {
+        return postings.computeIfAbsent(key, k -> new PostingList());
+    }
+
+    // Returns the sorted, duplicate-free union of the ids in [lowId, highId) of the given keys.
+    private static long[] union(Map<Key, PostingList> postings, List<byte[]> keys, long lowId, long highId) {
+        if (keys.size() == 1) {
+            PostingList list = postings.get(new Key(keys.get(0)));
+            return (list == null) ? new long[0] : list.range(lowId, highId);
+        }
+
+        long[] union = new long[0];
+        for (byte[] key : keys) {
+            PostingList list = postings.get(new Key(key));
+            if (list != null) {
+                union = merge(union, list.range(lowId, highId));
+            }
+        }
+        return union;
+    }
+
+    private static long[] merge(long[] a, long[] b) {
+        long[] merged = new long[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                merged[k++] = a[i++];
+            } else if (a[i] > b[j]) {
+                merged[k++] = b[j++];
+            } else {
+                merged[k++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) {
+            merged[k++] = a[i++];
+        }
+        while (j < b.length) {
+            merged[k++] = b[j++];
+        }
+        return (k == merged.length) ? merged : Arrays.copyOf(merged, k);
+    }
+
+    /**
+     * An increasing list of log ids, appended at the tail and evicted from the head.
+     */
+    private static final class PostingList {
+        private long[] ids = new long[4];
+        private int start;
+        private int end;
+
+        void add(long id) {
+            if (this.end == this.ids.length) {
+                int size = this.end - this.start;
+                long[] target = (size > this.ids.length / 2) ? new long[this.ids.length * 2] : this.ids;
+                System.arraycopy(this.ids, this.start, target, 0, size);
+                this.ids = target;
+                this.start = 0;
+                this.end = size;
+            }
+            this.ids[this.end++] = id;
+        }
+
+        void removeFirst() {
+            this.start++;
+        }
+
+        boolean isEmpty() {
+            return this.start == this.end;
+        }
+
+        long[] range(long lowId, long highId) {
+            int from = lowerBound(lowId);
+            int to = lowerBound(highId);
+            return Arrays.copyOfRange(this.ids, from, to);
+        }
+
+        private int lowerBound(long id) {
+            int index = Arrays.binarySearch(this.ids, this.start, this.end, id);
+            return (index >= 0) ? index : -(index + 1);
+        }
+    }
+
+    /**
+     * A byte array compared by content, with its hash computed once.
+     */
+    private static final class Key {
+        private final byte[] bytes;
+        private final int hash;
+
+        Key(byte[] bytes) {
+            this.bytes = bytes;
+            this.hash = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return (other instanceof Key) && (this.hash == ((Key) other).hash) && Arrays.equals(this.bytes, ((Key) other).bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
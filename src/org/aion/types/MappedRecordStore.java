@@ -0,0 +1,468 @@
+package org.aion.types;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import org.aion.types.internal_util.ByteUtil;
+
+/**
+ * An append-only store of keyed records in memory-mapped segment files, with an off-heap index
+ * from key to record. This is the storage shared by {@link TransactionJournal} and
+ * {@link ReceiptStore}.
+ *
+ * Each record is {@code [int payload length][int CRC32C of payload][payload]}. The key of a record
+ * is derived from its payload by a function supplied by the owner, which must throw an
+ * {@link IllegalArgumentException} for a malformed payload. Records are appended to the active
+ * segment, a fixed-size file named {@code <number><suffix>}; when a record does not fit, the active
+ * segment is forced to disk and a new one is started.
+ *
+ * Appending checks the written payload with the key function before the record is committed, so
+ * the store never holds a record it would refuse on recovery. Opening a store scans every segment
+ * in order, stops each scan at the first record that is missing, truncated or fails its checksum,
+ * zeroes the rest of that segment, and rebuilds the index. A record that passes its checksum was
+ * fully written, so one whose payload is nonetheless malformed (say, written by an older version)
+ * is skipped on its own, without discarding the records after it. The index is an open-addressing table of 64-bit key
+ * fingerprints and record locations in a direct buffer.
+ *
+ * The store is thread-safe: lookups and replays run concurrently with each other and exclusively
+ * with appends. The payload views it returns stay valid after close, as mapped segments are only
+ * released when they become unreachable.
+ */
+final class MappedRecordStore implements Closeable {
+    private static final int MINIMUM_SEGMENT_SIZE = 256;
+    private static final int RECORD_HEADER_LENGTH = 8;
+
+    private final Path directory;
+    private final String suffix;
+    private final int segmentSize;
+    private final Function<ByteBuffer, ByteBuffer> keyOf;
+    private final List<Segment> segments = new ArrayList<>();
+    private final HashIndex index = new HashIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int size;
+    private boolean closed;
+
+    private MappedRecordStore(Path directory, String suffix, int segmentSize, Function<ByteBuffer, ByteBuffer> keyOf) {
+        this.directory = directory;
+        this.suffix = suffix;
+        this.segmentSize = segmentSize;
+        this.keyOf = keyOf;
+    }
+
+    /**
+     * Opens the store in the given directory, creating the directory if needed, and recovers any
+     * records already in it.
+     */
+    static MappedRecordStore open(Path directory, String suffix, int segmentSize, Function<ByteBuffer, ByteBuffer> keyOf) throws IOException {
+        if (directory == null) {
+            throw new NullPointerException("Cannot open a store in a null directory!");
+        }
+        if (segmentSize < MINIMUM_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Cannot open a store with segments smaller than " + MINIMUM_SEGMENT_SIZE + " bytes: " + segmentSize);
+        }
+
+        Files.createDirectories(directory);
+        Pattern segmentName = Pattern.compile("\\d{8}" + Pattern.quote(suffix));
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing
+                .filter(file -> segmentName.matcher(file.getFileName().toString()).matches())
+                .sorted()
+                .collect(Collectors.toList());
+        }
+
+        MappedRecordStore store = new MappedRecordStore(directory, suffix, segmentSize, keyOf);
+        try {
+            for (Path file : files) {
+                store.recover(Segment.map(file, Integer.parseInt(file.getFileName().toString().substring(0, 8)), segmentSize));
+            }
+        } catch (IOException | RuntimeException e) {
+            store.close();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * Appends a record with the given key unless one is already stored. The writer must put exactly
+     * payloadLength bytes, whose key is the given key, at the position of the buffer it is passed.
+     *
+     * @throws IllegalArgumentException if the written payload is malformed or has another key, in
+     * which case nothing is appended.
+     */
+    boolean append(byte[] key, int payloadLength, Consumer<ByteBuffer> writer) throws IOException {
+        int recordLength = RECORD_HEADER_LENGTH + payloadLength;
+        if (recordLength > this.segmentSize) {
+            throw new IllegalArgumentException("Cannot append a record of " + recordLength + " bytes to segments of " + this.segmentSize + " bytes");
+        }
+
+        this.lock.writeLock().lock();
+        try {
+            ensureOpen();
+            long fingerprint = fingerprintOf(key);
+            if (find(key, fingerprint) >= 0) {
+                return false;
+            }
+
+            Segment segment = this.segments.isEmpty() ? null : this.segments.get(this.segments.size() - 1);
+            if (segment == null || segment.end + recordLength > segment.buffer.capacity()) {
+                if (segment != null) {
+                    segment.buffer.force();
+                }
+                int number = (segment == null) ? 0 : segment.number + 1;
+                segment = Segment.map(this.directory.resolve(String.format("%08d", number) + this.suffix), number, this.segmentSize);
+                this.segments.add(segment);
+            }
+
+            int offset = segment.end;
+            ByteBuffer payload = segment.buffer.duplicate();
+            payload.limit(offset + recordLength).position(offset + RECORD_HEADER_LENGTH);
+            writer.accept(payload);
+            payload.position(offset + RECORD_HEADER_LENGTH);
+            try {
+                if (!this.keyOf.apply(payload.slice()).equals(ByteBuffer.wrap(key))) {
+                    throw new IllegalArgumentException("Cannot append a record whose payload has a different key");
+                }
+            } catch (IllegalArgumentException e) {
+                for (int i = offset + RECORD_HEADER_LENGTH; i < offset + recordLength; i++) {
+                    segment.buffer.put(i, (byte) 0);
+                }
+                throw e;
+            }
+            // The length goes last: until it is written the record reads as the end of the segment.
+            segment.buffer.putInt(offset + 4, checksumOf(segment.buffer, offset + RECORD_HEADER_LENGTH, payloadLength));
+            segment.buffer.putInt(offset, payloadLength);
+            segment.end += recordLength;
+
+            this.index.insert(fingerprint, locationOf(this.segments.size() - 1, offset));
+            this.size++;
+            return true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a read-only view of the payload stored under the given key, or null.
+     */
+    ByteBuffer find(byte[] key) {
+        this.lock.readLock().lock();
+        try {
+            ensureOpen();
+            long location = find(key, fingerprintOf(key));
+            return (location < 0) ? null : payloadAt(location);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Passes a read-only view of every payload to the given consumer, in append order.
+     */
+    void replay(Consumer<ByteBuffer> consumer) {
+        this.lock.readLock().lock();
+        try {
+            ensureOpen();
+            for (int segmentIndex = 0; segmentIndex < this.segments.size(); segmentIndex++) {
+                Segment segment = this.segments.get(segmentIndex);
+                int offset = 0;
+                int nextSkipped = 0;
+                while (offset < segment.end) {
+                    if (nextSkipped < segment.skippedCount && segment.skipped[nextSkipped] == offset) {
+                        nextSkipped++;
+                    } else {
+                        consumer.accept(payloadAt(locationOf(segmentIndex, offset)));
+                    }
+                    offset += RECORD_HEADER_LENGTH + segment.buffer.getInt(offset);
+                }
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Forces every appended record to the storage device. Full segments were already forced when
+     * they were rolled over, so only the active segment needs to be.
+     */
+    void force() {
+        this.lock.writeLock().lock();
+        try {
+            ensureOpen();
+            forceActiveSegment();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.size;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    int segmentCount() {
+        this.lock.readLock().lock();
+        try {
+            return this.segments.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Forces every appended record to the storage device and closes the segment files. Closing a
+     * closed store has no effect.
+     */
+    @Override
+    public void close() throws IOException {
+        this.lock.writeLock().lock();
+        try {
+            if (!this.closed) {
+                this.closed = true;
+                forceActiveSegment();
+                for (Segment segment : this.segments) {
+                    segment.channel.close();
+                }
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    // Scans the records of a newly mapped segment, indexes them, skips the malformed ones and cuts
+    // the segment at the first torn one.
+    private void recover(Segment segment) {
+        this.segments.add(segment);
+        int segmentIndex = this.segments.size() - 1;
+        MappedByteBuffer buffer = segment.buffer;
+
+        int offset = 0;
+        while (offset + RECORD_HEADER_LENGTH <= buffer.capacity()) {
+            int payloadLength = buffer.getInt(offset);
+            if (payloadLength <= 0 || payloadLength > buffer.capacity() - offset - RECORD_HEADER_LENGTH) {
+                break;
+            }
+            if (buffer.getInt(offset + 4) != checksumOf(buffer, offset + RECORD_HEADER_LENGTH, payloadLength)) {
+                break;
+            }
+
+            ByteBuffer key;
+            try {
+                key = this.keyOf.apply(payloadAt(locationOf(segmentIndex, offset)));
+            } catch (IllegalArgumentException e) {
+                segment.skip(offset);
+                offset += RECORD_HEADER_LENGTH + payloadLength;
+                continue;
+            }
+            byte[] keyBytes = new byte[key.remaining()];
+            key.get(keyBytes);
+
+            this.index.insert(fingerprintOf(keyBytes), locationOf(segmentIndex, offset));
+            this.size++;
+            offset += RECORD_HEADER_LENGTH + payloadLength;
+        }
+
+        segment.end = offset;
+        // Zero whatever follows the last good record, so that it can never be mistaken for a record.
+        for (int i = offset; i < buffer.capacity() && i < offset + RECORD_HEADER_LENGTH; i++) {
+            if (buffer.get(i) != 0) {
+                for (int j = offset; j < buffer.capacity(); j++) {
+                    buffer.put(j, (byte) 0);
+                }
+                buffer.force();
+                break;
+            }
+        }
+    }
+
+    // Returns the location of the record with the given key, or -1.
+    private long find(byte[] key, long fingerprint) {
+        ByteBuffer expected = ByteBuffer.wrap(key);
+        for (int slot = this.index.slotOf(fingerprint); !this.index.isEmpty(slot); slot = this.index.next(slot)) {
+            if (this.index.fingerprintAt(slot) == fingerprint) {
+                long location = this.index.locationAt(slot);
+                if (this.keyOf.apply(payloadAt(location)).equals(expected)) {
+                    return location;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private ByteBuffer payloadAt(long location) {
+        MappedByteBuffer buffer = this.segments.get((int) (location >>> 32)).buffer;
+        int offset = (int) location;
+        ByteBuffer payload = buffer.duplicate();
+        payload.limit(offset + RECORD_HEADER_LENGTH + buffer.getInt(offset)).position(offset + RECORD_HEADER_LENGTH);
+        return payload.slice().asReadOnlyBuffer();
+    }
+
+    private void forceActiveSegment() {
+        if (!this.segments.isEmpty()) {
+            this.segments.get(this.segments.size() - 1).buffer.force();
+        }
+    }
+
+    private void ensureOpen() {
+        if (this.closed) {
+            throw new IllegalStateException("Cannot use a closed store!");
+        }
+    }
+
+    private static long locationOf(int segmentIndex, int offset) {
+        return ((long) segmentIndex << 32) | offset;
+    }
+
+    private static int checksumOf(ByteBuffer buffer, int offset, int length) {
+        ByteBuffer region = buffer.duplicate();
+        region.limit(offset + length).position(offset);
+        CRC32C crc = new CRC32C();
+        crc.update(region);
+        return (int) crc.getValue();
+    }
+
+    // A 64-bit hash of the key, never zero since zero marks an empty index slot.
+    private static long fingerprintOf(byte[] key) {
+        long hash = key.length;
+        int i = 0;
+        for (; i + Long.BYTES <= key.length; i += Long.BYTES) {
+            hash = hash * 0x9E3779B97F4A7C15L + ByteUtil.readLong(key, i);
+        }
+        for (; i < key.length; i++) {
+            hash = hash * 0x9E3779B97F4A7C15L + (key[i] & 0xFF);
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return (hash == 0) ? 1 : hash;
+    }
+
+    private static final class Segment {
+        private final int number;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        // The offsets of checksummed records whose payload is malformed, in increasing order, which
+        // replay passes over as it walks the records.
+        private int[] skipped = new int[0];
+        private int skippedCount = 0;
+        private int end;
+
+        private Segment(int number, FileChannel channel, MappedByteBuffer buffer) {
+            this.number = number;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        // Recovery scans forwards, so offsets arrive in increasing order.
+        private void skip(int offset) {
+            if (this.skippedCount == this.skipped.length) {
+                this.skipped = Arrays.copyOf(this.skipped, Math.max(4, 2 * this.skipped.length));
+            }
+            this.skipped[this.skippedCount++] = offset;
+        }
+
+        // Maps an existing segment at its own size, or creates a new one of the given size.
+        private static Segment map(Path file, int number, int segmentSize) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                long fileSize = channel.size();
+                if (fileSize > Integer.MAX_VALUE) {
+                    throw new IOException("Segment is too large to map: " + file);
+                }
+                int mappedSize = (fileSize == 0) ? segmentSize : (int) fileSize;
+                return new Segment(number, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize));
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * An open-addressing table with linear probing, held in a direct buffer. Each slot is a
+     * fingerprint (zero when empty) followed by a record location.
+     */
+    private static final class HashIndex {
+        private static final int SLOT_LENGTH = 16;
+
+        private ByteBuffer slots = ByteBuffer.allocateDirect(1024 * SLOT_LENGTH);
+        private int mask = 1023;
+        private int used;
+
+        private int slotOf(long fingerprint) {
+            return (int) fingerprint & this.mask;
+        }
+
+        private int next(int slot) {
+            return (slot + 1) & this.mask;
+        }
+
+        private boolean isEmpty(int slot) {
+            return fingerprintAt(slot) == 0;
+        }
+
+        private long fingerprintAt(int slot) {
+            return this.slots.getLong(slot * SLOT_LENGTH);
+        }
+
+        private long locationAt(int slot) {
+            return this.slots.getLong(slot * SLOT_LENGTH + 8);
+        }
+
+        private void insert(long fingerprint, long location) {
+            if (2 * (this.used + 1) > this.mask + 1) {
+                grow();
+            }
+            put(fingerprint, location);
+            this.used++;
+        }
+
+        private void put(long fingerprint, long location) {
+            int slot = slotOf(fingerprint);
+            while (!isEmpty(slot)) {
+                slot = next(slot);
+            }
+            this.slots.putLong(slot * SLOT_LENGTH, fingerprint);
+            this.slots.putLong(slot * SLOT_LENGTH + 8, location);
+        }
+
+        private void grow() {
+            int capacity = this.mask + 1;
+            if (capacity > Integer.MAX_VALUE / (2 * SLOT_LENGTH)) {
+                throw new IllegalStateException("Cannot grow the store index beyond " + capacity + " slots");
+            }
+
+            ByteBuffer old = this.slots;
+            this.slots = ByteBuffer.allocateDirect(2 * capacity * SLOT_LENGTH);
+            this.mask = 2 * capacity - 1;
+            for (int slot = 0; slot < capacity; slot++) {
+                long fingerprint = old.getLong(slot * SLOT_LENGTH);
+                if (fingerprint != 0) {
+                    put(fingerprint, old.getLong(slot * SLOT_LENGTH + 8));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package org.aion.types;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.aion.types.internal_util.Blake2b;
+
+/**
+ * Builds the Merkle roots of a block's ordered transactions and of their transaction results.
+ *
+ * The leaves of the transactions tree are the canonical hashes given by {@link TransactionHasher},
+ * and the leaves of the receipts tree are the hashes of the {@link TransactionResultCodec} encodings
+ * of the results. Both trees have the shape used by RFC 6962: the root of n leaves is the hash of the
+ * roots of the first k leaves and of the remaining n - k, where k is the largest power of two below
+ * n. A leaf node is the Blake2b-256 hash of the byte 0 followed by the leaf, an interior node is the
+ * hash of the byte 1 followed by its two children, and the root of no leaves is the hash of no
+ * bytes.
+ *
+ * Transactions can be appended one at a time as they execute, in which case the roots are kept up to
+ * date with O(log n) work per append, or a whole block at a time, in which case the leaves are hashed
+ * across a {@link ForkJoinPool}. Leaves are hashed with the per-thread {@link TransactionHasher}, so
+ * appending reuses its buffers. A builder is not thread-safe.
+ */
+public final class MerkleRootBuilder {
+
+    /**
+     * The length of a root.
+     */
+    public static final int ROOT_LENGTH = Blake2b.DIGEST_LENGTH;
+
+    // Each leaf pair hashes a transaction and encodes and hashes its result, so 64 pairs make a task.
+    private static final int MINIMUM_CHUNK_SIZE = 64;
+
+    private final ForkJoinPool pool;
+    private final Blake2b blake2b = new Blake2b();
+    private final Accumulator transactions = new Accumulator();
+    private final Accumulator receipts = new Accumulator();
+    private final byte[] leaf = new byte[TransactionHasher.HASH_LENGTH];
+    private int size = 0;
+
+    /**
+     * Constructs a new builder with no leaves that hashes blocks on the common fork-join pool.
+     */
+    public MerkleRootBuilder() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new builder with no leaves that hashes blocks on the given fork-join pool.
+     *
+     * @param pool The pool to split blocks across.
+     * @throws NullPointerException if pool is null.
+     */
+    public MerkleRootBuilder(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new NullPointerException("Cannot create MerkleRootBuilder with null pool!");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Appends an executed transaction and its result as the next leaf of each tree.
+     *
+     * @param transaction The transaction.
+     * @param result The result of the transaction.
+     * @throws NullPointerException if transaction or result is null.
+     * @throws IllegalArgumentException if a nonce or value is 2^259 or above, which no encoding holds.
+     */
+    public void append(Transaction transaction, TransactionResult result) {
+        if (transaction == null) {
+            throw new NullPointerException("Cannot append a null transaction!");
+        }
+        if (result == null) {
+            throw new NullPointerException("Cannot append a null transaction result!");
+        }
+
+        TransactionHasher hasher = TransactionHasher.forCurrentThread();
+        hasher.hash(transaction, this.leaf, 0);
+        this.transactions.append(this.blake2b, this.leaf, 0, this.size);
+        hasher.hash(result, this.leaf, 0);
+        this.receipts.append(this.blake2b, this.leaf, 0, this.size);
+        this.size++;
+    }
+
+    /**
+     * Appends the given transactions and their results, in order, hashing the leaves across the
+     * builder's pool.
+     *
+     * @param transactions The transactions.
+     * @param results The results of the transactions, in the same order.
+     * @throws NullPointerException if transactions or results is null or contains null.
+     * @throws IllegalArgumentException if the lists differ in size, or if a nonce or value is 2^259 or
+     * above.
+     */
+    public void appendAll(List<Transaction> transactions, List<TransactionResult> results) {
+        if (transactions == null) {
+            throw new NullPointerException("Cannot append null transactions!");
+        }
+        if (results == null) {
+            throw new NullPointerException("Cannot append null transaction results!");
+        }
+        if (transactions.size() != results.size()) {
+            throw new IllegalArgumentException("Cannot append " + transactions.size() + " transactions with " + results.size() + " results");
+        }
+
+        int count = transactions.size();
+        byte[] transactionLeaves = new byte[count * TransactionHasher.HASH_LENGTH];
+        byte[] receiptLeaves = new byte[count * TransactionHasher.HASH_LENGTH];
+        ParallelRanges.forEach(this.pool, count, MINIMUM_CHUNK_SIZE, (from, to) -> {
+            TransactionHasher hasher = TransactionHasher.forCurrentThread();
+            for (int i = from; i < to; i++) {
+                hasher.hash(transactions.get(i), transactionLeaves, i * TransactionHasher.HASH_LENGTH);
+                hasher.hash(results.get(i), receiptLeaves, i * TransactionHasher.HASH_LENGTH);
+            }
+        });
+
+        for (int i = 0; i < count; i++) {
+            this.transactions.append(this.blake2b, transactionLeaves, i * TransactionHasher.HASH_LENGTH, this.size);
+            this.receipts.append(this.blake2b, receiptLeaves, i * TransactionHasher.HASH_LENGTH, this.size);
+            this.size++;
+        }
+    }
+
+    /**
+     * Returns the number of transactions appended so far.
+     *
+     * @return the number of leaves in each tree.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the root of the transactions appended so far.
+     *
+     * @return the transactions root.
+     */
+    public byte[] transactionsRoot() {
+        return this.transactions.root(this.blake2b, this.size);
+    }
+
+    /**
+     * Returns the root of the transaction results appended so far.
+     *
+     * @return the receipts root.
+     */
+    public byte[] receiptsRoot() {
+        return this.receipts.root(this.blake2b, this.size);
+    }
+
+    /**
+     * Discards every leaf appended so far.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "MerkleRootBuilder { size = " + this.size + ", parallelism = " + this.pool.getParallelism() + " }";
+    }
+
+    /**
+     * The right edge of a tree under construction: the root of each perfect subtree that the leaves
+     * decompose into, one per set bit of the leaf count, the largest subtree leftmost. Appending a
+     * leaf merges equal-sized subtrees like a carry in binary addition.
+     */
+    private static final class Accumulator {
+        private final byte[] peaks = new byte[Integer.SIZE * ROOT_LENGTH];
+        private final byte[] node = new byte[ROOT_LENGTH];
+
+        private void append(Blake2b blake2b, byte[] leaf, int offset, int size) {
+            blake2b.update((byte) 0).update(leaf, offset, TransactionHasher.HASH_LENGTH);
+            blake2b.digest(this.node, 0);
+            int level = 0;
+            while ((size & (1 << level)) != 0) {
+                blake2b.update((byte) 1).update(this.peaks, level * ROOT_LENGTH, ROOT_LENGTH).update(this.node, 0, ROOT_LENGTH);
+                blake2b.digest(this.node, 0);
+                level++;
+            }
+            System.arraycopy(this.node, 0, this.peaks, level * ROOT_LENGTH, ROOT_LENGTH);
+        }
+
+        private byte[] root(Blake2b blake2b, int size) {
+            byte[] root = new byte[ROOT_LENGTH];
+            if (size == 0) {
+                blake2b.digest(root, 0);
+                return root;
+            }
+
+            int level = Integer.numberOfTrailingZeros(size);
+            System.arraycopy(this.peaks, level * ROOT_LENGTH, root, 0, ROOT_LENGTH);
+            for (level++; level < Integer.SIZE; level++) {
+                if ((size & (1 << level)) != 0) {
+                    blake2b.update((byte) 1).update(this.peaks, level * ROOT_LENGTH, ROOT_LENGTH).update(root, 0, ROOT_LENGTH);
+                    blake2b.digest(root, 0);
+                }
+            }
+            return root;
+        }
+    }
+}
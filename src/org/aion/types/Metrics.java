@@ -0,0 +1,38 @@
+package org.aion.types;
+
+import org.aion.types.TypeMetrics.Type;
+
+/**
+ * The hooks that the instrumented types call into, which forward to the installed
+ * {@link TypeMetrics} if there is one.
+ */
+final class Metrics {
+    static volatile TypeMetrics installed = null;
+
+    private Metrics() {}
+
+    static boolean enabled() {
+        return installed != null;
+    }
+
+    static void constructed(Type type, int bytesCopied) {
+        TypeMetrics metrics = installed;
+        if (metrics != null) {
+            metrics.constructed(type, bytesCopied);
+        }
+    }
+
+    static void copied(Type type, String accessor, int bytesCopied) {
+        TypeMetrics metrics = installed;
+        if (metrics != null) {
+            metrics.copied(type, accessor, bytesCopied);
+        }
+    }
+
+    static void toStringCalled(Type type) {
+        TypeMetrics metrics = installed;
+        if (metrics != null) {
+            metrics.toStringCalled(type);
+        }
+    }
+}
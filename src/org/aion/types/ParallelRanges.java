@@ -0,0 +1,49 @@
+package org.aion.types;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Splits an index range into chunks and runs them on a {@link ForkJoinPool}, with the first chunk
+ * on the calling thread. Ranges that fit in one chunk run entirely on the calling thread.
+ */
+final class ParallelRanges {
+
+    /**
+     * Processes the indices in [from, to).
+     */
+    interface Body {
+        void run(int from, int to);
+    }
+
+    private ParallelRanges() {}
+
+    /**
+     * Runs the body over [0, size) in chunks of at least minimumChunkSize indices, about four per
+     * worker of the pool, and returns once every chunk has finished. The minimum should be large
+     * enough that a chunk's work outweighs the cost of submitting and joining it as a task, so
+     * callers size it by how much each index costs.
+     *
+     * Chunks cover disjoint ranges; join() publishes whatever each chunk wrote to the caller.
+     */
+    static void forEach(ForkJoinPool pool, int size, int minimumChunkSize, Body body) {
+        int chunkSize = Math.max(minimumChunkSize, size / (4 * pool.getParallelism()) + 1);
+        if (size <= chunkSize) {
+            body.run(0, size);
+            return;
+        }
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(size / chunkSize + 1);
+        for (int from = chunkSize; from < size; from += chunkSize) {
+            int start = from;
+            int end = Math.min(from + chunkSize, size);
+            tasks.add(pool.submit(() -> body.run(start, end)));
+        }
+        body.run(0, chunkSize);
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package org.aion.types;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import org.aion.types.internal_util.VarInt;
+
+/**
+ * A durable store of transaction results keyed by transaction hash, kept in memory-mapped segment
+ * files.
+ *
+ * Each result is written once, as a record holding the transaction hash followed by the
+ * {@link TransactionResultCodec} encoding of the result. Results are read back as
+ * {@link EncodedTransactionResult} views directly over the mapped files, so reading the status and
+ * energy used of a receipt decodes neither its logs nor its internal transactions.
+ *
+ * {@link #putBlock(List, List)} appends the results of a whole block and then forces them to disk
+ * once; {@link #put(byte[], TransactionResult)} appends without forcing. Records are framed and
+ * checksummed, and opening a store discards any record left incomplete by a crash, in the same way
+ * as {@link TransactionJournal}.
+ *
+ * The store is thread-safe: lookups run concurrently with each other and exclusively with appends.
+ */
+public final class ReceiptStore implements Closeable {
+    private final MappedRecordStore store;
+
+    private ReceiptStore(MappedRecordStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Opens the receipt store in the given directory, creating the directory if needed, and
+     * recovers any receipts already in it.
+     *
+     * @param directory The directory holding the segment files.
+     * @param segmentSize The size in bytes of new segment files.
+     * @return the open receipt store.
+     * @throws NullPointerException if directory is null.
+     * @throws IllegalArgumentException if segmentSize is smaller than 256 bytes.
+     * @throws IOException if the segments cannot be created, read or mapped.
+     */
+    public static ReceiptStore open(Path directory, int segmentSize) throws IOException {
+        if (directory == null) {
+            throw new NullPointerException("Cannot open a receipt store in a null directory!");
+        }
+        return new ReceiptStore(MappedRecordStore.open(directory, ".receipts", segmentSize, ReceiptStore::transactionHashOf));
+    }
+
+    /**
+     * Appends the result of the transaction with the given hash, unless a result for that hash is
+     * already stored. The receipt is not forced to disk.
+     *
+     * @param transactionHash The hash of the transaction.
+     * @param result The result of the transaction.
+     * @return true if the receipt was appended, false if the hash was already present.
+     * @throws NullPointerException if transactionHash or result is null.
+     * @throws IllegalArgumentException if the receipt does not fit in a segment.
+     * @throws IllegalStateException if the store is closed.
+     * @throws IOException if a new segment cannot be created.
+     */
+    public boolean put(byte[] transactionHash, TransactionResult result) throws IOException {
+        if (transactionHash == null) {
+            throw new NullPointerException("Cannot put a receipt with a null transaction hash!");
+        }
+        if (result == null) {
+            throw new NullPointerException("Cannot put a null transaction result!");
+        }
+
+        int payloadLength = VarInt.sizeOf(transactionHash.length) + transactionHash.length + TransactionResultCodec.encodedLength(result);
+        return this.store.append(transactionHash, payloadLength, buffer -> {
+            VarInt.write(buffer, transactionHash.length);
+            buffer.put(transactionHash);
+            TransactionResultCodec.encode(result, buffer);
+        });
+    }
+
+    /**
+     * Appends the results of a block and forces them to disk with a single sync. Results whose hash
+     * is already stored are skipped.
+     *
+     * @param transactionHashes The hashes of the block's transactions, in block order.
+     * @param results The results of the block's transactions, in the same order.
+     * @return the number of receipts appended.
+     * @throws NullPointerException if either list is null or holds null.
+     * @throws IllegalArgumentException if the lists differ in size or a receipt does not fit in a
+     *     segment.
+     * @throws IllegalStateException if the store is closed.
+     * @throws IOException if a new segment cannot be created.
+     */
+    public int putBlock(List<byte[]> transactionHashes, List<TransactionResult> results) throws IOException {
+        if (transactionHashes == null) {
+            throw new NullPointerException("Cannot put a block with null transaction hashes!");
+        }
+        if (results == null) {
+            throw new NullPointerException("Cannot put a block with null results!");
+        }
+        if (transactionHashes.size() != results.size()) {
+            throw new IllegalArgumentException("Cannot put a block of " + transactionHashes.size() + " transaction hashes and " + results.size() + " results");
+        }
+        for (int i = 0; i < results.size(); i++) {
+            if (transactionHashes.get(i) == null || results.get(i) == null) {
+                throw new NullPointerException("Cannot put a block with a null entry at index " + i + "!");
+            }
+        }
+
+        int appended = 0;
+        for (int i = 0; i < results.size(); i++) {
+            if (put(transactionHashes.get(i), results.get(i))) {
+                appended++;
+            }
+        }
+        this.store.force();
+        return appended;
+    }
+
+    /**
+     * Returns a lazily decoded view of the result of the transaction with the given hash, or
+     * {@code null} if there is none.
+     *
+     * @param transactionHash The hash of the transaction.
+     * @return the encoded result or null.
+     * @throws NullPointerException if transactionHash is null.
+     * @throws IllegalStateException if the store is closed.
+     */
+    public EncodedTransactionResult get(byte[] transactionHash) {
+        if (transactionHash == null) {
+            throw new NullPointerException("Cannot look up a null transaction hash!");
+        }
+
+        ByteBuffer payload = this.store.find(transactionHash);
+        if (payload == null) {
+            return null;
+        }
+        payload.position(VarInt.endOf(payload, 0, VarInt.MAX_LONG_LENGTH) + transactionHash.length);
+        return EncodedTransactionResult.wrap(payload);
+    }
+
+    /**
+     * Returns {@code true} only if a result for the transaction with the given hash is stored.
+     *
+     * @param transactionHash The hash of the transaction.
+     * @return whether the receipt is stored.
+     * @throws NullPointerException if transactionHash is null.
+     * @throws IllegalStateException if the store is closed.
+     */
+    public boolean contains(byte[] transactionHash) {
+        if (transactionHash == null) {
+            throw new NullPointerException("Cannot look up a null transaction hash!");
+        }
+        return this.store.find(transactionHash) != null;
+    }
+
+    /**
+     * Forces every appended receipt to the storage device.
+     *
+     * @throws IllegalStateException if the store is closed.
+     */
+    public void force() {
+        this.store.force();
+    }
+
+    /**
+     * Returns the number of stored receipts.
+     *
+     * @return the store size.
+     */
+    public int size() {
+        return this.store.size();
+    }
+
+    /**
+     * Returns the number of segment files.
+     *
+     * @return the segment count.
+     */
+    public int segmentCount() {
+        return this.store.segmentCount();
+    }
+
+    /**
+     * Forces every appended receipt to the storage device and closes the segment files. Closing a
+     * closed store has no effect.
+     *
+     * @throws IOException if a segment file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        this.store.close();
+    }
+
+    @Override
+    public String toString() {
+        return "ReceiptStore { size = " + size() + ", segments = " + segmentCount() + " }";
+    }
+
+    private static ByteBuffer transactionHashOf(ByteBuffer payload) {
+        int hashLength = VarInt.readInt(payload);
+        TransactionCodec.require(payload, hashLength);
+        ByteBuffer transactionHash = payload.slice();
+        transactionHash.limit(hashLength);
+
+        payload.position(payload.position() + hashLength);
+        EncodedTransactionResult.wrap(payload);
+        if (payload.hasRemaining()) {
+            throw new IllegalArgumentException("Record has " + payload.remaining() + " unexpected trailing bytes");
+        }
+        return transactionHash;
+    }
+}
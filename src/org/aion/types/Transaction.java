@@ -1,8 +1,11 @@
 package org.aion.types;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Objects;
+import org.aion.types.TypeMetrics.Type;
+import org.aion.types.internal_util.BigIntegerUtil;
 import org.aion.types.internal_util.ByteUtil;
 
 /**
@@ -10,6 +13,9 @@ import org.aion.types.internal_util.ByteUtil;
  * An external transaction is a tx whose sender is NOT a contract.
  *
  * This class is immutable,
+ *
+ * A transaction computes its hash code on first use and caches it, as String does, with 0 meaning
+ * not yet computed. The other immutable types of this package cache their hash codes the same way.
  */
 public final class Transaction {
 
@@ -23,6 +29,11 @@ public final class Transaction {
     public final boolean isCreate;
     private final byte[] transactionData;
 
+    // The nonce and value as longs, or BigIntegerUtil.NOT_A_LONG if they do not fit in one.
+    private final long nonceAsLong;
+    private final long valueAsLong;
+    private int hashCode;
+
     private Transaction(AionAddress senderAddress
         , AionAddress destinationAddress
         , byte[] transactionHash
@@ -32,6 +43,7 @@ public final class Transaction {
         , long energyPrice
         , byte[] transactionData
         , boolean isCreate
+        , boolean copyArrays
     ) {
         if (null == senderAddress) {
             throw new NullPointerException("No sender");
@@ -45,10 +57,10 @@ public final class Transaction {
         if (null == nonce) {
             throw new NullPointerException("No nonce");
         }
-        if (value.compareTo(BigInteger.ZERO) < 0) {
+        if (value.signum() < 0) {
             throw new IllegalArgumentException("Negative value");
         }
-        if (nonce.compareTo(BigInteger.ZERO) < 0) {
+        if (nonce.signum() < 0) {
             throw new IllegalArgumentException("Negative nonce");
         }
         if (energyPrice < 0) {
@@ -63,15 +75,16 @@ public final class Transaction {
 
         this.senderAddress = senderAddress;
         this.destinationAddress = destinationAddress;
-        this.transactionHash = new byte[transactionHash.length];
-        System.arraycopy(transactionHash, 0, this.transactionHash, 0, transactionHash.length);
+        this.transactionHash = copyArrays ? copyOf(transactionHash) : transactionHash;
         this.value = value;
         this.nonce = nonce;
+        this.valueAsLong = BigIntegerUtil.toLongIfFits(value);
+        this.nonceAsLong = BigIntegerUtil.toLongIfFits(nonce);
         this.energyPrice = energyPrice;
         this.energyLimit = energyLimit;
         this.isCreate = isCreate;
-        this.transactionData = new byte[transactionData.length];
-        System.arraycopy(transactionData, 0, this.transactionData, 0, transactionData.length);
+        this.transactionData = copyArrays ? copyOf(transactionData) : transactionData;
+        Metrics.constructed(Type.TRANSACTION, copyArrays ? transactionHash.length + transactionData.length : 0);
     }
 
     /**
@@ -86,7 +99,7 @@ public final class Transaction {
      * @return a new transaction.
      */
     public static Transaction contractCreateTransaction(AionAddress sender, byte[] transactionHash, BigInteger senderNonce, BigInteger value, byte[] data, long energyLimit, long energyPrice) {
-        return new Transaction(sender, null, transactionHash, value, senderNonce, energyLimit, energyPrice, data, true);
+        return new Transaction(sender, null, transactionHash, value, senderNonce, energyLimit, energyPrice, data, true, true);
     }
 
     /**
@@ -107,21 +120,115 @@ public final class Transaction {
             throw new NullPointerException("Cannot create Call Transaction with null destination!");
         }
 
-        return new Transaction(sender, destination, transactionHash, value, senderNonce, energyLimit, energyPrice,  data,false);
+        return new Transaction(sender, destination, transactionHash, value, senderNonce, energyLimit, energyPrice, data, false, true);
+    }
+
+    /**
+     * Constructs a new transaction that takes ownership of the given hash and data arrays instead
+     * of copying them. The caller must not retain or modify either array afterwards.
+     *
+     * The destination must be null exactly when {@code isCreate == true}.
+     */
+    static Transaction fromOwnedArrays(AionAddress sender, AionAddress destination, byte[] transactionHash, BigInteger senderNonce, BigInteger value, byte[] data, long energyLimit, long energyPrice, boolean isCreate) {
+        if (!isCreate && destination == null) {
+            throw new NullPointerException("Cannot create Call Transaction with null destination!");
+        }
+
+        return new Transaction(sender, destination, transactionHash, value, senderNonce, energyLimit, energyPrice, data, isCreate, false);
+    }
+
+    /**
+     * Returns the transaction hash without copying it. Callers must not modify the returned array.
+     */
+    byte[] rawTransactionHash() {
+        return this.transactionHash;
+    }
+
+    /**
+     * Returns the transaction data without copying it. Callers must not modify the returned array.
+     */
+    byte[] rawTransactionData() {
+        return this.transactionData;
+    }
+
+    /**
+     * Returns {@code true} only if the nonce fits in a long.
+     *
+     * @return whether the nonce fits in a long.
+     */
+    public boolean nonceFitsInLong() {
+        return this.nonceAsLong != BigIntegerUtil.NOT_A_LONG;
+    }
+
+    /**
+     * Returns the nonce as a long, without any BigInteger arithmetic.
+     *
+     * @return the nonce.
+     * @throws ArithmeticException if the nonce does not fit in a long.
+     */
+    public long nonceAsLong() {
+        if (this.nonceAsLong == BigIntegerUtil.NOT_A_LONG) {
+            throw new ArithmeticException("Nonce does not fit in a long: " + this.nonce);
+        }
+        return this.nonceAsLong;
+    }
+
+    /**
+     * Returns {@code true} only if the value fits in a long.
+     *
+     * @return whether the value fits in a long.
+     */
+    public boolean valueFitsInLong() {
+        return this.valueAsLong != BigIntegerUtil.NOT_A_LONG;
+    }
+
+    /**
+     * Returns the value as a long, without any BigInteger arithmetic.
+     *
+     * @return the value.
+     * @throws ArithmeticException if the value does not fit in a long.
+     */
+    public long valueAsLong() {
+        if (this.valueAsLong == BigIntegerUtil.NOT_A_LONG) {
+            throw new ArithmeticException("Value does not fit in a long: " + this.value);
+        }
+        return this.valueAsLong;
     }
 
     public byte[] copyOfTransactionHash() {
         byte[] transactionHashCopy = new byte[transactionHash.length];
         System.arraycopy(transactionHash, 0, transactionHashCopy, 0, transactionHash.length);
+        Metrics.copied(Type.TRANSACTION, "copyOfTransactionHash", transactionHash.length);
         return transactionHashCopy;
     }
 
     public byte[] copyOfTransactionData() {
         byte[] transactionDataCopy = new byte[transactionData.length];
         System.arraycopy(transactionData, 0, transactionDataCopy, 0, transactionData.length);
+        Metrics.copied(Type.TRANSACTION, "copyOfTransactionData", transactionData.length);
         return transactionDataCopy;
     }
 
+    /**
+     * Returns a read-only view of the transaction hash. The view is backed by the receiver, so no
+     * bytes are copied, and it starts at position zero with its limit at the hash length.
+     *
+     * @return a read-only view of the transaction hash.
+     */
+    public ByteBuffer transactionHashView() {
+        return ByteBuffer.wrap(this.transactionHash).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns a read-only view of the transaction data. The view is backed by the receiver, so no
+     * bytes are copied, and it starts at position zero with its limit at the data length.
+     *
+     * @return a read-only view of the transaction data.
+     */
+    public ByteBuffer transactionDataView() {
+        return ByteBuffer.wrap(this.transactionData).asReadOnlyBuffer();
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -130,20 +237,29 @@ public final class Transaction {
             return false;
         } else {
             Transaction otherObject = (Transaction) obj;
-            return this.senderAddress.equals(otherObject.senderAddress)
-                    && Objects.equals(this.destinationAddress, otherObject.destinationAddress)
-                    && this.value.equals(otherObject.value)
-                    && this.nonce.equals(otherObject.nonce)
+            // Hash codes are only compared once both are cached, so equals never computes one.
+            if (this.hashCode != 0 && otherObject.hashCode != 0 && this.hashCode != otherObject.hashCode) {
+                return false;
+            }
+            // The primitive fields go first, then the transaction hash, which tells almost any two
+            // distinct transactions apart, and the data, which may be large, goes last.
+            return this.nonceAsLong == otherObject.nonceAsLong
+                    && this.valueAsLong == otherObject.valueAsLong
                     && this.energyPrice == otherObject.energyPrice
                     && this.energyLimit == otherObject.energyLimit
                     && this.isCreate == otherObject.isCreate
                     && Arrays.equals(this.transactionHash, otherObject.transactionHash)
+                    && this.senderAddress.equals(otherObject.senderAddress)
+                    && Objects.equals(this.destinationAddress, otherObject.destinationAddress)
+                    && (this.valueAsLong != BigIntegerUtil.NOT_A_LONG || this.value.equals(otherObject.value))
+                    && (this.nonceAsLong != BigIntegerUtil.NOT_A_LONG || this.nonce.equals(otherObject.nonce))
                     && Arrays.equals(this.transactionData, otherObject.transactionData);
         }
     }
 
     @Override
     public String toString() {
+        Metrics.toStringCalled(Type.TRANSACTION);
         return "TransactionData ["
             + "hash="
             + ByteUtil.bytesToString(transactionHash)
@@ -164,11 +280,23 @@ public final class Transaction {
 
     @Override
     public int hashCode() {
-        int result = Objects
-            .hash(senderAddress, destinationAddress, value, nonce, energyPrice, energyLimit,
-                isCreate);
-        result = 31 * result + Arrays.hashCode(transactionHash);
-        result = 31 * result + Arrays.hashCode(transactionData);
-        return result;
+        int hash = this.hashCode;
+        if (hash == 0) {
+            hash = this.senderAddress.hashCode();
+            hash = 31 * hash + ((this.destinationAddress == null) ? 0 : this.destinationAddress.hashCode());
+            hash = 31 * hash + BigIntegerUtil.hashOf(this.value, this.valueAsLong);
+            hash = 31 * hash + BigIntegerUtil.hashOf(this.nonce, this.nonceAsLong);
+            hash = 31 * hash + Long.hashCode(this.energyPrice);
+            hash = 31 * hash + Long.hashCode(this.energyLimit);
+            hash = 31 * hash + (this.isCreate ? 1231 : 1237);
+            hash = 31 * hash + Arrays.hashCode(this.transactionHash);
+            hash = 31 * hash + Arrays.hashCode(this.transactionData);
+            this.hashCode = hash;
+        }
+        return hash;
+    }
+
+    private static byte[] copyOf(byte[] bytes) {
+        return Arrays.copyOf(bytes, bytes.length);
     }
 }
@@ -0,0 +1,439 @@
+package org.aion.types;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A column-oriented, immutable batch of transactions, such as the transactions of a block.
+ *
+ * Instead of one object graph per transaction, every field is held in a primitive array indexed by
+ * row: senders and destinations as four longs per address, nonces and values as longs, the energy
+ * fields as longs and the create flags as bytes. All transaction hashes and data live in one shared
+ * byte arena, located by per-row offsets. Nonces and values that do not fit in a long are kept in a
+ * side column that is only allocated if such a value is present.
+ *
+ * Loops over a field of every row therefore scan a single contiguous array, and a whole block costs
+ * a handful of allocations regardless of its size. {@link #transaction(int)} materializes a row as
+ * a regular {@link Transaction} when one is needed.
+ */
+public final class TransactionBatch {
+    private static final byte FLAG_CREATE = 1;
+
+    private final int size;
+    private final long[] senders;
+    private final long[] destinations;
+    private final long[] nonces;
+    private final long[] values;
+    private final BigInteger[] bigNonces;
+    private final BigInteger[] bigValues;
+    private final long[] energyLimits;
+    private final long[] energyPrices;
+    private final byte[] flags;
+    // Row i's hash is arena[rowOffsets[i], rowOffsets[i] + hashLengths[i]) and its data runs from
+    // there to rowOffsets[i + 1].
+    private final int[] rowOffsets;
+    private final int[] hashLengths;
+    private final byte[] arena;
+
+    private TransactionBatch(Builder builder) {
+        this.size = builder.size;
+        this.senders = Arrays.copyOf(builder.senders, builder.size * 4);
+        this.destinations = Arrays.copyOf(builder.destinations, builder.size * 4);
+        this.nonces = Arrays.copyOf(builder.nonces, builder.size);
+        this.values = Arrays.copyOf(builder.values, builder.size);
+        this.bigNonces = (builder.bigNonces == null) ? null : Arrays.copyOf(builder.bigNonces, builder.size);
+        this.bigValues = (builder.bigValues == null) ? null : Arrays.copyOf(builder.bigValues, builder.size);
+        this.energyLimits = Arrays.copyOf(builder.energyLimits, builder.size);
+        this.energyPrices = Arrays.copyOf(builder.energyPrices, builder.size);
+        this.flags = Arrays.copyOf(builder.flags, builder.size);
+        this.rowOffsets = Arrays.copyOf(builder.rowOffsets, builder.size + 1);
+        this.hashLengths = Arrays.copyOf(builder.hashLengths, builder.size);
+        this.arena = Arrays.copyOf(builder.arena, builder.arenaLength);
+    }
+
+    /**
+     * Returns a batch holding the given transactions, in order.
+     *
+     * @param transactions The transactions.
+     * @return the batch.
+     * @throws NullPointerException if transactions or any of its elements is null.
+     */
+    public static TransactionBatch of(List<Transaction> transactions) {
+        if (transactions == null) {
+            throw new NullPointerException("Cannot create TransactionBatch from null transactions!");
+        }
+
+        Builder builder = new Builder(transactions.size());
+        for (Transaction transaction : transactions) {
+            builder.add(transaction);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the number of transactions in the batch.
+     *
+     * @return the number of rows.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the sender of the given row.
+     *
+     * @param row The row index.
+     * @return the sender.
+     */
+    public AionAddress senderAddress(int row) {
+        checkRow(row);
+        return AionAddress.fromWords(this.senders, row * 4);
+    }
+
+    /**
+     * Returns {@code true} only if the sender of the given row is the given address. This does not
+     * allocate.
+     *
+     * @param row The row index.
+     * @param address The address to compare with.
+     * @return whether the row's sender is address.
+     */
+    public boolean isSender(int row, AionAddress address) {
+        checkRow(row);
+        return address.hasWords(this.senders, row * 4);
+    }
+
+    /**
+     * Returns the destination of the given row, or null if it is a create transaction.
+     *
+     * @param row The row index.
+     * @return the destination.
+     */
+    public AionAddress destinationAddress(int row) {
+        checkRow(row);
+        return isCreate(row) ? null : AionAddress.fromWords(this.destinations, row * 4);
+    }
+
+    /**
+     * Returns {@code true} only if the destination of the given row is the given address. This
+     * does not allocate.
+     *
+     * @param row The row index.
+     * @param address The address to compare with.
+     * @return whether the row's destination is address.
+     */
+    public boolean isDestination(int row, AionAddress address) {
+        checkRow(row);
+        return !isCreate(row) && address.hasWords(this.destinations, row * 4);
+    }
+
+    /**
+     * Returns whether the given row is a create transaction.
+     *
+     * @param row The row index.
+     * @return whether the row creates a contract.
+     */
+    public boolean isCreate(int row) {
+        checkRow(row);
+        return (this.flags[row] & FLAG_CREATE) != 0;
+    }
+
+    /**
+     * Returns the nonce of the given row.
+     *
+     * @param row The row index.
+     * @return the nonce.
+     */
+    public BigInteger nonce(int row) {
+        checkRow(row);
+        return (this.bigNonces != null && this.bigNonces[row] != null) ? this.bigNonces[row] : BigInteger.valueOf(this.nonces[row]);
+    }
+
+    /**
+     * Returns the nonce of the given row as a long.
+     *
+     * @param row The row index.
+     * @return the nonce.
+     * @throws ArithmeticException if the nonce does not fit in a long.
+     */
+    public long nonceAsLong(int row) {
+        checkRow(row);
+        if (this.bigNonces != null && this.bigNonces[row] != null) {
+            throw new ArithmeticException("Nonce of row " + row + " does not fit in a long");
+        }
+        return this.nonces[row];
+    }
+
+    /**
+     * Returns the value of the given row.
+     *
+     * @param row The row index.
+     * @return the value.
+     */
+    public BigInteger value(int row) {
+        checkRow(row);
+        return (this.bigValues != null && this.bigValues[row] != null) ? this.bigValues[row] : BigInteger.valueOf(this.values[row]);
+    }
+
+    /**
+     * Returns the value of the given row as a long.
+     *
+     * @param row The row index.
+     * @return the value.
+     * @throws ArithmeticException if the value does not fit in a long.
+     */
+    public long valueAsLong(int row) {
+        checkRow(row);
+        if (this.bigValues != null && this.bigValues[row] != null) {
+            throw new ArithmeticException("Value of row " + row + " does not fit in a long");
+        }
+        return this.values[row];
+    }
+
+    /**
+     * Returns the energy limit of the given row.
+     *
+     * @param row The row index.
+     * @return the energy limit.
+     */
+    public long energyLimit(int row) {
+        checkRow(row);
+        return this.energyLimits[row];
+    }
+
+    /**
+     * Returns the energy price of the given row.
+     *
+     * @param row The row index.
+     * @return the energy price.
+     */
+    public long energyPrice(int row) {
+        checkRow(row);
+        return this.energyPrices[row];
+    }
+
+    /**
+     * Returns a read-only view of the transaction hash of the given row within the shared arena.
+     *
+     * @param row The row index.
+     * @return a read-only view of the transaction hash.
+     */
+    public ByteBuffer transactionHashView(int row) {
+        checkRow(row);
+        return ByteBuffer.wrap(this.arena, this.rowOffsets[row], this.hashLengths[row]).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns a read-only view of the transaction data of the given row within the shared arena.
+     *
+     * @param row The row index.
+     * @return a read-only view of the transaction data.
+     */
+    public ByteBuffer transactionDataView(int row) {
+        checkRow(row);
+        int dataOffset = this.rowOffsets[row] + this.hashLengths[row];
+        return ByteBuffer.wrap(this.arena, dataOffset, this.rowOffsets[row + 1] - dataOffset).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the sum of the energy limits of every row.
+     *
+     * @return the total energy limit.
+     * @throws ArithmeticException if the sum overflows a long.
+     */
+    public long totalEnergyLimit() {
+        long total = 0;
+        for (int row = 0; row < this.size; row++) {
+            total = Math.addExact(total, this.energyLimits[row]);
+        }
+        return total;
+    }
+
+    /**
+     * Materializes the given row as a transaction.
+     *
+     * @param row The row index.
+     * @return the transaction.
+     */
+    public Transaction transaction(int row) {
+        checkRow(row);
+        int hashOffset = this.rowOffsets[row];
+        int dataOffset = hashOffset + this.hashLengths[row];
+        byte[] transactionHash = Arrays.copyOfRange(this.arena, hashOffset, dataOffset);
+        byte[] transactionData = Arrays.copyOfRange(this.arena, dataOffset, this.rowOffsets[row + 1]);
+        return Transaction.fromOwnedArrays(senderAddress(row), destinationAddress(row), transactionHash, nonce(row), value(row), transactionData, this.energyLimits[row], this.energyPrices[row], isCreate(row));
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionBatch { size = " + this.size + ", arena bytes = " + this.arena.length + " }";
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= this.size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for batch of size " + this.size);
+        }
+    }
+
+    /**
+     * Accumulates rows for a {@link TransactionBatch}. A builder is not thread-safe.
+     */
+    public static final class Builder {
+        private int size;
+        private long[] senders;
+        private long[] destinations;
+        private long[] nonces;
+        private long[] values;
+        private BigInteger[] bigNonces;
+        private BigInteger[] bigValues;
+        private long[] energyLimits;
+        private long[] energyPrices;
+        private byte[] flags;
+        private int[] rowOffsets;
+        private int[] hashLengths;
+        private byte[] arena;
+        private int arenaLength;
+
+        /**
+         * Constructs a new builder sized for the given number of rows.
+         *
+         * @param expectedSize The expected number of rows.
+         */
+        public Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 1);
+            this.senders = new long[capacity * 4];
+            this.destinations = new long[capacity * 4];
+            this.nonces = new long[capacity];
+            this.values = new long[capacity];
+            this.energyLimits = new long[capacity];
+            this.energyPrices = new long[capacity];
+            this.flags = new byte[capacity];
+            this.rowOffsets = new int[capacity + 1];
+            this.hashLengths = new int[capacity];
+            this.arena = new byte[capacity * 64];
+        }
+
+        /**
+         * Appends the given transaction as the next row.
+         *
+         * @param transaction The transaction.
+         * @return this builder.
+         * @throws NullPointerException if transaction is null.
+         */
+        public Builder add(Transaction transaction) {
+            if (transaction == null) {
+                throw new NullPointerException("Cannot add null transaction to TransactionBatch!");
+            }
+            addRow(transaction.senderAddress, transaction.destinationAddress, transaction.nonce, transaction.value, transaction.energyLimit, transaction.energyPrice, transaction.isCreate, ByteBuffer.wrap(transaction.rawTransactionHash()), ByteBuffer.wrap(transaction.rawTransactionData()));
+            return this;
+        }
+
+        /**
+         * Appends the given encoded transaction as the next row, without materializing it.
+         *
+         * @param transaction The encoded transaction.
+         * @return this builder.
+         * @throws NullPointerException if transaction is null.
+         */
+        public Builder add(EncodedTransaction transaction) {
+            if (transaction == null) {
+                throw new NullPointerException("Cannot add null transaction to TransactionBatch!");
+            }
+            addRow(transaction.senderAddress(), transaction.destinationAddress(), transaction.nonce(), transaction.value(), transaction.energyLimit(), transaction.energyPrice(), transaction.isCreate, transaction.transactionHashView(), transaction.transactionDataView());
+            return this;
+        }
+
+        /**
+         * Returns a batch holding the rows added so far. The builder may continue to be used.
+         *
+         * @return the batch.
+         */
+        public TransactionBatch build() {
+            return new TransactionBatch(this);
+        }
+
+        private void addRow(AionAddress sender, AionAddress destination, BigInteger nonce, BigInteger value, long energyLimit, long energyPrice, boolean isCreate, ByteBuffer hash, ByteBuffer data) {
+            // Everything that can throw comes before the first column is written, so a failed add
+            // leaves nothing behind in the row that the next add would inherit.
+            ensureRowCapacity();
+            int hashLength = hash.remaining();
+            int dataLength = data.remaining();
+            ensureArenaCapacity(hashLength + dataLength);
+            int row = this.size;
+
+            sender.copyWordsTo(this.senders, row * 4);
+            if (destination != null) {
+                destination.copyWordsTo(this.destinations, row * 4);
+            }
+            if (nonce.bitLength() < 64) {
+                this.nonces[row] = nonce.longValue();
+                if (this.bigNonces != null) {
+                    this.bigNonces[row] = null;
+                }
+            } else {
+                if (this.bigNonces == null) {
+                    this.bigNonces = new BigInteger[this.nonces.length];
+                }
+                this.bigNonces[row] = nonce;
+            }
+            if (value.bitLength() < 64) {
+                this.values[row] = value.longValue();
+                if (this.bigValues != null) {
+                    this.bigValues[row] = null;
+                }
+            } else {
+                if (this.bigValues == null) {
+                    this.bigValues = new BigInteger[this.values.length];
+                }
+                this.bigValues[row] = value;
+            }
+            this.energyLimits[row] = energyLimit;
+            this.energyPrices[row] = energyPrice;
+            this.flags[row] = isCreate ? FLAG_CREATE : 0;
+
+            this.hashLengths[row] = hashLength;
+            this.rowOffsets[row] = this.arenaLength;
+            hash.get(this.arena, this.arenaLength, hashLength);
+            this.arenaLength += hashLength;
+            data.get(this.arena, this.arenaLength, dataLength);
+            this.arenaLength += dataLength;
+            this.rowOffsets[row + 1] = this.arenaLength;
+            this.size++;
+        }
+
+        private void ensureRowCapacity() {
+            if (this.size < this.nonces.length) {
+                return;
+            }
+            int capacity = this.nonces.length * 2;
+            this.senders = Arrays.copyOf(this.senders, capacity * 4);
+            this.destinations = Arrays.copyOf(this.destinations, capacity * 4);
+            this.nonces = Arrays.copyOf(this.nonces, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+            if (this.bigNonces != null) {
+                this.bigNonces = Arrays.copyOf(this.bigNonces, capacity);
+            }
+            if (this.bigValues != null) {
+                this.bigValues = Arrays.copyOf(this.bigValues, capacity);
+            }
+            this.energyLimits = Arrays.copyOf(this.energyLimits, capacity);
+            this.energyPrices = Arrays.copyOf(this.energyPrices, capacity);
+            this.flags = Arrays.copyOf(this.flags, capacity);
+            this.rowOffsets = Arrays.copyOf(this.rowOffsets, capacity + 1);
+            this.hashLengths = Arrays.copyOf(this.hashLengths, capacity);
+        }
+
+        private void ensureArenaCapacity(int extra) {
+            if (extra > Integer.MAX_VALUE - 8 - this.arenaLength) {
+                throw new IllegalStateException("TransactionBatch arena cannot exceed 2GB");
+            }
+            int required = this.arenaLength + extra;
+            if (required > this.arena.length) {
+                int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max((long) this.arena.length * 2, required));
+                this.arena = Arrays.copyOf(this.arena, capacity);
+            }
+        }
+    }
+}
@@ -0,0 +1,457 @@
+package org.aion.types;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import org.aion.types.InternalTransaction.RejectedStatus;
+import org.aion.types.internal_util.VarInt;
+
+/**
+ * A compact, versioned binary encoding of {@link Transaction} and {@link InternalTransaction}.
+ *
+ * Every encoding begins with a one-byte format version, a one-byte record type and the length of
+ * the remaining body as a varint, so a reader can skip records it does not understand. Inside the
+ * body, {@code nonce}, {@code value}, {@code energyLimit} and {@code energyPrice} are unsigned
+ * LEB128 varints, addresses are their raw 32 bytes and byte arrays are prefixed by their length as
+ * a varint.
+ *
+ * A transaction body is laid out as:
+ * <pre>
+ *   flags (1 byte: bit 0 = isCreate)
+ *   sender (32 bytes)
+ *   destination (32 bytes, absent if isCreate)
+ *   nonce, value, energyLimit, energyPrice (varints)
+ *   transactionHash (varint length + bytes)
+ *   transactionData (varint length + bytes)
+ * </pre>
+ *
+ * An internal transaction body is laid out as:
+ * <pre>
+ *   flags (1 byte: bit 0 = isCreate, bit 1 = isRejected, bit 2 = has invokable hash)
+ *   sender (32 bytes)
+ *   destination (32 bytes, absent if isCreate)
+ *   senderNonce, value, energyLimit, energyPrice (varints)
+ *   data (varint length + bytes)
+ *   invokable hash (varint length + bytes, absent unless flagged)
+ * </pre>
+ *
+ * A {@code BigInteger} field may take at most {@link VarInt#MAX_BIG_INTEGER_LENGTH} bytes, so values
+ * of 2^259 and above cannot be encoded: every method that encodes or measures such a transaction
+ * throws an {@link IllegalArgumentException} instead of producing bytes that would not decode.
+ *
+ * Decoding is a single bounds-checked pass over the input: the only arrays allocated are the ones
+ * the decoded object keeps. Malformed or truncated input is reported as an
+ * {@link IllegalArgumentException}.
+ */
+public final class TransactionCodec {
+
+    /**
+     * The current format version.
+     */
+    public static final byte VERSION = 1;
+
+    static final byte TYPE_TRANSACTION = 1;
+    static final byte TYPE_INTERNAL_TRANSACTION = 2;
+    static final byte TYPE_TRANSACTION_RESULT = 3;
+
+    static final int FLAG_CREATE = 0x1;
+    static final int FLAG_REJECTED = 0x2;
+    static final int FLAG_INVOKABLE = 0x4;
+
+    // Header (2 bytes and a body length), flags, two addresses, two big and two long varints, and
+    // the varint lengths of an empty hash and of the data.
+    static final int MAX_LENGTH_BEFORE_DATA = 2 + VarInt.MAX_LONG_LENGTH + 1 + 2 * AionAddress.LENGTH
+        + 2 * VarInt.MAX_BIG_INTEGER_LENGTH + 2 * VarInt.MAX_LONG_LENGTH + 1 + VarInt.MAX_LONG_LENGTH;
+
+    private TransactionCodec() {}
+
+    /**
+     * Returns the number of bytes the encoding of the given transaction occupies.
+     *
+     * @param transaction The transaction.
+     * @return the encoded length.
+     * @throws IllegalArgumentException if a nonce or value is 2^259 or above.
+     */
+    public static int encodedLength(Transaction transaction) {
+        int bodyLength = bodyLength(transaction, transaction.rawTransactionHash());
+        return 2 + VarInt.sizeOf(bodyLength) + bodyLength;
+    }
+
+    /**
+     * Returns the number of bytes the encoding of the given internal transaction occupies.
+     *
+     * @param transaction The internal transaction.
+     * @return the encoded length.
+     * @throws IllegalArgumentException if a nonce or value is 2^259 or above.
+     */
+    public static int encodedLength(InternalTransaction transaction) {
+        int bodyLength = bodyLength(transaction);
+        return 2 + VarInt.sizeOf(bodyLength) + bodyLength;
+    }
+
+    /**
+     * Returns the encoding of the given transaction.
+     *
+     * @param transaction The transaction to encode.
+     * @return the encoded bytes.
+     * @throws IllegalArgumentException if a nonce or value is 2^259 or above.
+     */
+    public static byte[] encode(Transaction transaction) {
+        byte[] encoding = new byte[encodedLength(transaction)];
+        encode(transaction, ByteBuffer.wrap(encoding));
+        return encoding;
+    }
+
+    /**
+     * Returns the encoding of the given internal transaction.
+     *
+     * @param transaction The internal transaction to encode.
+     * @return the encoded bytes.
+     * @throws IllegalArgumentException if a nonce or value is 2^259 or above.
+     */
+    public static byte[] encode(InternalTransaction transaction) {
+        byte[] encoding = new byte[encodedLength(transaction)];
+        encode(transaction, ByteBuffer.wrap(encoding));
+        return encoding;
+    }
+
+    /**
+     * Writes the encoding of the given transaction at the buffer's position and advances it.
+     *
+     * @param transaction The transaction to encode.
+     * @param buffer The buffer to write to.
+     * @throws BufferOverflowException if the buffer has too little room, in which case nothing is
+     * written.
+     * @throws IllegalArgumentException if a nonce or value is 2^259 or above.
+     */
+    public static void encode(Transaction transaction, ByteBuffer buffer) {
+        int bodyLength = bodyLength(transaction, transaction.rawTransactionHash());
+        if (buffer.remaining() < 2 + VarInt.sizeOf(bodyLength) + bodyLength) {
+            throw new BufferOverflowException();
+        }
+
+        writeFieldsBeforeData(transaction, transaction.rawTransactionHash(), bodyLength, buffer);
+        buffer.put(transaction.rawTransactionData());
+    }
+
+    /**
+     * Writes the encoding of the given internal transaction at the buffer's position and advances
+     * it.
+     *
+     * @param transaction The internal transaction to encode.
+     * @param buffer The buffer to write to.
+     * @throws BufferOverflowException if the buffer has too little room, in which case nothing is
+     * written.
+     * @throws IllegalArgumentException if a nonce or value is 2^259 or above.
+     */
+    public static void encode(InternalTransaction transaction, ByteBuffer buffer) {
+        int bodyLength = bodyLength(transaction);
+        if (buffer.remaining() < 2 + VarInt.sizeOf(bodyLength) + bodyLength) {
+            throw new BufferOverflowException();
+        }
+
+        writeFieldsBeforeData(transaction, bodyLength, buffer);
+        buffer.put(transaction.rawData());
+        byte[] invokableHash = transaction.rawInvokableHash();
+        if (invokableHash != null) {
+            writeBytes(buffer, invokableHash);
+        }
+    }
+
+    /**
+     * Writes the encoding of the given transaction to the stream.
+     *
+     * @param transaction The transaction to encode.
+     * @param stream The stream to write to.
+     * @throws IOException if the stream throws.
+     * @throws IllegalArgumentException if a nonce or value is 2^259 or above.
+     */
+    public static void encode(Transaction transaction, OutputStream stream) throws IOException {
+        stream.write(encode(transaction));
+    }
+
+    /**
+     * Writes the encoding of the given internal transaction to the stream.
+     *
+     * @param transaction The internal transaction to encode.
+     * @param stream The stream to write to.
+     * @throws IOException if the stream throws.
+     * @throws IllegalArgumentException if a nonce or value is 2^259 or above.
+     */
+    public static void encode(InternalTransaction transaction, OutputStream stream) throws IOException {
+        stream.write(encode(transaction));
+    }
+
+    /**
+     * Decodes a transaction from the given bytes, which must hold exactly one encoding.
+     *
+     * @param encoding The encoded transaction.
+     * @return the decoded transaction.
+     * @throws IllegalArgumentException if the encoding is malformed or has trailing bytes.
+     */
+    public static Transaction decodeTransaction(byte[] encoding) {
+        ByteBuffer buffer = ByteBuffer.wrap(encoding);
+        Transaction transaction = decodeTransaction(buffer);
+        requireFullyConsumed(buffer);
+        return transaction;
+    }
+
+    /**
+     * Decodes an internal transaction from the given bytes, which must hold exactly one encoding.
+     *
+     * @param encoding The encoded internal transaction.
+     * @return the decoded internal transaction.
+     * @throws IllegalArgumentException if the encoding is malformed or has trailing bytes.
+     */
+    public static InternalTransaction decodeInternalTransaction(byte[] encoding) {
+        ByteBuffer buffer = ByteBuffer.wrap(encoding);
+        InternalTransaction transaction = decodeInternalTransaction(buffer);
+        requireFullyConsumed(buffer);
+        return transaction;
+    }
+
+    /**
+     * Decodes the transaction at the buffer's position and advances the position past it.
+     *
+     * If decoding fails the buffer's position is unspecified but its limit is unchanged.
+     *
+     * @param buffer The buffer to read from.
+     * @return the decoded transaction.
+     * @throws IllegalArgumentException if the encoding is malformed.
+     */
+    public static Transaction decodeTransaction(ByteBuffer buffer) {
+        int end = readHeader(buffer, TYPE_TRANSACTION);
+        int limit = buffer.limit();
+        buffer.limit(end);
+        try {
+            int flags = readFlags(buffer, FLAG_CREATE);
+            boolean isCreate = (flags & FLAG_CREATE) != 0;
+            require(buffer, isCreate ? AionAddress.LENGTH : 2 * AionAddress.LENGTH);
+            AionAddress sender = AionAddress.readFrom(buffer);
+            AionAddress destination = isCreate ? null : AionAddress.readFrom(buffer);
+            BigInteger nonce = VarInt.readBigInteger(buffer);
+            BigInteger value = VarInt.readBigInteger(buffer);
+            long energyLimit = VarInt.readLong(buffer);
+            long energyPrice = VarInt.readLong(buffer);
+            byte[] transactionHash = readBytes(buffer);
+            byte[] transactionData = readBytes(buffer);
+            requireFullyConsumed(buffer);
+
+            return Transaction.fromOwnedArrays(sender, destination, transactionHash, nonce, value, transactionData, energyLimit, energyPrice, isCreate);
+        } finally {
+            buffer.limit(limit);
+        }
+    }
+
+    /**
+     * Decodes the internal transaction at the buffer's position and advances the position past it.
+     *
+     * If decoding fails the buffer's position is unspecified but its limit is unchanged.
+     *
+     * @param buffer The buffer to read from.
+     * @return the decoded internal transaction.
+     * @throws IllegalArgumentException if the encoding is malformed.
+     */
+    public static InternalTransaction decodeInternalTransaction(ByteBuffer buffer) {
+        int end = readHeader(buffer, TYPE_INTERNAL_TRANSACTION);
+        int limit = buffer.limit();
+        buffer.limit(end);
+        try {
+            int flags = readFlags(buffer, FLAG_CREATE | FLAG_REJECTED | FLAG_INVOKABLE);
+            boolean isCreate = (flags & FLAG_CREATE) != 0;
+            require(buffer, isCreate ? AionAddress.LENGTH : 2 * AionAddress.LENGTH);
+            AionAddress sender = AionAddress.readFrom(buffer);
+            AionAddress destination = isCreate ? null : AionAddress.readFrom(buffer);
+            BigInteger senderNonce = VarInt.readBigInteger(buffer);
+            BigInteger value = VarInt.readBigInteger(buffer);
+            long energyLimit = VarInt.readLong(buffer);
+            long energyPrice = VarInt.readLong(buffer);
+            byte[] data = readBytes(buffer);
+            byte[] invokableHash = ((flags & FLAG_INVOKABLE) != 0) ? readBytes(buffer) : null;
+            requireFullyConsumed(buffer);
+
+            RejectedStatus status = ((flags & FLAG_REJECTED) != 0) ? RejectedStatus.REJECTED : RejectedStatus.NOT_REJECTED;
+            return InternalTransaction.fromOwnedArrays(status, sender, destination, senderNonce, value, data, energyLimit, energyPrice, isCreate, invokableHash);
+        } finally {
+            buffer.limit(limit);
+        }
+    }
+
+    /**
+     * Checks the internal transaction record at the buffer's position exactly as
+     * {@link #decodeInternalTransaction(ByteBuffer)} would, and advances the position past it,
+     * without allocating anything.
+     */
+    static void skipInternalTransaction(ByteBuffer buffer) {
+        int end = readHeader(buffer, TYPE_INTERNAL_TRANSACTION);
+        int limit = buffer.limit();
+        buffer.limit(end);
+        try {
+            int flags = readFlags(buffer, FLAG_CREATE | FLAG_REJECTED | FLAG_INVOKABLE);
+            int addressesLength = ((flags & FLAG_CREATE) != 0) ? AionAddress.LENGTH : 2 * AionAddress.LENGTH;
+            require(buffer, addressesLength);
+            buffer.position(buffer.position() + addressesLength);
+            buffer.position(VarInt.endOf(buffer, buffer.position(), VarInt.MAX_BIG_INTEGER_LENGTH));
+            buffer.position(VarInt.endOf(buffer, buffer.position(), VarInt.MAX_BIG_INTEGER_LENGTH));
+            VarInt.readLong(buffer);
+            long energyPrice = VarInt.readLong(buffer);
+            skipBytes(buffer);
+            if ((flags & FLAG_INVOKABLE) != 0) {
+                skipBytes(buffer);
+            }
+            requireFullyConsumed(buffer);
+            if (energyPrice == 0) {
+                throw new IllegalArgumentException("Cannot create InternalTransaction with non-positive energyPrice: " + energyPrice);
+            }
+        } finally {
+            buffer.limit(limit);
+        }
+    }
+
+    /**
+     * Reads and checks the version and type bytes and the body length, and returns the absolute
+     * position just past the end of the body.
+     */
+    static int readHeader(ByteBuffer buffer, byte expectedType) {
+        require(buffer, 2);
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported encoding version: " + version);
+        }
+        byte type = buffer.get();
+        if (type != expectedType) {
+            throw new IllegalArgumentException("Expected record type " + expectedType + " but found: " + type);
+        }
+        int bodyLength = VarInt.readInt(buffer);
+        require(buffer, bodyLength);
+        return buffer.position() + bodyLength;
+    }
+
+    static int readFlags(ByteBuffer buffer, int allowedFlags) {
+        require(buffer, 1);
+        int flags = buffer.get() & 0xFF;
+        if ((flags & ~allowedFlags) != 0) {
+            throw new IllegalArgumentException("Unknown flags: " + flags);
+        }
+        return flags;
+    }
+
+    /**
+     * Writes the header and every field up to and including the length of the data, with the given
+     * hash in place of the transaction's own. With an empty hash, at most
+     * {@link #MAX_LENGTH_BEFORE_DATA} bytes are written.
+     */
+    static void writeFieldsBeforeData(Transaction transaction, byte[] transactionHash, int bodyLength, ByteBuffer buffer) {
+        buffer.put(VERSION).put(TYPE_TRANSACTION);
+        VarInt.write(buffer, bodyLength);
+        buffer.put((byte) (transaction.isCreate ? FLAG_CREATE : 0));
+        transaction.senderAddress.writeTo(buffer);
+        if (!transaction.isCreate) {
+            transaction.destinationAddress.writeTo(buffer);
+        }
+        if (transaction.nonceFitsInLong()) {
+            VarInt.write(buffer, transaction.nonceAsLong());
+        } else {
+            VarInt.write(buffer, transaction.nonce);
+        }
+        if (transaction.valueFitsInLong()) {
+            VarInt.write(buffer, transaction.valueAsLong());
+        } else {
+            VarInt.write(buffer, transaction.value);
+        }
+        VarInt.write(buffer, transaction.energyLimit);
+        VarInt.write(buffer, transaction.energyPrice);
+        writeBytes(buffer, transactionHash);
+        VarInt.write(buffer, transaction.rawTransactionData().length);
+    }
+
+    /**
+     * Writes the header and every field up to and including the length of the data. At most
+     * {@link #MAX_LENGTH_BEFORE_DATA} bytes are written.
+     */
+    static void writeFieldsBeforeData(InternalTransaction transaction, int bodyLength, ByteBuffer buffer) {
+        byte[] invokableHash = transaction.rawInvokableHash();
+        int flags = (transaction.isCreate ? FLAG_CREATE : 0)
+            | (transaction.isRejected ? FLAG_REJECTED : 0)
+            | ((invokableHash != null) ? FLAG_INVOKABLE : 0);
+
+        buffer.put(VERSION).put(TYPE_INTERNAL_TRANSACTION);
+        VarInt.write(buffer, bodyLength);
+        buffer.put((byte) flags);
+        transaction.sender.writeTo(buffer);
+        if (!transaction.isCreate) {
+            transaction.destination.writeTo(buffer);
+        }
+        if (transaction.senderNonceFitsInLong()) {
+            VarInt.write(buffer, transaction.senderNonceAsLong());
+        } else {
+            VarInt.write(buffer, transaction.senderNonce);
+        }
+        if (transaction.valueFitsInLong()) {
+            VarInt.write(buffer, transaction.valueAsLong());
+        } else {
+            VarInt.write(buffer, transaction.value);
+        }
+        VarInt.write(buffer, transaction.energyLimit);
+        VarInt.write(buffer, transaction.energyPrice);
+        VarInt.write(buffer, transaction.rawData().length);
+    }
+
+    static void require(ByteBuffer buffer, int length) {
+        if (buffer.remaining() < length) {
+            throw new IllegalArgumentException("Truncated encoding: needed " + length + " bytes but only " + buffer.remaining() + " remain");
+        }
+    }
+
+    static byte[] readBytes(ByteBuffer buffer) {
+        int length = VarInt.readInt(buffer);
+        require(buffer, length);
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    static void skipBytes(ByteBuffer buffer) {
+        int length = VarInt.readInt(buffer);
+        require(buffer, length);
+        buffer.position(buffer.position() + length);
+    }
+
+    static void writeBytes(ByteBuffer buffer, byte[] bytes) {
+        VarInt.write(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    static void requireFullyConsumed(ByteBuffer buffer) {
+        if (buffer.hasRemaining()) {
+            throw new IllegalArgumentException("Encoding has " + buffer.remaining() + " unexpected trailing bytes");
+        }
+    }
+
+    static int bodyLength(Transaction transaction, byte[] transactionHash) {
+        int dataLength = transaction.rawTransactionData().length;
+        return 1
+            + (transaction.isCreate ? AionAddress.LENGTH : 2 * AionAddress.LENGTH)
+            + (transaction.nonceFitsInLong() ? VarInt.sizeOf(transaction.nonceAsLong()) : VarInt.sizeOf(transaction.nonce))
+            + (transaction.valueFitsInLong() ? VarInt.sizeOf(transaction.valueAsLong()) : VarInt.sizeOf(transaction.value))
+            + VarInt.sizeOf(transaction.energyLimit)
+            + VarInt.sizeOf(transaction.energyPrice)
+            + VarInt.sizeOf(transactionHash.length) + transactionHash.length
+            + VarInt.sizeOf(dataLength) + dataLength;
+    }
+
+    static int bodyLength(InternalTransaction transaction) {
+        int dataLength = transaction.rawData().length;
+        byte[] invokableHash = transaction.rawInvokableHash();
+        return 1
+            + (transaction.isCreate ? AionAddress.LENGTH : 2 * AionAddress.LENGTH)
+            + (transaction.senderNonceFitsInLong() ? VarInt.sizeOf(transaction.senderNonceAsLong()) : VarInt.sizeOf(transaction.senderNonce))
+            + (transaction.valueFitsInLong() ? VarInt.sizeOf(transaction.valueAsLong()) : VarInt.sizeOf(transaction.value))
+            + VarInt.sizeOf(transaction.energyLimit)
+            + VarInt.sizeOf(transaction.energyPrice)
+            + VarInt.sizeOf(dataLength) + dataLength
+            + ((invokableHash == null) ? 0 : VarInt.sizeOf(invokableHash.length) + invokableHash.length);
+    }
+}
@@ -0,0 +1,247 @@
+package org.aion.types;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.aion.types.internal_util.Blake2b;
+import org.aion.types.internal_util.VarInt;
+
+/**
+ * Computes the canonical Blake2b-256 hash of {@link Transaction}s, {@link InternalTransaction}s and
+ * {@link TransactionResult}s.
+ *
+ * The hash of an internal transaction is the hash of its {@link TransactionCodec} encoding, and the
+ * hash of a transaction result is the hash of its {@link TransactionResultCodec} encoding. The hash
+ * of a transaction is the hash of its encoding with an empty {@code transactionHash}, so it does not
+ * depend on the hash the transaction already carries; {@link #withCanonicalHash(Transaction)}
+ * returns a transaction carrying its canonical hash.
+ *
+ * A hasher streams the encoding into its Blake2b state: the fixed-size fields pass through a small
+ * reusable buffer and the data is absorbed straight from the transaction's own array, so hashing
+ * into a caller's array allocates nothing. A transaction result is encoded into a reusable buffer
+ * that grows to the largest result seen. A hasher is not thread-safe; {@link #forCurrentThread()}
+ * returns one reused by every call on the calling thread, and {@link #hashAll(List, ForkJoinPool)}
+ * splits a block across a pool with one such hasher per worker.
+ */
+public final class TransactionHasher {
+
+    /**
+     * The length of a transaction hash.
+     */
+    public static final int HASH_LENGTH = Blake2b.DIGEST_LENGTH;
+
+    private static final ThreadLocal<TransactionHasher> PER_THREAD = ThreadLocal.withInitial(TransactionHasher::new);
+
+    // Each transaction costs a few Blake2b compressions plus its data, so a few dozen fill a task.
+    private static final int MINIMUM_CHUNK_SIZE = 64;
+
+    private static final byte[] EMPTY_HASH = new byte[0];
+
+    private final Blake2b blake2b = new Blake2b();
+    // Large enough because the codec rejects a nonce or value too long to encode before writing it.
+    private final ByteBuffer scratch = ByteBuffer.allocate(TransactionCodec.MAX_LENGTH_BEFORE_DATA);
+    private ByteBuffer resultScratch = ByteBuffer.allocate(1024);
+
+    /**
+     * Constructs a new hasher.
+     */
+    public TransactionHasher() {}
+
+    /**
+     * Returns the hasher of the calling thread.
+     *
+     * @return the calling thread's hasher.
+     */
+    public static TransactionHasher forCurrentThread() {
+        return PER_THREAD.get();
+    }
+
+    /**
+     * Returns the canonical hash of the given transaction.
+     *
+     * @param transaction The transaction to hash.
+     * @return the hash.
+     * @throws NullPointerException if transaction is null.
+     * @throws IllegalArgumentException if a nonce or value is 2^259 or above, which no encoding holds.
+     */
+    public byte[] hash(Transaction transaction) {
+        byte[] hash = new byte[HASH_LENGTH];
+        hash(transaction, hash, 0);
+        return hash;
+    }
+
+    /**
+     * Writes the canonical hash of the given transaction into the array starting at offset.
+     *
+     * @param transaction The transaction to hash.
+     * @param out The array to write the hash into.
+     * @param offset The index of the first byte of the hash.
+     * @throws NullPointerException if transaction or out is null.
+     * @throws IndexOutOfBoundsException if the hash does not fit in out at offset.
+     * @throws IllegalArgumentException if a nonce or value is 2^259 or above, which no encoding holds.
+     */
+    public void hash(Transaction transaction, byte[] out, int offset) {
+        if (transaction == null) {
+            throw new NullPointerException("Cannot hash a null transaction!");
+        }
+        checkOutput(out, offset);
+
+        this.scratch.clear();
+        TransactionCodec.writeFieldsBeforeData(transaction, EMPTY_HASH, TransactionCodec.bodyLength(transaction, EMPTY_HASH), this.scratch);
+        this.blake2b.update(this.scratch.array(), 0, this.scratch.position());
+        byte[] data = transaction.rawTransactionData();
+        this.blake2b.update(data, 0, data.length);
+        this.blake2b.digest(out, offset);
+    }
+
+    /**
+     * Returns the hash of the given internal transaction.
+     *
+     * @param transaction The internal transaction to hash.
+     * @return the hash.
+     * @throws NullPointerException if transaction is null.
+     * @throws IllegalArgumentException if a nonce or value is 2^259 or above, which no encoding holds.
+     */
+    public byte[] hash(InternalTransaction transaction) {
+        byte[] hash = new byte[HASH_LENGTH];
+        hash(transaction, hash, 0);
+        return hash;
+    }
+
+    /**
+     * Writes the hash of the given internal transaction into the array starting at offset.
+     *
+     * @param transaction The internal transaction to hash.
+     * @param out The array to write the hash into.
+     * @param offset The index of the first byte of the hash.
+     * @throws NullPointerException if transaction or out is null.
+     * @throws IndexOutOfBoundsException if the hash does not fit in out at offset.
+     * @throws IllegalArgumentException if a nonce or value is 2^259 or above, which no encoding holds.
+     */
+    public void hash(InternalTransaction transaction, byte[] out, int offset) {
+        if (transaction == null) {
+            throw new NullPointerException("Cannot hash a null internal transaction!");
+        }
+        checkOutput(out, offset);
+
+        this.scratch.clear();
+        TransactionCodec.writeFieldsBeforeData(transaction, TransactionCodec.bodyLength(transaction), this.scratch);
+        this.blake2b.update(this.scratch.array(), 0, this.scratch.position());
+        byte[] data = transaction.rawData();
+        this.blake2b.update(data, 0, data.length);
+
+        byte[] invokableHash = transaction.rawInvokableHash();
+        if (invokableHash != null) {
+            this.scratch.clear();
+            VarInt.write(this.scratch, invokableHash.length);
+            this.blake2b.update(this.scratch.array(), 0, this.scratch.position());
+            this.blake2b.update(invokableHash, 0, invokableHash.length);
+        }
+        this.blake2b.digest(out, offset);
+    }
+
+    /**
+     * Returns the hash of the given transaction result.
+     *
+     * @param result The transaction result to hash.
+     * @return the hash.
+     * @throws NullPointerException if result is null.
+     * @throws IllegalArgumentException if an internal transaction has a nonce or value of 2^259 or
+     * above.
+     */
+    public byte[] hash(TransactionResult result) {
+        byte[] hash = new byte[HASH_LENGTH];
+        hash(result, hash, 0);
+        return hash;
+    }
+
+    /**
+     * Writes the hash of the given transaction result into the array starting at offset.
+     *
+     * @param result The transaction result to hash.
+     * @param out The array to write the hash into.
+     * @param offset The index of the first byte of the hash.
+     * @throws NullPointerException if result or out is null.
+     * @throws IndexOutOfBoundsException if the hash does not fit in out at offset.
+     * @throws IllegalArgumentException if an internal transaction has a nonce or value of 2^259 or
+     * above.
+     */
+    public void hash(TransactionResult result, byte[] out, int offset) {
+        if (result == null) {
+            throw new NullPointerException("Cannot hash a null transaction result!");
+        }
+        checkOutput(out, offset);
+
+        int length = TransactionResultCodec.encodedLength(result);
+        if (this.resultScratch.capacity() < length) {
+            this.resultScratch = ByteBuffer.allocate(Math.max(length, 2 * this.resultScratch.capacity()));
+        }
+        this.resultScratch.clear();
+        TransactionResultCodec.encode(result, this.resultScratch);
+        this.blake2b.update(this.resultScratch.array(), 0, length);
+        this.blake2b.digest(out, offset);
+    }
+
+    /**
+     * Returns the canonical hashes of the given transactions on the common fork-join pool.
+     *
+     * @param transactions The transactions to hash.
+     * @return the hashes, {@link #HASH_LENGTH} bytes each, concatenated in order.
+     * @throws NullPointerException if transactions is null or contains null.
+     * @throws IllegalArgumentException if a nonce or value is 2^259 or above, which no encoding holds.
+     */
+    public static byte[] hashAll(List<Transaction> transactions) {
+        return hashAll(transactions, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the canonical hashes of the given transactions, splitting large lists across the given
+     * pool.
+     *
+     * @param transactions The transactions to hash.
+     * @param pool The pool to split the list across.
+     * @return the hashes, {@link #HASH_LENGTH} bytes each, concatenated in order.
+     * @throws NullPointerException if transactions or pool is null, or transactions contains null.
+     * @throws IllegalArgumentException if a nonce or value is 2^259 or above, which no encoding holds.
+     */
+    public static byte[] hashAll(List<Transaction> transactions, ForkJoinPool pool) {
+        if (transactions == null) {
+            throw new NullPointerException("Cannot hash null transactions!");
+        }
+        if (pool == null) {
+            throw new NullPointerException("Cannot hash transactions on a null pool!");
+        }
+
+        byte[] hashes = new byte[transactions.size() * HASH_LENGTH];
+        ParallelRanges.forEach(pool, transactions.size(), MINIMUM_CHUNK_SIZE, (from, to) -> {
+            TransactionHasher hasher = forCurrentThread();
+            for (int i = from; i < to; i++) {
+                hasher.hash(transactions.get(i), hashes, i * HASH_LENGTH);
+            }
+        });
+        return hashes;
+    }
+
+    /**
+     * Returns a transaction equal to the given one except that it carries its canonical hash. The
+     * transaction data is shared rather than copied.
+     *
+     * @param transaction The transaction.
+     * @return the transaction with its canonical hash.
+     * @throws NullPointerException if transaction is null.
+     * @throws IllegalArgumentException if a nonce or value is 2^259 or above, which no encoding holds.
+     */
+    public static Transaction withCanonicalHash(Transaction transaction) {
+        byte[] hash = forCurrentThread().hash(transaction);
+        return Transaction.fromOwnedArrays(transaction.senderAddress, transaction.destinationAddress, hash, transaction.nonce, transaction.value, transaction.rawTransactionData(), transaction.energyLimit, transaction.energyPrice, transaction.isCreate);
+    }
+
+    private static void checkOutput(byte[] out, int offset) {
+        if (out == null) {
+            throw new NullPointerException("Cannot write a hash into a null array!");
+        }
+        if (offset < 0 || offset > out.length - HASH_LENGTH) {
+            throw new IndexOutOfBoundsException("Cannot write a hash of " + HASH_LENGTH + " bytes at offset " + offset + " into an array of length " + out.length);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package org.aion.types;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * A durable, append-only journal of transactions stored in memory-mapped segment files, with an
+ * index from transaction hash to record.
+ *
+ * Each transaction is written once, as a record holding its {@link TransactionCodec} encoding
+ * framed by its length and a CRC32C checksum. Records are appended to the active segment, a
+ * fixed-size file named {@code <number>.journal}; when a record does not fit, the active segment is
+ * forced to disk and a new one is started. Appended records are durable once {@link #force()}
+ * returns.
+ *
+ * Opening a journal scans every segment in order, stops each scan at the first record that is
+ * missing, truncated or fails its checksum (as left by a crash during an append), zeroes the rest of
+ * that segment, and rebuilds the hash index. A checksummed record that does not hold a valid
+ * transaction is skipped without discarding the records after it. The index is an off-heap open-addressing table of
+ * 64-bit hash fingerprints and record locations, so lookups take one probe sequence and one record
+ * read regardless of the journal size.
+ *
+ * The journal is thread-safe: lookups and replays run concurrently with each other and exclusively
+ * with appends. Mapped segments are released when the journal becomes unreachable, not on close.
+ */
+public final class TransactionJournal implements Closeable {
+    private final MappedRecordStore store;
+
+    private TransactionJournal(MappedRecordStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Opens the journal in the given directory, creating the directory if needed, and recovers any
+     * records already in it.
+     *
+     * @param directory The directory holding the segment files.
+     * @param segmentSize The size in bytes of new segment files.
+     * @return the open journal.
+     * @throws NullPointerException if directory is null.
+     * @throws IllegalArgumentException if segmentSize is smaller than 256 bytes.
+     * @throws IOException if the segments cannot be created, read or mapped.
+     */
+    public static TransactionJournal open(Path directory, int segmentSize) throws IOException {
+        if (directory == null) {
+            throw new NullPointerException("Cannot open a journal in a null directory!");
+        }
+        return new TransactionJournal(MappedRecordStore.open(directory, ".journal", segmentSize, TransactionJournal::transactionHashOf));
+    }
+
+    /**
+     * Appends the given transaction unless a transaction with the same hash is already journaled.
+     *
+     * @param transaction The transaction to append.
+     * @return true if the transaction was appended, false if its hash was already present.
+     * @throws NullPointerException if transaction is null.
+     * @throws IllegalArgumentException if the transaction cannot be encoded, as when its value is
+     *     2^259 or above, or if the encoded transaction does not fit in a segment. Nothing is
+     *     appended in either case.
+     * @throws IllegalStateException if the journal is closed.
+     * @throws IOException if a new segment cannot be created.
+     */
+    public boolean append(Transaction transaction) throws IOException {
+        if (transaction == null) {
+            throw new NullPointerException("Cannot append a null transaction!");
+        }
+        return this.store.append(transaction.rawTransactionHash(), TransactionCodec.encodedLength(transaction), buffer -> TransactionCodec.encode(transaction, buffer));
+    }
+
+    /**
+     * Returns the journaled transaction with the given hash, or {@code null} if there is none.
+     *
+     * @param transactionHash The transaction hash.
+     * @return the transaction or null.
+     * @throws NullPointerException if transactionHash is null.
+     * @throws IllegalStateException if the journal is closed.
+     */
+    public Transaction get(byte[] transactionHash) {
+        if (transactionHash == null) {
+            throw new NullPointerException("Cannot look up a null transaction hash!");
+        }
+        ByteBuffer payload = this.store.find(transactionHash);
+        return (payload == null) ? null : TransactionCodec.decodeTransaction(payload);
+    }
+
+    /**
+     * Returns {@code true} only if a transaction with the given hash is journaled.
+     *
+     * @param transactionHash The transaction hash.
+     * @return whether the transaction is journaled.
+     * @throws NullPointerException if transactionHash is null.
+     * @throws IllegalStateException if the journal is closed.
+     */
+    public boolean contains(byte[] transactionHash) {
+        if (transactionHash == null) {
+            throw new NullPointerException("Cannot look up a null transaction hash!");
+        }
+        return this.store.find(transactionHash) != null;
+    }
+
+    /**
+     * Passes every journaled transaction to the given consumer, in append order. Appends wait until
+     * the replay finishes.
+     *
+     * @param consumer The consumer of the transactions.
+     * @throws NullPointerException if consumer is null.
+     * @throws IllegalStateException if the journal is closed.
+     */
+    public void replay(Consumer<? super Transaction> consumer) {
+        if (consumer == null) {
+            throw new NullPointerException("Cannot replay into a null consumer!");
+        }
+        this.store.replay(payload -> consumer.accept(TransactionCodec.decodeTransaction(payload)));
+    }
+
+    /**
+     * Forces every appended record to the storage device.
+     *
+     * @throws IllegalStateException if the journal is closed.
+     */
+    public void force() {
+        this.store.force();
+    }
+
+    /**
+     * Returns the number of journaled transactions.
+     *
+     * @return the journal size.
+     */
+    public int size() {
+        return this.store.size();
+    }
+
+    /**
+     * Returns the number of segment files.
+     *
+     * @return the segment count.
+     */
+    public int segmentCount() {
+        return this.store.segmentCount();
+    }
+
+    /**
+     * Forces every appended record to the storage device and closes the segment files. Closing a
+     * closed journal has no effect.
+     *
+     * @throws IOException if a segment file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        this.store.close();
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionJournal { size = " + size() + ", segments = " + segmentCount() + " }";
+    }
+
+    private static ByteBuffer transactionHashOf(ByteBuffer payload) {
+        EncodedTransaction transaction = EncodedTransaction.wrap(payload);
+        if (payload.hasRemaining()) {
+            throw new IllegalArgumentException("Record has " + payload.remaining() + " unexpected trailing bytes");
+        }
+        return transaction.transactionHashView();
+    }
+}
@@ -0,0 +1,411 @@
+package org.aion.types;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe pool of pending transactions, sharded by sender address.
+ *
+ * Each sender's transactions are kept ordered by nonce in a shard guarded by its own lock, so
+ * threads working on different senders rarely contend. Across senders the pool keeps a lock-free
+ * priority view of every sender's lowest-nonce transaction ordered by energy price, which is all
+ * that is needed to pick the best executable transactions for a block.
+ *
+ * A sender's executable transactions are the run of consecutive nonces starting at its lowest
+ * pending nonce. The pool does not know account state: callers should remove transactions whose
+ * nonces have been confirmed using {@link #removeConfirmed(AionAddress, BigInteger)}.
+ *
+ * A transaction with the same sender and nonce as a pending one replaces it only if its energy
+ * price is higher by at least the configured percentage (replace-by-fee).
+ *
+ * A full pool makes room for a new transaction by evicting the highest-nonce transaction of the
+ * sender whose lowest-nonce transaction pays the least, if the new one pays more than it. Evicting
+ * from the end of a sender's nonces never leaves a gap in front of its remaining transactions.
+ */
+public final class TransactionPool {
+
+    /**
+     * The outcome of adding a transaction to the pool.
+     */
+    public enum AddResult { ADDED, REPLACED, ALREADY_PENDING, UNDERPRICED, POOL_FULL }
+
+    // Orders heads by descending energy price, then by the order in which they became heads.
+    private static final Comparator<Head> BY_PRICE = (head1, head2) -> {
+        int byPrice = Long.compare(head2.transaction.energyPrice, head1.transaction.energyPrice);
+        return (byPrice != 0) ? byPrice : Long.compare(head1.sequence, head2.sequence);
+    };
+
+    private final Shard[] shards;
+    private final int mask;
+    private final int capacity;
+    private final int priceBumpPercent;
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentSkipListSet<Head> heads = new ConcurrentSkipListSet<>(BY_PRICE);
+
+    /**
+     * Constructs a new empty transaction pool.
+     *
+     * @param capacity The maximum number of pending transactions.
+     * @param priceBumpPercent The minimum percentage by which a replacement must raise the energy price.
+     * @throws IllegalArgumentException if capacity is not positive or priceBumpPercent is negative.
+     */
+    public TransactionPool(int capacity, int priceBumpPercent) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cannot create TransactionPool with non-positive capacity: " + capacity);
+        }
+        if (priceBumpPercent < 0) {
+            throw new IllegalArgumentException("Cannot create TransactionPool with negative priceBumpPercent: " + priceBumpPercent);
+        }
+
+        int shardCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 4);
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            this.shards[i] = new Shard();
+        }
+        this.mask = shardCount - 1;
+        this.capacity = capacity;
+        this.priceBumpPercent = priceBumpPercent;
+    }
+
+    /**
+     * Adds the given transaction to the pool, replacing a pending transaction with the same sender
+     * and nonce if the new one pays enough more. If the pool is full, a cheaper transaction is
+     * evicted to make room for it, and otherwise it is not added.
+     *
+     * Under contention on the evicted sender's shard, a full pool may turn the transaction away
+     * rather than wait.
+     *
+     * @param transaction The transaction to add.
+     * @return the outcome.
+     * @throws NullPointerException if transaction is null.
+     */
+    public AddResult add(Transaction transaction) {
+        if (transaction == null) {
+            throw new NullPointerException("Cannot add a null transaction!");
+        }
+
+        Shard shard = shardOf(transaction.senderAddress);
+        shard.lock.lock();
+        try {
+            SenderQueue queue = shard.senders.get(transaction.senderAddress);
+            Transaction pending = (queue == null) ? null : queue.byNonce.get(transaction.nonce);
+
+            if (pending != null) {
+                if (pending.equals(transaction)) {
+                    return AddResult.ALREADY_PENDING;
+                }
+                if (!paysEnoughMore(transaction, pending)) {
+                    return AddResult.UNDERPRICED;
+                }
+                queue.byNonce.put(transaction.nonce, transaction);
+                if (queue.head.transaction == pending) {
+                    replaceHead(queue, transaction);
+                }
+                return AddResult.REPLACED;
+            }
+
+            if (this.size.incrementAndGet() > this.capacity) {
+                this.size.decrementAndGet();
+                if (!evictCheaperThan(transaction)) {
+                    return AddResult.POOL_FULL;
+                }
+                // The eviction may have emptied and dropped this sender's own queue.
+                queue = shard.senders.get(transaction.senderAddress);
+            }
+            if (queue == null) {
+                queue = new SenderQueue();
+                shard.senders.put(transaction.senderAddress, queue);
+            }
+            queue.byNonce.put(transaction.nonce, transaction);
+            if (queue.head == null || transaction.nonce.compareTo(queue.head.transaction.nonce) < 0) {
+                replaceHead(queue, transaction);
+            }
+            return AddResult.ADDED;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the pending transaction with the given sender and nonce, or {@code null} if there is none.
+     *
+     * @param sender The sender address.
+     * @param nonce The nonce.
+     * @return the pending transaction or null.
+     * @throws NullPointerException if sender or nonce is null.
+     */
+    public Transaction get(AionAddress sender, BigInteger nonce) {
+        checkSenderAndNonce(sender, nonce);
+
+        Shard shard = shardOf(sender);
+        shard.lock.lock();
+        try {
+            SenderQueue queue = shard.senders.get(sender);
+            return (queue == null) ? null : queue.byNonce.get(nonce);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the pending transaction with the given sender and nonce. Any higher nonces of the
+     * same sender stay pending but are not executable until the gap is filled.
+     *
+     * @param sender The sender address.
+     * @param nonce The nonce.
+     * @return the removed transaction, or null if there was none.
+     * @throws NullPointerException if sender or nonce is null.
+     */
+    public Transaction remove(AionAddress sender, BigInteger nonce) {
+        checkSenderAndNonce(sender, nonce);
+
+        Shard shard = shardOf(sender);
+        shard.lock.lock();
+        try {
+            SenderQueue queue = shard.senders.get(sender);
+            Transaction removed = (queue == null) ? null : queue.byNonce.remove(nonce);
+            if (removed != null) {
+                this.size.decrementAndGet();
+                afterRemoval(shard, sender, queue);
+            }
+            return removed;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes every pending transaction of the given sender whose nonce is lower than the given
+     * account nonce, typically after a block including them has been imported.
+     *
+     * @param sender The sender address.
+     * @param accountNonce The sender's next expected nonce.
+     * @return the number of transactions removed.
+     * @throws NullPointerException if sender or accountNonce is null.
+     */
+    public int removeConfirmed(AionAddress sender, BigInteger accountNonce) {
+        checkSenderAndNonce(sender, accountNonce);
+
+        Shard shard = shardOf(sender);
+        shard.lock.lock();
+        try {
+            SenderQueue queue = shard.senders.get(sender);
+            if (queue == null) {
+                return 0;
+            }
+
+            Map<BigInteger, Transaction> confirmed = queue.byNonce.headMap(accountNonce);
+            int removed = confirmed.size();
+            if (removed > 0) {
+                confirmed.clear();
+                this.size.addAndGet(-removed);
+                afterRemoval(shard, sender, queue);
+            }
+            return removed;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns up to the given number of executable transactions, in an order that can be packed
+     * into a block: by descending energy price, while each sender's transactions appear in
+     * consecutive nonce order.
+     *
+     * Only the returned transactions and one candidate per sender are visited, so the cost does not
+     * depend on the size of the pool. The result is consistent per sender but, under concurrent
+     * modification, not necessarily across senders.
+     *
+     * @param count The maximum number of transactions to return.
+     * @return the best executable transactions.
+     * @throws IllegalArgumentException if count is negative.
+     */
+    public List<Transaction> bestExecutable(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Cannot select a negative number of transactions: " + count);
+        }
+
+        List<Transaction> selected = new ArrayList<>(Math.min(count, this.size.get()));
+        Set<AionAddress> visitedSenders = new HashSet<>();
+        PriorityQueue<Head> successors = new PriorityQueue<>(BY_PRICE);
+        Iterator<Head> iterator = this.heads.iterator();
+        Head nextHead = nextUnvisited(iterator, visitedSenders);
+
+        while (selected.size() < count && (nextHead != null || !successors.isEmpty())) {
+            Head best;
+            if (nextHead != null && (successors.isEmpty() || BY_PRICE.compare(nextHead, successors.peek()) < 0)) {
+                best = nextHead;
+                visitedSenders.add(best.transaction.senderAddress);
+                nextHead = nextUnvisited(iterator, visitedSenders);
+            } else {
+                best = successors.poll();
+            }
+
+            selected.add(best.transaction);
+            Transaction successor = successorOf(best.transaction);
+            if (successor != null) {
+                successors.add(new Head(successor, best.sequence));
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Returns the number of pending transactions.
+     *
+     * @return the pool size.
+     */
+    public int size() {
+        return this.size.get();
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionPool { size = " + size() + ", capacity = " + this.capacity + ", senders = " + this.heads.size() + " }";
+    }
+
+    private Shard shardOf(AionAddress sender) {
+        return this.shards[sender.hashCode() & this.mask];
+    }
+
+    private boolean paysEnoughMore(Transaction replacement, Transaction pending) {
+        // The required increase is ceil(price * bump / 100), split so that it cannot overflow.
+        long quotient = pending.energyPrice / 100;
+        long remainder = pending.energyPrice % 100;
+        if (quotient != 0 && this.priceBumpPercent > Long.MAX_VALUE / quotient) {
+            return false;
+        }
+        long requiredIncrease = Math.max(1L, quotient * this.priceBumpPercent + (remainder * this.priceBumpPercent + 99) / 100);
+        return replacement.energyPrice - pending.energyPrice >= requiredIncrease;
+    }
+
+    // Evicts the last transaction of the sender with the cheapest head if the given transaction pays
+    // more, handing its slot over without changing the size. Must hold the shard lock of the given
+    // transaction's sender; the other shard is only tried, so two adds cannot deadlock.
+    private boolean evictCheaperThan(Transaction transaction) {
+        Iterator<Head> cheapestFirst = this.heads.descendingIterator();
+        if (!cheapestFirst.hasNext()) {
+            return false;
+        }
+        Head cheapest = cheapestFirst.next();
+        AionAddress sender = cheapest.transaction.senderAddress;
+        Shard shard = shardOf(sender);
+        if (!shard.lock.tryLock()) {
+            return false;
+        }
+        try {
+            SenderQueue queue = shard.senders.get(sender);
+            if (queue == null || queue.head != cheapest) {
+                return false;
+            }
+            Transaction victim = queue.byNonce.lastEntry().getValue();
+            if (victim.energyPrice >= transaction.energyPrice) {
+                return false;
+            }
+            if (sender.equals(transaction.senderAddress) && transaction.nonce.compareTo(victim.nonce) > 0) {
+                return false;
+            }
+            queue.byNonce.remove(victim.nonce);
+            afterRemoval(shard, sender, queue);
+            return true;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    // Must hold the shard lock of the queue.
+    private void replaceHead(SenderQueue queue, Transaction transaction) {
+        if (queue.head != null) {
+            this.heads.remove(queue.head);
+        }
+        queue.head = (transaction == null) ? null : new Head(transaction, this.sequence.getAndIncrement());
+        if (queue.head != null) {
+            this.heads.add(queue.head);
+        }
+    }
+
+    // Must hold the shard lock of the queue.
+    private void afterRemoval(Shard shard, AionAddress sender, SenderQueue queue) {
+        if (queue.byNonce.isEmpty()) {
+            replaceHead(queue, null);
+            shard.senders.remove(sender);
+        } else if (queue.byNonce.firstEntry().getValue() != queue.head.transaction) {
+            replaceHead(queue, queue.byNonce.firstEntry().getValue());
+        }
+    }
+
+    private Transaction successorOf(Transaction transaction) {
+        Shard shard = shardOf(transaction.senderAddress);
+        shard.lock.lock();
+        try {
+            SenderQueue queue = shard.senders.get(transaction.senderAddress);
+            if (queue == null) {
+                return null;
+            }
+            Map.Entry<BigInteger, Transaction> higher = queue.byNonce.higherEntry(transaction.nonce);
+            if (higher == null) {
+                return null;
+            }
+            Transaction next = higher.getValue();
+            boolean consecutive = (transaction.nonceFitsInLong() && next.nonceFitsInLong())
+                ? next.nonceAsLong() == transaction.nonceAsLong() + 1
+                : next.nonce.equals(transaction.nonce.add(BigInteger.ONE));
+            return consecutive ? next : null;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private static Head nextUnvisited(Iterator<Head> iterator, Set<AionAddress> visitedSenders) {
+        while (iterator.hasNext()) {
+            Head head = iterator.next();
+            if (!visitedSenders.contains(head.transaction.senderAddress)) {
+                return head;
+            }
+        }
+        return null;
+    }
+
+    private static void checkSenderAndNonce(AionAddress sender, BigInteger nonce) {
+        if (sender == null) {
+            throw new NullPointerException("Cannot look up a null sender!");
+        }
+        if (nonce == null) {
+            throw new NullPointerException("Cannot look up a null nonce!");
+        }
+    }
+
+    private static final class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<AionAddress, SenderQueue> senders = new HashMap<>();
+    }
+
+    private static final class SenderQueue {
+        private final TreeMap<BigInteger, Transaction> byNonce = new TreeMap<>();
+        private Head head;
+    }
+
+    private static final class Head {
+        private final Transaction transaction;
+        private final long sequence;
+
+        private Head(Transaction transaction, long sequence) {
+            this.transaction = transaction;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package org.aion.types;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import org.aion.types.TypeMetrics.Type;
 import org.aion.types.internal_util.ByteUtil;
 
 /**
@@ -23,15 +23,21 @@ public final class TransactionResult {
     public final List<Log> logs;
     public final long energyUsed;
     private final byte[] output;
+    private Bloom logsBloom;
+    private int hashCode;
 
     /**
-     * Constructs a new transaction result.
+     * Constructs a new transaction result. The lists are copied, so later changes to them do not
+     * affect the result.
      *
      * @param transactionStatus The status of executing the transaction.
      * @param logs The logs fired off during execution of the transaction.
      * @param internalTransactions The internal transactions spawned during the execution of the transaction.
      * @param energyUsed The amount of energy used during the executin of the transaction.
      * @param output The output of the transaction.
+     * @throws NullPointerException if transactionStatus, logs or internalTransactions is null, or if
+     * logs or internalTransactions contains null.
+     * @throws IllegalArgumentException if energyUsed is negative.
      */
     public TransactionResult(TransactionStatus transactionStatus, List<Log> logs, List<InternalTransaction> internalTransactions, long energyUsed, byte[] output) {
         if (transactionStatus == null) {
@@ -48,10 +54,12 @@ public final class TransactionResult {
         }
 
         this.transactionStatus = transactionStatus;
-        this.logs = Collections.unmodifiableList(logs);
-        this.internalTransactions = Collections.unmodifiableList(internalTransactions);
+        this.logs = List.copyOf(logs);
+        // An InternalTransactionList is already immutable, and the codec copies its records directly.
+        this.internalTransactions = (internalTransactions instanceof InternalTransactionList) ? internalTransactions : List.copyOf(internalTransactions);
         this.energyUsed = energyUsed;
         this.output = (output == null) ? null : copyOf(output);
+        Metrics.constructed(Type.TRANSACTION_RESULT, (output == null) ? 0 : output.length);
     }
 
     /**
@@ -60,7 +68,42 @@ public final class TransactionResult {
      * @return the transaction output.
      */
     public Optional<byte[]> copyOfTransactionOutput() {
-        return (this.output == null) ? Optional.empty() : Optional.of(copyOf(this.output));
+        if (this.output == null) {
+            return Optional.empty();
+        }
+        Metrics.copied(Type.TRANSACTION_RESULT, "copyOfTransactionOutput", this.output.length);
+        return Optional.of(copyOf(this.output));
+    }
+
+    /**
+     * Returns the transaction output, or null, without copying it. Callers must not modify the
+     * returned array.
+     */
+    byte[] rawOutput() {
+        return this.output;
+    }
+
+    /**
+     * Returns the union of the blooms of all the logs. The bloom is computed on first use and
+     * cached.
+     *
+     * @return the bloom of the logs.
+     */
+    public Bloom logsBloom() {
+        Bloom logsBloom = this.logsBloom;
+        if (logsBloom == null) {
+            if (this.logs.isEmpty()) {
+                logsBloom = Bloom.EMPTY;
+            } else {
+                Bloom.Builder builder = new Bloom.Builder();
+                for (Log log : this.logs) {
+                    builder.or(log.bloom());
+                }
+                logsBloom = builder.build();
+            }
+            this.logsBloom = logsBloom;
+        }
+        return logsBloom;
     }
 
     /**
@@ -80,24 +123,35 @@ public final class TransactionResult {
         }
 
         TransactionResult otherResult = (TransactionResult) other;
-        return this.transactionStatus.equals(otherResult.transactionStatus)
+        if (this.hashCode != 0 && otherResult.hashCode != 0 && this.hashCode != otherResult.hashCode) {
+            return false;
+        }
+        return (this.energyUsed == otherResult.energyUsed)
+            && (this.logs.size() == otherResult.logs.size())
+            && (this.internalTransactions.size() == otherResult.internalTransactions.size())
+            && this.transactionStatus.equals(otherResult.transactionStatus)
+            && Arrays.equals(this.output, otherResult.output)
             && this.logs.equals(otherResult.logs)
-            && this.internalTransactions.equals(otherResult.internalTransactions)
-            && (this.energyUsed == otherResult.energyUsed)
-            && Arrays.equals(this.output, otherResult.output);
+            && this.internalTransactions.equals(otherResult.internalTransactions);
     }
 
     @Override
     public int hashCode() {
-        return this.transactionStatus.hashCode()
-            + this.logs.hashCode()
-            + this.internalTransactions.hashCode()
-            + ((int) this.energyUsed)
-            + Arrays.hashCode(this.output);
+        int hash = this.hashCode;
+        if (hash == 0) {
+            hash = this.transactionStatus.hashCode();
+            hash = 31 * hash + this.logs.hashCode();
+            hash = 31 * hash + this.internalTransactions.hashCode();
+            hash = 31 * hash + Long.hashCode(this.energyUsed);
+            hash = 31 * hash + Arrays.hashCode(this.output);
+            this.hashCode = hash;
+        }
+        return hash;
     }
 
     @Override
     public String toString() {
+        Metrics.toStringCalled(Type.TRANSACTION_RESULT);
         return "TransactionResult { "
             + "status = " + this.transactionStatus
             + ", energy used = " + this.energyUsed
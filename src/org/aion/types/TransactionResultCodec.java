@@ -0,0 +1,307 @@
+package org.aion.types;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.aion.types.internal_util.VarInt;
+
+/**
+ * A compact, versioned binary encoding of {@link TransactionResult}, together with its
+ * {@link TransactionStatus}, {@link Log}s and {@link InternalTransaction}s.
+ *
+ * The record framing (version, type, body length) and field encodings are those of
+ * {@link TransactionCodec}. A transaction result body is laid out as:
+ * <pre>
+ *   status (1 byte: 0 = success, 1 = rejected, 2 = reverted, 3 = failed, 4 = fatal)
+ *   causeOfError (varint length + UTF-8 bytes, only for rejected, failed and fatal)
+ *   energyUsed (varint)
+ *   output (varint length + 1, or 0 if there is no output, then the bytes)
+ *   logs (varint section length, varint count, then each log)
+ *   internal transactions (varint section length, varint count, then each internal transaction record)
+ * </pre>
+ *
+ * A log is laid out as its address, its topic count as a varint followed by the topics, and its
+ * data, where the address, each topic and the data are prefixed by their length as a varint.
+ *
+ * The status, energy and output come first and the two lists are prefixed by their byte length, so
+ * {@link EncodedTransactionResult} can read any part without decoding the others. Internal
+ * transactions are decoded into an {@link InternalTransactionList}, which keeps their records as
+ * they are.
+ */
+public final class TransactionResultCodec {
+    static final int STATUS_SUCCESS = 0;
+    static final int STATUS_REJECTED = 1;
+    static final int STATUS_REVERTED = 2;
+    static final int STATUS_FAILED = 3;
+    static final int STATUS_FATAL = 4;
+
+    private TransactionResultCodec() {}
+
+    /**
+     * Returns the number of bytes the encoding of the given transaction result occupies.
+     *
+     * @param result The transaction result.
+     * @return the encoded length.
+     * @throws IllegalArgumentException if an internal transaction has a nonce or value of 2^259 or
+     * above.
+     */
+    public static int encodedLength(TransactionResult result) {
+        int bodyLength = bodyLength(result);
+        return 2 + VarInt.sizeOf(bodyLength) + bodyLength;
+    }
+
+    /**
+     * Returns the encoding of the given transaction result.
+     *
+     * @param result The transaction result to encode.
+     * @return the encoded bytes.
+     * @throws IllegalArgumentException if an internal transaction has a nonce or value of 2^259 or
+     * above.
+     */
+    public static byte[] encode(TransactionResult result) {
+        byte[] encoding = new byte[encodedLength(result)];
+        encode(result, ByteBuffer.wrap(encoding));
+        return encoding;
+    }
+
+    /**
+     * Writes the encoding of the given transaction result at the buffer's position and advances it.
+     *
+     * @param result The transaction result to encode.
+     * @param buffer The buffer to write to.
+     * @throws BufferOverflowException if the buffer has too little room, in which case nothing is
+     * written.
+     * @throws IllegalArgumentException if an internal transaction has a nonce or value of 2^259 or
+     * above.
+     */
+    public static void encode(TransactionResult result, ByteBuffer buffer) {
+        int bodyLength = bodyLength(result);
+        if (buffer.remaining() < 2 + VarInt.sizeOf(bodyLength) + bodyLength) {
+            throw new BufferOverflowException();
+        }
+
+        buffer.put(TransactionCodec.VERSION).put(TransactionCodec.TYPE_TRANSACTION_RESULT);
+        VarInt.write(buffer, bodyLength);
+
+        int status = statusOf(result.transactionStatus);
+        buffer.put((byte) status);
+        if (hasCause(status)) {
+            TransactionCodec.writeBytes(buffer, result.transactionStatus.causeOfError.getBytes(StandardCharsets.UTF_8));
+        }
+        VarInt.write(buffer, result.energyUsed);
+        byte[] output = result.rawOutput();
+        if (output == null) {
+            VarInt.write(buffer, 0);
+        } else {
+            VarInt.write(buffer, output.length + 1L);
+            buffer.put(output);
+        }
+
+        VarInt.write(buffer, logsLength(result.logs));
+        VarInt.write(buffer, result.logs.size());
+        for (Log log : result.logs) {
+            TransactionCodec.writeBytes(buffer, log.rawAddress());
+            VarInt.write(buffer, log.rawTopics().size());
+            for (byte[] topic : log.rawTopics()) {
+                TransactionCodec.writeBytes(buffer, topic);
+            }
+            TransactionCodec.writeBytes(buffer, log.rawData());
+        }
+
+        VarInt.write(buffer, internalTransactionsLength(result.internalTransactions));
+        VarInt.write(buffer, result.internalTransactions.size());
+        if (result.internalTransactions instanceof InternalTransactionList) {
+            ((InternalTransactionList) result.internalTransactions).writeTo(buffer);
+        } else {
+            for (InternalTransaction transaction : result.internalTransactions) {
+                TransactionCodec.encode(transaction, buffer);
+            }
+        }
+    }
+
+    /**
+     * Decodes the given bytes, which must hold exactly one encoded transaction result.
+     *
+     * @param encoding The encoded transaction result.
+     * @return the decoded transaction result.
+     * @throws IllegalArgumentException if the encoding is malformed or has trailing bytes.
+     */
+    public static TransactionResult decode(byte[] encoding) {
+        if (encoding == null) {
+            throw new NullPointerException("Cannot decode a null encoding!");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(encoding);
+        TransactionResult result = decode(buffer);
+        TransactionCodec.requireFullyConsumed(buffer);
+        return result;
+    }
+
+    /**
+     * Decodes the transaction result at the buffer's position and advances the position past it.
+     *
+     * If decoding fails the buffer's position is unspecified but its limit is unchanged.
+     *
+     * @param buffer The buffer to read from.
+     * @return the decoded transaction result.
+     * @throws IllegalArgumentException if the encoding is malformed.
+     */
+    public static TransactionResult decode(ByteBuffer buffer) {
+        int end = TransactionCodec.readHeader(buffer, TransactionCodec.TYPE_TRANSACTION_RESULT);
+        int limit = buffer.limit();
+        buffer.limit(end);
+        try {
+            TransactionStatus status = readStatus(buffer);
+            long energyUsed = VarInt.readLong(buffer);
+            byte[] output = readOutput(buffer);
+            List<Log> logs = readLogs(readSection(buffer));
+            List<InternalTransaction> internalTransactions = readInternalTransactions(readSection(buffer));
+            TransactionCodec.requireFullyConsumed(buffer);
+
+            return new TransactionResult(status, logs, internalTransactions, energyUsed, output);
+        } finally {
+            buffer.limit(limit);
+        }
+    }
+
+    static TransactionStatus readStatus(ByteBuffer buffer) {
+        TransactionCodec.require(buffer, 1);
+        int status = buffer.get() & 0xFF;
+        switch (status) {
+            case STATUS_SUCCESS: return TransactionStatus.successful();
+            case STATUS_REJECTED: return TransactionStatus.rejection(readCause(buffer));
+            case STATUS_REVERTED: return TransactionStatus.revertedFailure();
+            case STATUS_FAILED: return TransactionStatus.nonRevertedFailure(readCause(buffer));
+            case STATUS_FATAL: return TransactionStatus.fatal(readCause(buffer));
+            default: throw new IllegalArgumentException("Unknown transaction status: " + status);
+        }
+    }
+
+    static byte[] readOutput(ByteBuffer buffer) {
+        long lengthPlusOne = VarInt.readLong(buffer);
+        if (lengthPlusOne == 0) {
+            return null;
+        }
+        if (lengthPlusOne - 1 > buffer.remaining()) {
+            throw new IllegalArgumentException("Truncated encoding: output of " + (lengthPlusOne - 1) + " bytes runs past the end of the record");
+        }
+        byte[] output = new byte[(int) (lengthPlusOne - 1)];
+        buffer.get(output);
+        return output;
+    }
+
+    /**
+     * Reads a section length and returns the section as a buffer, advancing the position past it.
+     */
+    static ByteBuffer readSection(ByteBuffer buffer) {
+        int length = VarInt.readInt(buffer);
+        TransactionCodec.require(buffer, length);
+        ByteBuffer section = buffer.slice();
+        section.limit(length);
+        buffer.position(buffer.position() + length);
+        return section;
+    }
+
+    static List<Log> readLogs(ByteBuffer section) {
+        int count = VarInt.readInt(section);
+        // Every log takes at least 3 bytes, which bounds the list before reading it.
+        if (count > section.remaining() / 3) {
+            throw new IllegalArgumentException("Log count " + count + " is too large for a section of " + section.remaining() + " bytes");
+        }
+
+        List<Log> logs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] address = TransactionCodec.readBytes(section);
+            int topicCount = VarInt.readInt(section);
+            if (topicCount > section.remaining()) {
+                throw new IllegalArgumentException("Topic count " + topicCount + " is too large for the remaining " + section.remaining() + " bytes");
+            }
+            List<byte[]> topics = new ArrayList<>(topicCount);
+            for (int j = 0; j < topicCount; j++) {
+                topics.add(TransactionCodec.readBytes(section));
+            }
+            byte[] data = TransactionCodec.readBytes(section);
+            logs.add(Log.fromOwnedArrays(address, topics, data));
+        }
+        TransactionCodec.requireFullyConsumed(section);
+        // An immutable copy, which the TransactionResult constructor keeps without copying again.
+        return List.copyOf(logs);
+    }
+
+    static List<InternalTransaction> readInternalTransactions(ByteBuffer section) {
+        int count = VarInt.readInt(section);
+        // Every internal transaction record takes more than 3 bytes.
+        if (count > section.remaining() / 3) {
+            throw new IllegalArgumentException("Internal transaction count " + count + " is too large for a section of " + section.remaining() + " bytes");
+        }
+
+        InternalTransactionList transactions = InternalTransactionList.readFrom(section, count);
+        TransactionCodec.requireFullyConsumed(section);
+        return transactions;
+    }
+
+    static boolean hasCause(int status) {
+        return status == STATUS_REJECTED || status == STATUS_FAILED || status == STATUS_FATAL;
+    }
+
+    private static String readCause(ByteBuffer buffer) {
+        return new String(TransactionCodec.readBytes(buffer), StandardCharsets.UTF_8);
+    }
+
+    private static int statusOf(TransactionStatus status) {
+        if (status.isSuccess()) {
+            return STATUS_SUCCESS;
+        } else if (status.isRejected()) {
+            return STATUS_REJECTED;
+        } else if (status.isReverted()) {
+            return STATUS_REVERTED;
+        } else if (status.isFailed()) {
+            return STATUS_FAILED;
+        } else {
+            return STATUS_FATAL;
+        }
+    }
+
+    private static int bodyLength(TransactionResult result) {
+        int status = statusOf(result.transactionStatus);
+        int causeLength = hasCause(status) ? sizeOfBytes(result.transactionStatus.causeOfError.getBytes(StandardCharsets.UTF_8)) : 0;
+        byte[] output = result.rawOutput();
+        int outputLength = (output == null) ? 1 : VarInt.sizeOf(output.length + 1L) + output.length;
+        int logsLength = logsLength(result.logs);
+        int internalTransactionsLength = internalTransactionsLength(result.internalTransactions);
+        return 1
+            + causeLength
+            + VarInt.sizeOf(result.energyUsed)
+            + outputLength
+            + VarInt.sizeOf(logsLength) + logsLength
+            + VarInt.sizeOf(internalTransactionsLength) + internalTransactionsLength;
+    }
+
+    private static int logsLength(List<Log> logs) {
+        int length = VarInt.sizeOf(logs.size());
+        for (Log log : logs) {
+            length += sizeOfBytes(log.rawAddress()) + VarInt.sizeOf(log.rawTopics().size()) + sizeOfBytes(log.rawData());
+            for (byte[] topic : log.rawTopics()) {
+                length += sizeOfBytes(topic);
+            }
+        }
+        return length;
+    }
+
+    private static int internalTransactionsLength(List<InternalTransaction> transactions) {
+        int length = VarInt.sizeOf(transactions.size());
+        if (transactions instanceof InternalTransactionList) {
+            return length + ((InternalTransactionList) transactions).recordsLength();
+        }
+        for (InternalTransaction transaction : transactions) {
+            length += TransactionCodec.encodedLength(transaction);
+        }
+        return length;
+    }
+
+    private static int sizeOfBytes(byte[] bytes) {
+        return VarInt.sizeOf(bytes.length) + bytes.length;
+    }
+}
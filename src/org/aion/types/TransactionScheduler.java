@@ -0,0 +1,174 @@
+package org.aion.types;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+/**
+ * Executes the transactions of a block in parallel where their addresses allow it.
+ *
+ * A block is partitioned into groups such that two transactions touching the same address (as
+ * sender or destination) always land in the same group. Each group keeps the block order of its
+ * transactions, so every sender's nonce order is preserved, and groups run concurrently on a
+ * {@link ForkJoinPool}. The results are returned in the original block order.
+ *
+ * This is a first-pass analysis: it only sees the addresses a transaction declares. A contract
+ * creation only touches its sender here, and contracts that call into other accounts can still
+ * conflict with transactions in other groups. Callers that cannot rule that out must detect it
+ * (for instance by comparing the state read and written by each group) and re-execute serially.
+ */
+public final class TransactionScheduler {
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new scheduler that runs on the common fork-join pool.
+     */
+    public TransactionScheduler() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new scheduler that runs on the given fork-join pool.
+     *
+     * @param pool The pool to run groups on.
+     * @throws NullPointerException if pool is null.
+     */
+    public TransactionScheduler(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new NullPointerException("Cannot create TransactionScheduler with null pool!");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Partitions the given transactions into groups that share no address.
+     *
+     * Each group is an array of indices into the given list, in increasing order. The groups
+     * themselves are ordered by their first index.
+     *
+     * @param transactions The transactions of a block, in block order.
+     * @return the non-conflicting groups.
+     * @throws NullPointerException if transactions is null or contains null.
+     */
+    public static int[][] partition(List<Transaction> transactions) {
+        if (transactions == null) {
+            throw new NullPointerException("Cannot partition null transactions!");
+        }
+
+        int size = transactions.size();
+        int[] parents = new int[size];
+        Map<AionAddress, Integer> owners = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            Transaction transaction = transactions.get(i);
+            if (transaction == null) {
+                throw new NullPointerException("Cannot partition a null transaction at index " + i + "!");
+            }
+            parents[i] = i;
+            union(parents, i, owners.putIfAbsent(transaction.senderAddress, i));
+            if (transaction.destinationAddress != null) {
+                union(parents, i, owners.putIfAbsent(transaction.destinationAddress, i));
+            }
+        }
+
+        // Number the groups in order of their first transaction, then fill them.
+        int[] groupOfRoot = new int[size];
+        Arrays.fill(groupOfRoot, -1);
+        int[] groupSizes = new int[size];
+        int groupCount = 0;
+        int[] groupOf = new int[size];
+        for (int i = 0; i < size; i++) {
+            int root = find(parents, i);
+            if (groupOfRoot[root] < 0) {
+                groupOfRoot[root] = groupCount++;
+            }
+            groupOf[i] = groupOfRoot[root];
+            groupSizes[groupOf[i]]++;
+        }
+
+        int[][] groups = new int[groupCount][];
+        for (int g = 0; g < groupCount; g++) {
+            groups[g] = new int[groupSizes[g]];
+            groupSizes[g] = 0;
+        }
+        for (int i = 0; i < size; i++) {
+            int[] group = groups[groupOf[i]];
+            group[groupSizes[groupOf[i]]++] = i;
+        }
+        return groups;
+    }
+
+    /**
+     * Executes the given transactions and returns their results in block order.
+     *
+     * The executor is called once per transaction, from pool threads, and concurrently for
+     * transactions of different groups. It must therefore be thread-safe across groups.
+     *
+     * @param transactions The transactions of a block, in block order.
+     * @param executor Executes a single transaction.
+     * @return the results, in block order.
+     * @throws NullPointerException if any argument is null, transactions contains null, or the
+     *     executor returns null.
+     * @throws RuntimeException any exception thrown by the executor is rethrown.
+     */
+    public List<TransactionResult> execute(List<Transaction> transactions, Function<? super Transaction, ? extends TransactionResult> executor) {
+        if (executor == null) {
+            throw new NullPointerException("Cannot execute with a null executor!");
+        }
+
+        int[][] groups = partition(transactions);
+        TransactionResult[] results = new TransactionResult[transactions.size()];
+
+        if (groups.length <= 1) {
+            for (int[] group : groups) {
+                executeGroup(transactions, group, executor, results);
+            }
+        } else {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(groups.length);
+            for (int[] group : groups) {
+                tasks.add(this.pool.submit(() -> executeGroup(transactions, group, executor, results)));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        }
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    // Each group writes a disjoint set of indices; join() publishes them to the caller.
+    private static void executeGroup(List<Transaction> transactions, int[] group, Function<? super Transaction, ? extends TransactionResult> executor, TransactionResult[] results) {
+        for (int index : group) {
+            TransactionResult result = executor.apply(transactions.get(index));
+            if (result == null) {
+                throw new NullPointerException("Executor returned a null result for the transaction at index " + index + "!");
+            }
+            results[index] = result;
+        }
+    }
+
+    private static void union(int[] parents, int index, Integer owner) {
+        if (owner != null) {
+            int root = find(parents, owner);
+            int other = find(parents, index);
+            // Keep the lower index as root so that roots are stable in block order.
+            if (root < other) {
+                parents[other] = root;
+            } else if (other < root) {
+                parents[root] = other;
+            }
+        }
+    }
+
+    private static int find(int[] parents, int index) {
+        while (parents[index] != index) {
+            parents[index] = parents[parents[index]];
+            index = parents[index];
+        }
+        return index;
+    }
+}
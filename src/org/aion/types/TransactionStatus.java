@@ -1,5 +1,7 @@
 package org.aion.types;
 
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * A class that represents the status of executing a transaction.
  *
@@ -22,7 +24,15 @@ package org.aion.types;
  * It is guaranteed that {@code causeOfError} is always non-null! In cases where there is no error
  * to report, such as success, this will be the empty string.
  *
- * A transaction status object is immutable.
+ * A transaction status object is immutable. The successful and reverted statuses are shared
+ * instances, and statuses with a cause of error are interned: the first 256 distinct causes of
+ * each kind map to one shared instance each, so the handful of causes a virtual machine reports are
+ * not allocated once per receipt. Statuses must still be compared with {@link #equals(Object)},
+ * which returns immediately for the same instance.
+ *
+ * Interning is first come, first served, and interned causes are kept for the life of the process.
+ * If one-off causes, such as those of decoded receipts, fill a kind's table first, the causes that
+ * come later are allocated on every call even when they are common.
  */
 public final class TransactionStatus {
     private final InternalStatus status;
@@ -30,6 +40,15 @@ public final class TransactionStatus {
 
     private enum InternalStatus { SUCCESS, REJECTED, REVERTED_FAILURE, NON_REVERTED_FAILURE, FATAL }
 
+    // Distinct causes interned per kind; causes beyond these get a new instance on every call.
+    private static final int MAX_INTERNED_CAUSES = 256;
+
+    private static final TransactionStatus SUCCESSFUL = new TransactionStatus(InternalStatus.SUCCESS, "");
+    private static final TransactionStatus REVERTED_FAILURE = new TransactionStatus(InternalStatus.REVERTED_FAILURE, "reverted");
+    private static final ConcurrentHashMap<String, TransactionStatus> REJECTIONS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, TransactionStatus> NON_REVERTED_FAILURES = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, TransactionStatus> FATALS = new ConcurrentHashMap<>();
+
     private TransactionStatus(InternalStatus status, String causeOfError) {
         if (status == null) {
             throw new NullPointerException("Cannot construct ResultStatus with null status!");
@@ -43,38 +62,38 @@ public final class TransactionStatus {
     }
 
     /**
-     * Constructs a new successful transaction status.
+     * Returns the successful transaction status, which is a shared instance.
      */
     public static TransactionStatus successful() {
-        return new TransactionStatus(InternalStatus.SUCCESS, "");
+        return SUCCESSFUL;
     }
 
     /**
-     * Constructs a new rejected transaction status with the specified causeOfError.
+     * Returns a rejected transaction status with the specified causeOfError.
      */
     public static TransactionStatus rejection(String causeOfError) {
-        return new TransactionStatus(InternalStatus.REJECTED, causeOfError);
+        return interned(REJECTIONS, InternalStatus.REJECTED, causeOfError);
     }
 
     /**
-     * Constructs a new reverted failed transaction status.
+     * Returns the reverted failed transaction status, which is a shared instance.
      */
     public static TransactionStatus revertedFailure() {
-        return new TransactionStatus(InternalStatus.REVERTED_FAILURE, "reverted");
+        return REVERTED_FAILURE;
     }
 
     /**
-     * Constructs a new non-reverted failed transaction status with the specified causeOfError.
+     * Returns a non-reverted failed transaction status with the specified causeOfError.
      */
     public static TransactionStatus nonRevertedFailure(String causeOfError) {
-        return new TransactionStatus(InternalStatus.NON_REVERTED_FAILURE, causeOfError);
+        return interned(NON_REVERTED_FAILURES, InternalStatus.NON_REVERTED_FAILURE, causeOfError);
     }
 
     /**
-     * Constructs a new fatal transaction status.
+     * Returns a fatal transaction status with the specified causeOfError.
      */
     public static TransactionStatus fatal(String causeOfError) {
-        return new TransactionStatus(InternalStatus.FATAL, causeOfError);
+        return interned(FATALS, InternalStatus.FATAL, causeOfError);
     }
 
     /**
@@ -147,6 +166,24 @@ public final class TransactionStatus {
         return this.status.hashCode() + this.causeOfError.hashCode();
     }
 
+    private static TransactionStatus interned(ConcurrentHashMap<String, TransactionStatus> cache, InternalStatus status, String causeOfError) {
+        if (causeOfError == null) {
+            throw new NullPointerException("Cannot construct ResultStatus with null causeOfError!");
+        }
+
+        TransactionStatus cached = cache.get(causeOfError);
+        if (cached != null) {
+            return cached;
+        }
+        TransactionStatus created = new TransactionStatus(status, causeOfError);
+        // The bound is checked before inserting, so concurrent callers may overshoot it slightly.
+        if (cache.size() >= MAX_INTERNED_CAUSES) {
+            return created;
+        }
+        cached = cache.putIfAbsent(causeOfError, created);
+        return (cached == null) ? created : cached;
+    }
+
     @Override
     public String toString() {
         if (isSuccess()) {
@@ -0,0 +1,256 @@
+package org.aion.types;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.aion.types.internal_util.VarInt;
+
+/**
+ * Validates batches of encoded transactions, such as a batch received from a peer, without throwing
+ * and without materializing the invalid ones.
+ *
+ * {@link #validate(List)} checks every encoding in a single pass over its bytes and returns one
+ * result code per encoding: {@link #VALID}, or the first problem found. No exception is thrown for
+ * a malformed encoding and nothing is allocated besides the code array. An encoding is valid
+ * exactly when {@link TransactionCodec#decodeTransaction(byte[])} would accept it.
+ *
+ * {@link #materialize(List, byte[])} then decodes only the valid encodings. Both steps split large
+ * batches across a {@link ForkJoinPool}; batches smaller than a few chunks run on the calling
+ * thread.
+ */
+public final class TransactionValidator {
+
+    /**
+     * The encoding holds a valid transaction.
+     */
+    public static final byte VALID = 0;
+
+    /**
+     * The encoding is null.
+     */
+    public static final byte NULL_ENCODING = 1;
+
+    /**
+     * The encoding ends before the record it describes.
+     */
+    public static final byte TRUNCATED = 2;
+
+    /**
+     * The encoding has a format version other than {@link TransactionCodec#VERSION}.
+     */
+    public static final byte UNSUPPORTED_VERSION = 3;
+
+    /**
+     * The encoding holds a record that is not a transaction.
+     */
+    public static final byte WRONG_RECORD_TYPE = 4;
+
+    /**
+     * The encoding sets flags that transactions do not define.
+     */
+    public static final byte UNKNOWN_FLAGS = 5;
+
+    /**
+     * A number or length in the encoding is longer than its field allows.
+     */
+    public static final byte OVERSIZED_FIELD = 6;
+
+    /**
+     * The encoding has bytes after the end of the transaction.
+     */
+    public static final byte TRAILING_BYTES = 7;
+
+    private static final String[] DESCRIPTIONS = {
+        "valid", "null encoding", "truncated", "unsupported version", "wrong record type", "unknown flags", "oversized field", "trailing bytes"
+    };
+
+    // Checking an encoding only scans its varints without hashing or allocating, so chunks are larger.
+    private static final int MINIMUM_CHUNK_SIZE = 256;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new validator that runs on the common fork-join pool.
+     */
+    public TransactionValidator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new validator that runs on the given fork-join pool.
+     *
+     * @param pool The pool to split batches across.
+     * @throws NullPointerException if pool is null.
+     */
+    public TransactionValidator(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new NullPointerException("Cannot create TransactionValidator with null pool!");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the result code of the given encoding, which must hold exactly one transaction.
+     *
+     * @param encoding The encoded transaction, possibly null.
+     * @return the result code.
+     */
+    public static byte validate(byte[] encoding) {
+        if (encoding == null) {
+            return NULL_ENCODING;
+        }
+        if (encoding.length < 2) {
+            return TRUNCATED;
+        }
+        if (encoding[0] != TransactionCodec.VERSION) {
+            return UNSUPPORTED_VERSION;
+        }
+        if (encoding[1] != TransactionCodec.TYPE_TRANSACTION) {
+            return WRONG_RECORD_TYPE;
+        }
+
+        int bodyIndex = VarInt.scan(encoding, 2, encoding.length, VarInt.MAX_LONG_LENGTH);
+        if (bodyIndex < 0) {
+            return failureOf(bodyIndex);
+        }
+        long bodyLength = VarInt.decode(encoding, 2, bodyIndex);
+        if (bodyLength > Integer.MAX_VALUE) {
+            return OVERSIZED_FIELD;
+        }
+        if (bodyLength > encoding.length - bodyIndex) {
+            return TRUNCATED;
+        }
+        int end = bodyIndex + (int) bodyLength;
+
+        if (bodyIndex == end) {
+            return TRUNCATED;
+        }
+        int flags = encoding[bodyIndex] & 0xFF;
+        if ((flags & ~TransactionCodec.FLAG_CREATE) != 0) {
+            return UNKNOWN_FLAGS;
+        }
+        int index = bodyIndex + 1 + (((flags & TransactionCodec.FLAG_CREATE) != 0) ? AionAddress.LENGTH : 2 * AionAddress.LENGTH);
+        if (index > end) {
+            return TRUNCATED;
+        }
+
+        // nonce, value, energyLimit, energyPrice
+        index = VarInt.scan(encoding, index, end, VarInt.MAX_BIG_INTEGER_LENGTH);
+        if (index >= 0) {
+            index = VarInt.scan(encoding, index, end, VarInt.MAX_BIG_INTEGER_LENGTH);
+        }
+        if (index >= 0) {
+            index = VarInt.scan(encoding, index, end, VarInt.MAX_LONG_LENGTH);
+        }
+        if (index >= 0) {
+            index = VarInt.scan(encoding, index, end, VarInt.MAX_LONG_LENGTH);
+        }
+        // transactionHash, transactionData
+        for (int i = 0; i < 2 && index >= 0; i++) {
+            int bytesIndex = VarInt.scan(encoding, index, end, VarInt.MAX_LONG_LENGTH);
+            if (bytesIndex < 0) {
+                return failureOf(bytesIndex);
+            }
+            long length = VarInt.decode(encoding, index, bytesIndex);
+            if (length > Integer.MAX_VALUE) {
+                return OVERSIZED_FIELD;
+            }
+            if (length > end - bytesIndex) {
+                return TRUNCATED;
+            }
+            index = bytesIndex + (int) length;
+        }
+        if (index < 0) {
+            return failureOf(index);
+        }
+        return (index == end && end == encoding.length) ? VALID : TRAILING_BYTES;
+    }
+
+    /**
+     * Returns a short description of the given result code.
+     *
+     * @param code The result code.
+     * @return the description.
+     * @throws IllegalArgumentException if code is not a result code.
+     */
+    public static String describe(byte code) {
+        if (code < 0 || code >= DESCRIPTIONS.length) {
+            throw new IllegalArgumentException("Unknown result code: " + code);
+        }
+        return DESCRIPTIONS[code];
+    }
+
+    /**
+     * Returns the result code of every encoding, in order.
+     *
+     * @param encodings The encoded transactions, each of which may be null.
+     * @return one result code per encoding.
+     * @throws NullPointerException if encodings is null.
+     */
+    public byte[] validate(List<byte[]> encodings) {
+        if (encodings == null) {
+            throw new NullPointerException("Cannot validate null encodings!");
+        }
+
+        byte[] codes = new byte[encodings.size()];
+        ParallelRanges.forEach(this.pool, encodings.size(), MINIMUM_CHUNK_SIZE, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                codes[i] = validate(encodings.get(i));
+            }
+        });
+        return codes;
+    }
+
+    /**
+     * Decodes the encodings whose code is {@link #VALID} and returns them in order, skipping all the
+     * others.
+     *
+     * @param encodings The encoded transactions.
+     * @param codes The result codes of the encodings, as returned by {@link #validate(List)}.
+     * @return the valid transactions.
+     * @throws NullPointerException if encodings or codes is null.
+     * @throws IllegalArgumentException if the lists differ in size, or if an encoding marked valid is
+     *     not.
+     */
+    public List<Transaction> materialize(List<byte[]> encodings, byte[] codes) {
+        if (encodings == null) {
+            throw new NullPointerException("Cannot materialize null encodings!");
+        }
+        if (codes == null) {
+            throw new NullPointerException("Cannot materialize with null result codes!");
+        }
+        if (encodings.size() != codes.length) {
+            throw new IllegalArgumentException("Cannot materialize " + encodings.size() + " encodings with " + codes.length + " result codes");
+        }
+
+        // Each valid row is decoded into the slot given by the number of valid rows before it.
+        int[] slots = new int[codes.length];
+        int validCount = 0;
+        for (int i = 0; i < codes.length; i++) {
+            slots[i] = validCount;
+            if (codes[i] == VALID) {
+                validCount++;
+            }
+        }
+
+        Transaction[] transactions = new Transaction[validCount];
+        ParallelRanges.forEach(this.pool, codes.length, MINIMUM_CHUNK_SIZE, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (codes[i] == VALID) {
+                    transactions[slots[i]] = TransactionCodec.decodeTransaction(encodings.get(i));
+                }
+            }
+        });
+        return Collections.unmodifiableList(Arrays.asList(transactions));
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionValidator { parallelism = " + this.pool.getParallelism() + " }";
+    }
+
+    private static byte failureOf(int scanResult) {
+        return (scanResult == -1) ? TRUNCATED : OVERSIZED_FIELD;
+    }
+}
@@ -0,0 +1,125 @@
+package org.aion.types;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link TypeMetrics} that keeps running totals, suitable for installing in production and
+ * exporting periodically.
+ *
+ * Counters are {@link LongAdder}s, so threads constructing objects concurrently do not contend on a
+ * shared counter. Reads are not atomic across counters: a total read while other threads report
+ * may miss their most recent calls.
+ */
+public final class TypeCounters implements TypeMetrics {
+    private final LongAdder[] constructions = newAdders();
+    private final LongAdder[] bytesCopiedByConstructors = newAdders();
+    private final LongAdder[] toStringCalls = newAdders();
+    private final EnumMap<Type, ConcurrentHashMap<String, LongAdder>> bytesCopiedByAccessors = new EnumMap<>(Type.class);
+
+    /**
+     * Constructs a new set of counters, all zero.
+     */
+    public TypeCounters() {
+        for (Type type : Type.values()) {
+            this.bytesCopiedByAccessors.put(type, new ConcurrentHashMap<>());
+        }
+    }
+
+    @Override
+    public void constructed(Type type, int bytesCopied) {
+        this.constructions[type.ordinal()].increment();
+        if (bytesCopied != 0) {
+            this.bytesCopiedByConstructors[type.ordinal()].add(bytesCopied);
+        }
+    }
+
+    @Override
+    public void copied(Type type, String accessor, int bytesCopied) {
+        this.bytesCopiedByAccessors.get(type).computeIfAbsent(accessor, name -> new LongAdder()).add(bytesCopied);
+    }
+
+    @Override
+    public void toStringCalled(Type type) {
+        this.toStringCalls[type.ordinal()].increment();
+    }
+
+    /**
+     * Returns the number of instances of the given type constructed so far.
+     *
+     * @param type The type.
+     * @return the construction count.
+     */
+    public long constructions(Type type) {
+        return this.constructions[type.ordinal()].sum();
+    }
+
+    /**
+     * Returns the number of bytes the constructors of the given type have copied so far.
+     *
+     * @param type The type.
+     * @return the bytes copied by constructors.
+     */
+    public long bytesCopiedByConstructors(Type type) {
+        return this.bytesCopiedByConstructors[type.ordinal()].sum();
+    }
+
+    /**
+     * Returns the number of bytes copied so far by each accessor of the given type that has been
+     * called, keyed and sorted by accessor name.
+     *
+     * @param type The type.
+     * @return the bytes copied per accessor.
+     */
+    public Map<String, Long> bytesCopiedByAccessors(Type type) {
+        Map<String, Long> totals = new TreeMap<>();
+        this.bytesCopiedByAccessors.get(type).forEach((accessor, adder) -> totals.put(accessor, adder.sum()));
+        return Collections.unmodifiableMap(totals);
+    }
+
+    /**
+     * Returns the number of times {@code toString} has been called on the given type so far.
+     *
+     * @param type The type.
+     * @return the toString count.
+     */
+    public long toStringCalls(Type type) {
+        return this.toStringCalls[type.ordinal()].sum();
+    }
+
+    /**
+     * Resets every counter to zero.
+     */
+    public void reset() {
+        for (Type type : Type.values()) {
+            this.constructions[type.ordinal()].reset();
+            this.bytesCopiedByConstructors[type.ordinal()].reset();
+            this.toStringCalls[type.ordinal()].reset();
+            this.bytesCopiedByAccessors.get(type).clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("TypeCounters {");
+        for (Type type : Type.values()) {
+            builder.append(' ').append(type).append(" = { constructions = ").append(constructions(type))
+                .append(", bytes copied by constructors = ").append(bytesCopiedByConstructors(type))
+                .append(", bytes copied by accessors = ").append(bytesCopiedByAccessors(type))
+                .append(", toString calls = ").append(toStringCalls(type)).append(" }");
+        }
+        return builder.append(" }").toString();
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[Type.values().length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
@@ -0,0 +1,65 @@
+package org.aion.types;
+
+/**
+ * Receives counts of how often the core types are constructed, how many bytes their constructors
+ * and {@code copyOf*} accessors copy, and how often they are rendered with {@code toString}.
+ *
+ * Metrics are off by default. {@link #install(TypeMetrics)} turns them on process-wide, and
+ * {@link #uninstall()} turns them off again. While no metrics are installed each instrumented
+ * call costs a single read of a volatile field, so the hooks can stay compiled in for production.
+ * While metrics are installed they are called synchronously on the thread doing the work, possibly
+ * from many threads at once, so an implementation must be thread-safe and should be cheap;
+ * {@link TypeCounters} is one that only counts.
+ */
+public interface TypeMetrics {
+
+    /**
+     * The instrumented types.
+     */
+    enum Type { TRANSACTION, INTERNAL_TRANSACTION, LOG, TRANSACTION_RESULT, AION_ADDRESS }
+
+    /**
+     * Called once for every constructed instance of the given type.
+     *
+     * @param type The constructed type.
+     * @param bytesCopied The number of bytes the constructor copied out of the caller's arrays, 0
+     *     if it took ownership of them.
+     */
+    void constructed(Type type, int bytesCopied);
+
+    /**
+     * Called whenever an accessor of the given type returns a copy of its internal state.
+     *
+     * @param type The type whose accessor was called.
+     * @param accessor The name of the accessor, such as {@code "copyOfTransactionData"}.
+     * @param bytesCopied The number of bytes copied.
+     */
+    void copied(Type type, String accessor, int bytesCopied);
+
+    /**
+     * Called whenever {@code toString} is called on an instance of the given type.
+     *
+     * @param type The type.
+     */
+    void toStringCalled(Type type);
+
+    /**
+     * Installs the given metrics, replacing any installed before.
+     *
+     * @param metrics The metrics to report to.
+     * @throws NullPointerException if metrics is null.
+     */
+    static void install(TypeMetrics metrics) {
+        if (metrics == null) {
+            throw new NullPointerException("Cannot install null metrics!");
+        }
+        Metrics.installed = metrics;
+    }
+
+    /**
+     * Removes the installed metrics, if any, turning reporting off.
+     */
+    static void uninstall() {
+        Metrics.installed = null;
+    }
+}
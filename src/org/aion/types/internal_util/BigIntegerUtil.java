@@ -0,0 +1,33 @@
+package org.aion.types.internal_util;
+
+import java.math.BigInteger;
+
+/**
+ * Helpers for the nonces and values that {@code Transaction} and {@code InternalTransaction} also
+ * keep as longs, so that the common small ones compare and hash without touching the BigInteger.
+ */
+public final class BigIntegerUtil {
+
+    /**
+     * Stands in for a non-negative number that does not fit in a long.
+     */
+    public static final long NOT_A_LONG = -1L;
+
+    private BigIntegerUtil() {}
+
+    /**
+     * Returns the given non-negative number as a long, or {@link #NOT_A_LONG} if it does not fit in
+     * one.
+     */
+    public static long toLongIfFits(BigInteger nonNegative) {
+        return (nonNegative.bitLength() < 64) ? nonNegative.longValue() : NOT_A_LONG;
+    }
+
+    /**
+     * Returns the hash code of a number kept both as a BigInteger and as the long given by
+     * {@link #toLongIfFits(BigInteger)}, which is the long's hash code whenever it fits.
+     */
+    public static int hashOf(BigInteger number, long numberAsLong) {
+        return (numberAsLong != NOT_A_LONG) ? Long.hashCode(numberAsLong) : number.hashCode();
+    }
+}
@@ -0,0 +1,187 @@
+package org.aion.types.internal_util;
+
+/**
+ * An unkeyed Blake2b hasher (RFC 7693) producing 32-byte digests, the hash used throughout the
+ * Aion Network.
+ *
+ * A hasher holds all of its working state in fields, so hashing allocates nothing beyond the
+ * optional returned digest array. A hasher is not thread-safe but is reusable: every digest resets
+ * it for the next message.
+ */
+public final class Blake2b {
+
+    /**
+     * The length of a digest.
+     */
+    public static final int DIGEST_LENGTH = 32;
+
+    private static final int BLOCK_LENGTH = 128;
+
+    private static final long[] IV = {
+        0x6a09e667f3bcc908L, 0xbb67ae8584caa73bL, 0x3c6ef372fe94f82bL, 0xa54ff53a5f1d36f1L,
+        0x510e527fade682d1L, 0x9b05688c2b3e6c1fL, 0x1f83d9abfb41bd6bL, 0x5be0cd19137e2179L
+    };
+
+    private static final byte[][] SIGMA = {
+        { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15 },
+        { 14, 10, 4, 8, 9, 15, 13, 6, 1, 12, 0, 2, 11, 7, 5, 3 },
+        { 11, 8, 12, 0, 5, 2, 15, 13, 10, 14, 3, 6, 7, 1, 9, 4 },
+        { 7, 9, 3, 1, 13, 12, 11, 14, 2, 6, 5, 10, 4, 0, 15, 8 },
+        { 9, 0, 5, 7, 2, 4, 10, 15, 14, 1, 11, 12, 6, 8, 3, 13 },
+        { 2, 12, 6, 10, 0, 11, 8, 3, 4, 13, 7, 5, 15, 14, 1, 9 },
+        { 12, 5, 1, 15, 14, 13, 4, 10, 0, 7, 6, 3, 9, 2, 8, 11 },
+        { 13, 11, 7, 14, 12, 1, 3, 9, 5, 0, 15, 4, 8, 6, 2, 10 },
+        { 6, 15, 14, 9, 11, 3, 0, 8, 12, 2, 13, 7, 1, 4, 10, 5 },
+        { 10, 2, 8, 4, 7, 6, 1, 5, 15, 11, 9, 14, 3, 12, 13, 0 },
+        { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15 },
+        { 14, 10, 4, 8, 9, 15, 13, 6, 1, 12, 0, 2, 11, 7, 5, 3 }
+    };
+
+    private final long[] h = new long[8];
+    private final long[] v = new long[16];
+    private final long[] m = new long[16];
+    private final byte[] block = new byte[BLOCK_LENGTH];
+    private final byte[] digest = new byte[64];
+    private int blockLength;
+    private long counterLow;
+    private long counterHigh;
+
+    public Blake2b() {
+        reset();
+    }
+
+    /**
+     * Returns the 32-byte Blake2b digest of the given bytes.
+     */
+    public static byte[] hash256(byte[] bytes) {
+        return new Blake2b().update(bytes, 0, bytes.length).digest();
+    }
+
+    /**
+     * Discards any bytes absorbed so far.
+     */
+    public Blake2b reset() {
+        System.arraycopy(IV, 0, this.h, 0, 8);
+        this.h[0] ^= 0x01010000L | DIGEST_LENGTH;
+        this.blockLength = 0;
+        this.counterLow = 0;
+        this.counterHigh = 0;
+        return this;
+    }
+
+    /**
+     * Absorbs a single byte.
+     */
+    public Blake2b update(byte b) {
+        if (this.blockLength == BLOCK_LENGTH) {
+            incrementCounter(BLOCK_LENGTH);
+            compress(false);
+            this.blockLength = 0;
+        }
+        this.block[this.blockLength++] = b;
+        return this;
+    }
+
+    /**
+     * Absorbs length bytes of the given array starting at offset.
+     */
+    public Blake2b update(byte[] bytes, int offset, int length) {
+        while (length > 0) {
+            if (this.blockLength == BLOCK_LENGTH) {
+                incrementCounter(BLOCK_LENGTH);
+                compress(false);
+                this.blockLength = 0;
+            }
+            int chunk = Math.min(length, BLOCK_LENGTH - this.blockLength);
+            System.arraycopy(bytes, offset, this.block, this.blockLength, chunk);
+            this.blockLength += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+        return this;
+    }
+
+    /**
+     * Absorbs the given long as 8 big-endian bytes.
+     */
+    public Blake2b updateLong(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            update((byte) (value >>> shift));
+        }
+        return this;
+    }
+
+    /**
+     * Finishes the hash, writes the 32-byte digest into out starting at offset, and resets.
+     */
+    public void digest(byte[] out, int offset) {
+        incrementCounter(this.blockLength);
+        for (int i = this.blockLength; i < BLOCK_LENGTH; i++) {
+            this.block[i] = 0;
+        }
+        compress(true);
+        for (int i = 0; i < 4; i++) {
+            ByteUtil.writeLongLittleEndian(this.digest, i * 8, this.h[i]);
+        }
+        System.arraycopy(this.digest, 0, out, offset, DIGEST_LENGTH);
+        reset();
+    }
+
+    /**
+     * Finishes the hash, returns the 32-byte digest, and resets.
+     */
+    public byte[] digest() {
+        byte[] out = new byte[DIGEST_LENGTH];
+        digest(out, 0);
+        return out;
+    }
+
+    private void incrementCounter(int length) {
+        this.counterLow += length;
+        if (Long.compareUnsigned(this.counterLow, length) < 0) {
+            this.counterHigh++;
+        }
+    }
+
+    private void compress(boolean isLast) {
+        long[] v = this.v;
+        long[] m = this.m;
+        for (int i = 0; i < 16; i++) {
+            m[i] = ByteUtil.readLongLittleEndian(this.block, i * 8);
+        }
+        System.arraycopy(this.h, 0, v, 0, 8);
+        System.arraycopy(IV, 0, v, 8, 8);
+        v[12] ^= this.counterLow;
+        v[13] ^= this.counterHigh;
+        if (isLast) {
+            v[14] = ~v[14];
+        }
+
+        for (int round = 0; round < 12; round++) {
+            byte[] s = SIGMA[round];
+            mix(v, 0, 4, 8, 12, m[s[0]], m[s[1]]);
+            mix(v, 1, 5, 9, 13, m[s[2]], m[s[3]]);
+            mix(v, 2, 6, 10, 14, m[s[4]], m[s[5]]);
+            mix(v, 3, 7, 11, 15, m[s[6]], m[s[7]]);
+            mix(v, 0, 5, 10, 15, m[s[8]], m[s[9]]);
+            mix(v, 1, 6, 11, 12, m[s[10]], m[s[11]]);
+            mix(v, 2, 7, 8, 13, m[s[12]], m[s[13]]);
+            mix(v, 3, 4, 9, 14, m[s[14]], m[s[15]]);
+        }
+
+        for (int i = 0; i < 8; i++) {
+            this.h[i] ^= v[i] ^ v[i + 8];
+        }
+    }
+
+    private static void mix(long[] v, int a, int b, int c, int d, long x, long y) {
+        v[a] = v[a] + v[b] + x;
+        v[d] = Long.rotateRight(v[d] ^ v[a], 32);
+        v[c] = v[c] + v[d];
+        v[b] = Long.rotateRight(v[b] ^ v[c], 24);
+        v[a] = v[a] + v[b] + y;
+        v[d] = Long.rotateRight(v[d] ^ v[a], 16);
+        v[c] = v[c] + v[d];
+        v[b] = Long.rotateRight(v[b] ^ v[c], 63);
+    }
+}
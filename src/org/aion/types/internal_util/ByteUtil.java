@@ -1,16 +1,46 @@
 package org.aion.types.internal_util;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import org.aion.types.Hex;
+
 public final class ByteUtil {
+    private static final VarHandle BIG_ENDIAN_LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LITTLE_ENDIAN_LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
 
     public static String bytesToString(byte[] bytes) {
         if (bytes == null) {
             throw new NullPointerException("Cannot convert null to string!");
         }
+        return Hex.bytesToHex(bytes);
+    }
 
-        StringBuilder hexString = new StringBuilder();
-        for (byte b : bytes) {
-            hexString.append(String.format("%02X", b));
-        }
-        return hexString.toString().toLowerCase();
+    /**
+     * Reads the 8 bytes starting at offset as a big-endian long.
+     */
+    public static long readLong(byte[] bytes, int offset) {
+        return (long) BIG_ENDIAN_LONG.get(bytes, offset);
+    }
+
+    /**
+     * Writes value as 8 big-endian bytes starting at offset.
+     */
+    public static void writeLong(byte[] bytes, int offset, long value) {
+        BIG_ENDIAN_LONG.set(bytes, offset, value);
+    }
+
+    /**
+     * Reads the 8 bytes starting at offset as a little-endian long.
+     */
+    public static long readLongLittleEndian(byte[] bytes, int offset) {
+        return (long) LITTLE_ENDIAN_LONG.get(bytes, offset);
+    }
+
+    /**
+     * Writes value as 8 little-endian bytes starting at offset.
+     */
+    public static void writeLongLittleEndian(byte[] bytes, int offset, long value) {
+        LITTLE_ENDIAN_LONG.set(bytes, offset, value);
     }
 }
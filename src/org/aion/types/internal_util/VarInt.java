@@ -0,0 +1,257 @@
+package org.aion.types.internal_util;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+/**
+ * Unsigned LEB128 variable-length integer encoding: seven bits per byte, least significant group
+ * first, with the high bit of each byte set when more bytes follow.
+ *
+ * All decoding methods check their bounds and throw {@link IllegalArgumentException} on truncated
+ * or overlong input rather than a buffer exception.
+ */
+public final class VarInt {
+
+    /**
+     * The maximum number of bytes of an encoded long (9 * 7 = 63 bits).
+     */
+    public static final int MAX_LONG_LENGTH = 9;
+
+    /**
+     * The maximum number of bytes of an encoded BigInteger (37 * 7 = 259 bits).
+     */
+    public static final int MAX_BIG_INTEGER_LENGTH = 37;
+
+    private VarInt() {}
+
+    /**
+     * Returns the number of bytes needed to encode the given non-negative long.
+     */
+    public static int sizeOf(long value) {
+        return (63 - Long.numberOfLeadingZeros(value | 1)) / 7 + 1;
+    }
+
+    /**
+     * Returns the number of bytes needed to encode the given non-negative BigInteger.
+     *
+     * @throws IllegalArgumentException if the value needs more than {@link #MAX_BIG_INTEGER_LENGTH}
+     * bytes, which the decoding methods would reject.
+     */
+    public static int sizeOf(BigInteger value) {
+        int bitLength = value.bitLength();
+        if (bitLength <= 63) {
+            return sizeOf(value.longValue());
+        }
+        int size = (bitLength + 6) / 7;
+        if (size > MAX_BIG_INTEGER_LENGTH) {
+            throw new IllegalArgumentException("Value of " + bitLength + " bits is longer than " + MAX_BIG_INTEGER_LENGTH + " varint bytes");
+        }
+        return size;
+    }
+
+    /**
+     * Writes the given non-negative long.
+     */
+    public static void write(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Writes the given non-negative BigInteger.
+     *
+     * @throws IllegalArgumentException if the value needs more than {@link #MAX_BIG_INTEGER_LENGTH}
+     * bytes, in which case nothing is written.
+     */
+    public static void write(ByteBuffer buffer, BigInteger value) {
+        if (value.bitLength() <= 63) {
+            write(buffer, value.longValue());
+            return;
+        }
+
+        byte[] magnitude = value.toByteArray();
+        int groups = sizeOf(value);
+        for (int group = 0; group < groups; group++) {
+            int bitIndex = group * 7;
+            int byteIndex = magnitude.length - 1 - (bitIndex >>> 3);
+            int shift = bitIndex & 7;
+            int bits = (magnitude[byteIndex] & 0xFF) >>> shift;
+            if (shift > 1 && byteIndex > 0) {
+                bits |= (magnitude[byteIndex - 1] & 0xFF) << (8 - shift);
+            }
+            bits &= 0x7F;
+            buffer.put((byte) ((group < groups - 1) ? (bits | 0x80) : bits));
+        }
+    }
+
+    /**
+     * Reads a non-negative long.
+     *
+     * @throws IllegalArgumentException if the input is truncated or does not fit in a long.
+     */
+    public static long readLong(ByteBuffer buffer) {
+        long result = 0;
+        for (int i = 0; i < MAX_LONG_LENGTH; i++) {
+            int b = readByte(buffer);
+            result |= (long) (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Varint does not fit in a long");
+    }
+
+    /**
+     * Reads a non-negative int.
+     *
+     * @throws IllegalArgumentException if the input is truncated or does not fit in an int.
+     */
+    public static int readInt(ByteBuffer buffer) {
+        long value = readLong(buffer);
+        if (value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Varint does not fit in an int: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads a non-negative BigInteger.
+     *
+     * @throws IllegalArgumentException if the input is truncated or longer than
+     * {@link #MAX_BIG_INTEGER_LENGTH} bytes.
+     */
+    public static BigInteger readBigInteger(ByteBuffer buffer) {
+        long small = 0;
+        for (int i = 0; i < MAX_LONG_LENGTH; i++) {
+            int b = readByte(buffer);
+            small |= (long) (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0) {
+                return BigInteger.valueOf(small);
+            }
+        }
+
+        // Rare path: the value needs more than 63 bits.
+        BigInteger result = BigInteger.valueOf(small);
+        for (int i = MAX_LONG_LENGTH; i < MAX_BIG_INTEGER_LENGTH; i++) {
+            int b = readByte(buffer);
+            result = result.or(BigInteger.valueOf(b & 0x7F).shiftLeft(7 * i));
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Varint is longer than " + MAX_BIG_INTEGER_LENGTH + " bytes");
+    }
+
+    /**
+     * Reads a non-negative long starting at the absolute index, without moving the buffer's
+     * position.
+     *
+     * @throws IllegalArgumentException if the input is truncated or does not fit in a long.
+     */
+    public static long readLong(ByteBuffer buffer, int index) {
+        long result = 0;
+        for (int i = 0; i < MAX_LONG_LENGTH; i++) {
+            int b = readByte(buffer, index + i);
+            result |= (long) (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Varint does not fit in a long");
+    }
+
+    /**
+     * Reads a non-negative int starting at the absolute index, without moving the buffer's
+     * position.
+     *
+     * @throws IllegalArgumentException if the input is truncated or does not fit in an int.
+     */
+    public static int readInt(ByteBuffer buffer, int index) {
+        long value = readLong(buffer, index);
+        if (value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Varint does not fit in an int: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads a non-negative BigInteger starting at the absolute index, without moving the buffer's
+     * position.
+     *
+     * @throws IllegalArgumentException if the input is truncated or longer than
+     * {@link #MAX_BIG_INTEGER_LENGTH} bytes.
+     */
+    public static BigInteger readBigInteger(ByteBuffer buffer, int index) {
+        int end = endOf(buffer, index, MAX_BIG_INTEGER_LENGTH);
+        if (end - index <= MAX_LONG_LENGTH) {
+            return BigInteger.valueOf(readLong(buffer, index));
+        }
+
+        BigInteger result = BigInteger.ZERO;
+        for (int i = 0; i < end - index; i++) {
+            result = result.or(BigInteger.valueOf(buffer.get(index + i) & 0x7F).shiftLeft(7 * i));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the absolute index just past the varint starting at index, without decoding it.
+     *
+     * @throws IllegalArgumentException if the input is truncated or longer than maxLength bytes.
+     */
+    public static int endOf(ByteBuffer buffer, int index, int maxLength) {
+        for (int i = 0; i < maxLength; i++) {
+            if ((readByte(buffer, index + i) & 0x80) == 0) {
+                return index + i + 1;
+            }
+        }
+        throw new IllegalArgumentException("Varint is longer than " + maxLength + " bytes");
+    }
+
+    /**
+     * Returns the index just past the varint starting at index in the array, without decoding it.
+     * Returns -1 if the varint runs past limit and -2 if it is longer than maxLength bytes.
+     *
+     * This method never throws, for callers that validate many inputs without exceptions.
+     */
+    public static int scan(byte[] bytes, int index, int limit, int maxLength) {
+        for (int i = 0; i < maxLength; i++) {
+            if (index + i >= limit) {
+                return -1;
+            }
+            if ((bytes[index + i] & 0x80) == 0) {
+                return index + i + 1;
+            }
+        }
+        return -2;
+    }
+
+    /**
+     * Decodes the varint in the array between index and end, as located by
+     * {@link #scan(byte[], int, int, int)} with a maxLength of at most {@link #MAX_LONG_LENGTH}.
+     */
+    public static long decode(byte[] bytes, int index, int end) {
+        long result = 0;
+        for (int i = index; i < end; i++) {
+            result |= (long) (bytes[i] & 0x7F) << (7 * (i - index));
+        }
+        return result;
+    }
+
+    private static int readByte(ByteBuffer buffer, int index) {
+        if (index >= buffer.limit()) {
+            throw new IllegalArgumentException("Truncated varint");
+        }
+        return buffer.get(index);
+    }
+
+    private static int readByte(ByteBuffer buffer) {
+        if (!buffer.hasRemaining()) {
+            throw new IllegalArgumentException("Truncated varint");
+        }
+        return buffer.get();
+    }
+}
@@ -0,0 +1,190 @@
+package org.aion.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.aion.types.test_util.AddressUtil;
+import org.junit.Test;
+
+public class AddressLongMapTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeExpectedSize() {
+        new AddressLongMap(-1);
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        AddressLongMap map = new AddressLongMap(0);
+        AionAddress address = AddressUtil.randomAddress();
+
+        assertEquals(-1L, map.get(address, -1L));
+        assertFalse(map.containsKey(address));
+        assertTrue(map.put(address, 7L));
+        assertFalse(map.put(address, 8L));
+        assertEquals(8L, map.get(address, -1L));
+        assertTrue(map.containsKey(address));
+        assertEquals(1, map.size());
+
+        assertTrue(map.remove(address));
+        assertFalse(map.remove(address));
+        assertEquals(-1L, map.get(address, -1L));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testLookupByRawBytesAtOffset() {
+        AddressLongMap map = new AddressLongMap(4);
+        AionAddress address = AddressUtil.randomAddress();
+        map.put(address, 42L);
+
+        byte[] record = new byte[AionAddress.LENGTH + 9];
+        System.arraycopy(address.toByteArray(), 0, record, 5, AionAddress.LENGTH);
+        assertEquals(42L, map.get(record, 5, 0L));
+        assertTrue(map.containsKey(record, 5));
+        assertFalse(map.containsKey(record, 4));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testLookupByRawBytesOutOfBounds() {
+        new AddressLongMap(4).get(new byte[AionAddress.LENGTH], 1, 0L);
+    }
+
+    @Test
+    public void testZeroAddressIsAKey() {
+        AddressLongMap map = new AddressLongMap(4);
+        AionAddress zero = new AionAddress(new byte[AionAddress.LENGTH]);
+
+        assertFalse(map.containsKey(zero));
+        map.put(zero, 0L);
+        assertTrue(map.containsKey(zero));
+        assertEquals(0L, map.get(zero, 5L));
+    }
+
+    @Test
+    public void testAddTo() {
+        AddressLongMap map = new AddressLongMap(4);
+        AionAddress address = AddressUtil.randomAddress();
+
+        assertEquals(3L, map.addTo(address, 3L));
+        assertEquals(5L, map.addTo(address, 2L));
+        assertEquals(5L, map.get(address, 0L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testMatchesHashMapUnderRandomOperations() {
+        Random random = new Random(1);
+        List<AionAddress> addresses = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            addresses.add(AddressUtil.randomAddress());
+        }
+
+        AddressLongMap map = new AddressLongMap(0);
+        Map<AionAddress, Long> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            AionAddress address = addresses.get(random.nextInt(addresses.size()));
+            long value = random.nextLong();
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertEquals(!expected.containsKey(address), map.put(address, value));
+                    expected.put(address, value);
+                    break;
+                case 1:
+                    assertEquals(expected.remove(address) != null, map.remove(address));
+                    break;
+                default:
+                    assertEquals(expected.getOrDefault(address, Long.MIN_VALUE).longValue(), map.get(address, Long.MIN_VALUE));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        Map<AionAddress, Long> entries = new HashMap<>();
+        map.forEach((key, value) -> entries.put(key, value));
+        assertEquals(expected, entries);
+    }
+
+    @Test
+    public void testGrowsAndClears() {
+        AddressLongMap map = new AddressLongMap(0);
+        int initialCapacity = map.capacity();
+        List<AionAddress> addresses = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            AionAddress address = AddressUtil.randomAddress();
+            addresses.add(address);
+            map.put(address, i);
+        }
+        assertTrue(map.capacity() > initialCapacity);
+        assertTrue(4L * map.size() <= 3L * map.capacity());
+        for (int i = 0; i < addresses.size(); i++) {
+            assertEquals(i, map.get(addresses.get(i), -1L));
+        }
+
+        int capacity = map.capacity();
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(capacity, map.capacity());
+        assertFalse(map.containsKey(addresses.get(0)));
+    }
+
+    @Test
+    public void testConcurrentReadsDuringWrites() throws InterruptedException {
+        AddressLongMap map = new AddressLongMap(0);
+        List<AionAddress> stable = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            AionAddress address = AddressUtil.randomAddress();
+            stable.add(address);
+            map.put(address, i);
+        }
+
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    while (!done.get()) {
+                        for (int i = 0; i < stable.size(); i++) {
+                            assertEquals(i, map.get(stable.get(i), -1L));
+                        }
+                    }
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        // The writer churns other keys, forcing growth and backward shifts under the readers.
+        List<AionAddress> churn = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            AionAddress address = AddressUtil.randomAddress();
+            churn.add(address);
+            map.put(address, -i);
+            if (i % 2 == 1) {
+                map.remove(churn.get(i / 2));
+            }
+        }
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testPutNull() {
+        new AddressLongMap(4).put(null, 1L);
+    }
+}
@@ -0,0 +1,130 @@
+package org.aion.types;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.aion.types.test_util.AddressUtil;
+import org.junit.Test;
+
+public class AddressPoolTest {
+
+    @Test
+    public void testCapacityIsRoundedUpToPowerOfTwo() {
+        assertEquals(1, new AddressPool(1).capacity());
+        assertEquals(128, new AddressPool(100).capacity());
+        assertEquals(256, new AddressPool(256).capacity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveCapacity() {
+        new AddressPool(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testInternNullBytes() {
+        new AddressPool(16).intern((byte[]) null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testInternNullAddress() {
+        new AddressPool(16).intern((AionAddress) null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInternWrongLength() {
+        new AddressPool(16).intern(new byte[20]);
+    }
+
+    @Test
+    public void testRepeatedBytesReturnSameInstance() {
+        AddressPool pool = new AddressPool(16);
+        byte[] raw = AddressUtil.randomAddress().toByteArray();
+
+        AionAddress first = pool.intern(raw);
+        AionAddress second = pool.intern(raw.clone());
+
+        assertSame(first, second);
+        assertArrayEquals(raw, first.toByteArray());
+        assertEquals(1, pool.hitCount());
+        assertEquals(1, pool.missCount());
+    }
+
+    @Test
+    public void testInternAddressReturnsCanonicalInstance() {
+        AddressPool pool = new AddressPool(16);
+        AionAddress address = AddressUtil.randomAddress();
+
+        AionAddress canonical = pool.intern(address);
+        AionAddress fromBytes = pool.intern(address.toByteArray());
+        AionAddress fromEqual = pool.intern(new AionAddress(address.toByteArray()));
+
+        assertSame(address, canonical);
+        assertSame(address, fromBytes);
+        assertSame(address, fromEqual);
+        assertEquals(2, pool.hitCount());
+        assertEquals(1, pool.missCount());
+    }
+
+    @Test
+    public void testPoolIsBoundedAndEvicts() {
+        AddressPool pool = new AddressPool(1);
+        AionAddress address1 = pool.intern(AddressUtil.randomAddress());
+        AionAddress address2 = pool.intern(AddressUtil.randomAddress());
+
+        // The single slot now holds address2, so address1 is a miss and is re-pooled.
+        assertSame(address2, pool.intern(address2.toByteArray()));
+        AionAddress address1Again = pool.intern(address1.toByteArray());
+        assertEquals(address1, address1Again);
+        assertEquals(1, pool.hitCount());
+        assertEquals(3, pool.missCount());
+    }
+
+    @Test
+    public void testClear() {
+        AddressPool pool = new AddressPool(16);
+        AionAddress address = pool.intern(AddressUtil.randomAddress());
+        pool.clear();
+
+        assertEquals(0, pool.hitCount());
+        assertEquals(0, pool.missCount());
+        AionAddress reinterned = pool.intern(address.toByteArray());
+        assertEquals(address, reinterned);
+        assertEquals(1, pool.missCount());
+    }
+
+    @Test
+    public void testConcurrentInterningReturnsEqualAddresses() throws Exception {
+        AddressPool pool = new AddressPool(64);
+        List<byte[]> addresses = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            addresses.add(AddressUtil.randomAddress().toByteArray());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int round = 0; round < 1_000; round++) {
+                        for (byte[] raw : addresses) {
+                            assertArrayEquals(raw, pool.intern(raw).toByteArray());
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(4 * 1_000 * 32, pool.hitCount() + pool.missCount());
+    }
+}
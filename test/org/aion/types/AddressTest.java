@@ -99,6 +99,28 @@ public class AddressTest {
         assertEquals(address1, address2);
     }
 
+    @Test
+    public void testToByteArrayRoundTrip() {
+        byte[] data = createByteArray(0xF0);
+        assertArrayEquals(data, new AionAddress(data).toByteArray());
+    }
+
+    @Test
+    public void testSingleByteDifferenceInEveryPosition() {
+        byte[] data = createByteArray(0);
+        AionAddress address = new AionAddress(data);
+
+        for (int i = 0; i < AionAddress.LENGTH; i++) {
+            byte[] modified = createByteArray(0);
+            modified[i] = (byte) ~modified[i];
+            AionAddress other = new AionAddress(modified);
+
+            assertNotEquals(address, other);
+            assertNotEquals(address.hashCode(), other.hashCode());
+            assertArrayEquals(modified, other.toByteArray());
+        }
+    }
+
     private byte[] createByteArray(int startValue) {
         byte[] data = new byte[32];
         for (int i = 0; i < data.length; ++i) {
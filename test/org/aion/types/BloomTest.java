@@ -0,0 +1,120 @@
+package org.aion.types;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+public class BloomTest {
+    // The blooms below were computed independently with the reference Blake2b-256 and the Aion
+    // kernel's bit layout.
+    private static final String BLOOM_OF_ZERO_ADDRESS = "00000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000040000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000020000000000000000000000000000000800000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000";
+    private static final String BLOOM_OF_SEQUENCE_AND_TOPICS = "00000000000000000000000000000000000000000000000000000000000000000000002000000000000000000000000000800000008000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000001000000800000000000000000000000000000000000000000000000000000000000800000000000000000000000000000000000000000000000000000000000000000000000000000000000000000010000000000000000000000010000000000000000000000000000000000000000000000000000000000000008000000000000000000000000";
+
+    @Test
+    public void testBloomOfSingleItemMatchesReference() {
+        assertEquals(BLOOM_OF_ZERO_ADDRESS, Hex.bytesToHex(Bloom.of(new byte[32]).copyOfBytes()));
+    }
+
+    @Test
+    public void testLogBloomMatchesReference() {
+        byte[] address = new byte[32];
+        for (int i = 0; i < address.length; i++) {
+            address[i] = (byte) i;
+        }
+        Log log = Log.topicsAndData(address, Arrays.asList("topic-1".getBytes(), new byte[0]), new byte[]{ 1, 2, 3 });
+        assertEquals(BLOOM_OF_SEQUENCE_AND_TOPICS, Hex.bytesToHex(log.bloom().copyOfBytes()));
+    }
+
+    @Test
+    public void testLogBloomIsCached() {
+        Log log = Log.dataOnly(new byte[32], new byte[0]);
+        assertSame(log.bloom(), log.bloom());
+    }
+
+    @Test
+    public void testLogBloomContainsAddressAndTopics() {
+        byte[] address = "address".getBytes();
+        byte[] topic = "topic".getBytes();
+        Log log = Log.topicsAndData(address, Collections.singletonList(topic), new byte[0]);
+        assertTrue(log.bloom().mightContain(address));
+        assertTrue(log.bloom().mightContain(topic));
+        assertFalse(log.bloom().isEmpty());
+    }
+
+    @Test
+    public void testEmptyBloom() {
+        assertTrue(Bloom.EMPTY.isEmpty());
+        assertArrayEquals(new byte[Bloom.LENGTH], Bloom.EMPTY.copyOfBytes());
+        assertTrue(Bloom.of(new byte[1]).contains(Bloom.EMPTY));
+    }
+
+    @Test
+    public void testResultBloomIsUnionOfLogBlooms() {
+        Log log1 = Log.dataOnly("a".getBytes(), new byte[0]);
+        Log log2 = Log.topicsAndData("b".getBytes(), Collections.singletonList("c".getBytes()), new byte[0]);
+        List<Log> logs = new ArrayList<>();
+        logs.add(log1);
+        logs.add(log2);
+        TransactionResult result = new TransactionResult(TransactionStatus.successful(), logs, Collections.emptyList(), 0, null);
+
+        Bloom expected = new Bloom.Builder().add("a".getBytes()).add("b".getBytes()).add("c".getBytes()).build();
+        assertEquals(expected, result.logsBloom());
+        assertTrue(result.logsBloom().contains(log1.bloom()));
+        assertTrue(result.logsBloom().contains(log2.bloom()));
+        assertSame(result.logsBloom(), result.logsBloom());
+    }
+
+    @Test
+    public void testResultWithoutLogsHasEmptyBloom() {
+        TransactionResult result = new TransactionResult(TransactionStatus.successful(), Collections.emptyList(), Collections.emptyList(), 0, null);
+        assertTrue(result.logsBloom().isEmpty());
+    }
+
+    @Test
+    public void testBuilderOrAndReset() {
+        Bloom bloom1 = Bloom.of("1".getBytes());
+        Bloom bloom2 = Bloom.of("2".getBytes());
+        Bloom.Builder builder = new Bloom.Builder().or(bloom1).or(bloom2);
+        Bloom merged = builder.build();
+        assertTrue(merged.contains(bloom1));
+        assertTrue(merged.contains(bloom2));
+
+        // The built bloom must not change when the builder is reused.
+        builder.reset();
+        assertTrue(builder.build().isEmpty());
+        assertTrue(merged.contains(bloom1));
+    }
+
+    @Test
+    public void testBytesRoundTrip() {
+        Bloom bloom = new Bloom.Builder().add("x".getBytes()).add("y".getBytes()).build();
+        assertEquals(bloom, Bloom.fromBytes(bloom.copyOfBytes()));
+        assertEquals(bloom.hashCode(), Bloom.fromBytes(bloom.copyOfBytes()).hashCode());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromBytesWrongLength() {
+        Bloom.fromBytes(new byte[255]);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testAddNullItem() {
+        new Bloom.Builder().add(null);
+    }
+
+    @Test
+    public void testBloomSetsAtMostThreeBits() {
+        Bloom bloom = Bloom.of("item".getBytes());
+        int bitCount = new BigInteger(1, bloom.copyOfBytes()).bitCount();
+        assertTrue(bitCount >= 1 && bitCount <= 3);
+    }
+}
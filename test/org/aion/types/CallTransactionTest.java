@@ -4,8 +4,11 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.util.Arrays;
 import org.aion.types.test_util.AddressUtil;
 import org.junit.Before;
@@ -81,6 +84,28 @@ public class CallTransactionTest {
         assertNotEquals(tx1.hashCode(), tx2.hashCode());
     }
 
+    @Test
+    public void testEqualsWithAndWithoutCachedHashCodes() {
+        Transaction tx1 = Transaction.contractCallTransaction(senderAddress, destinationAddress, transactionHash, nonce, value, transactionData, energyLimit, energyPrice);
+        Transaction tx2 = Transaction.contractCallTransaction(senderAddress, destinationAddress, transactionHash, nonce, value, transactionData, energyLimit, energyPrice);
+        byte[] otherData = Arrays.copyOf(transactionData, transactionData.length);
+        otherData[otherData.length - 1] = (byte) ~otherData[otherData.length - 1];
+        Transaction tx3 = Transaction.contractCallTransaction(senderAddress, destinationAddress, transactionHash, nonce, value, otherData, energyLimit, energyPrice);
+
+        // Neither, one and then both hash codes cached.
+        assertEquals(tx1, tx2);
+        assertNotEquals(tx1, tx3);
+        tx1.hashCode();
+        assertEquals(tx1, tx2);
+        assertEquals(tx2, tx1);
+        assertNotEquals(tx1, tx3);
+        tx2.hashCode();
+        tx3.hashCode();
+        assertEquals(tx1, tx2);
+        assertNotEquals(tx1, tx3);
+        assertNotEquals(tx3, tx1);
+    }
+
     @Test
     public void testImmutablity() {
         Transaction tx1 = Transaction.contractCallTransaction(senderAddress, destinationAddress, transactionHash, nonce, value, transactionData, energyLimit, energyPrice);
@@ -120,6 +145,56 @@ public class CallTransactionTest {
         Transaction tx = Transaction.contractCallTransaction(senderAddress, destinationAddress, null, nonce, value, transactionData, energyLimit, energyPrice);
     }
 
+    @Test
+    public void testViews() {
+        Transaction tx = Transaction.contractCallTransaction(senderAddress, destinationAddress, transactionHash, nonce, value, transactionData, energyLimit, energyPrice);
+
+        ByteBuffer dataView = tx.transactionDataView();
+        ByteBuffer hashView = tx.transactionHashView();
+        assertTrue(dataView.isReadOnly());
+        assertTrue(hashView.isReadOnly());
+        assertEquals(ByteBuffer.wrap(transactionData), dataView);
+        assertEquals(ByteBuffer.wrap(transactionHash), hashView);
+    }
+
+    @Test
+    public void testLongFastPath() {
+        Transaction tx = Transaction.contractCallTransaction(senderAddress, destinationAddress, transactionHash, BigInteger.valueOf(Long.MAX_VALUE), BigInteger.valueOf(12_345L), transactionData, energyLimit, energyPrice);
+        assertTrue(tx.nonceFitsInLong());
+        assertTrue(tx.valueFitsInLong());
+        assertEquals(Long.MAX_VALUE, tx.nonceAsLong());
+        assertEquals(12_345L, tx.valueAsLong());
+
+        BigInteger beyondLong = BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE);
+        Transaction big = Transaction.contractCallTransaction(senderAddress, destinationAddress, transactionHash, beyondLong, beyondLong, transactionData, energyLimit, energyPrice);
+        assertFalse(big.nonceFitsInLong());
+        assertFalse(big.valueFitsInLong());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testNonceAsLongOverflow() {
+        BigInteger beyondLong = BigInteger.ONE.shiftLeft(64);
+        Transaction.contractCallTransaction(senderAddress, destinationAddress, transactionHash, beyondLong, value, transactionData, energyLimit, energyPrice).nonceAsLong();
+    }
+
+    @Test
+    public void testEqualityOfValuesBeyondLong() {
+        BigInteger beyondLong = BigInteger.ONE.shiftLeft(100);
+        Transaction tx1 = Transaction.contractCallTransaction(senderAddress, destinationAddress, transactionHash, nonce, beyondLong, transactionData, energyLimit, energyPrice);
+        Transaction tx2 = Transaction.contractCallTransaction(senderAddress, destinationAddress, transactionHash, nonce, new BigInteger(beyondLong.toByteArray()), transactionData, energyLimit, energyPrice);
+        Transaction tx3 = Transaction.contractCallTransaction(senderAddress, destinationAddress, transactionHash, nonce, beyondLong.add(BigInteger.ONE), transactionData, energyLimit, energyPrice);
+
+        assertEquals(tx1, tx2);
+        assertEquals(tx1.hashCode(), tx2.hashCode());
+        assertNotEquals(tx1, tx3);
+    }
+
+    @Test(expected = ReadOnlyBufferException.class)
+    public void testDataViewIsNotWritable() {
+        Transaction tx = Transaction.contractCallTransaction(senderAddress, destinationAddress, transactionHash, nonce, value, transactionData, energyLimit, energyPrice);
+        tx.transactionDataView().put(0, (byte) 1);
+    }
+
     @Test(expected = NullPointerException.class)
     public void testNullData() {
         Transaction tx = Transaction.contractCallTransaction(senderAddress, destinationAddress, transactionHash, nonce, value, null, energyLimit, energyPrice);
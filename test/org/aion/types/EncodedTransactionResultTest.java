@@ -0,0 +1,83 @@
+package org.aion.types;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import org.junit.Test;
+
+public class EncodedTransactionResultTest {
+
+    @Test
+    public void testAccessorsMatchResult() {
+        TransactionResult result = TransactionResultCodecTest.newResult(new Random(42));
+        EncodedTransactionResult encoded = EncodedTransactionResult.wrap(TransactionResultCodec.encode(result));
+
+        assertEquals(result.transactionStatus, encoded.transactionStatus());
+        assertEquals(result.energyUsed, encoded.energyUsed());
+        assertArrayEquals(result.copyOfTransactionOutput().get(), encoded.copyOfTransactionOutput().get());
+        assertEquals(result.logs.size(), encoded.logCount());
+        assertEquals(result.logs, encoded.logs());
+        assertEquals(result.internalTransactions.size(), encoded.internalTransactionCount());
+        assertEquals(result.internalTransactions, encoded.internalTransactions());
+        assertEquals(result, encoded.toTransactionResult());
+    }
+
+    @Test
+    public void testResultWithoutOutput() {
+        TransactionResult result = new TransactionResult(TransactionStatus.revertedFailure(), Collections.emptyList(), Collections.emptyList(), 5L, null);
+        EncodedTransactionResult encoded = EncodedTransactionResult.wrap(TransactionResultCodec.encode(result));
+
+        assertEquals(TransactionStatus.revertedFailure(), encoded.transactionStatus());
+        assertFalse(encoded.copyOfTransactionOutput().isPresent());
+        assertEquals(0, encoded.logCount());
+        assertEquals(0, encoded.internalTransactionCount());
+    }
+
+    @Test
+    public void testWrapConsecutiveRecordsAdvancesPosition() {
+        TransactionResult first = TransactionResultCodecTest.newResult(new Random(1));
+        TransactionResult second = TransactionResultCodecTest.newResult(new Random(2));
+        ByteBuffer buffer = ByteBuffer.allocate(TransactionResultCodec.encodedLength(first) + TransactionResultCodec.encodedLength(second));
+        TransactionResultCodec.encode(first, buffer);
+        TransactionResultCodec.encode(second, buffer);
+        buffer.flip();
+
+        assertEquals(first, EncodedTransactionResult.wrap(buffer).toTransactionResult());
+        assertEquals(second, EncodedTransactionResult.wrap(buffer).toTransactionResult());
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    public void testEveryTruncationIsRejected() {
+        byte[] encoding = TransactionResultCodec.encode(TransactionResultCodecTest.newResult(new Random(3)));
+        for (int length = 0; length < encoding.length; length++) {
+            try {
+                EncodedTransactionResult.wrap(Arrays.copyOf(encoding, length));
+                throw new AssertionError("Truncation to " + length + " bytes was accepted");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testEquality() {
+        byte[] encoding = TransactionResultCodec.encode(TransactionResultCodecTest.newResult(new Random(4)));
+        EncodedTransactionResult encoded = EncodedTransactionResult.wrap(encoding);
+
+        assertEquals(encoded, EncodedTransactionResult.wrap(encoding.clone()));
+        assertEquals(encoded.hashCode(), EncodedTransactionResult.wrap(encoding.clone()).hashCode());
+        assertNotEquals(encoded, EncodedTransactionResult.wrap(TransactionResultCodec.encode(TransactionResultCodecTest.newResult(new Random(5)))));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testWrapNull() {
+        EncodedTransactionResult.wrap((byte[]) null);
+    }
+}
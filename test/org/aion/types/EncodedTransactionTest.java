@@ -0,0 +1,137 @@
+package org.aion.types;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.aion.types.test_util.AddressUtil;
+import org.junit.Test;
+
+public class EncodedTransactionTest {
+    private static final AionAddress SENDER = AddressUtil.randomAddress();
+    private static final AionAddress DESTINATION = AddressUtil.randomAddress();
+    private static final byte[] HASH = randomBytes(32);
+    private static final byte[] DATA = randomBytes(1_000);
+
+    @Test
+    public void testCallTransactionFields() {
+        BigInteger value = BigInteger.ONE.shiftLeft(100);
+        Transaction transaction = Transaction.contractCallTransaction(SENDER, DESTINATION, HASH, BigInteger.valueOf(42), value, DATA, 2_000_000L, 10_000_000_000L);
+        EncodedTransaction encoded = EncodedTransaction.wrap(TransactionCodec.encode(transaction));
+
+        assertFalse(encoded.isCreate);
+        assertEquals(SENDER, encoded.senderAddress());
+        assertEquals(DESTINATION, encoded.destinationAddress());
+        assertEquals(BigInteger.valueOf(42), encoded.nonce());
+        assertEquals(value, encoded.value());
+        assertEquals(2_000_000L, encoded.energyLimit());
+        assertEquals(10_000_000_000L, encoded.energyPrice());
+        assertEquals(ByteBuffer.wrap(HASH), encoded.transactionHashView());
+        assertEquals(ByteBuffer.wrap(DATA), encoded.transactionDataView());
+        assertEquals(transaction, encoded.toTransaction());
+    }
+
+    @Test
+    public void testCreateTransactionFields() {
+        Transaction transaction = Transaction.contractCreateTransaction(SENDER, HASH, BigInteger.ZERO, BigInteger.TEN, new byte[0], 5_000_000L, 1L);
+        EncodedTransaction encoded = EncodedTransaction.wrap(TransactionCodec.encode(transaction));
+
+        assertTrue(encoded.isCreate);
+        assertEquals(SENDER, encoded.senderAddress());
+        assertNull(encoded.destinationAddress());
+        assertEquals(BigInteger.ZERO, encoded.nonce());
+        assertEquals(BigInteger.TEN, encoded.value());
+        assertEquals(0, encoded.transactionDataView().remaining());
+        assertEquals(transaction, encoded.toTransaction());
+    }
+
+    @Test
+    public void testViewsAreReadOnlyAndShareTheBuffer() {
+        Transaction transaction = Transaction.contractCallTransaction(SENDER, DESTINATION, HASH, BigInteger.ONE, BigInteger.ONE, DATA, 1L, 1L);
+        byte[] encoding = TransactionCodec.encode(transaction);
+        EncodedTransaction encoded = EncodedTransaction.wrap(encoding);
+
+        ByteBuffer dataView = encoded.transactionDataView();
+        assertTrue(dataView.isReadOnly());
+        assertTrue(encoded.encoding().isReadOnly());
+        assertArrayEquals(encoding, toArray(encoded.encoding()));
+
+        // The view is zero-copy, so it reflects the backing bytes.
+        encoding[encoding.length - 1] = (byte) ~encoding[encoding.length - 1];
+        assertEquals(encoding[encoding.length - 1], dataView.get(DATA.length - 1));
+    }
+
+    @Test
+    public void testWrapConsecutiveRecordsAdvancesPosition() {
+        Transaction first = Transaction.contractCallTransaction(SENDER, DESTINATION, HASH, BigInteger.ONE, BigInteger.ONE, DATA, 1L, 1L);
+        Transaction second = Transaction.contractCreateTransaction(DESTINATION, HASH, BigInteger.TWO, BigInteger.ZERO, DATA, 1L, 1L);
+        ByteBuffer buffer = ByteBuffer.allocate(TransactionCodec.encodedLength(first) + TransactionCodec.encodedLength(second));
+        TransactionCodec.encode(first, buffer);
+        TransactionCodec.encode(second, buffer);
+        buffer.flip();
+
+        EncodedTransaction encodedFirst = EncodedTransaction.wrap(buffer);
+        EncodedTransaction encodedSecond = EncodedTransaction.wrap(buffer);
+        assertEquals(0, buffer.remaining());
+        assertEquals(SENDER, encodedFirst.senderAddress());
+        assertEquals(DESTINATION, encodedSecond.senderAddress());
+        assertEquals(BigInteger.TWO, encodedSecond.nonce());
+        assertEquals(first, encodedFirst.toTransaction());
+        assertEquals(second, encodedSecond.toTransaction());
+    }
+
+    @Test
+    public void testEquality() {
+        Transaction transaction = Transaction.contractCallTransaction(SENDER, DESTINATION, HASH, BigInteger.ONE, BigInteger.ONE, DATA, 1L, 1L);
+        Transaction other = Transaction.contractCallTransaction(SENDER, DESTINATION, HASH, BigInteger.TWO, BigInteger.ONE, DATA, 1L, 1L);
+
+        assertEquals(EncodedTransaction.wrap(TransactionCodec.encode(transaction)), EncodedTransaction.wrap(TransactionCodec.encode(transaction)));
+        assertEquals(EncodedTransaction.wrap(TransactionCodec.encode(transaction)).hashCode(), EncodedTransaction.wrap(TransactionCodec.encode(transaction)).hashCode());
+        assertNotEquals(EncodedTransaction.wrap(TransactionCodec.encode(transaction)), EncodedTransaction.wrap(TransactionCodec.encode(other)));
+    }
+
+    @Test
+    public void testEveryTruncationIsRejected() {
+        Transaction transaction = Transaction.contractCallTransaction(SENDER, DESTINATION, HASH, BigInteger.ONE, BigInteger.ONE, new byte[3], 1L, 1L);
+        byte[] encoding = TransactionCodec.encode(transaction);
+        for (int length = 0; length < encoding.length; length++) {
+            byte[] truncated = new byte[length];
+            System.arraycopy(encoding, 0, truncated, 0, length);
+            try {
+                EncodedTransaction.wrap(truncated);
+                throw new AssertionError("Wrapped a truncation of length " + length);
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInternalTransactionEncodingRejected() {
+        InternalTransaction transaction = InternalTransaction.contractCreateTransaction(InternalTransaction.RejectedStatus.NOT_REJECTED, SENDER, BigInteger.ONE, BigInteger.ONE, DATA, 1L, 1L);
+        EncodedTransaction.wrap(TransactionCodec.encode(transaction));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testWrapNull() {
+        EncodedTransaction.wrap((byte[]) null);
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] randomBytes = new byte[size];
+        new Random().nextBytes(randomBytes);
+        return randomBytes;
+    }
+}
@@ -0,0 +1,119 @@
+package org.aion.types;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Random;
+import org.junit.Test;
+
+public class HexTest {
+
+    @Test
+    public void testBytesToHexOfEmptyArray() {
+        assertEquals("", Hex.bytesToHex(new byte[0]));
+    }
+
+    @Test
+    public void testBytesToHexOfEveryByte() {
+        byte[] bytes = new byte[256];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        assertEquals(formatHex(bytes), Hex.bytesToHex(bytes));
+    }
+
+    @Test
+    public void testWriteHexIntoOffset() {
+        byte[] bytes = new byte[]{ (byte) 0x00, (byte) 0xab, (byte) 0xff, (byte) 0x10 };
+        char[] destination = new char[8];
+        destination[0] = '[';
+        destination[7] = ']';
+
+        int end = Hex.writeHex(bytes, 1, 2, destination, 1);
+        assertEquals(5, end);
+        assertEquals("[abff\u0000\u0000]", new String(destination));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testWriteHexDestinationTooSmall() {
+        Hex.writeHex(new byte[4], 0, 4, new char[7], 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testWriteHexSourceRangeOutOfBounds() {
+        Hex.writeHex(new byte[4], 3, 2, new char[16], 0);
+    }
+
+    @Test
+    public void testAppendHexToStringBuilder() {
+        byte[] bytes = randomBytes(40);
+        StringBuilder builder = new StringBuilder("prefix ");
+        Hex.appendHex(builder, bytes);
+        assertEquals("prefix " + formatHex(bytes), builder.toString());
+    }
+
+    @Test
+    public void testAppendHexToAppendable() throws IOException {
+        byte[] bytes = randomBytes(40);
+        StringWriter writer = new StringWriter();
+        Hex.appendHex(writer, bytes);
+        assertEquals(formatHex(bytes), writer.toString());
+    }
+
+    @Test
+    public void testHexToBytesRoundTrip() {
+        byte[] bytes = randomBytes(100);
+        assertArrayEquals(bytes, Hex.hexToBytes(Hex.bytesToHex(bytes)));
+    }
+
+    @Test
+    public void testHexToBytesAcceptsUppercase() {
+        assertArrayEquals(new byte[]{ (byte) 0xab, (byte) 0xcd, (byte) 0xef }, Hex.hexToBytes("ABcdEF"));
+    }
+
+    @Test
+    public void testHexToBytesOfEmptyString() {
+        assertArrayEquals(new byte[0], Hex.hexToBytes(""));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHexToBytesOddLength() {
+        Hex.hexToBytes("abc");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHexToBytesInvalidCharacter() {
+        Hex.hexToBytes("0g");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHexToBytesNonAsciiCharacter() {
+        Hex.hexToBytes("0\u0660");
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testBytesToHexNull() {
+        Hex.bytesToHex(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testHexToBytesNull() {
+        Hex.hexToBytes(null);
+    }
+
+    private static String formatHex(byte[] bytes) {
+        StringBuilder hexString = new StringBuilder();
+        for (byte b : bytes) {
+            hexString.append(String.format("%02x", b));
+        }
+        return hexString.toString();
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] randomBytes = new byte[size];
+        new Random().nextBytes(randomBytes);
+        return randomBytes;
+    }
+}
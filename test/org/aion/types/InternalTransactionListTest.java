@@ -0,0 +1,173 @@
+package org.aion.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.aion.types.InternalTransaction.RejectedStatus;
+import org.aion.types.test_util.AddressUtil;
+import org.junit.Test;
+
+public class InternalTransactionListTest {
+
+    @Test
+    public void testCopyOfHoldsEqualTransactions() {
+        List<InternalTransaction> transactions = newTransactions(new Random(1), 100);
+        InternalTransactionList list = InternalTransactionList.copyOf(transactions);
+
+        assertEquals(transactions.size(), list.size());
+        for (int i = 0; i < transactions.size(); i++) {
+            assertEquals(transactions.get(i), list.get(i));
+        }
+        assertEquals(transactions, list);
+        assertEquals(list, transactions);
+        assertEquals(transactions.hashCode(), list.hashCode());
+    }
+
+    @Test
+    public void testCopyOfListReturnsSameList() {
+        InternalTransactionList list = InternalTransactionList.copyOf(newTransactions(new Random(2), 3));
+        assertSame(list, InternalTransactionList.copyOf(list));
+    }
+
+    @Test
+    public void testFieldsReadInPlace() {
+        List<InternalTransaction> transactions = newTransactions(new Random(3), 50);
+        InternalTransactionList list = InternalTransactionList.copyOf(transactions);
+
+        for (int i = 0; i < transactions.size(); i++) {
+            InternalTransaction transaction = transactions.get(i);
+            assertEquals(transaction.isCreate, list.isCreate(i));
+            assertEquals(transaction.isRejected, list.isRejected(i));
+            assertEquals(transaction.energyLimit, list.energyLimit(i));
+            assertEquals(transaction.energyPrice, list.energyPrice(i));
+        }
+    }
+
+    @Test
+    public void testBuilderCanContinueAfterBuild() {
+        List<InternalTransaction> transactions = newTransactions(new Random(4), 40);
+        InternalTransactionList.Builder builder = new InternalTransactionList.Builder();
+        for (InternalTransaction transaction : transactions.subList(0, 20)) {
+            builder.add(transaction);
+        }
+        InternalTransactionList first = builder.build();
+        for (InternalTransaction transaction : transactions.subList(20, 40)) {
+            builder.add(transaction);
+        }
+
+        assertEquals(transactions.subList(0, 20), first);
+        assertEquals(transactions, builder.build());
+    }
+
+    @Test
+    public void testEmptyList() {
+        InternalTransactionList list = new InternalTransactionList.Builder().build();
+        assertEquals(0, list.size());
+        assertEquals(Collections.emptyList(), list);
+        assertEquals(Collections.emptyList().hashCode(), list.hashCode());
+    }
+
+    @Test
+    public void testDecodedResultKeepsRecords() {
+        List<InternalTransaction> transactions = newTransactions(new Random(5), 30);
+        TransactionResult result = new TransactionResult(TransactionStatus.successful(), Collections.emptyList(), transactions, 21_000L, null);
+        byte[] encoding = TransactionResultCodec.encode(result);
+
+        TransactionResult decoded = TransactionResultCodec.decode(encoding);
+        assertTrue(decoded.internalTransactions instanceof InternalTransactionList);
+        assertEquals(transactions, decoded.internalTransactions);
+        assertEquals(result, decoded);
+        assertTrue(Arrays.equals(encoding, TransactionResultCodec.encode(decoded)));
+    }
+
+    @Test
+    public void testResultKeepsListAsIs() {
+        InternalTransactionList list = InternalTransactionList.copyOf(newTransactions(new Random(6), 5));
+        TransactionResult result = new TransactionResult(TransactionStatus.successful(), Collections.emptyList(), list, 21_000L, null);
+        assertSame(list, result.internalTransactions);
+    }
+
+    @Test
+    public void testReadRejectsWhatDecodingRejects() {
+        Random random = new Random(7);
+        for (int i = 0; i < 5_000; i++) {
+            byte[] encoding = TransactionCodec.encode(newTransactions(random, 1).get(0));
+            encoding[random.nextInt(encoding.length)] ^= (byte) (1 << random.nextInt(8));
+
+            boolean decodes;
+            try {
+                TransactionCodec.decodeInternalTransaction(encoding);
+                decodes = true;
+            } catch (IllegalArgumentException e) {
+                decodes = false;
+            }
+            boolean reads;
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(encoding);
+                InternalTransactionList.readFrom(buffer, 1);
+                reads = !buffer.hasRemaining();
+            } catch (IllegalArgumentException e) {
+                reads = false;
+            }
+            assertEquals("Encoding " + Hex.bytesToHex(encoding), decodes, reads);
+        }
+    }
+
+    @Test
+    public void testListsWithDifferentTransactionsDiffer() {
+        List<InternalTransaction> transactions = newTransactions(new Random(8), 4);
+        assertNotEquals(InternalTransactionList.copyOf(transactions), InternalTransactionList.copyOf(transactions.subList(1, 4)));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        InternalTransactionList.copyOf(newTransactions(new Random(9), 2)).get(2);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testListIsImmutable() {
+        List<InternalTransaction> transactions = newTransactions(new Random(10), 2);
+        InternalTransactionList.copyOf(transactions).add(transactions.get(0));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testAddNull() {
+        new InternalTransactionList.Builder().add(null);
+    }
+
+    private static List<InternalTransaction> newTransactions(Random random, int count) {
+        List<InternalTransaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] data = new byte[random.nextInt(200)];
+            random.nextBytes(data);
+            RejectedStatus status = random.nextBoolean() ? RejectedStatus.REJECTED : RejectedStatus.NOT_REJECTED;
+            BigInteger nonce = BigInteger.valueOf(random.nextInt(1_000));
+            BigInteger value = new BigInteger(random.nextInt(128) + 1, random);
+            long energyLimit = random.nextInt(1_000_000);
+            long energyPrice = 1 + random.nextInt(Integer.MAX_VALUE);
+            switch (random.nextInt(3)) {
+                case 0:
+                    transactions.add(InternalTransaction.contractCreateTransaction(status, AddressUtil.randomAddress(), nonce, value, data, energyLimit, energyPrice));
+                    break;
+                case 1:
+                    transactions.add(InternalTransaction.contractCallTransaction(status, AddressUtil.randomAddress(), AddressUtil.randomAddress(), nonce, value, data, energyLimit, energyPrice));
+                    break;
+                default:
+                    byte[] hash = new byte[32];
+                    random.nextBytes(hash);
+                    transactions.add(InternalTransaction.contractCallInvokableTransaction(status, AddressUtil.randomAddress(), AddressUtil.randomAddress(), nonce, value, data, energyLimit, energyPrice, hash));
+                    break;
+            }
+        }
+        return transactions;
+    }
+}
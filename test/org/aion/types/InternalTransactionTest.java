@@ -2,9 +2,13 @@ package org.aion.types;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.util.Arrays;
 import org.aion.types.InternalTransaction.RejectedStatus;
 import org.junit.Assert;
@@ -184,6 +188,64 @@ public class InternalTransactionTest {
         assertArrayEquals(copyOfData, callTransaction.copyOfData());
     }
 
+    @Test
+    public void testDataView() {
+        byte[] data = new byte[]{ 4, 8, 15, 16, 23, 42 };
+        InternalTransaction transaction = InternalTransaction.contractCallTransaction(STATUS, SENDER, DESTINATION, NONCE, VALUE, data, LIMIT, PRICE);
+
+        ByteBuffer view = transaction.dataView();
+        assertTrue(view.isReadOnly());
+        assertEquals(data.length, view.remaining());
+        byte[] viewed = new byte[view.remaining()];
+        view.get(viewed);
+        assertArrayEquals(data, viewed);
+
+        // Consuming one view must not affect the next one.
+        assertEquals(data.length, transaction.dataView().remaining());
+    }
+
+    @Test(expected = ReadOnlyBufferException.class)
+    public void testDataViewIsNotWritable() {
+        InternalTransaction transaction = InternalTransaction.contractCallTransaction(STATUS, SENDER, DESTINATION, NONCE, VALUE, DATA, LIMIT, PRICE);
+        transaction.dataView().put(0, (byte) 1);
+    }
+
+    @Test
+    public void testHashCodeMixesFieldsByPosition() {
+        AionAddress first = new AionAddress(new byte[] { 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 });
+        AionAddress second = new AionAddress(new byte[] { 2, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 });
+
+        // Swapping fields used to leave the additive hash unchanged.
+        InternalTransaction transaction = InternalTransaction.contractCallTransaction(STATUS, first, second, NONCE, VALUE, DATA, LIMIT, PRICE);
+        Assert.assertNotEquals(transaction.hashCode(), InternalTransaction.contractCallTransaction(STATUS, second, first, NONCE, VALUE, DATA, LIMIT, PRICE).hashCode());
+        Assert.assertNotEquals(transaction.hashCode(), InternalTransaction.contractCallTransaction(STATUS, first, second, VALUE, NONCE, DATA, LIMIT, PRICE).hashCode());
+        Assert.assertNotEquals(transaction.hashCode(), InternalTransaction.contractCallTransaction(RejectedStatus.REJECTED, first, second, NONCE, VALUE, DATA, LIMIT, PRICE).hashCode());
+
+        assertEquals(transaction.hashCode(), transaction.hashCode());
+        assertEquals(transaction.hashCode(), InternalTransaction.contractCallTransaction(STATUS, first, second, NONCE, VALUE, DATA, LIMIT, PRICE).hashCode());
+    }
+
+    @Test
+    public void testLongFastPath() {
+        InternalTransaction transaction = InternalTransaction.contractCallTransaction(STATUS, SENDER, DESTINATION, BigInteger.valueOf(99), VALUE, DATA, LIMIT, PRICE);
+        assertTrue(transaction.senderNonceFitsInLong());
+        assertTrue(transaction.valueFitsInLong());
+        assertEquals(99L, transaction.senderNonceAsLong());
+        assertEquals(10L, transaction.valueAsLong());
+
+        BigInteger beyondLong = BigInteger.ONE.shiftLeft(63);
+        InternalTransaction big = InternalTransaction.contractCallTransaction(STATUS, SENDER, DESTINATION, beyondLong, beyondLong, DATA, LIMIT, PRICE);
+        assertFalse(big.senderNonceFitsInLong());
+        assertFalse(big.valueFitsInLong());
+        assertEquals(big, InternalTransaction.contractCallTransaction(STATUS, SENDER, DESTINATION, beyondLong, beyondLong, DATA, LIMIT, PRICE));
+        Assert.assertNotEquals(big, InternalTransaction.contractCallTransaction(STATUS, SENDER, DESTINATION, beyondLong, beyondLong.add(BigInteger.ONE), DATA, LIMIT, PRICE));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testValueAsLongOverflow() {
+        InternalTransaction.contractCallTransaction(STATUS, SENDER, DESTINATION, NONCE, BigInteger.ONE.shiftLeft(64), DATA, LIMIT, PRICE).valueAsLong();
+    }
+
     @Test(expected = NullPointerException.class)
     public void testInvokableCallWithNull() {
         InternalTransaction.contractCallInvokableTransaction(STATUS, SENDER, DESTINATION, NONCE, VALUE, DATA, LIMIT, PRICE, null);
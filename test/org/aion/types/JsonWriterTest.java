@@ -0,0 +1,203 @@
+package org.aion.types;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import org.aion.types.InternalTransaction.RejectedStatus;
+import org.aion.types.test_util.AddressUtil;
+import org.junit.Test;
+
+public class JsonWriterTest {
+
+    @Test
+    public void testCallTransaction() throws IOException {
+        AionAddress sender = AddressUtil.randomAddress();
+        AionAddress destination = AddressUtil.randomAddress();
+        byte[] hash = TransactionResultCodecTest.randomBytes(new Random(1), 32);
+        Transaction transaction = Transaction.contractCallTransaction(sender, destination, hash, BigInteger.valueOf(255), BigInteger.ZERO, new byte[] {0x01, (byte) 0xAB}, 21_000L, 10_000_000_000L);
+
+        String expected = "{\"senderAddress\":\"0x" + Hex.bytesToHex(sender.toByteArray()) + "\""
+            + ",\"destinationAddress\":\"0x" + Hex.bytesToHex(destination.toByteArray()) + "\""
+            + ",\"transactionHash\":\"0x" + Hex.bytesToHex(hash) + "\""
+            + ",\"value\":\"0x0\",\"nonce\":\"0xff\",\"energyPrice\":\"0x2540be400\",\"energyLimit\":\"0x5208\""
+            + ",\"isCreate\":false,\"transactionData\":\"0x01ab\"}";
+        assertEquals(expected, toJson(transaction));
+    }
+
+    @Test
+    public void testCreateTransactionHasNullDestinationAndEmptyData() throws IOException {
+        AionAddress sender = AddressUtil.randomAddress();
+        Transaction transaction = Transaction.contractCreateTransaction(sender, new byte[0], BigInteger.ONE, BigInteger.ONE, new byte[0], 1L, 1L);
+
+        String expected = "{\"senderAddress\":\"0x" + Hex.bytesToHex(sender.toByteArray()) + "\""
+            + ",\"destinationAddress\":null,\"transactionHash\":\"0x\",\"value\":\"0x1\",\"nonce\":\"0x1\""
+            + ",\"energyPrice\":\"0x1\",\"energyLimit\":\"0x1\",\"isCreate\":true,\"transactionData\":\"0x\"}";
+        assertEquals(expected, toJson(transaction));
+    }
+
+    @Test
+    public void testQuantitiesBeyondLong() throws IOException {
+        AionAddress sender = AddressUtil.randomAddress();
+        BigInteger nonce = BigInteger.ONE.shiftLeft(64);
+        BigInteger value = BigInteger.ONE.shiftLeft(72).subtract(BigInteger.ONE);
+        Transaction transaction = Transaction.contractCreateTransaction(sender, new byte[0], nonce, value, new byte[0], 1L, 1L);
+
+        String json = toJson(transaction);
+        assertContains(json, "\"value\":\"0xffffffffffffffffff\"");
+        assertContains(json, "\"nonce\":\"0x10000000000000000\"");
+    }
+
+    @Test
+    public void testQuantitiesLargerThanTheChunk() throws IOException {
+        AionAddress sender = AddressUtil.randomAddress();
+        BigInteger nonce = BigInteger.ONE.shiftLeft(9000);
+        BigInteger value = BigInteger.ONE.shiftLeft(9001).subtract(BigInteger.ONE);
+        Transaction transaction = Transaction.contractCreateTransaction(sender, new byte[0], nonce, value, new byte[0], 1L, 1L);
+
+        String json = toJson(transaction);
+        assertContains(json, "\"nonce\":\"0x" + nonce.toString(16) + "\"");
+        assertContains(json, "\"value\":\"0x" + value.toString(16) + "\"");
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        JsonWriter.to(stream).write(transaction).flush();
+        assertEquals(json, new String(stream.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testInternalTransaction() throws IOException {
+        AionAddress sender = AddressUtil.randomAddress();
+        byte[] invokableHash = TransactionResultCodecTest.randomBytes(new Random(2), 32);
+        InternalTransaction transaction = InternalTransaction.contractCreateInvokableTransaction(RejectedStatus.REJECTED, sender, BigInteger.TEN, BigInteger.valueOf(16), new byte[] {0x7F}, 60_000L, 1L, invokableHash);
+
+        String expected = "{\"sender\":\"0x" + Hex.bytesToHex(sender.toByteArray()) + "\""
+            + ",\"destination\":null,\"senderNonce\":\"0xa\",\"value\":\"0x10\",\"energyLimit\":\"0xea60\",\"energyPrice\":\"0x1\""
+            + ",\"isCreate\":true,\"isRejected\":true,\"data\":\"0x7f\""
+            + ",\"invokableHash\":\"0x" + Hex.bytesToHex(invokableHash) + "\"}";
+        assertEquals(expected, toJson(transaction));
+    }
+
+    @Test
+    public void testLog() throws IOException {
+        Log log = Log.topicsAndData(new byte[] {0x0A}, Arrays.asList(new byte[] {0x01}, new byte[] {0x02, 0x03}), new byte[] {(byte) 0xFF});
+        assertEquals("{\"address\":\"0x0a\",\"topics\":[\"0x01\",\"0x0203\"],\"data\":\"0xff\"}", toJson(log));
+
+        Log dataOnly = Log.dataOnly(new byte[] {0x0A}, new byte[0]);
+        assertEquals("{\"address\":\"0x0a\",\"topics\":[],\"data\":\"0x\"}", toJson(dataOnly));
+    }
+
+    @Test
+    public void testStatusEscapesCause() throws IOException {
+        TransactionStatus status = TransactionStatus.fatal("a\"b\\c\nd\te\u0001f\u00e9");
+
+        String json = toJson(status);
+        assertEquals("{\"status\":\"fatal\",\"causeOfError\":\"a\\\"b\\\\c\\nd\\te\\u0001f\\u00e9\"}", json);
+        assertEquals("{\"status\":\"reverted\",\"causeOfError\":\"reverted\"}", toJson(TransactionStatus.revertedFailure()));
+        assertEquals("{\"status\":\"success\",\"causeOfError\":\"\"}", toJson(TransactionStatus.successful()));
+    }
+
+    @Test
+    public void testResult() throws IOException {
+        Log log = Log.dataOnly(new byte[] {0x0A}, new byte[] {0x0B});
+        TransactionResult result = new TransactionResult(TransactionStatus.rejection("nonce"), Arrays.asList(log, log), Collections.emptyList(), 21_000L, null);
+
+        String expected = "{\"transactionStatus\":{\"status\":\"rejected\",\"causeOfError\":\"nonce\"}"
+            + ",\"energyUsed\":\"0x5208\",\"output\":null"
+            + ",\"logs\":[{\"address\":\"0x0a\",\"topics\":[],\"data\":\"0x0b\"},{\"address\":\"0x0a\",\"topics\":[],\"data\":\"0x0b\"}]"
+            + ",\"internalTransactions\":[]}";
+        assertEquals(expected, toJson(result));
+    }
+
+    @Test
+    public void testArraysSeparateElementsWithCommas() throws IOException {
+        TransactionStatus status = TransactionStatus.successful();
+        String element = toJson(status);
+
+        StringBuilder builder = new StringBuilder();
+        JsonWriter.to(builder).beginArray().write(status).beginArray().endArray().write(status).endArray().write(status);
+        assertEquals("[" + element + ",[]," + element + "]" + element, builder.toString());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEndArrayWithoutBeginArray() throws IOException {
+        JsonWriter.to(new StringBuilder()).endArray();
+    }
+
+    @Test
+    public void testSinksProduceTheSameOutput() throws IOException {
+        TransactionResult result = TransactionResultCodecTest.newResult(new Random(42));
+        String expected = toJson(result);
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        JsonWriter writer = JsonWriter.to(stream).write(TransactionStatus.successful());
+        assertEquals(0, stream.size());
+        writer.flush();
+        stream.reset();
+        JsonWriter.to(stream).beginArray().write(result).write(result).endArray().flush();
+        assertEquals("[" + expected + "," + expected + "]", new String(stream.toByteArray(), StandardCharsets.US_ASCII));
+
+        ByteBuffer buffer = ByteBuffer.allocate(expected.length() + 3);
+        buffer.position(3);
+        JsonWriter.to(buffer).write(result);
+        assertEquals(expected.length() + 3, buffer.position());
+        assertEquals(expected, new String(buffer.array(), 3, expected.length(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testDataLargerThanTheChunk() throws IOException {
+        byte[] data = TransactionResultCodecTest.randomBytes(new Random(3), 20_001);
+        Log log = Log.dataOnly(new byte[] {0x0A}, data);
+
+        String json = toJson(log);
+        assertEquals("{\"address\":\"0x0a\",\"topics\":[],\"data\":\"0x" + Hex.bytesToHex(data) + "\"}", json);
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        JsonWriter.to(stream).write(log).flush();
+        assertEquals(json, new String(stream.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void testBufferOverflow() throws IOException {
+        JsonWriter.to(ByteBuffer.allocate(10)).write(TransactionStatus.successful());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testWriteNullResult() throws IOException {
+        JsonWriter.to(new StringBuilder()).write((TransactionResult) null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullAppendable() {
+        JsonWriter.to((Appendable) null);
+    }
+
+    private static String toJson(Object value) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        JsonWriter writer = JsonWriter.to(builder);
+        if (value instanceof Transaction) {
+            writer.write((Transaction) value);
+        } else if (value instanceof InternalTransaction) {
+            writer.write((InternalTransaction) value);
+        } else if (value instanceof Log) {
+            writer.write((Log) value);
+        } else if (value instanceof TransactionStatus) {
+            writer.write((TransactionStatus) value);
+        } else {
+            writer.write((TransactionResult) value);
+        }
+        return builder.toString();
+    }
+
+    private static void assertContains(String string, String part) {
+        if (!string.contains(part)) {
+            throw new AssertionError("Expected " + string + " to contain " + part);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package org.aion.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+public class LogIndexTest {
+    private static final byte[] ADDRESS_A = "address-a".getBytes();
+    private static final byte[] ADDRESS_B = "address-b".getBytes();
+    private static final byte[] TOPIC_X = "topic-x".getBytes();
+    private static final byte[] TOPIC_Y = "topic-y".getBytes();
+
+    @Test
+    public void testQueryByAddress() {
+        LogIndex index = new LogIndex(100);
+        Log logA = Log.dataOnly(ADDRESS_A, new byte[0]);
+        Log logB = Log.dataOnly(ADDRESS_B, new byte[0]);
+        index.add(1, 0, resultWithLogs(logA, logB));
+
+        List<LogIndex.Entry> matches = index.query(0, 10, Collections.singletonList(ADDRESS_B), Collections.emptyList());
+        assertEquals(1, matches.size());
+        assertSame(logB, matches.get(0).log);
+        assertEquals(1, matches.get(0).blockNumber);
+        assertEquals(0, matches.get(0).transactionIndex);
+        assertEquals(1, matches.get(0).logIndex);
+    }
+
+    @Test
+    public void testQueryByTopicPosition() {
+        LogIndex index = new LogIndex(100);
+        Log xThenY = Log.topicsAndData(ADDRESS_A, Arrays.asList(TOPIC_X, TOPIC_Y), new byte[0]);
+        Log yThenX = Log.topicsAndData(ADDRESS_A, Arrays.asList(TOPIC_Y, TOPIC_X), new byte[0]);
+        index.add(1, 0, resultWithLogs(xThenY, yThenX));
+
+        List<LogIndex.Entry> matches = index.query(1, 1, Collections.emptyList(), Collections.singletonList(Collections.singletonList(TOPIC_Y)));
+        assertEquals(1, matches.size());
+        assertSame(yThenX, matches.get(0).log);
+
+        // A wildcard first position and a constrained second position.
+        matches = index.query(1, 1, Collections.emptyList(), Arrays.asList(null, Collections.singletonList(TOPIC_Y)));
+        assertEquals(1, matches.size());
+        assertSame(xThenY, matches.get(0).log);
+
+        // An alternative set at one position.
+        matches = index.query(1, 1, Collections.emptyList(), Collections.singletonList(Arrays.asList(TOPIC_X, TOPIC_Y)));
+        assertEquals(2, matches.size());
+    }
+
+    @Test
+    public void testQueryByBlockRange() {
+        LogIndex index = new LogIndex(100);
+        for (long block = 1; block <= 5; block++) {
+            index.add(block, 0, resultWithLogs(Log.dataOnly(ADDRESS_A, new byte[0])));
+        }
+
+        List<LogIndex.Entry> matches = index.query(2, 4, Collections.singletonList(ADDRESS_A), Collections.emptyList());
+        assertEquals(3, matches.size());
+        assertEquals(2, matches.get(0).blockNumber);
+        assertEquals(4, matches.get(2).blockNumber);
+
+        assertTrue(index.query(6, 10, Collections.emptyList(), Collections.emptyList()).isEmpty());
+        assertTrue(index.query(4, 2, Collections.emptyList(), Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void testRetentionWindowEvictsOldBlocks() {
+        LogIndex index = new LogIndex(3);
+        for (long block = 1; block <= 10; block++) {
+            index.add(block, 0, resultWithLogs(Log.topicsAndData(ADDRESS_A, Collections.singletonList(TOPIC_X), new byte[0])));
+        }
+
+        assertEquals(3, index.size());
+        List<LogIndex.Entry> matches = index.query(0, 100, Collections.singletonList(ADDRESS_A), Collections.singletonList(Collections.singletonList(TOPIC_X)));
+        assertEquals(3, matches.size());
+        assertEquals(8, matches.get(0).blockNumber);
+        assertEquals(10, matches.get(2).blockNumber);
+    }
+
+    @Test
+    public void testNoMatchForUnknownKeys() {
+        LogIndex index = new LogIndex(10);
+        index.add(1, 0, resultWithLogs(Log.topicsAndData(ADDRESS_A, Collections.singletonList(TOPIC_X), new byte[0])));
+
+        assertTrue(index.query(0, 10, Collections.singletonList(ADDRESS_B), Collections.emptyList()).isEmpty());
+        assertTrue(index.query(0, 10, Collections.emptyList(), Arrays.asList(null, Collections.singletonList(TOPIC_X))).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBlocksMustNotGoBackwards() {
+        LogIndex index = new LogIndex(10);
+        index.add(5, 0, resultWithLogs(Log.dataOnly(ADDRESS_A, new byte[0])));
+        index.add(4, 0, resultWithLogs(Log.dataOnly(ADDRESS_A, new byte[0])));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveRetention() {
+        new LogIndex(0);
+    }
+
+    @Test
+    public void testMatchesLinearScanOnRandomData() {
+        Random random = new Random(7);
+        byte[][] addresses = { "a0".getBytes(), "a1".getBytes(), "a2".getBytes(), "a3".getBytes() };
+        byte[][] topics = { "t0".getBytes(), "t1".getBytes(), "t2".getBytes() };
+        int retained = 20;
+
+        LogIndex index = new LogIndex(retained);
+        for (long block = 0; block < 60; block++) {
+            for (int transaction = 0; transaction < random.nextInt(3); transaction++) {
+                List<Log> logs = new ArrayList<>();
+                for (int i = 0; i < random.nextInt(4); i++) {
+                    List<byte[]> logTopics = new ArrayList<>();
+                    for (int t = 0; t < random.nextInt(4); t++) {
+                        logTopics.add(topics[random.nextInt(topics.length)]);
+                    }
+                    logs.add(Log.topicsAndData(addresses[random.nextInt(addresses.length)], logTopics, new byte[0]));
+                }
+                index.add(block, transaction, resultWithLogs(logs.toArray(new Log[0])));
+            }
+        }
+
+        for (int query = 0; query < 500; query++) {
+            long from = random.nextInt(70);
+            long to = from + random.nextInt(30);
+            List<byte[]> queryAddresses = new ArrayList<>();
+            if (random.nextBoolean()) {
+                queryAddresses.add(addresses[random.nextInt(addresses.length)]);
+                if (random.nextBoolean()) {
+                    queryAddresses.add(addresses[random.nextInt(addresses.length)]);
+                }
+            }
+            List<List<byte[]>> queryTopics = new ArrayList<>();
+            for (int position = 0; position < random.nextInt(3); position++) {
+                queryTopics.add(random.nextBoolean() ? null : Arrays.asList(topics[random.nextInt(topics.length)], topics[random.nextInt(topics.length)]));
+            }
+
+            List<LogIndex.Entry> everything = index.query(Long.MIN_VALUE, Long.MAX_VALUE, Collections.emptyList(), Collections.emptyList());
+            List<LogIndex.Entry> expected = new ArrayList<>();
+            for (LogIndex.Entry entry : everything) {
+                if (entry.blockNumber >= from && entry.blockNumber <= to && matches(entry.log, queryAddresses, queryTopics)) {
+                    expected.add(entry);
+                }
+            }
+            assertEquals(expected, index.query(from, to, queryAddresses, queryTopics));
+        }
+    }
+
+    private static boolean matches(Log log, List<byte[]> addresses, List<List<byte[]>> topics) {
+        if (!addresses.isEmpty() && addresses.stream().noneMatch(a -> Arrays.equals(a, log.copyOfAddress()))) {
+            return false;
+        }
+        List<byte[]> logTopics = log.copyOfTopics();
+        for (int position = 0; position < topics.size(); position++) {
+            List<byte[]> allowed = topics.get(position);
+            if (allowed == null || allowed.isEmpty()) {
+                continue;
+            }
+            if (position >= logTopics.size()) {
+                return false;
+            }
+            byte[] topic = logTopics.get(position);
+            if (allowed.stream().noneMatch(t -> Arrays.equals(t, topic))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static TransactionResult resultWithLogs(Log... logs) {
+        return new TransactionResult(TransactionStatus.successful(), Arrays.asList(logs), Collections.emptyList(), 0, null);
+    }
+}
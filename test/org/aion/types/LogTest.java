@@ -5,6 +5,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -161,6 +163,23 @@ public class LogTest {
         assertListsEqual(originalTopicList, topicsAndDataLog.copyOfTopics());
     }
 
+    @Test
+    public void testDataView() {
+        Log log = Log.dataOnly(this.address, this.data);
+        ByteBuffer view = log.dataView();
+        assertTrue(view.isReadOnly());
+        assertEquals(ByteBuffer.wrap(this.data), view);
+
+        // Mutating the original input must not be visible through the view.
+        this.data[0] = (byte) ~this.data[0];
+        assertNotEquals(ByteBuffer.wrap(this.data), log.dataView());
+    }
+
+    @Test(expected = ReadOnlyBufferException.class)
+    public void testDataViewIsNotWritable() {
+        Log.dataOnly(this.address, this.data).dataView().put(0, (byte) 1);
+    }
+
     @Test(expected = NullPointerException.class)
     public void testNullAddress() {
         Log.topicsAndData(null, Collections.emptyList(), this.data);
@@ -210,6 +229,35 @@ public class LogTest {
         assertEquals(log1, log2);
     }
 
+    @Test
+    public void testEqualsWithCachedHashCodes() {
+        byte[] topic = randomBytes(32);
+        Log log = Log.topicsAndData(this.address, Collections.singletonList(topic), this.data);
+        Log equalLog = Log.topicsAndData(copyOf(this.address), Collections.singletonList(copyOf(topic)), copyOf(this.data));
+        Log otherLog = Log.topicsAndData(this.address, Collections.singletonList(randomBytes(32)), this.data);
+
+        log.hashCode();
+        assertEquals(log, equalLog);
+        equalLog.hashCode();
+        otherLog.hashCode();
+        assertEquals(log, equalLog);
+        assertNotEquals(log, otherLog);
+    }
+
+    @Test
+    public void testHashCodeDependsOnTopicOrder() {
+        byte[] topic1 = randomBytes(32);
+        byte[] topic2 = randomBytes(32);
+
+        Log log = Log.topicsAndData(this.address, Arrays.asList(topic1, topic2), this.data);
+        Log equalLog = Log.topicsAndData(copyOf(this.address), Arrays.asList(copyOf(topic1), copyOf(topic2)), copyOf(this.data));
+        Log reordered = Log.topicsAndData(this.address, Arrays.asList(topic2, topic1), this.data);
+
+        assertEquals(log.hashCode(), equalLog.hashCode());
+        assertEquals(log.hashCode(), log.hashCode());
+        assertNotEquals(log.hashCode(), reordered.hashCode());
+    }
+
     @Test
     public void testLogsWithSameTopicsDiffOrderEqual() {
         byte[] topic1 = randomBytes(10);
@@ -0,0 +1,163 @@
+package org.aion.types;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.aion.types.internal_util.Blake2b;
+import org.aion.types.test_util.AddressUtil;
+import org.junit.Test;
+
+public class MerkleRootBuilderTest {
+
+    @Test(expected = NullPointerException.class)
+    public void testNullPool() {
+        new MerkleRootBuilder(null);
+    }
+
+    @Test
+    public void testEmptyRoots() {
+        MerkleRootBuilder builder = new MerkleRootBuilder();
+        byte[] empty = Blake2b.hash256(new byte[0]);
+        assertEquals(0, builder.size());
+        assertArrayEquals(empty, builder.transactionsRoot());
+        assertArrayEquals(empty, builder.receiptsRoot());
+    }
+
+    @Test
+    public void testSingleLeaf() {
+        Random random = new Random(1);
+        Transaction transaction = newTransaction(random);
+        TransactionResult result = newResult(random);
+
+        MerkleRootBuilder builder = new MerkleRootBuilder();
+        builder.append(transaction, result);
+        assertArrayEquals(leafNode(TransactionHasher.forCurrentThread().hash(transaction)), builder.transactionsRoot());
+        assertArrayEquals(leafNode(Blake2b.hash256(TransactionResultCodec.encode(result))), builder.receiptsRoot());
+    }
+
+    @Test
+    public void testIncrementalRootsMatchReference() {
+        Random random = new Random(2);
+        List<byte[]> transactionLeaves = new ArrayList<>();
+        List<byte[]> receiptLeaves = new ArrayList<>();
+        MerkleRootBuilder builder = new MerkleRootBuilder();
+        for (int i = 0; i < 70; i++) {
+            Transaction transaction = newTransaction(random);
+            TransactionResult result = newResult(random);
+            transactionLeaves.add(TransactionHasher.forCurrentThread().hash(transaction));
+            receiptLeaves.add(Blake2b.hash256(TransactionResultCodec.encode(result)));
+
+            builder.append(transaction, result);
+            assertEquals(i + 1, builder.size());
+            assertArrayEquals(referenceRoot(transactionLeaves), builder.transactionsRoot());
+            assertArrayEquals(referenceRoot(receiptLeaves), builder.receiptsRoot());
+        }
+    }
+
+    @Test
+    public void testAppendAllMatchesAppend() {
+        Random random = new Random(3);
+        List<Transaction> transactions = new ArrayList<>();
+        List<TransactionResult> results = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            transactions.add(newTransaction(random));
+            results.add(newResult(random));
+        }
+
+        MerkleRootBuilder sequential = new MerkleRootBuilder();
+        for (int i = 0; i < transactions.size(); i++) {
+            sequential.append(transactions.get(i), results.get(i));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MerkleRootBuilder parallel = new MerkleRootBuilder(pool);
+            parallel.append(transactions.get(0), results.get(0));
+            parallel.appendAll(transactions.subList(1, 300), results.subList(1, 300));
+            parallel.appendAll(transactions.subList(300, 1_000), results.subList(300, 1_000));
+            assertEquals(1_000, parallel.size());
+            assertArrayEquals(sequential.transactionsRoot(), parallel.transactionsRoot());
+            assertArrayEquals(sequential.receiptsRoot(), parallel.receiptsRoot());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testRootDependsOnOrder() {
+        Random random = new Random(4);
+        Transaction first = newTransaction(random);
+        Transaction second = newTransaction(random);
+        TransactionResult result = newResult(random);
+
+        MerkleRootBuilder forward = new MerkleRootBuilder();
+        forward.appendAll(Arrays.asList(first, second), Arrays.asList(result, result));
+        MerkleRootBuilder backward = new MerkleRootBuilder();
+        backward.appendAll(Arrays.asList(second, first), Arrays.asList(result, result));
+        assertEquals(false, Arrays.equals(forward.transactionsRoot(), backward.transactionsRoot()));
+        assertArrayEquals(forward.receiptsRoot(), backward.receiptsRoot());
+    }
+
+    @Test
+    public void testClear() {
+        Random random = new Random(5);
+        MerkleRootBuilder builder = new MerkleRootBuilder();
+        builder.append(newTransaction(random), newResult(random));
+        builder.append(newTransaction(random), newResult(random));
+        builder.clear();
+        assertEquals(0, builder.size());
+        assertArrayEquals(Blake2b.hash256(new byte[0]), builder.transactionsRoot());
+
+        Transaction transaction = newTransaction(random);
+        builder.append(transaction, newResult(random));
+        assertArrayEquals(leafNode(TransactionHasher.forCurrentThread().hash(transaction)), builder.transactionsRoot());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAppendAllWithMismatchedResults() {
+        new MerkleRootBuilder().appendAll(Collections.singletonList(newTransaction(new Random(6))), Collections.emptyList());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testAppendNullResult() {
+        new MerkleRootBuilder().append(newTransaction(new Random(7)), null);
+    }
+
+    // The RFC 6962 tree hash, computed directly from its recursive definition.
+    private static byte[] referenceRoot(List<byte[]> leaves) {
+        if (leaves.isEmpty()) {
+            return Blake2b.hash256(new byte[0]);
+        }
+        if (leaves.size() == 1) {
+            return leafNode(leaves.get(0));
+        }
+        int split = Integer.highestOneBit(leaves.size() - 1);
+        byte[] left = referenceRoot(leaves.subList(0, split));
+        byte[] right = referenceRoot(leaves.subList(split, leaves.size()));
+        return new Blake2b().update((byte) 1).update(left, 0, left.length).update(right, 0, right.length).digest();
+    }
+
+    private static byte[] leafNode(byte[] leaf) {
+        return new Blake2b().update((byte) 0).update(leaf, 0, leaf.length).digest();
+    }
+
+    private static Transaction newTransaction(Random random) {
+        byte[] data = new byte[random.nextInt(300)];
+        random.nextBytes(data);
+        return Transaction.contractCallTransaction(AddressUtil.randomAddress(), AddressUtil.randomAddress(), new byte[0], BigInteger.valueOf(random.nextInt(1_000)), BigInteger.valueOf(random.nextInt(1_000_000)), data, 21_000L, 10_000_000_000L);
+    }
+
+    private static TransactionResult newResult(Random random) {
+        byte[] output = new byte[random.nextInt(100)];
+        random.nextBytes(output);
+        TransactionStatus status = random.nextBoolean() ? TransactionStatus.successful() : TransactionStatus.revertedFailure();
+        return new TransactionResult(status, Collections.emptyList(), Collections.emptyList(), 21_000L + random.nextInt(100_000), output);
+    }
+}
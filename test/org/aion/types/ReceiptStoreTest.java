@@ -0,0 +1,116 @@
+package org.aion.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ReceiptStoreTest {
+    private static final int SEGMENT_SIZE = 4096;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Random random = new Random(42);
+
+    @Test(expected = NullPointerException.class)
+    public void testOpenNullDirectory() throws IOException {
+        ReceiptStore.open(null, SEGMENT_SIZE);
+    }
+
+    @Test
+    public void testPutAndGet() throws IOException {
+        try (ReceiptStore store = ReceiptStore.open(folder.getRoot().toPath(), SEGMENT_SIZE)) {
+            byte[] hash = TransactionResultCodecTest.randomBytes(random, 32);
+            TransactionResult result = TransactionResultCodecTest.newResult(random);
+
+            assertTrue(store.put(hash, result));
+            assertFalse(store.put(hash.clone(), result));
+            assertEquals(1, store.size());
+            assertTrue(store.contains(hash));
+
+            EncodedTransactionResult receipt = store.get(hash);
+            assertEquals(result.transactionStatus, receipt.transactionStatus());
+            assertEquals(result.energyUsed, receipt.energyUsed());
+            assertEquals(result, receipt.toTransactionResult());
+
+            assertNull(store.get(new byte[32]));
+            assertFalse(store.contains(new byte[32]));
+        }
+    }
+
+    @Test
+    public void testPutBlockAndReopen() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        List<byte[]> hashes = new ArrayList<>();
+        List<TransactionResult> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            hashes.add(TransactionResultCodecTest.randomBytes(random, 32));
+            results.add(TransactionResultCodecTest.newResult(random));
+        }
+
+        try (ReceiptStore store = ReceiptStore.open(directory, SEGMENT_SIZE)) {
+            assertEquals(50, store.putBlock(hashes, results));
+            assertEquals(0, store.putBlock(hashes, results));
+            assertTrue(store.segmentCount() > 1);
+        }
+
+        try (ReceiptStore store = ReceiptStore.open(directory, SEGMENT_SIZE)) {
+            assertEquals(50, store.size());
+            for (int i = 0; i < 50; i++) {
+                assertEquals(results.get(i), store.get(hashes.get(i)).toTransactionResult());
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPutBlockWithMismatchedSizes() throws IOException {
+        try (ReceiptStore store = ReceiptStore.open(folder.getRoot().toPath(), SEGMENT_SIZE)) {
+            store.putBlock(Arrays.asList(new byte[32], new byte[32]), Arrays.asList(TransactionResultCodecTest.newResult(random)));
+        }
+    }
+
+    @Test
+    public void testPutBlockWithNullEntryWritesNothing() throws IOException {
+        try (ReceiptStore store = ReceiptStore.open(folder.getRoot().toPath(), SEGMENT_SIZE)) {
+            try {
+                store.putBlock(Arrays.asList(new byte[32], null), Arrays.asList(TransactionResultCodecTest.newResult(random), TransactionResultCodecTest.newResult(random)));
+                throw new AssertionError("Expected a NullPointerException");
+            } catch (NullPointerException e) {
+                assertEquals(0, store.size());
+            }
+        }
+    }
+
+    @Test
+    public void testCorruptReceiptIsDiscardedOnRecovery() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        byte[] hash = TransactionResultCodecTest.randomBytes(random, 32);
+        try (ReceiptStore store = ReceiptStore.open(directory, SEGMENT_SIZE)) {
+            store.put(hash, TransactionResultCodecTest.newResult(random));
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("00000000.receipts").toFile(), "rw")) {
+            file.seek(20);
+            int b = file.read();
+            file.seek(20);
+            file.write(b ^ 0x1);
+        }
+
+        try (ReceiptStore store = ReceiptStore.open(directory, SEGMENT_SIZE)) {
+            assertEquals(0, store.size());
+            assertNull(store.get(hash));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.aion.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.aion.types.test_util.AddressUtil;
+import org.junit.Test;
+
+public class TransactionBatchTest {
+
+    @Test
+    public void testRowsMatchTransactions() {
+        List<Transaction> transactions = randomTransactions(100);
+        TransactionBatch batch = TransactionBatch.of(transactions);
+
+        assertEquals(transactions.size(), batch.size());
+        for (int row = 0; row < transactions.size(); row++) {
+            Transaction transaction = transactions.get(row);
+            assertEquals(transaction.senderAddress, batch.senderAddress(row));
+            assertEquals(transaction.destinationAddress, batch.destinationAddress(row));
+            assertEquals(transaction.isCreate, batch.isCreate(row));
+            assertEquals(transaction.nonce, batch.nonce(row));
+            assertEquals(transaction.value, batch.value(row));
+            assertEquals(transaction.energyLimit, batch.energyLimit(row));
+            assertEquals(transaction.energyPrice, batch.energyPrice(row));
+            assertEquals(transaction.transactionHashView(), batch.transactionHashView(row));
+            assertEquals(transaction.transactionDataView(), batch.transactionDataView(row));
+            assertTrue(batch.isSender(row, transaction.senderAddress));
+            assertEquals(!transaction.isCreate, transaction.isCreate ? batch.isDestination(row, transaction.senderAddress) : batch.isDestination(row, transaction.destinationAddress));
+            assertEquals(transaction, batch.transaction(row));
+        }
+    }
+
+    @Test
+    public void testCreateRowHasNoDestination() {
+        AionAddress sender = AddressUtil.randomAddress();
+        Transaction create = Transaction.contractCreateTransaction(sender, new byte[32], BigInteger.ONE, BigInteger.ZERO, new byte[10], 1L, 1L);
+        TransactionBatch batch = TransactionBatch.of(Collections.singletonList(create));
+
+        assertTrue(batch.isCreate(0));
+        assertNull(batch.destinationAddress(0));
+        assertFalse(batch.isDestination(0, sender));
+    }
+
+    @Test
+    public void testValuesBeyondLong() {
+        BigInteger bigNonce = BigInteger.ONE.shiftLeft(64);
+        BigInteger bigValue = BigInteger.ONE.shiftLeft(127);
+        Transaction big = Transaction.contractCallTransaction(AddressUtil.randomAddress(), AddressUtil.randomAddress(), new byte[32], bigNonce, bigValue, new byte[0], 1L, 1L);
+        Transaction small = Transaction.contractCallTransaction(AddressUtil.randomAddress(), AddressUtil.randomAddress(), new byte[32], BigInteger.TEN, BigInteger.ONE, new byte[0], 1L, 1L);
+        List<Transaction> transactions = new ArrayList<>();
+        transactions.add(big);
+        transactions.add(small);
+        TransactionBatch batch = TransactionBatch.of(transactions);
+
+        assertEquals(bigNonce, batch.nonce(0));
+        assertEquals(bigValue, batch.value(0));
+        assertEquals(10L, batch.nonceAsLong(1));
+        assertEquals(1L, batch.valueAsLong(1));
+        assertEquals(big, batch.transaction(0));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testNonceAsLongOverflow() {
+        Transaction big = Transaction.contractCallTransaction(AddressUtil.randomAddress(), AddressUtil.randomAddress(), new byte[32], BigInteger.ONE.shiftLeft(64), BigInteger.ONE, new byte[0], 1L, 1L);
+        TransactionBatch.of(Collections.singletonList(big)).nonceAsLong(0);
+    }
+
+    @Test
+    public void testBuilderFromEncodedTransactions() {
+        List<Transaction> transactions = randomTransactions(20);
+        TransactionBatch.Builder builder = new TransactionBatch.Builder(1);
+        for (Transaction transaction : transactions) {
+            builder.add(EncodedTransaction.wrap(TransactionCodec.encode(transaction)));
+        }
+        TransactionBatch batch = builder.build();
+
+        assertEquals(transactions.size(), batch.size());
+        for (int row = 0; row < transactions.size(); row++) {
+            assertEquals(transactions.get(row), batch.transaction(row));
+        }
+    }
+
+    @Test
+    public void testViewsAreReadOnly() {
+        TransactionBatch batch = TransactionBatch.of(randomTransactions(3));
+        ByteBuffer view = batch.transactionDataView(1);
+        assertTrue(view.isReadOnly());
+        assertEquals(0, view.position());
+    }
+
+    @Test
+    public void testTotalEnergyLimit() {
+        List<Transaction> transactions = randomTransactions(10);
+        long expected = 0;
+        for (Transaction transaction : transactions) {
+            expected += transaction.energyLimit;
+        }
+        assertEquals(expected, TransactionBatch.of(transactions).totalEnergyLimit());
+    }
+
+    @Test
+    public void testEmptyBatch() {
+        TransactionBatch batch = TransactionBatch.of(Collections.emptyList());
+        assertEquals(0, batch.size());
+        assertEquals(0, batch.totalEnergyLimit());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testRowOutOfBounds() {
+        TransactionBatch.of(randomTransactions(2)).energyPrice(2);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullTransaction() {
+        TransactionBatch.of(Collections.singletonList(null));
+    }
+
+    private static List<Transaction> randomTransactions(int count) {
+        Random random = new Random(11);
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            byte[] hash = new byte[32];
+            random.nextBytes(hash);
+            byte[] data = new byte[random.nextInt(200)];
+            random.nextBytes(data);
+            BigInteger nonce = BigInteger.valueOf(random.nextInt(1_000));
+            BigInteger value = BigInteger.valueOf(random.nextLong() >>> 1);
+            long energyLimit = random.nextInt(5_000_000);
+            long energyPrice = 1 + random.nextInt(100);
+            transactions.add(random.nextInt(5) == 0
+                ? Transaction.contractCreateTransaction(AddressUtil.randomAddress(), hash, nonce, value, data, energyLimit, energyPrice)
+                : Transaction.contractCallTransaction(AddressUtil.randomAddress(), AddressUtil.randomAddress(), hash, nonce, value, data, energyLimit, energyPrice));
+        }
+        return transactions;
+    }
+}
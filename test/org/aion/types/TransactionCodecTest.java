@@ -0,0 +1,255 @@
+package org.aion.types;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import org.aion.types.InternalTransaction.RejectedStatus;
+import org.aion.types.test_util.AddressUtil;
+import org.junit.Test;
+
+public class TransactionCodecTest {
+    private static final AionAddress SENDER = AddressUtil.randomAddress();
+    private static final AionAddress DESTINATION = AddressUtil.randomAddress();
+    private static final byte[] HASH = randomBytes(32);
+    private static final byte[] DATA = randomBytes(100);
+
+    @Test
+    public void testCallTransactionRoundTrip() {
+        Transaction transaction = Transaction.contractCallTransaction(SENDER, DESTINATION, HASH, BigInteger.valueOf(7), BigInteger.valueOf(1_000_000_000_000L), DATA, 2_000_000L, 10_000_000_000L);
+        assertRoundTrip(transaction);
+    }
+
+    @Test
+    public void testCreateTransactionRoundTrip() {
+        Transaction transaction = Transaction.contractCreateTransaction(SENDER, HASH, BigInteger.ZERO, BigInteger.ZERO, DATA, 5_000_000L, 1L);
+        assertRoundTrip(transaction);
+    }
+
+    @Test
+    public void testTransactionWithEmptyArraysAndZeroes() {
+        Transaction transaction = Transaction.contractCallTransaction(SENDER, DESTINATION, new byte[0], BigInteger.ZERO, BigInteger.ZERO, new byte[0], 0L, 0L);
+        assertRoundTrip(transaction);
+    }
+
+    @Test
+    public void testTransactionWithValuesBeyondLong() {
+        BigInteger huge = BigInteger.ONE.shiftLeft(128).subtract(BigInteger.ONE);
+        BigInteger justOverLong = BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE);
+        Transaction transaction = Transaction.contractCallTransaction(SENDER, DESTINATION, HASH, justOverLong, huge, DATA, Long.MAX_VALUE, Long.MAX_VALUE);
+        assertRoundTrip(transaction);
+    }
+
+    @Test
+    public void testTransactionWithLargestEncodableValues() {
+        BigInteger largest = BigInteger.ONE.shiftLeft(259).subtract(BigInteger.ONE);
+        Transaction transaction = Transaction.contractCallTransaction(SENDER, DESTINATION, HASH, largest, largest, DATA, 1L, 1L);
+        assertRoundTrip(transaction);
+    }
+
+    @Test
+    public void testValuesTooLongToDecodeAreRejectedByEncode() {
+        BigInteger tooLarge = BigInteger.ONE.shiftLeft(300);
+        Transaction transaction = Transaction.contractCallTransaction(SENDER, DESTINATION, HASH, BigInteger.ONE, tooLarge, DATA, 1L, 1L);
+        InternalTransaction internal = InternalTransaction.contractCreateTransaction(RejectedStatus.NOT_REJECTED, SENDER, tooLarge, BigInteger.ONE, DATA, 1L, 1L);
+
+        assertEncodeRejected(() -> TransactionCodec.encodedLength(transaction));
+        assertEncodeRejected(() -> TransactionCodec.encode(transaction));
+        assertEncodeRejected(() -> TransactionCodec.encodedLength(internal));
+        assertEncodeRejected(() -> TransactionCodec.encode(internal));
+
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        assertEncodeRejected(() -> TransactionCodec.encode(transaction, buffer));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void testTransactionWithLargeData() {
+        Transaction transaction = Transaction.contractCreateTransaction(SENDER, HASH, BigInteger.ONE, BigInteger.ONE, randomBytes(300_000), 5_000_000L, 1L);
+        assertRoundTrip(transaction);
+    }
+
+    @Test
+    public void testSmallFieldsAreEncodedCompactly() {
+        Transaction transaction = Transaction.contractCallTransaction(SENDER, DESTINATION, new byte[0], BigInteger.ONE, BigInteger.ZERO, new byte[0], 100L, 1L);
+        // version + type + body length + flags + 2 addresses + 4 one-byte varints + 2 one-byte lengths
+        assertEquals(2 + 1 + 1 + 64 + 4 + 2, TransactionCodec.encode(transaction).length);
+    }
+
+    @Test
+    public void testInternalCallTransactionRoundTrip() {
+        InternalTransaction transaction = InternalTransaction.contractCallTransaction(RejectedStatus.NOT_REJECTED, SENDER, DESTINATION, BigInteger.TEN, BigInteger.ONE, DATA, 21_000L, 1L);
+        assertRoundTrip(transaction);
+    }
+
+    @Test
+    public void testInternalRejectedCreateTransactionRoundTrip() {
+        InternalTransaction transaction = InternalTransaction.contractCreateTransaction(RejectedStatus.REJECTED, SENDER, BigInteger.TEN, BigInteger.ONE, DATA, 21_000L, 1L);
+        assertRoundTrip(transaction);
+    }
+
+    @Test
+    public void testInternalInvokableTransactionsRoundTrip() {
+        InternalTransaction call = InternalTransaction.contractCallInvokableTransaction(RejectedStatus.NOT_REJECTED, SENDER, DESTINATION, BigInteger.TEN, BigInteger.ONE, DATA, 21_000L, 1L, HASH);
+        InternalTransaction create = InternalTransaction.contractCreateInvokableTransaction(RejectedStatus.NOT_REJECTED, SENDER, BigInteger.TEN, BigInteger.ONE, DATA, 21_000L, 1L, HASH);
+        assertRoundTrip(call);
+        assertRoundTrip(create);
+        assertArrayEquals(HASH, TransactionCodec.decodeInternalTransaction(TransactionCodec.encode(call)).copyOfInvokableHash());
+    }
+
+    @Test
+    public void testInternalNonInvokableHasNoHash() {
+        InternalTransaction transaction = InternalTransaction.contractCallTransaction(RejectedStatus.NOT_REJECTED, SENDER, DESTINATION, BigInteger.TEN, BigInteger.ONE, DATA, 21_000L, 1L);
+        assertNull(TransactionCodec.decodeInternalTransaction(TransactionCodec.encode(transaction)).copyOfInvokableHash());
+    }
+
+    @Test
+    public void testConsecutiveRecordsInOneBuffer() {
+        Transaction first = Transaction.contractCallTransaction(SENDER, DESTINATION, HASH, BigInteger.ONE, BigInteger.ONE, DATA, 1L, 1L);
+        InternalTransaction second = InternalTransaction.contractCreateTransaction(RejectedStatus.NOT_REJECTED, SENDER, BigInteger.TEN, BigInteger.ONE, DATA, 21_000L, 1L);
+        Transaction third = Transaction.contractCreateTransaction(SENDER, HASH, BigInteger.TWO, BigInteger.ZERO, new byte[0], 1L, 1L);
+
+        ByteBuffer buffer = ByteBuffer.allocate(TransactionCodec.encodedLength(first) + TransactionCodec.encodedLength(second) + TransactionCodec.encodedLength(third));
+        TransactionCodec.encode(first, buffer);
+        TransactionCodec.encode(second, buffer);
+        TransactionCodec.encode(third, buffer);
+        assertEquals(0, buffer.remaining());
+
+        buffer.flip();
+        assertEquals(first, TransactionCodec.decodeTransaction(buffer));
+        assertEquals(second, TransactionCodec.decodeInternalTransaction(buffer));
+        assertEquals(third, TransactionCodec.decodeTransaction(buffer));
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    public void testByteOrderOfBufferIsIgnored() {
+        Transaction transaction = Transaction.contractCallTransaction(SENDER, DESTINATION, HASH, BigInteger.ONE, BigInteger.ONE, DATA, 1L, 1L);
+        ByteBuffer buffer = ByteBuffer.allocate(TransactionCodec.encodedLength(transaction)).order(ByteOrder.LITTLE_ENDIAN);
+        TransactionCodec.encode(transaction, buffer);
+        assertArrayEquals(TransactionCodec.encode(transaction), buffer.array());
+
+        buffer.flip();
+        assertEquals(transaction, TransactionCodec.decodeTransaction(buffer));
+    }
+
+    @Test
+    public void testEncodeToStream() throws IOException {
+        Transaction transaction = Transaction.contractCallTransaction(SENDER, DESTINATION, HASH, BigInteger.ONE, BigInteger.ONE, DATA, 1L, 1L);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        TransactionCodec.encode(transaction, stream);
+        assertArrayEquals(TransactionCodec.encode(transaction), stream.toByteArray());
+    }
+
+    @Test
+    public void testEncodeIntoTooSmallBufferWritesNothing() {
+        Transaction transaction = Transaction.contractCallTransaction(SENDER, DESTINATION, HASH, BigInteger.ONE, BigInteger.ONE, DATA, 1L, 1L);
+        ByteBuffer buffer = ByteBuffer.allocate(TransactionCodec.encodedLength(transaction) - 1);
+        try {
+            TransactionCodec.encode(transaction, buffer);
+        } catch (BufferOverflowException e) {
+            assertEquals(0, buffer.position());
+            return;
+        }
+        throw new AssertionError("Expected BufferOverflowException");
+    }
+
+    @Test
+    public void testEveryTruncationIsRejected() {
+        Transaction transaction = Transaction.contractCallTransaction(SENDER, DESTINATION, HASH, BigInteger.ONE, BigInteger.ONE, DATA, 1L, 1L);
+        byte[] encoding = TransactionCodec.encode(transaction);
+        for (int length = 0; length < encoding.length; length++) {
+            byte[] truncated = new byte[length];
+            System.arraycopy(encoding, 0, truncated, 0, length);
+            try {
+                TransactionCodec.decodeTransaction(truncated);
+                throw new AssertionError("Decoded a truncation of length " + length);
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testFailedDecodeRestoresLimit() {
+        Transaction transaction = Transaction.contractCallTransaction(SENDER, DESTINATION, HASH, BigInteger.ONE, BigInteger.ONE, DATA, 1L, 1L);
+        byte[] encoding = TransactionCodec.encode(transaction);
+        // Corrupt the data length so it runs past the body.
+        encoding[encoding.length - DATA.length - 1] = (byte) 0x7F;
+        ByteBuffer buffer = ByteBuffer.wrap(encoding);
+        try {
+            TransactionCodec.decodeTransaction(buffer);
+            throw new AssertionError("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals(encoding.length, buffer.limit());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTrailingBytesRejected() {
+        Transaction transaction = Transaction.contractCallTransaction(SENDER, DESTINATION, HASH, BigInteger.ONE, BigInteger.ONE, DATA, 1L, 1L);
+        byte[] encoding = TransactionCodec.encode(transaction);
+        byte[] padded = new byte[encoding.length + 1];
+        System.arraycopy(encoding, 0, padded, 0, encoding.length);
+        TransactionCodec.decodeTransaction(padded);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedVersionRejected() {
+        byte[] encoding = TransactionCodec.encode(Transaction.contractCreateTransaction(SENDER, HASH, BigInteger.ONE, BigInteger.ONE, DATA, 1L, 1L));
+        encoding[0] = 2;
+        TransactionCodec.decodeTransaction(encoding);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongRecordTypeRejected() {
+        byte[] encoding = TransactionCodec.encode(Transaction.contractCreateTransaction(SENDER, HASH, BigInteger.ONE, BigInteger.ONE, DATA, 1L, 1L));
+        TransactionCodec.decodeInternalTransaction(encoding);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidInternalFieldsRejected() {
+        InternalTransaction transaction = InternalTransaction.contractCreateTransaction(RejectedStatus.NOT_REJECTED, SENDER, BigInteger.TEN, BigInteger.ONE, new byte[0], 21_000L, 1L);
+        byte[] encoding = TransactionCodec.encode(transaction);
+        // The energy price is the last varint before the empty data's length; zero is not allowed.
+        encoding[encoding.length - 2] = 0;
+        TransactionCodec.decodeInternalTransaction(encoding);
+    }
+
+    private static void assertRoundTrip(Transaction transaction) {
+        byte[] encoding = TransactionCodec.encode(transaction);
+        assertEquals(TransactionCodec.encodedLength(transaction), encoding.length);
+        Transaction decoded = TransactionCodec.decodeTransaction(encoding);
+        assertEquals(transaction, decoded);
+        assertArrayEquals(transaction.copyOfTransactionHash(), decoded.copyOfTransactionHash());
+        assertArrayEquals(transaction.copyOfTransactionData(), decoded.copyOfTransactionData());
+    }
+
+    private static void assertRoundTrip(InternalTransaction transaction) {
+        byte[] encoding = TransactionCodec.encode(transaction);
+        assertEquals(TransactionCodec.encodedLength(transaction), encoding.length);
+        assertEquals(transaction, TransactionCodec.decodeInternalTransaction(encoding));
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] randomBytes = new byte[size];
+        new Random().nextBytes(randomBytes);
+        return randomBytes;
+    }
+
+    private static void assertEncodeRejected(Runnable encode) {
+        try {
+            encode.run();
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        throw new AssertionError("Expected an IllegalArgumentException");
+    }
+}
@@ -0,0 +1,193 @@
+package org.aion.types;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.aion.types.InternalTransaction.RejectedStatus;
+import org.aion.types.internal_util.Blake2b;
+import org.aion.types.test_util.AddressUtil;
+import org.junit.Test;
+
+public class TransactionHasherTest {
+
+    @Test
+    public void testTransactionHashIsHashOfEncodingWithoutHash() {
+        Random random = new Random(1);
+        for (int i = 0; i < 50; i++) {
+            Transaction transaction = newTransaction(random, i % 2 == 0, randomBytes(random, 32));
+            Transaction withoutHash = newTransaction(transaction, new byte[0]);
+
+            byte[] expected = Blake2b.hash256(TransactionCodec.encode(withoutHash));
+            assertArrayEquals(expected, new TransactionHasher().hash(transaction));
+            assertArrayEquals(expected, TransactionHasher.forCurrentThread().hash(withoutHash));
+        }
+    }
+
+    @Test
+    public void testTransactionHashIgnoresCarriedHash() {
+        Random random = new Random(2);
+        Transaction transaction = newTransaction(random, false, randomBytes(random, 32));
+        Transaction other = newTransaction(transaction, randomBytes(random, 7));
+
+        TransactionHasher hasher = new TransactionHasher();
+        assertArrayEquals(hasher.hash(transaction), hasher.hash(other));
+    }
+
+    @Test
+    public void testLargeDataAndBigValues() {
+        Random random = new Random(3);
+        Transaction transaction = Transaction.contractCreateTransaction(AddressUtil.randomAddress(), new byte[0], BigInteger.ONE.shiftLeft(250), BigInteger.ONE.shiftLeft(255), randomBytes(random, 100_000), Long.MAX_VALUE, Long.MAX_VALUE);
+
+        assertArrayEquals(Blake2b.hash256(TransactionCodec.encode(transaction)), new TransactionHasher().hash(transaction));
+    }
+
+    @Test
+    public void testValuesTooLongToEncodeAreRejected() {
+        BigInteger huge = BigInteger.ONE.shiftLeft(1000);
+        Transaction transaction = Transaction.contractCallTransaction(AddressUtil.randomAddress(), AddressUtil.randomAddress(), new byte[0], huge, huge, new byte[0], 1L, 1L);
+        InternalTransaction internalTransaction = InternalTransaction.contractCallTransaction(RejectedStatus.NOT_REJECTED, AddressUtil.randomAddress(), AddressUtil.randomAddress(), huge, huge, new byte[0], 1L, 1L);
+        TransactionHasher hasher = new TransactionHasher();
+
+        assertRejected(() -> hasher.hash(transaction));
+        assertRejected(() -> hasher.hash(internalTransaction));
+        assertRejected(() -> TransactionHasher.withCanonicalHash(transaction));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertRejected(() -> TransactionHasher.hashAll(Collections.nCopies(200, transaction), pool));
+        } finally {
+            pool.shutdown();
+        }
+
+        // The hasher is still usable afterwards.
+        Transaction small = Transaction.contractCallTransaction(transaction.senderAddress, transaction.destinationAddress, new byte[0], BigInteger.ONE, BigInteger.ONE, new byte[0], 1L, 1L);
+        assertArrayEquals(Blake2b.hash256(TransactionCodec.encode(small)), hasher.hash(small));
+    }
+
+    @Test
+    public void testInternalTransactionHashIsHashOfEncoding() {
+        Random random = new Random(4);
+        List<InternalTransaction> transactions = Arrays.asList(
+            InternalTransaction.contractCallTransaction(RejectedStatus.NOT_REJECTED, AddressUtil.randomAddress(), AddressUtil.randomAddress(), BigInteger.ONE, BigInteger.TEN, randomBytes(random, 300), 50_000L, 1L),
+            InternalTransaction.contractCreateInvokableTransaction(RejectedStatus.REJECTED, AddressUtil.randomAddress(), BigInteger.TWO, BigInteger.ZERO, randomBytes(random, 5), 60_000L, 1L, randomBytes(random, 200)));
+
+        TransactionHasher hasher = new TransactionHasher();
+        for (InternalTransaction transaction : transactions) {
+            assertArrayEquals(Blake2b.hash256(TransactionCodec.encode(transaction)), hasher.hash(transaction));
+        }
+    }
+
+    @Test
+    public void testHashIntoArray() {
+        Random random = new Random(5);
+        Transaction transaction = newTransaction(random, true, new byte[0]);
+        byte[] out = new byte[TransactionHasher.HASH_LENGTH + 10];
+
+        new TransactionHasher().hash(transaction, out, 5);
+        assertArrayEquals(new TransactionHasher().hash(transaction), Arrays.copyOfRange(out, 5, 5 + TransactionHasher.HASH_LENGTH));
+        assertEquals(0, out[4]);
+        assertEquals(0, out[5 + TransactionHasher.HASH_LENGTH]);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testHashIntoTooSmallArray() {
+        new TransactionHasher().hash(newTransaction(new Random(6), true, new byte[0]), new byte[TransactionHasher.HASH_LENGTH], 1);
+    }
+
+    @Test
+    public void testHashAllMatchesSingleHashes() {
+        Random random = new Random(7);
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            transactions.add(newTransaction(random, random.nextBoolean(), randomBytes(random, 32)));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            byte[] hashes = TransactionHasher.hashAll(transactions, pool);
+            assertEquals(transactions.size() * TransactionHasher.HASH_LENGTH, hashes.length);
+            TransactionHasher hasher = new TransactionHasher();
+            for (int i = 0; i < transactions.size(); i++) {
+                assertArrayEquals(hasher.hash(transactions.get(i)), Arrays.copyOfRange(hashes, i * TransactionHasher.HASH_LENGTH, (i + 1) * TransactionHasher.HASH_LENGTH));
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(0, TransactionHasher.hashAll(Collections.emptyList()).length);
+    }
+
+    @Test
+    public void testWithCanonicalHash() {
+        Random random = new Random(8);
+        Transaction transaction = newTransaction(random, false, new byte[0]);
+
+        Transaction hashed = TransactionHasher.withCanonicalHash(transaction);
+        assertArrayEquals(TransactionHasher.forCurrentThread().hash(transaction), hashed.copyOfTransactionHash());
+        assertEquals(newTransaction(transaction, hashed.copyOfTransactionHash()), hashed);
+    }
+
+    @Test
+    public void testForCurrentThreadIsReused() {
+        assertSame(TransactionHasher.forCurrentThread(), TransactionHasher.forCurrentThread());
+        assertNotSame(TransactionHasher.forCurrentThread(), new TransactionHasher());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testHashNullTransaction() {
+        new TransactionHasher().hash((Transaction) null);
+    }
+
+    @Test
+    public void testResultHashIsHashOfEncoding() {
+        Random random = new Random(9);
+        TransactionHasher hasher = new TransactionHasher();
+        for (int size : new int[] {0, 10, 5_000, 20}) {
+            byte[] output = randomBytes(random, size);
+            TransactionResult result = new TransactionResult(TransactionStatus.successful(), Collections.emptyList(), Collections.emptyList(), 21_000L, output);
+            assertArrayEquals(Blake2b.hash256(TransactionResultCodec.encode(result)), hasher.hash(result));
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testHashAllContainingNull() {
+        TransactionHasher.hashAll(Collections.singletonList(null));
+    }
+
+    private static Transaction newTransaction(Random random, boolean isCreate, byte[] hash) {
+        byte[] data = randomBytes(random, random.nextInt(400));
+        BigInteger nonce = BigInteger.valueOf(random.nextInt(1_000));
+        BigInteger value = new BigInteger(random.nextInt(128) + 1, random);
+        return isCreate
+            ? Transaction.contractCreateTransaction(AddressUtil.randomAddress(), hash, nonce, value, data, 2_000_000L, 10_000_000_000L)
+            : Transaction.contractCallTransaction(AddressUtil.randomAddress(), AddressUtil.randomAddress(), hash, nonce, value, data, 21_000L, 10_000_000_000L);
+    }
+
+    private static Transaction newTransaction(Transaction transaction, byte[] hash) {
+        return transaction.isCreate
+            ? Transaction.contractCreateTransaction(transaction.senderAddress, hash, transaction.nonce, transaction.value, transaction.copyOfTransactionData(), transaction.energyLimit, transaction.energyPrice)
+            : Transaction.contractCallTransaction(transaction.senderAddress, transaction.destinationAddress, hash, transaction.nonce, transaction.value, transaction.copyOfTransactionData(), transaction.energyLimit, transaction.energyPrice);
+    }
+
+    private static void assertRejected(Runnable hash) {
+        try {
+            hash.run();
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        throw new AssertionError("Expected an IllegalArgumentException");
+    }
+
+    private static byte[] randomBytes(Random random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
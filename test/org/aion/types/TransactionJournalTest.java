@@ -0,0 +1,292 @@
+package org.aion.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import org.aion.types.test_util.AddressUtil;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TransactionJournalTest {
+    private static final int SEGMENT_SIZE = 1024;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Random random = new Random(42);
+
+    @Test(expected = NullPointerException.class)
+    public void testOpenNullDirectory() throws IOException {
+        TransactionJournal.open(null, SEGMENT_SIZE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSegmentTooSmall() throws IOException {
+        TransactionJournal.open(folder.getRoot().toPath(), 255);
+    }
+
+    @Test
+    public void testAppendAndGet() throws IOException {
+        try (TransactionJournal journal = TransactionJournal.open(folder.getRoot().toPath(), SEGMENT_SIZE)) {
+            Transaction transaction = newTransaction(16);
+
+            assertTrue(journal.append(transaction));
+            assertFalse(journal.append(transaction));
+            assertEquals(1, journal.size());
+            assertTrue(journal.contains(transaction.copyOfTransactionHash()));
+            assertEquals(transaction, journal.get(transaction.copyOfTransactionHash()));
+            assertNull(journal.get(new byte[32]));
+            assertFalse(journal.contains(new byte[32]));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRecordLargerThanSegment() throws IOException {
+        try (TransactionJournal journal = TransactionJournal.open(folder.getRoot().toPath(), SEGMENT_SIZE)) {
+            journal.append(newTransaction(SEGMENT_SIZE));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testClosedJournal() throws IOException {
+        TransactionJournal journal = TransactionJournal.open(folder.getRoot().toPath(), SEGMENT_SIZE);
+        journal.close();
+        journal.close();
+        journal.get(new byte[32]);
+    }
+
+    @Test
+    public void testRolloverAndReopenReplaysInOrder() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        List<Transaction> appended = new ArrayList<>();
+        try (TransactionJournal journal = TransactionJournal.open(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < 100; i++) {
+                Transaction transaction = newTransaction(random.nextInt(200));
+                assertTrue(journal.append(transaction));
+                appended.add(transaction);
+            }
+            assertTrue(journal.segmentCount() > 1);
+            assertEquals(journal.segmentCount(), segmentFiles(directory).size());
+        }
+
+        try (TransactionJournal journal = TransactionJournal.open(directory, SEGMENT_SIZE)) {
+            assertEquals(appended.size(), journal.size());
+
+            List<Transaction> replayed = new ArrayList<>();
+            journal.replay(replayed::add);
+            assertEquals(appended, replayed);
+
+            for (Transaction transaction : appended) {
+                assertEquals(transaction, journal.get(transaction.copyOfTransactionHash()));
+                assertFalse(journal.append(transaction));
+            }
+        }
+    }
+
+    @Test
+    public void testIndexGrowsBeyondInitialCapacity() throws IOException {
+        try (TransactionJournal journal = TransactionJournal.open(folder.getRoot().toPath(), 1 << 20)) {
+            List<Transaction> appended = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                Transaction transaction = newTransaction(0);
+                journal.append(transaction);
+                appended.add(transaction);
+            }
+            for (Transaction transaction : appended) {
+                assertTrue(journal.contains(transaction.copyOfTransactionHash()));
+            }
+        }
+    }
+
+    @Test
+    public void testCorruptTailIsDiscardedOnRecovery() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        Transaction first = newTransaction(10);
+        Transaction second = newTransaction(10);
+        try (TransactionJournal journal = TransactionJournal.open(directory, SEGMENT_SIZE)) {
+            journal.append(first);
+            journal.append(second);
+        }
+
+        // Flip the last byte of the second record's payload, as a torn write would.
+        Path segment = segmentFiles(directory).get(0);
+        int secondRecordEnd = 2 * (8 + TransactionCodec.encodedLength(first));
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(secondRecordEnd - 1);
+            int last = file.read();
+            file.seek(secondRecordEnd - 1);
+            file.write(last ^ 0xFF);
+        }
+
+        Transaction third = newTransaction(3);
+        try (TransactionJournal journal = TransactionJournal.open(directory, SEGMENT_SIZE)) {
+            assertEquals(1, journal.size());
+            assertEquals(first, journal.get(first.copyOfTransactionHash()));
+            assertNull(journal.get(second.copyOfTransactionHash()));
+            assertTrue(journal.append(third));
+        }
+
+        // The shorter record written over the corrupt one must not expose stale bytes.
+        try (TransactionJournal journal = TransactionJournal.open(directory, SEGMENT_SIZE)) {
+            List<Transaction> replayed = new ArrayList<>();
+            journal.replay(replayed::add);
+            assertEquals(List.of(first, third), replayed);
+        }
+    }
+
+    @Test
+    public void testGarbageLengthIsDiscardedOnRecovery() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        Transaction first = newTransaction(10);
+        try (TransactionJournal journal = TransactionJournal.open(directory, SEGMENT_SIZE)) {
+            journal.append(first);
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles(directory).get(0).toFile(), "rw")) {
+            file.seek(8 + TransactionCodec.encodedLength(first));
+            file.writeInt(Integer.MAX_VALUE);
+        }
+
+        try (TransactionJournal journal = TransactionJournal.open(directory, SEGMENT_SIZE)) {
+            assertEquals(1, journal.size());
+            assertTrue(journal.append(newTransaction(10)));
+            assertEquals(2, journal.size());
+        }
+    }
+
+    @Test
+    public void testUnencodableTransactionIsRejectedBeforeWriting() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        List<Transaction> appended = new ArrayList<>();
+        try (TransactionJournal journal = TransactionJournal.open(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < 3; i++) {
+                appended.add(newTransaction(10));
+                journal.append(appended.get(i));
+            }
+
+            Transaction oversized = Transaction.contractCallTransaction(AddressUtil.randomAddress(), AddressUtil.randomAddress(), new byte[32], BigInteger.ONE, BigInteger.ONE.shiftLeft(300), new byte[0], 21_000L, 1L);
+            try {
+                journal.append(oversized);
+                fail("Expected an IllegalArgumentException");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+
+            for (int i = 0; i < 3; i++) {
+                Transaction transaction = newTransaction(10);
+                appended.add(transaction);
+                journal.append(transaction);
+            }
+            assertEquals(6, journal.size());
+        }
+
+        try (TransactionJournal journal = TransactionJournal.open(directory, SEGMENT_SIZE)) {
+            assertEquals(6, journal.size());
+            List<Transaction> replayed = new ArrayList<>();
+            journal.replay(replayed::add);
+            assertEquals(appended, replayed);
+        }
+    }
+
+    @Test
+    public void testChecksummedMalformedRecordIsSkippedOnRecovery() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        Transaction first = newTransaction(10);
+        Transaction second = newTransaction(10);
+        Transaction third = newTransaction(10);
+        try (TransactionJournal journal = TransactionJournal.open(directory, SEGMENT_SIZE)) {
+            journal.append(first);
+            journal.append(second);
+            journal.append(third);
+        }
+
+        corruptPayload(directory, List.of(first, second, third), 1);
+
+        try (TransactionJournal journal = TransactionJournal.open(directory, SEGMENT_SIZE)) {
+            assertEquals(2, journal.size());
+            assertNull(journal.get(second.copyOfTransactionHash()));
+            assertEquals(third, journal.get(third.copyOfTransactionHash()));
+            List<Transaction> replayed = new ArrayList<>();
+            journal.replay(replayed::add);
+            assertEquals(List.of(first, third), replayed);
+
+            Transaction fourth = newTransaction(10);
+            assertTrue(journal.append(fourth));
+            assertEquals(fourth, journal.get(fourth.copyOfTransactionHash()));
+        }
+    }
+
+    @Test
+    public void testReplayPassesOverEverySkippedRecord() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        List<Transaction> transactions = new ArrayList<>();
+        try (TransactionJournal journal = TransactionJournal.open(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < 6; i++) {
+                Transaction transaction = newTransaction(10);
+                transactions.add(transaction);
+                journal.append(transaction);
+            }
+        }
+
+        List<Transaction> expected = new ArrayList<>(transactions);
+        for (int index : new int[] { 5, 2, 1, 0 }) {
+            corruptPayload(directory, transactions, index);
+            expected.remove(index);
+        }
+
+        try (TransactionJournal journal = TransactionJournal.open(directory, SEGMENT_SIZE)) {
+            assertEquals(2, journal.size());
+            assertEquals(1, segmentFiles(directory).size());
+            List<Transaction> replayed = new ArrayList<>();
+            journal.replay(replayed::add);
+            assertEquals(expected, replayed);
+        }
+    }
+
+    // Gives the record of transactions.get(index) an unsupported version under a valid checksum, so
+    // that only its payload is bad. The transactions must be those of the first segment, in order.
+    private static void corruptPayload(Path directory, List<Transaction> transactions, int index) throws IOException {
+        long offset = 0;
+        for (int i = 0; i < index; i++) {
+            offset += 8 + TransactionCodec.encodedLength(transactions.get(i));
+        }
+        byte[] payload = TransactionCodec.encode(transactions.get(index));
+        payload[0]++;
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles(directory).get(0).toFile(), "rw")) {
+            file.seek(offset + 4);
+            file.writeInt((int) crc.getValue());
+            file.write(payload);
+        }
+    }
+
+    private Transaction newTransaction(int dataLength) {
+        byte[] hash = new byte[32];
+        random.nextBytes(hash);
+        byte[] data = new byte[dataLength];
+        random.nextBytes(data);
+        return Transaction.contractCallTransaction(AddressUtil.randomAddress(), AddressUtil.randomAddress(), hash, BigInteger.valueOf(random.nextInt(1000)), BigInteger.TEN, data, 21_000L, 1L);
+    }
+
+    private static List<Path> segmentFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package org.aion.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.aion.types.test_util.AddressUtil;
+import org.junit.Test;
+
+public class TransactionPoolTest {
+    private static final byte[] DATA = new byte[] { 0x1, 0x2 };
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveCapacity() {
+        new TransactionPool(0, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativePriceBump() {
+        new TransactionPool(16, -1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testAddNull() {
+        new TransactionPool(16, 10).add(null);
+    }
+
+    @Test
+    public void testAddGetAndRemove() {
+        TransactionPool pool = new TransactionPool(16, 10);
+        AionAddress sender = AddressUtil.randomAddress();
+        Transaction transaction = newTransaction(sender, 0, 100);
+
+        assertEquals(TransactionPool.AddResult.ADDED, pool.add(transaction));
+        assertEquals(TransactionPool.AddResult.ALREADY_PENDING, pool.add(transaction));
+        assertEquals(1, pool.size());
+        assertSame(transaction, pool.get(sender, BigInteger.ZERO));
+        assertNull(pool.get(sender, BigInteger.ONE));
+
+        assertSame(transaction, pool.remove(sender, BigInteger.ZERO));
+        assertNull(pool.remove(sender, BigInteger.ZERO));
+        assertEquals(0, pool.size());
+        assertTrue(pool.bestExecutable(10).isEmpty());
+    }
+
+    @Test
+    public void testReplaceByFee() {
+        TransactionPool pool = new TransactionPool(16, 10);
+        AionAddress sender = AddressUtil.randomAddress();
+        pool.add(newTransaction(sender, 0, 100));
+
+        assertEquals(TransactionPool.AddResult.UNDERPRICED, pool.add(newTransaction(sender, 0, 109)));
+        Transaction replacement = newTransaction(sender, 0, 110);
+        assertEquals(TransactionPool.AddResult.REPLACED, pool.add(replacement));
+
+        assertEquals(1, pool.size());
+        assertSame(replacement, pool.get(sender, BigInteger.ZERO));
+        assertEquals(Arrays.asList(replacement), pool.bestExecutable(10));
+    }
+
+    @Test
+    public void testReplacementMustRaisePriceWithZeroBump() {
+        TransactionPool pool = new TransactionPool(16, 0);
+        AionAddress sender = AddressUtil.randomAddress();
+        pool.add(newTransaction(sender, 0, Long.MAX_VALUE - 1));
+
+        assertEquals(TransactionPool.AddResult.UNDERPRICED, pool.add(newTransaction(sender, 0, Long.MAX_VALUE - 1, new byte[] { 0x7 })));
+        assertEquals(TransactionPool.AddResult.REPLACED, pool.add(newTransaction(sender, 0, Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void testPoolFull() {
+        TransactionPool pool = new TransactionPool(2, 10);
+        AionAddress sender = AddressUtil.randomAddress();
+
+        assertEquals(TransactionPool.AddResult.ADDED, pool.add(newTransaction(sender, 0, 100)));
+        assertEquals(TransactionPool.AddResult.ADDED, pool.add(newTransaction(sender, 1, 100)));
+        assertEquals(TransactionPool.AddResult.POOL_FULL, pool.add(newTransaction(sender, 2, 100)));
+        assertEquals(TransactionPool.AddResult.REPLACED, pool.add(newTransaction(sender, 1, 200)));
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    public void testFullPoolEvictsCheaperTransaction() {
+        TransactionPool pool = new TransactionPool(3, 10);
+        AionAddress alice = AddressUtil.randomAddress();
+        AionAddress bob = AddressUtil.randomAddress();
+        AionAddress carol = AddressUtil.randomAddress();
+
+        pool.add(newTransaction(alice, 0, 50));
+        pool.add(newTransaction(bob, 0, 10));
+        pool.add(newTransaction(bob, 1, 30));
+
+        // Bob pays least, and his highest nonce goes first so his nonce 0 stays executable.
+        Transaction carol0 = newTransaction(carol, 0, 40);
+        assertEquals(TransactionPool.AddResult.ADDED, pool.add(carol0));
+        assertEquals(3, pool.size());
+        assertNull(pool.get(bob, BigInteger.ONE));
+        assertNotNull(pool.get(bob, BigInteger.ZERO));
+        assertEquals(carol0, pool.get(carol, BigInteger.ZERO));
+
+        // Bob's last remaining transaction pays 10, which a price of 10 does not outbid.
+        assertEquals(TransactionPool.AddResult.POOL_FULL, pool.add(newTransaction(carol, 1, 10)));
+        assertEquals(TransactionPool.AddResult.ADDED, pool.add(newTransaction(carol, 1, 11)));
+        assertNull(pool.get(bob, BigInteger.ZERO));
+        assertEquals(3, pool.size());
+        assertEquals(3, pool.bestExecutable(10).size());
+    }
+
+    @Test
+    public void testFullPoolDoesNotEvictAheadOfTheSameSender() {
+        TransactionPool pool = new TransactionPool(2, 10);
+        AionAddress sender = AddressUtil.randomAddress();
+
+        pool.add(newTransaction(sender, 0, 10));
+        pool.add(newTransaction(sender, 1, 10));
+        assertEquals(TransactionPool.AddResult.POOL_FULL, pool.add(newTransaction(sender, 2, 100)));
+        assertNotNull(pool.get(sender, BigInteger.ONE));
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    public void testBestExecutableOrdersByPriceAndNonce() {
+        TransactionPool pool = new TransactionPool(16, 10);
+        AionAddress alice = AddressUtil.randomAddress();
+        AionAddress bob = AddressUtil.randomAddress();
+
+        Transaction alice0 = newTransaction(alice, 0, 10);
+        Transaction alice1 = newTransaction(alice, 1, 50);
+        Transaction alice3 = newTransaction(alice, 3, 90);
+        Transaction bob5 = newTransaction(bob, 5, 20);
+        Transaction bob6 = newTransaction(bob, 6, 5);
+
+        // Added out of order on purpose.
+        pool.add(alice1);
+        pool.add(bob6);
+        pool.add(alice3);
+        pool.add(alice0);
+        pool.add(bob5);
+
+        // alice3 is not executable because nonce 2 is missing.
+        assertEquals(Arrays.asList(bob5, alice0, alice1, bob6), pool.bestExecutable(10));
+        assertEquals(Arrays.asList(bob5, alice0), pool.bestExecutable(2));
+        assertTrue(pool.bestExecutable(0).isEmpty());
+    }
+
+    @Test
+    public void testRemoveConfirmed() {
+        TransactionPool pool = new TransactionPool(16, 10);
+        AionAddress sender = AddressUtil.randomAddress();
+        for (int nonce = 0; nonce < 5; nonce++) {
+            pool.add(newTransaction(sender, nonce, 100));
+        }
+
+        assertEquals(3, pool.removeConfirmed(sender, BigInteger.valueOf(3)));
+        assertEquals(0, pool.removeConfirmed(sender, BigInteger.valueOf(3)));
+        assertEquals(2, pool.size());
+
+        List<Transaction> best = pool.bestExecutable(10);
+        assertEquals(2, best.size());
+        assertEquals(BigInteger.valueOf(3), best.get(0).nonce);
+        assertEquals(BigInteger.valueOf(4), best.get(1).nonce);
+
+        assertEquals(2, pool.removeConfirmed(sender, BigInteger.TEN));
+        assertEquals(0, pool.size());
+        assertEquals(0, pool.removeConfirmed(AddressUtil.randomAddress(), BigInteger.TEN));
+    }
+
+    @Test
+    public void testRemovingGapMakesLaterNoncesNonExecutable() {
+        TransactionPool pool = new TransactionPool(16, 10);
+        AionAddress sender = AddressUtil.randomAddress();
+        Transaction first = newTransaction(sender, 0, 100);
+        pool.add(first);
+        pool.add(newTransaction(sender, 1, 100));
+        pool.add(newTransaction(sender, 2, 100));
+
+        pool.remove(sender, BigInteger.ONE);
+        assertEquals(Arrays.asList(first), pool.bestExecutable(10));
+
+        // Removing the head makes nonce 2 the lowest pending nonce, and so executable.
+        pool.remove(sender, BigInteger.ZERO);
+        assertEquals(BigInteger.TWO, pool.bestExecutable(10).get(0).nonce);
+    }
+
+    @Test
+    public void testNoncesBeyondLong() {
+        TransactionPool pool = new TransactionPool(16, 10);
+        AionAddress sender = AddressUtil.randomAddress();
+        BigInteger base = BigInteger.valueOf(Long.MAX_VALUE);
+        Transaction first = newTransaction(sender, base, 100);
+        Transaction second = newTransaction(sender, base.add(BigInteger.ONE), 100);
+        pool.add(second);
+        pool.add(first);
+
+        assertEquals(Arrays.asList(first, second), pool.bestExecutable(10));
+    }
+
+    @Test
+    public void testConcurrentAddsAcrossSenders() throws Exception {
+        int threads = 8;
+        int sendersPerThread = 50;
+        int noncesPerSender = 10;
+        TransactionPool pool = new TransactionPool(threads * sendersPerThread * noncesPerSender, 10);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int s = 0; s < sendersPerThread; s++) {
+                        AionAddress sender = AddressUtil.randomAddress();
+                        for (int nonce = noncesPerSender - 1; nonce >= 0; nonce--) {
+                            assertEquals(TransactionPool.AddResult.ADDED, pool.add(newTransaction(sender, nonce, 1 + nonce)));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        int total = threads * sendersPerThread * noncesPerSender;
+        assertEquals(total, pool.size());
+
+        List<Transaction> best = pool.bestExecutable(total);
+        assertEquals(total, best.size());
+        Map<AionAddress, BigInteger> lastNonce = new HashMap<>();
+        for (Transaction transaction : best) {
+            BigInteger previous = lastNonce.put(transaction.senderAddress, transaction.nonce);
+            BigInteger expected = (previous == null) ? BigInteger.ZERO : previous.add(BigInteger.ONE);
+            assertEquals(expected, transaction.nonce);
+        }
+    }
+
+    private static Transaction newTransaction(AionAddress sender, long nonce, long energyPrice) {
+        return newTransaction(sender, BigInteger.valueOf(nonce), energyPrice);
+    }
+
+    private static Transaction newTransaction(AionAddress sender, long nonce, long energyPrice, byte[] data) {
+        return Transaction.contractCallTransaction(sender, sender, new byte[32], BigInteger.valueOf(nonce), BigInteger.ZERO, data, 21_000L, energyPrice);
+    }
+
+    private static Transaction newTransaction(AionAddress sender, BigInteger nonce, long energyPrice) {
+        return Transaction.contractCallTransaction(sender, sender, new byte[32], nonce, BigInteger.ZERO, DATA, 21_000L, energyPrice);
+    }
+}
@@ -0,0 +1,127 @@
+package org.aion.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.aion.types.InternalTransaction.RejectedStatus;
+import org.aion.types.test_util.AddressUtil;
+import org.junit.Test;
+
+public class TransactionResultCodecTest {
+
+    @Test
+    public void testEveryStatusRoundTrips() {
+        List<TransactionStatus> statuses = Arrays.asList(
+            TransactionStatus.successful(),
+            TransactionStatus.rejection("insufficient balance"),
+            TransactionStatus.revertedFailure(),
+            TransactionStatus.nonRevertedFailure("out of energy"),
+            TransactionStatus.fatal("vm crashed \u00e9"));
+
+        for (TransactionStatus status : statuses) {
+            assertRoundTrip(new TransactionResult(status, Collections.emptyList(), Collections.emptyList(), 21_000L, null));
+        }
+    }
+
+    @Test
+    public void testResultWithLogsInternalTransactionsAndOutput() {
+        assertRoundTrip(newResult(new Random(42)));
+    }
+
+    @Test
+    public void testDecodedLogsAreImmutableCopies() {
+        TransactionResult result = TransactionResultCodec.decode(TransactionResultCodec.encode(newResult(new Random(43))));
+        // List.copyOf returns an immutable copy as it is, so the constructor did not copy the logs again.
+        assertSame(result.logs, List.copyOf(result.logs));
+    }
+
+    @Test
+    public void testResultWithEmptyOutputDiffersFromNoOutput() {
+        TransactionResult withoutOutput = new TransactionResult(TransactionStatus.successful(), Collections.emptyList(), Collections.emptyList(), 0L, null);
+        TransactionResult withEmptyOutput = new TransactionResult(TransactionStatus.successful(), Collections.emptyList(), Collections.emptyList(), 0L, new byte[0]);
+
+        assertEquals(withoutOutput, TransactionResultCodec.decode(TransactionResultCodec.encode(withoutOutput)));
+        assertEquals(withEmptyOutput, TransactionResultCodec.decode(TransactionResultCodec.encode(withEmptyOutput)));
+    }
+
+    @Test
+    public void testEncodeIntoTooSmallBufferWritesNothing() {
+        TransactionResult result = newResult(new Random(7));
+        ByteBuffer buffer = ByteBuffer.allocate(TransactionResultCodec.encodedLength(result) - 1);
+
+        try {
+            TransactionResultCodec.encode(result, buffer);
+        } catch (BufferOverflowException e) {
+            assertEquals(0, buffer.position());
+            return;
+        }
+        throw new AssertionError("Expected a BufferOverflowException");
+    }
+
+    @Test
+    public void testEveryTruncationIsRejected() {
+        byte[] encoding = TransactionResultCodec.encode(newResult(new Random(3)));
+        for (int length = 0; length < encoding.length; length++) {
+            try {
+                TransactionResultCodec.decode(Arrays.copyOf(encoding, length));
+                throw new AssertionError("Truncation to " + length + " bytes was accepted");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownStatusRejected() {
+        byte[] encoding = TransactionResultCodec.encode(newResult(new Random(3)));
+        // version, type, one-byte body length, then the status.
+        encoding[3] = 9;
+        TransactionResultCodec.decode(encoding);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTransactionRecordRejected() {
+        Transaction transaction = Transaction.contractCreateTransaction(AddressUtil.randomAddress(), new byte[32], BigInteger.ZERO, BigInteger.ZERO, new byte[0], 1L, 1L);
+        TransactionResultCodec.decode(TransactionCodec.encode(transaction));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTrailingBytesRejected() {
+        byte[] encoding = TransactionResultCodec.encode(newResult(new Random(3)));
+        TransactionResultCodec.decode(Arrays.copyOf(encoding, encoding.length + 1));
+    }
+
+    static TransactionResult newResult(Random random) {
+        Log dataOnly = Log.dataOnly(randomBytes(random, 32), randomBytes(random, 10));
+        Log withTopics = Log.topicsAndData(randomBytes(random, 32), Arrays.asList(randomBytes(random, 32), randomBytes(random, 32)), randomBytes(random, 64));
+        InternalTransaction call = InternalTransaction.contractCallTransaction(RejectedStatus.NOT_REJECTED, AddressUtil.randomAddress(), AddressUtil.randomAddress(), BigInteger.ONE, BigInteger.TEN, randomBytes(random, 20), 50_000L, 1L);
+        InternalTransaction create = InternalTransaction.contractCreateInvokableTransaction(RejectedStatus.REJECTED, AddressUtil.randomAddress(), BigInteger.TWO, BigInteger.ZERO, randomBytes(random, 5), 60_000L, 1L, randomBytes(random, 32));
+        return new TransactionResult(TransactionStatus.nonRevertedFailure("failed"), Arrays.asList(dataOnly, withTopics), Arrays.asList(call, create), 123_456L, randomBytes(random, 40));
+    }
+
+    static byte[] randomBytes(Random random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    private static void assertRoundTrip(TransactionResult result) {
+        byte[] encoding = TransactionResultCodec.encode(result);
+        assertEquals(TransactionResultCodec.encodedLength(result), encoding.length);
+        assertEquals(result, TransactionResultCodec.decode(encoding));
+
+        ByteBuffer buffer = ByteBuffer.allocate(encoding.length + 10);
+        buffer.position(5);
+        TransactionResultCodec.encode(result, buffer);
+        buffer.flip().position(5);
+        assertEquals(result, TransactionResultCodec.decode(buffer));
+        assertEquals(0, buffer.remaining());
+    }
+}
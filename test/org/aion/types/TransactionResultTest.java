@@ -3,11 +3,14 @@ package org.aion.types;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Random;
 import org.aion.types.InternalTransaction.RejectedStatus;
 import org.junit.Test;
@@ -24,6 +27,11 @@ public class TransactionResultTest {
         new TransactionResult(TransactionStatus.successful(), null, Collections.emptyList(), 0, new byte[0]);
     }
 
+    @Test(expected = NullPointerException.class)
+    public void testResultWithNullLog() {
+        new TransactionResult(TransactionStatus.successful(), Collections.singletonList(null), Collections.emptyList(), 0, new byte[0]);
+    }
+
     @Test(expected = NullPointerException.class)
     public void testResultWithNullInternalTransactions() {
         new TransactionResult(TransactionStatus.successful(), Collections.emptyList(), null, 0, new byte[0]);
@@ -58,6 +66,19 @@ public class TransactionResultTest {
         assertArrayEquals(output, result.copyOfTransactionOutput().get());
     }
 
+    @Test
+    public void testHashCode() {
+        Log log = Log.dataOnly(randomBytes(20), randomBytes(31));
+        byte[] output = randomBytes(30);
+        TransactionResult result = new TransactionResult(TransactionStatus.successful(), Collections.singletonList(log), Collections.emptyList(), 21_000, output);
+        TransactionResult equalResult = new TransactionResult(TransactionStatus.successful(), Collections.singletonList(log), Collections.emptyList(), 21_000, output.clone());
+        TransactionResult otherResult = new TransactionResult(TransactionStatus.successful(), Collections.singletonList(log), Collections.emptyList(), 21_001, output);
+
+        assertEquals(result.hashCode(), result.hashCode());
+        assertEquals(result.hashCode(), equalResult.hashCode());
+        assertNotEquals(result.hashCode(), otherResult.hashCode());
+    }
+
     @Test
     public void testImmutabilityOfOutputParameter() {
         byte[] output = new byte[]{ 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 8, 7, 6, 5, 4, 3, 2, 1 };
@@ -74,6 +95,26 @@ public class TransactionResultTest {
         assertArrayEquals(copyOfOriginalOutput, result.copyOfTransactionOutput().get());
     }
 
+    @Test
+    public void testImmutabilityOfListParameters() {
+        Log log = Log.dataOnly(randomBytes(20), randomBytes(31));
+        InternalTransaction internalTransaction = InternalTransaction.contractCreateTransaction(RejectedStatus.REJECTED, new AionAddress(randomBytes(AionAddress.LENGTH)), BigInteger.TEN, BigInteger.TWO.pow(12), randomBytes(120), 1_000_000, 30);
+        List<Log> logs = new ArrayList<>(Collections.singletonList(log));
+        List<InternalTransaction> internalTransactions = new ArrayList<>(Collections.singletonList(internalTransaction));
+
+        TransactionResult result = new TransactionResult(TransactionStatus.successful(), logs, internalTransactions, 0, null);
+        int hashCode = result.hashCode();
+        TransactionResult equalResult = new TransactionResult(TransactionStatus.successful(), Collections.singletonList(log), Collections.singletonList(internalTransaction), 0, null);
+
+        // Verify modifying the lists given to the constructor modifies neither the result nor its cached hash code.
+        logs.clear();
+        internalTransactions.add(internalTransaction);
+        assertEquals(Collections.singletonList(log), result.logs);
+        assertEquals(Collections.singletonList(internalTransaction), result.internalTransactions);
+        assertEquals(hashCode, result.hashCode());
+        assertEquals(equalResult, result);
+    }
+
     private static byte[] randomBytes(int length) {
         byte[] bytes = new byte[length];
         new Random().nextBytes(bytes);
@@ -0,0 +1,150 @@
+package org.aion.types;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import org.aion.types.test_util.AddressUtil;
+import org.junit.Test;
+
+public class TransactionSchedulerTest {
+
+    @Test(expected = NullPointerException.class)
+    public void testNullPool() {
+        new TransactionScheduler(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testPartitionNull() {
+        TransactionScheduler.partition(null);
+    }
+
+    @Test
+    public void testPartitionEmpty() {
+        assertEquals(0, TransactionScheduler.partition(Collections.emptyList()).length);
+    }
+
+    @Test
+    public void testPartitionGroupsByAddress() {
+        AionAddress a = AddressUtil.randomAddress();
+        AionAddress b = AddressUtil.randomAddress();
+        AionAddress c = AddressUtil.randomAddress();
+        AionAddress d = AddressUtil.randomAddress();
+        AionAddress e = AddressUtil.randomAddress();
+
+        List<Transaction> transactions = Arrays.asList(
+            call(a, b, 0),      // 0: {a, b}
+            call(c, d, 0),      // 1: {c, d}
+            create(e, 0),       // 2: {e}
+            call(b, c, 0),      // 3: joins {a, b} and {c, d}
+            create(e, 1));      // 4: same sender as 2
+
+        int[][] groups = TransactionScheduler.partition(transactions);
+
+        assertEquals(2, groups.length);
+        assertArrayEquals(new int[] { 0, 1, 3 }, groups[0]);
+        assertArrayEquals(new int[] { 2, 4 }, groups[1]);
+    }
+
+    @Test
+    public void testPartitionIndependentTransactions() {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            transactions.add(call(AddressUtil.randomAddress(), AddressUtil.randomAddress(), 0));
+        }
+
+        int[][] groups = TransactionScheduler.partition(transactions);
+
+        assertEquals(10, groups.length);
+        for (int i = 0; i < 10; i++) {
+            assertArrayEquals(new int[] { i }, groups[i]);
+        }
+    }
+
+    @Test
+    public void testExecuteReturnsResultsInBlockOrder() {
+        int senders = 20;
+        int noncesPerSender = 25;
+        List<AionAddress> addresses = new ArrayList<>();
+        for (int s = 0; s < senders; s++) {
+            addresses.add(AddressUtil.randomAddress());
+        }
+        List<Transaction> transactions = new ArrayList<>();
+        for (int nonce = 0; nonce < noncesPerSender; nonce++) {
+            for (int s = 0; s < senders; s++) {
+                transactions.add(call(addresses.get(s), AddressUtil.randomAddress(), nonce));
+            }
+        }
+
+        // Each sender's nonces must be seen in order, even though senders run concurrently.
+        Map<AionAddress, BigInteger> expectedNonces = new ConcurrentHashMap<>();
+        Map<Transaction, TransactionResult> produced = new ConcurrentHashMap<>();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<TransactionResult> results = new TransactionScheduler(pool).execute(transactions, transaction -> {
+                BigInteger expected = expectedNonces.getOrDefault(transaction.senderAddress, BigInteger.ZERO);
+                assertEquals(expected, transaction.nonce);
+                expectedNonces.put(transaction.senderAddress, expected.add(BigInteger.ONE));
+
+                TransactionResult result = new TransactionResult(TransactionStatus.successful(), Collections.emptyList(), Collections.emptyList(), transaction.nonce.longValue(), new byte[0]);
+                produced.put(transaction, result);
+                return result;
+            });
+
+            assertEquals(transactions.size(), results.size());
+            for (int i = 0; i < transactions.size(); i++) {
+                assertSame(produced.get(transactions.get(i)), results.get(i));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testExecuteSingleGroupRunsInline() {
+        AionAddress sender = AddressUtil.randomAddress();
+        List<Transaction> transactions = Arrays.asList(create(sender, 0), create(sender, 1));
+        Thread caller = Thread.currentThread();
+        Map<Transaction, Thread> threads = new HashMap<>();
+
+        new TransactionScheduler().execute(transactions, transaction -> {
+            threads.put(transaction, Thread.currentThread());
+            return new TransactionResult(TransactionStatus.successful(), Collections.emptyList(), Collections.emptyList(), 0, null);
+        });
+
+        assertEquals(2, threads.size());
+        assertTrue(threads.values().stream().allMatch(thread -> thread == caller));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testExecutorReturningNull() {
+        List<Transaction> transactions = Arrays.asList(create(AddressUtil.randomAddress(), 0), create(AddressUtil.randomAddress(), 0));
+        new TransactionScheduler().execute(transactions, transaction -> null);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testExecutorExceptionIsRethrown() {
+        List<Transaction> transactions = Arrays.asList(create(AddressUtil.randomAddress(), 0), create(AddressUtil.randomAddress(), 0));
+        new TransactionScheduler().execute(transactions, transaction -> {
+            throw new IllegalStateException("boom");
+        });
+    }
+
+    private static Transaction call(AionAddress sender, AionAddress destination, long nonce) {
+        return Transaction.contractCallTransaction(sender, destination, new byte[32], BigInteger.valueOf(nonce), BigInteger.ZERO, new byte[0], 21_000L, 1L);
+    }
+
+    private static Transaction create(AionAddress sender, long nonce) {
+        return Transaction.contractCreateTransaction(sender, new byte[32], BigInteger.valueOf(nonce), BigInteger.ZERO, new byte[0], 21_000L, 1L);
+    }
+}
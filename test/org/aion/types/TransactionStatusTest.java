@@ -4,6 +4,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
@@ -121,4 +123,30 @@ public class TransactionStatusTest {
 
         assertNotEquals(reverted, fatal);
     }
+
+    @Test
+    public void testParameterlessStatusesAreShared() {
+        assertSame(TransactionStatus.successful(), TransactionStatus.successful());
+        assertSame(TransactionStatus.revertedFailure(), TransactionStatus.revertedFailure());
+    }
+
+    @Test
+    public void testCausesAreInternedPerKind() {
+        TransactionStatus rejection = TransactionStatus.rejection(new String("insufficient balance"));
+        assertSame(rejection, TransactionStatus.rejection(new String("insufficient balance")));
+        assertSame(TransactionStatus.fatal("vm crashed"), TransactionStatus.fatal("vm crashed"));
+        assertNotSame(rejection, TransactionStatus.nonRevertedFailure("insufficient balance"));
+        assertNotEquals(rejection, TransactionStatus.nonRevertedFailure("insufficient balance"));
+    }
+
+    @Test
+    public void testUninternedCausesAreStillEqual() {
+        // More distinct causes than are interned.
+        for (int i = 0; i < 300; i++) {
+            TransactionStatus status = TransactionStatus.nonRevertedFailure("out of energy at step " + i);
+            assertEquals(status, TransactionStatus.nonRevertedFailure("out of energy at step " + i));
+            assertEquals(status.hashCode(), TransactionStatus.nonRevertedFailure("out of energy at step " + i).hashCode());
+            assertTrue(status.isFailed());
+        }
+    }
 }
@@ -0,0 +1,192 @@
+package org.aion.types;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.aion.types.test_util.AddressUtil;
+import org.junit.Test;
+
+public class TransactionValidatorTest {
+
+    @Test(expected = NullPointerException.class)
+    public void testNullPool() {
+        new TransactionValidator(null);
+    }
+
+    @Test
+    public void testValidEncodings() {
+        Random random = new Random(1);
+        assertEquals(TransactionValidator.VALID, TransactionValidator.validate(TransactionCodec.encode(newTransaction(random, false))));
+        assertEquals(TransactionValidator.VALID, TransactionValidator.validate(TransactionCodec.encode(newTransaction(random, true))));
+
+        Transaction big = Transaction.contractCreateTransaction(AddressUtil.randomAddress(), new byte[0], BigInteger.ONE.shiftLeft(200), BigInteger.ONE.shiftLeft(100), new byte[0], Long.MAX_VALUE, Long.MAX_VALUE);
+        assertEquals(TransactionValidator.VALID, TransactionValidator.validate(TransactionCodec.encode(big)));
+    }
+
+    @Test
+    public void testEachFailure() {
+        byte[] valid = TransactionCodec.encode(newTransaction(new Random(2), false));
+
+        assertEquals(TransactionValidator.NULL_ENCODING, TransactionValidator.validate((byte[]) null));
+        assertEquals(TransactionValidator.TRUNCATED, TransactionValidator.validate(new byte[] {TransactionCodec.VERSION}));
+        assertEquals(TransactionValidator.TRUNCATED, TransactionValidator.validate(Arrays.copyOf(valid, valid.length - 1)));
+
+        byte[] version = valid.clone();
+        version[0]++;
+        assertEquals(TransactionValidator.UNSUPPORTED_VERSION, TransactionValidator.validate(version));
+
+        byte[] type = valid.clone();
+        type[1] = TransactionCodec.TYPE_INTERNAL_TRANSACTION;
+        assertEquals(TransactionValidator.WRONG_RECORD_TYPE, TransactionValidator.validate(type));
+
+        byte[] flags = valid.clone();
+        flags[2 + bodyLengthSize(valid)] = (byte) 0x80;
+        assertEquals(TransactionValidator.UNKNOWN_FLAGS, TransactionValidator.validate(flags));
+
+        assertEquals(TransactionValidator.TRAILING_BYTES, TransactionValidator.validate(Arrays.copyOf(valid, valid.length + 1)));
+
+        byte[] oversized = new byte[16];
+        oversized[0] = TransactionCodec.VERSION;
+        oversized[1] = TransactionCodec.TYPE_TRANSACTION;
+        Arrays.fill(oversized, 2, 16, (byte) 0xFF);
+        assertEquals(TransactionValidator.OVERSIZED_FIELD, TransactionValidator.validate(oversized));
+    }
+
+    @Test
+    public void testDescribe() {
+        assertEquals("valid", TransactionValidator.describe(TransactionValidator.VALID));
+        assertEquals("trailing bytes", TransactionValidator.describe(TransactionValidator.TRAILING_BYTES));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDescribeUnknownCode() {
+        TransactionValidator.describe((byte) 100);
+    }
+
+    @Test
+    public void testValidationAgreesWithDecoding() {
+        Random random = new Random(3);
+        for (int i = 0; i < 20_000; i++) {
+            byte[] encoding = corrupt(random, TransactionCodec.encode(newTransaction(random, random.nextBoolean())));
+
+            boolean decodes;
+            try {
+                TransactionCodec.decodeTransaction(encoding);
+                decodes = true;
+            } catch (IllegalArgumentException e) {
+                decodes = false;
+            }
+            assertEquals("Encoding " + Hex.bytesToHex(encoding), decodes, TransactionValidator.validate(encoding) == TransactionValidator.VALID);
+        }
+    }
+
+    @Test
+    public void testMaterializeSkipsInvalidRows() {
+        Random random = new Random(4);
+        Transaction first = newTransaction(random, false);
+        Transaction second = newTransaction(random, true);
+        List<byte[]> encodings = Arrays.asList(TransactionCodec.encode(first), null, new byte[] {9}, TransactionCodec.encode(second));
+
+        TransactionValidator validator = new TransactionValidator();
+        byte[] codes = validator.validate(encodings);
+        assertArrayEquals(new byte[] {TransactionValidator.VALID, TransactionValidator.NULL_ENCODING, TransactionValidator.TRUNCATED, TransactionValidator.VALID}, codes);
+        assertEquals(Arrays.asList(first, second), validator.materialize(encodings, codes));
+    }
+
+    @Test
+    public void testEmptyBatch() {
+        TransactionValidator validator = new TransactionValidator();
+        byte[] codes = validator.validate(Collections.emptyList());
+        assertEquals(0, codes.length);
+        assertEquals(Collections.emptyList(), validator.materialize(Collections.emptyList(), codes));
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+        Random random = new Random(5);
+        List<Transaction> transactions = new ArrayList<>();
+        List<byte[]> encodings = new ArrayList<>();
+        byte[] expectedCodes = new byte[5_000];
+        List<Transaction> expectedValid = new ArrayList<>();
+        for (int i = 0; i < expectedCodes.length; i++) {
+            Transaction transaction = newTransaction(random, random.nextBoolean());
+            byte[] encoding = TransactionCodec.encode(transaction);
+            if (random.nextInt(10) == 0) {
+                encoding = Arrays.copyOf(encoding, encoding.length + 1);
+            }
+            transactions.add(transaction);
+            encodings.add(encoding);
+            expectedCodes[i] = TransactionValidator.validate(encoding);
+            if (expectedCodes[i] == TransactionValidator.VALID) {
+                expectedValid.add(transaction);
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            TransactionValidator validator = new TransactionValidator(pool);
+            byte[] codes = validator.validate(encodings);
+            assertArrayEquals(expectedCodes, codes);
+            assertEquals(expectedValid, validator.materialize(encodings, codes));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaterializeWithMismatchedCodes() {
+        new TransactionValidator().materialize(Collections.singletonList(new byte[0]), new byte[2]);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testValidateNullList() {
+        new TransactionValidator().validate((List<byte[]>) null);
+    }
+
+    private static Transaction newTransaction(Random random, boolean isCreate) {
+        byte[] hash = new byte[32];
+        random.nextBytes(hash);
+        byte[] data = new byte[random.nextInt(200)];
+        random.nextBytes(data);
+        BigInteger nonce = BigInteger.valueOf(random.nextInt(1_000));
+        BigInteger value = new BigInteger(random.nextInt(128) + 1, random);
+        return isCreate
+            ? Transaction.contractCreateTransaction(AddressUtil.randomAddress(), hash, nonce, value, data, 2_000_000L, 10_000_000_000L)
+            : Transaction.contractCallTransaction(AddressUtil.randomAddress(), AddressUtil.randomAddress(), hash, nonce, value, data, 21_000L, 10_000_000_000L);
+    }
+
+    // Flips, truncates or extends the encoding, or leaves it intact.
+    private static byte[] corrupt(Random random, byte[] encoding) {
+        switch (random.nextInt(4)) {
+            case 0:
+                return encoding;
+            case 1:
+                byte[] flipped = encoding.clone();
+                flipped[random.nextInt(flipped.length)] ^= (byte) (1 << random.nextInt(8));
+                return flipped;
+            case 2:
+                return Arrays.copyOf(encoding, random.nextInt(encoding.length));
+            default:
+                byte[] extended = Arrays.copyOf(encoding, encoding.length + 1 + random.nextInt(4));
+                for (int i = encoding.length; i < extended.length; i++) {
+                    extended[i] = (byte) random.nextInt();
+                }
+                return extended;
+        }
+    }
+
+    private static int bodyLengthSize(byte[] encoding) {
+        int size = 1;
+        while ((encoding[1 + size] & 0x80) != 0) {
+            size++;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,136 @@
+package org.aion.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import org.aion.types.InternalTransaction.RejectedStatus;
+import org.aion.types.TypeMetrics.Type;
+import org.aion.types.test_util.AddressUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TypeCountersTest {
+    private TypeCounters counters;
+
+    @Before
+    public void setup() {
+        this.counters = new TypeCounters();
+        TypeMetrics.install(this.counters);
+    }
+
+    @After
+    public void tearDown() {
+        TypeMetrics.uninstall();
+    }
+
+    @Test
+    public void testTransactionCounts() {
+        AionAddress sender = AddressUtil.randomAddress();
+        this.counters.reset();
+
+        Transaction transaction = Transaction.contractCreateTransaction(sender, new byte[32], BigInteger.ONE, BigInteger.TEN, new byte[100], 1L, 1L);
+        assertEquals(1, this.counters.constructions(Type.TRANSACTION));
+        assertEquals(132, this.counters.bytesCopiedByConstructors(Type.TRANSACTION));
+
+        transaction.copyOfTransactionData();
+        transaction.copyOfTransactionData();
+        transaction.copyOfTransactionHash();
+        transaction.toString();
+        assertEquals(Map.of("copyOfTransactionData", 200L, "copyOfTransactionHash", 32L), this.counters.bytesCopiedByAccessors(Type.TRANSACTION));
+        assertEquals(1, this.counters.toStringCalls(Type.TRANSACTION));
+    }
+
+    @Test
+    public void testInternalTransactionCounts() {
+        AionAddress sender = AddressUtil.randomAddress();
+        this.counters.reset();
+
+        InternalTransaction transaction = InternalTransaction.contractCreateInvokableTransaction(RejectedStatus.NOT_REJECTED, sender, BigInteger.ONE, BigInteger.ONE, new byte[10], 1L, 1L, new byte[32]);
+        assertEquals(1, this.counters.constructions(Type.INTERNAL_TRANSACTION));
+        assertEquals(42, this.counters.bytesCopiedByConstructors(Type.INTERNAL_TRANSACTION));
+
+        transaction.copyOfData();
+        transaction.copyOfInvokableHash();
+        assertEquals(Map.of("copyOfData", 10L, "copyOfInvokableHash", 32L), this.counters.bytesCopiedByAccessors(Type.INTERNAL_TRANSACTION));
+    }
+
+    @Test
+    public void testDecodingTakesOwnershipWithoutCopying() {
+        Transaction transaction = Transaction.contractCallTransaction(AddressUtil.randomAddress(), AddressUtil.randomAddress(), new byte[32], BigInteger.ONE, BigInteger.TEN, new byte[100], 1L, 1L);
+        byte[] encoding = TransactionCodec.encode(transaction);
+        this.counters.reset();
+
+        TransactionCodec.decodeTransaction(encoding);
+        assertEquals(1, this.counters.constructions(Type.TRANSACTION));
+        assertEquals(0, this.counters.bytesCopiedByConstructors(Type.TRANSACTION));
+        assertEquals(2, this.counters.constructions(Type.AION_ADDRESS));
+    }
+
+    @Test
+    public void testInternalTransactionListDecodesEachRecordOnce() {
+        InternalTransaction transaction = InternalTransaction.contractCallTransaction(RejectedStatus.NOT_REJECTED, AddressUtil.randomAddress(), AddressUtil.randomAddress(), BigInteger.ONE, BigInteger.TEN, new byte[100], 1L, 1L);
+        InternalTransactionList list = InternalTransactionList.copyOf(Arrays.asList(transaction, transaction));
+        this.counters.reset();
+
+        InternalTransaction first = list.get(1);
+        assertSame(first, list.get(1));
+        for (InternalTransaction element : list) {
+            assertEquals(transaction, element);
+        }
+        list.hashCode();
+        new TransactionResult(TransactionStatus.successful(), Collections.emptyList(), list, 0L, null).equals(new TransactionResult(TransactionStatus.successful(), Collections.emptyList(), list, 0L, null));
+        assertEquals(2, this.counters.constructions(Type.INTERNAL_TRANSACTION));
+        assertEquals(4, this.counters.constructions(Type.AION_ADDRESS));
+    }
+
+    @Test
+    public void testLogAndResultCounts() {
+        this.counters.reset();
+        Log log = Log.topicsAndData(new byte[32], Arrays.asList(new byte[32], new byte[32]), new byte[5]);
+        assertEquals(101, this.counters.bytesCopiedByConstructors(Type.LOG));
+        log.copyOfTopics();
+        log.copyOfAddress();
+        assertEquals(Map.of("copyOfAddress", 32L, "copyOfTopics", 64L), this.counters.bytesCopiedByAccessors(Type.LOG));
+
+        TransactionResult result = new TransactionResult(TransactionStatus.successful(), Collections.singletonList(log), Collections.emptyList(), 0L, new byte[7]);
+        result.copyOfTransactionOutput();
+        result.toString();
+        assertEquals(1, this.counters.constructions(Type.TRANSACTION_RESULT));
+        assertEquals(7, this.counters.bytesCopiedByConstructors(Type.TRANSACTION_RESULT));
+        assertEquals(Map.of("copyOfTransactionOutput", 7L), this.counters.bytesCopiedByAccessors(Type.TRANSACTION_RESULT));
+        assertEquals(1, this.counters.toStringCalls(Type.TRANSACTION_RESULT));
+        assertEquals(1, this.counters.toStringCalls(Type.LOG));
+    }
+
+    @Test
+    public void testAddressToStringIsNotCountedAsCopy() {
+        AionAddress address = AddressUtil.randomAddress();
+        this.counters.reset();
+
+        address.toString();
+        assertEquals(1, this.counters.toStringCalls(Type.AION_ADDRESS));
+        assertEquals(Collections.emptyMap(), this.counters.bytesCopiedByAccessors(Type.AION_ADDRESS));
+        address.toByteArray();
+        assertEquals(Map.of("toByteArray", 32L), this.counters.bytesCopiedByAccessors(Type.AION_ADDRESS));
+    }
+
+    @Test
+    public void testNothingIsCountedOnceUninstalled() {
+        TypeMetrics.uninstall();
+        new AionAddress(new byte[AionAddress.LENGTH]).toString();
+        Log.dataOnly(new byte[32], new byte[3]).copyOfTopics();
+        assertEquals(0, this.counters.constructions(Type.AION_ADDRESS));
+        assertEquals(0, this.counters.constructions(Type.LOG));
+        assertEquals(0, this.counters.toStringCalls(Type.AION_ADDRESS));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testInstallNull() {
+        TypeMetrics.install(null);
+    }
+}
@@ -0,0 +1,59 @@
+package org.aion.types.internal_util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.aion.types.Hex;
+import org.junit.Test;
+
+public class Blake2bTest {
+
+    @Test
+    public void testEmptyInput() {
+        assertEquals("0e5751c026e543b2e8ab2eb06099daa1d1e5df47778f7787faab45cdf12fe3a8", Hex.bytesToHex(Blake2b.hash256(new byte[0])));
+    }
+
+    @Test
+    public void testAbc() {
+        assertEquals("bddd813c634239723171ef3fee98579b94964e3bb1cb3e427262c8c068d52319", Hex.bytesToHex(Blake2b.hash256(new byte[]{ 'a', 'b', 'c' })));
+    }
+
+    @Test
+    public void testMultiBlockInput() {
+        assertEquals("c636324d47d89f2b2434dc2c994100663fbbaea880ff020fc5de89dd0f77a1ec", Hex.bytesToHex(Blake2b.hash256(sequence(1_000))));
+    }
+
+    @Test
+    public void testIncrementalUpdatesMatchOneShot() {
+        byte[] input = sequence(1_000);
+        Blake2b hasher = new Blake2b();
+        hasher.update(input, 0, 1);
+        hasher.update(input, 1, 127);
+        hasher.update(input, 128, 300);
+        for (int i = 428; i < input.length; i++) {
+            hasher.update(input[i]);
+        }
+        assertArrayEquals(Blake2b.hash256(input), hasher.digest());
+    }
+
+    @Test
+    public void testHasherIsReusableAfterDigest() {
+        Blake2b hasher = new Blake2b();
+        hasher.update(sequence(50), 0, 50).digest();
+        assertArrayEquals(Blake2b.hash256(sequence(129)), hasher.update(sequence(129), 0, 129).digest());
+    }
+
+    @Test
+    public void testUpdateLongIsBigEndian() {
+        byte[] expected = Blake2b.hash256(new byte[]{ 1, 2, 3, 4, 5, 6, 7, 8 });
+        assertArrayEquals(expected, new Blake2b().updateLong(0x0102030405060708L).digest());
+    }
+
+    private static byte[] sequence(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+}